@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the state of the connections to a single destination.
+ * <p>
+ * The values are gathered without stopping the pool, so they need not be consistent with each other.
+ * </p>
+ */
+public final class ConnectionPoolStatistics {
+
+    private final String destination;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int pendingRequests;
+    private final long dispatchedRequests;
+    private final long totalWaitTime;
+    private final long maxWaitTime;
+
+    ConnectionPoolStatistics(final String destination,
+                             final int activeConnections,
+                             final int idleConnections,
+                             final int pendingRequests,
+                             final long dispatchedRequests,
+                             final long totalWaitTime,
+                             final long maxWaitTime) {
+        this.destination = destination;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.pendingRequests = pendingRequests;
+        this.dispatchedRequests = dispatchedRequests;
+        this.totalWaitTime = totalWaitTime;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    /**
+     * Get the destination in the {@code host:port} form, prefixed with {@code https://} for the secure connections.
+     *
+     * @return destination of the connections.
+     */
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * Get the number of connections processing a request.
+     *
+     * @return number of active connections.
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * Get the number of open connections ready to process a request.
+     *
+     * @return number of idle connections.
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Get the number of requests waiting for a connection.
+     *
+     * @return number of pending requests.
+     */
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    /**
+     * Get the number of requests that have been handed over to a connection.
+     *
+     * @return number of dispatched requests.
+     */
+    public long getDispatchedRequests() {
+        return dispatchedRequests;
+    }
+
+    /**
+     * Get the average time the dispatched requests waited for a connection.
+     *
+     * @param unit time unit of the returned value.
+     * @return average wait time or {@code 0} if no request has been dispatched yet.
+     */
+    public long getAverageWaitTime(final TimeUnit unit) {
+        return dispatchedRequests == 0 ? 0 : unit.convert(totalWaitTime / dispatchedRequests, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the longest time a dispatched request waited for a connection.
+     *
+     * @param unit time unit of the returned value.
+     * @return maximal wait time.
+     */
+    public long getMaxWaitTime(final TimeUnit unit) {
+        return unit.convert(maxWaitTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatistics{"
+                + "destination=" + destination
+                + ", activeConnections=" + activeConnections
+                + ", idleConnections=" + idleConnections
+                + ", pendingRequests=" + pendingRequests
+                + ", dispatchedRequests=" + dispatchedRequests
+                + ", averageWaitTime=" + getAverageWaitTime(TimeUnit.MICROSECONDS) + "us"
+                + ", maxWaitTime=" + getMaxWaitTime(TimeUnit.MICROSECONDS) + "us"
+                + '}';
+    }
+}
@@ -20,15 +20,25 @@ import java.io.IOException;
 import java.net.CookieManager;
 import java.net.URI;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Connections to a single destination.
+ * <p>
+ * The pool does not use any lock. The number of connections is limited using an atomic counter and the idle connections
+ * are handed over to the pending requests by whichever thread adds a request or an idle connection last, so that
+ * the concurrent requests to the destination are not serialized.
+ * </p>
+ *
  * @author Petr Janouch (petr.janouch at oracle.com)
  */
 class DestinationConnectionPool {
@@ -37,15 +47,20 @@ class DestinationConnectionPool {
     private final Queue<HttpConnection> idleConnections = new ConcurrentLinkedDeque<>();
     private final Set<HttpConnection> connections = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Queue<RequestRecord> pendingRequests = new ConcurrentLinkedDeque<>();
-    private final Map<HttpConnection, RequestRecord> requestsInProgress = new HashMap<>();
+    private final Map<HttpConnection, RequestRecord> requestsInProgress = new ConcurrentHashMap<>();
     private final CookieManager cookieManager;
     private final ScheduledExecutorService scheduler;
     private final ConnectionStateListener connectionStateListener;
 
-    private volatile ConnectionCloseListener connectionCloseListener;
+    private final AtomicInteger connectionCounter = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
 
-    private int connectionCounter = 0;
-    private boolean closed = false;
+    // statistics
+    private final LongAdder dispatchedRequests = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    private volatile ConnectionCloseListener connectionCloseListener;
 
     DestinationConnectionPool(ConnectorConfiguration configuration,
                               CookieManager cookieManager,
@@ -62,94 +77,96 @@ class DestinationConnectionPool {
 
     void send(HttpRequest httpRequest, CompletionHandler<HttpResponse> completionHandler) {
         pendingRequests.add(new RequestRecord(httpRequest, completionHandler));
-        processPendingRequests();
-    }
-
-    private void processPendingRequests(HttpConnection connection) {
-        HttpRequest httpRequest;
-        CompletionHandler<HttpResponse> completionHandler;
-
-        synchronized (this) {
-        /* this is synchronized so that another thread does not steal the pending request at the head of the queue
-           while we investigate if we can execute it. */
-            RequestRecord pendingHead = pendingRequests.poll();
-            if (pendingHead == null) {
-
-                idleConnections.add(connection);
+        dispatch();
 
-                // no pending requests
-                return;
-            }
-
-            httpRequest = pendingHead.request;
-            completionHandler = pendingHead.completionHandler;
+        if (!pendingRequests.isEmpty()) {
+            // no connection available, try to create a new one
+            openConnection(httpRequest.getUri());
         }
+    }
 
-        // if there was a connection available just use it
-        requestsInProgress.put(connection, new RequestRecord(httpRequest, completionHandler));
-        connection.send(httpRequest);
+    private void connectionIdle(HttpConnection connection) {
+        idleConnections.add(connection);
+        dispatch();
     }
 
-    private void processPendingRequests() {
-        HttpConnection connection;
-        HttpRequest httpRequest;
-        CompletionHandler<HttpResponse> completionHandler;
-
-        synchronized (this) {
-            /* this is synchronized so that another thread does not steal the pending request at the head of the queue
-            while we investigate if we can execute it. */
-            RequestRecord pendingHead = pendingRequests.peek();
-            if (pendingHead == null) {
-                // no pending requests
+    /**
+     * Hand over the idle connections to the pending requests.
+     * <p>
+     * Both the requests and the idle connections are added to their queues before invoking this method, so at least one of
+     * the threads adding concurrently a request and an idle connection finds both of them and matches them.
+     * </p>
+     */
+    private void dispatch() {
+        while (!pendingRequests.isEmpty()) {
+            HttpConnection connection = idleConnections.poll();
+            if (connection == null) {
+                // no idle connection, the thread making a connection idle will continue
                 return;
             }
 
-            httpRequest = pendingHead.request;
-            completionHandler = pendingHead.completionHandler;
-
-            connection = idleConnections.poll();
-            if (connection != null) {
-                pendingRequests.poll();
+            RequestRecord requestRecord = pendingRequests.poll();
+            if (requestRecord == null) {
+                // another thread took the request meanwhile, return the connection and check the requests again
+                idleConnections.add(connection);
+                continue;
             }
-        }
 
-        if (connection != null) {
-            // if there was a connection available just use it
-            requestsInProgress.put(connection, new RequestRecord(httpRequest, completionHandler));
-            connection.send(httpRequest);
-            return;
+            execute(connection, requestRecord);
         }
+    }
+
+    private void execute(HttpConnection connection, RequestRecord requestRecord) {
+        long waitTime = System.nanoTime() - requestRecord.created;
+        dispatchedRequests.increment();
+        totalWaitTime.add(waitTime);
+        maxWaitTime.accumulateAndGet(waitTime, Math::max);
+        requestRecord.request.setConnectionWaitTime(waitTime);
 
-        // if there was not a connection available keep this requests in pending list and try to create a connection
-        synchronized (this) {
-            // synchronized because other thread might open/close connections, so we have to make sure we get the limits right.
+        requestsInProgress.put(connection, requestRecord);
+        connection.send(requestRecord.request);
+    }
 
-            if (configuration.getMaxConnectionsPerDestination() == connectionCounter) {
+    private void openConnection(URI uri) {
+        int count;
+        do {
+            count = connectionCounter.get();
+            if (count >= configuration.getMaxConnectionsPerDestination()) {
                 // we are at the limit for this destination, just wait for a connection to become idle or close
                 return;
             }
+        } while (!connectionCounter.compareAndSet(count, count + 1));
 
-            // create a connection
-            connection = new HttpConnection(httpRequest.getUri(), cookieManager, configuration, scheduler,
-                    connectionStateListener);
-            connections.add(connection);
-            connectionCounter++;
-        }
-
-        // we don't want to connect inside the synchronized block
+        HttpConnection connection = new HttpConnection(uri, cookieManager, configuration, scheduler,
+                connectionStateListener);
+        connections.add(connection);
         connection.connect();
     }
 
-    synchronized void close() {
-        if (closed) {
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
             return;
         }
 
-        closed = true;
-
         connections.forEach(HttpConnection::close);
     }
 
+    /**
+     * Get the current statistics of the pool.
+     *
+     * @param destinationKey destination of the pooled connections.
+     * @return snapshot of the pool state.
+     */
+    ConnectionPoolStatistics getStatistics(DestinationKey destinationKey) {
+        return new ConnectionPoolStatistics(destinationKey.toString(),
+                requestsInProgress.size(),
+                idleConnections.size(),
+                pendingRequests.size(),
+                dispatchedRequests.sum(),
+                totalWaitTime.sum(),
+                maxWaitTime.get());
+    }
+
     private RequestRecord getRequest(HttpConnection connection) {
         RequestRecord requestRecord = requestsInProgress.get(connection);
         if (requestRecord == null) {
@@ -160,7 +177,7 @@ class DestinationConnectionPool {
     }
 
     private RequestRecord removeRequest(HttpConnection connection) {
-        RequestRecord requestRecord = requestsInProgress.get(connection);
+        RequestRecord requestRecord = requestsInProgress.remove(connection);
         if (requestRecord == null) {
             throw new IllegalStateException("Request not found");
         }
@@ -169,38 +186,37 @@ class DestinationConnectionPool {
     }
 
     private void cleanClosedConnection(HttpConnection connection) {
-        if (closed) {
+        if (closed.get()) {
             return;
         }
 
-        RequestRecord pendingRequest;
-        synchronized (this) {
-            idleConnections.remove(connection);
-            connections.remove(connection);
-            connectionCounter--;
+        idleConnections.remove(connection);
+        connections.remove(connection);
+        int count = connectionCounter.decrementAndGet();
 
-            pendingRequest = pendingRequests.peek();
-            if (pendingRequest == null) {
-                if (connectionCounter == 0) {
-                    connectionCloseListener.onLastConnectionClosed();
-                }
-                return;
+        RequestRecord pendingRequest = pendingRequests.peek();
+        if (pendingRequest == null) {
+            if (count == 0) {
+                connectionCloseListener.onLastConnectionClosed();
             }
+            return;
         }
 
-        processPendingRequests();
+        dispatch();
+        if (!pendingRequests.isEmpty()) {
+            openConnection(pendingRequest.request.getUri());
+        }
     }
 
     private void handleIllegalStateTransition(HttpConnection.State oldState, HttpConnection.State newState) {
         throw new IllegalStateException("Illegal state transition, old state: " + oldState + " new state: " + newState);
     }
 
-    private synchronized void removeAllPendingWithError(Throwable t) {
-        for (RequestRecord requestRecord : pendingRequests) {
+    private void removeAllPendingWithError(Throwable t) {
+        RequestRecord requestRecord;
+        while ((requestRecord = pendingRequests.poll()) != null) {
             requestRecord.completionHandler.failed(t);
         }
-
-        pendingRequests.clear();
     }
 
     private class ConnectionStateListener implements HttpConnection.StateChangeListener {
@@ -213,7 +229,7 @@ class DestinationConnectionPool {
                     switch (oldState) {
                         case RECEIVED:
                         case CONNECTING: {
-                            processPendingRequests(connection);
+                            connectionIdle(connection);
                             return;
                         }
 
@@ -401,6 +417,7 @@ class DestinationConnectionPool {
 
         private final HttpRequest request;
         private final CompletionHandler<HttpResponse> completionHandler;
+        private final long created = System.nanoTime();
         private HttpResponse response;
 
         RequestRecord(HttpRequest request, CompletionHandler<HttpResponse> completionHandler) {
@@ -442,6 +459,11 @@ class DestinationConnectionPool {
             result = 31 * result + (secure ? 1 : 0);
             return result;
         }
+
+        @Override
+        public String toString() {
+            return (secure ? "https://" : "") + host + ":" + port;
+        }
     }
 
     interface ConnectionCloseListener {
@@ -17,10 +17,12 @@
 package org.glassfish.jersey.jdk.connector.internal;
 
 import java.net.CookieManager;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * @author Petr Janouch (petr.janouch at oracle.com)
@@ -74,6 +76,12 @@ class HttpConnectionPool {
         destinationConnectionPool.send(httpRequest, completionHandler);
     }
 
+    List<ConnectionPoolStatistics> getStatistics() {
+        return destinationPools.entrySet().stream()
+                .map(entry -> entry.getValue().getStatistics(entry.getKey()))
+                .collect(Collectors.toList());
+    }
+
     synchronized void close() {
         destinationPools.values().forEach(DestinationConnectionPool::close);
     }
@@ -16,11 +16,13 @@
 
 package org.glassfish.jersey.jdk.connector.internal;
 
-import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
 
 /**
  * @author Alexey Stashok
@@ -28,17 +30,22 @@ import javax.ws.rs.core.HttpHeaders;
  */
 class HttpParser {
 
-    private static final String ENCODING = "ISO-8859-1";
-
     private static final int BUFFER_STEP_SIZE = 256;
-    // this is package private because of the test
     static final int INIT_BUFFER_SIZE = 1024;
 
+    /* Buffers keeping the unparsed data between packets. Most of the responses are parsed from a single packet, so the
+       buffers are shared by the parsers of all the connections and a parser holds a buffer only while it is needed. */
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
     private final HttpParserUtils.HeaderParsingState headerParsingState;
     private final int bufferMaxSize;
     private final int maxHeaderSize;
 
-    private volatile ByteBuffer buffer = ByteBuffer.allocate(INIT_BUFFER_SIZE);
+    private volatile ByteBuffer buffer = EMPTY_BUFFER;
+    // used to decode the strings without intermediate byte arrays
+    private char[] chars = new char[BUFFER_STEP_SIZE];
     private volatile boolean headerParsed;
     private volatile boolean expectContent;
     private volatile String protocolVersion;
@@ -57,8 +64,7 @@ class HttpParser {
     void reset(boolean expectContent) {
         this.expectContent = expectContent;
         headerParsed = false;
-        buffer.clear();
-        buffer.flip();
+        releaseBuffer();
         complete = false;
         headerParsingState.recycle();
     }
@@ -101,6 +107,10 @@ class HttpParser {
             throw new ParseException(LocalizationMessages.UNEXPECTED_DATA_IN_BUFFER());
         }
 
+        if (!buffer.hasRemaining()) {
+            releaseBuffer();
+        }
+
         if (complete) {
             httpResponse.getBodyStream().notifyAllDataRead();
         }
@@ -122,6 +132,9 @@ class HttpParser {
 
         if (input.hasRemaining()) {
             if (input != buffer) {
+                if (buffer == EMPTY_BUFFER) {
+                    buffer = acquireBuffer();
+                }
                 buffer.clear();
                 buffer.flip();
                 buffer = Utils.appendBuffers(buffer, input, bufferMaxSize, BUFFER_STEP_SIZE);
@@ -132,6 +145,26 @@ class HttpParser {
         }
     }
 
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer pooled = BUFFER_POOL.poll();
+        return pooled != null ? pooled : ByteBuffer.allocate(INIT_BUFFER_SIZE);
+    }
+
+    private void releaseBuffer() {
+        ByteBuffer released = buffer;
+        if (released == EMPTY_BUFFER) {
+            return;
+        }
+
+        buffer = EMPTY_BUFFER;
+        // the buffers grown for large headers are not pooled
+        if (released.capacity() == INIT_BUFFER_SIZE) {
+            released.clear();
+            released.flip();
+            BUFFER_POOL.offer(released);
+        }
+    }
+
     // Taken with small modifications from Grizzly HttpCodecFilter.parseHeaderFromBuffer
     // (change: operations in phase 2 are translated to fit this parser)
     private boolean parseHeader(ByteBuffer input) throws ParseException {
@@ -140,7 +173,7 @@ class HttpParser {
             switch (headerParsingState.state) {
                 case 0: { // parsing initial line
                     if (!decodeInitialLineFromBuffer(input)) {
-                        headerParsingState.checkOverflow(LocalizationMessages.HTTP_INITIAL_LINE_OVERFLOW());
+                        headerParsingState.checkOverflow(LocalizationMessages::HTTP_INITIAL_LINE_OVERFLOW);
                         return false;
                     }
 
@@ -150,7 +183,7 @@ class HttpParser {
 
                 case 1: { // parsing headers
                     if (!parseHeadersFromBuffer(input, false)) {
-                        headerParsingState.checkOverflow(LocalizationMessages.HTTP_PACKET_HEADER_OVERFLOW());
+                        headerParsingState.checkOverflow(LocalizationMessages::HTTP_PACKET_HEADER_OVERFLOW);
                         return false;
                     }
 
@@ -249,7 +282,7 @@ class HttpParser {
                         return false;
                     }
 
-                    String reasonPhrase = parseString(input, headerParsingState.start, headerParsingState.checkpoint);
+                    String reasonPhrase = parseReasonPhrase(input, headerParsingState.start, headerParsingState.checkpoint);
 
                     headerParsingState.subState = 0;
                     headerParsingState.start = -1;
@@ -600,20 +633,51 @@ class HttpParser {
         return headerParsingState;
     }
 
-    private String parseString(ByteBuffer input, int startIdx, int endIdx) throws ParseException {
-        byte[] bytes = new byte[endIdx - startIdx];
-        input.position(startIdx);
-        input.get(bytes, 0, endIdx - startIdx);
-        try {
-            return new String(bytes, ENCODING);
-        } catch (UnsupportedEncodingException e) {
-            throw new ParseException("Unsupported encoding: " + ENCODING, e);
+    private String parseString(ByteBuffer input, int startIdx, int endIdx) {
+        input.position(endIdx);
+
+        String knownString = HttpParserUtils.knownString(input, startIdx, endIdx);
+        if (knownString != null) {
+            return knownString;
+        }
+
+        int length = endIdx - startIdx;
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+
+        // ISO-8859-1
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (input.get(startIdx + i) & 0xFF);
+        }
+        return new String(chars, 0, length);
+    }
+
+    private String parseReasonPhrase(ByteBuffer input, int startIdx, int endIdx) {
+        Response.Status status = Response.Status.fromStatusCode(code);
+        if (status != null) {
+            String reasonPhrase = status.getReasonPhrase();
+            if (reasonPhrase.length() == endIdx - startIdx && HttpParserUtils.equals(input, startIdx, reasonPhrase)) {
+                input.position(endIdx);
+                return reasonPhrase;
+            }
         }
 
+        return parseString(input, startIdx, endIdx);
     }
 
-    private int parseInt(ByteBuffer input, int startIdx, int endIdx) throws ParseException {
-        String value = parseString(input, startIdx, endIdx);
-        return Integer.valueOf(value);
+    private int parseInt(ByteBuffer input, int startIdx, int endIdx) {
+        int value = 0;
+        for (int i = startIdx; i < endIdx; i++) {
+            int digit = input.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                // let Integer report the invalid number
+                return Integer.valueOf(parseString(input, startIdx, endIdx));
+            }
+            value = value * 10 + digit;
+        }
+
+        input.position(endIdx);
+        return value;
     }
 }
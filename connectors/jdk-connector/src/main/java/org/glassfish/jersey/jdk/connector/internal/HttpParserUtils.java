@@ -17,6 +17,8 @@
 package org.glassfish.jersey.jdk.connector.internal;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Supplier;
 
 /**
  * @author Alexey Stashok
@@ -36,6 +38,88 @@ class HttpParserUtils {
     static final byte a = (byte) 'a';
     static final byte LC_OFFSET = A - a;
 
+    /**
+     * Well-known protocol versions, header names and header values. The parsed responses share these instances instead
+     * of decoding the same strings again for every response. The header names are in lower case, because the parser
+     * converts the header names to lower case.
+     */
+    private static final String[] KNOWN_STRINGS = {
+            // protocol versions
+            "HTTP/1.0", "HTTP/1.1",
+            // header names
+            "accept-ranges", "age", "allow", "cache-control", "connection", "content-disposition", "content-encoding",
+            "content-language", "content-length", "content-location", "content-type", "date", "etag", "expires",
+            "keep-alive", "last-modified", "link", "location", "pragma", "proxy-authenticate", "retry-after", "server",
+            "set-cookie", "strict-transport-security", "transfer-encoding", "vary", "via", "www-authenticate",
+            "x-content-type-options", "x-frame-options", "x-powered-by",
+            // header values
+            "0", "Accept-Encoding", "application/json", "application/octet-stream", "application/xml", "bytes", "chunked",
+            "close", "deflate", "gzip", "identity", "must-revalidate", "no-cache", "no-store", "nosniff", "private", "public",
+            "text/html", "text/plain", "text/xml"
+    };
+
+    // known strings indexed by their length
+    private static final String[][] KNOWN_STRINGS_BY_LENGTH;
+
+    static {
+        int maxLength = 0;
+        for (String knownString : KNOWN_STRINGS) {
+            maxLength = Math.max(maxLength, knownString.length());
+        }
+
+        final int lengths = maxLength + 1;
+        KNOWN_STRINGS_BY_LENGTH = new String[lengths][];
+        Arrays.fill(KNOWN_STRINGS_BY_LENGTH, new String[0]);
+        for (String knownString : KNOWN_STRINGS) {
+            String[] sameLength = KNOWN_STRINGS_BY_LENGTH[knownString.length()];
+            sameLength = Arrays.copyOf(sameLength, sameLength.length + 1);
+            sameLength[sameLength.length - 1] = knownString;
+            KNOWN_STRINGS_BY_LENGTH[knownString.length()] = sameLength;
+        }
+    }
+
+    /**
+     * Find a well-known string equal to the given ISO-8859-1 encoded bytes.
+     *
+     * @param input buffer containing the bytes.
+     * @param start index of the first byte.
+     * @param end   index following the last byte.
+     * @return the shared string instance or {@code null} if the bytes do not represent a well-known string.
+     */
+    static String knownString(ByteBuffer input, int start, int end) {
+        final int length = end - start;
+        if (length >= KNOWN_STRINGS_BY_LENGTH.length) {
+            return null;
+        }
+
+        for (String candidate : KNOWN_STRINGS_BY_LENGTH[length]) {
+            if (equals(input, start, candidate)) {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Check whether the ISO-8859-1 encoded bytes starting at the given index are equal to the string.
+     *
+     * @param input  buffer containing the bytes.
+     * @param start  index of the first byte.
+     * @param string string to be compared.
+     * @return {@code true} if the {@code string.length()} bytes represent the same string.
+     */
+    static boolean equals(ByteBuffer input, int start, String string) {
+        final int length = string.length();
+        for (int i = 0; i < length; i++) {
+            if (input.get(start + i) != (byte) string.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     static int skipSpaces(ByteBuffer input, int offset, int packetLimit) {
         final int limit = Math.min(input.limit(), packetLimit);
         while (offset < limit) {
@@ -96,12 +180,12 @@ class HttpParserUtils {
             packetLimit = maxHeaderSize;
         }
 
-        void checkOverflow(String errorDescriptionIfOverflow) throws ParseException {
+        void checkOverflow(Supplier<String> errorDescriptionIfOverflow) throws ParseException {
             if (offset < packetLimit) {
                 return;
             }
 
-            throw new ParseException(errorDescriptionIfOverflow);
+            throw new ParseException(errorDescriptionIfOverflow.get());
         }
     }
 
@@ -33,6 +33,7 @@ class HttpRequest {
     private final Map<String, List<String>> headers = new HashMap<>();
     private final BodyMode bodyMode;
     private final BodyOutputStream bodyStream;
+    private volatile long connectionWaitTime = -1;
 
     private HttpRequest(String method, URI uri, BodyMode bodyMode, BodyOutputStream bodyStream) {
         this.method = method;
@@ -80,6 +81,19 @@ class HttpRequest {
         return bodyStream;
     }
 
+    /**
+     * Get the time the request waited for a connection.
+     *
+     * @return wait time in nanoseconds or {@code -1} if the request has not been dispatched to a connection yet.
+     */
+    long getConnectionWaitTime() {
+        return connectionWaitTime;
+    }
+
+    void setConnectionWaitTime(long connectionWaitTime) {
+        this.connectionWaitTime = connectionWaitTime;
+    }
+
     void addHeaderIfNotPresent(String name, String value) {
         List<String> values = headers.get(name);
         if (values == null) {
@@ -17,9 +17,9 @@
 package org.glassfish.jersey.jdk.connector.internal;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * @author Petr Janouch (petr.janouch at oracle.com)
@@ -29,8 +29,9 @@ class HttpResponse {
     private final String protocolVersion;
     private final int statusCode;
     private final String reasonPhrase;
-    private final Map<String, List<String>> headers = new HashMap<>();
-    private final Map<String, List<String>> trailerHeaders = new HashMap<>(0);
+    // header names are case insensitive
+    private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, List<String>> trailerHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     private final AsynchronousBodyInputStream bodyStream;
     private volatile boolean hasContent = true;
 
@@ -66,13 +67,7 @@ class HttpResponse {
     }
 
     List<String> getHeader(String name) {
-        for (String headerName : headers.keySet()) {
-            if (headerName.equalsIgnoreCase(name)) {
-                return headers.get(headerName);
-            }
-        }
-
-        return null;
+        return headers.get(name);
     }
 
     void addHeader(String name, String value) {
@@ -86,13 +81,7 @@ class HttpResponse {
     }
 
     List<String> getTrailerHeader(String name) {
-        for (String headerName : trailerHeaders.keySet()) {
-            if (headerName.equalsIgnoreCase(name)) {
-                return trailerHeaders.get(headerName);
-            }
-        }
-
-        return null;
+        return trailerHeaders.get(name);
     }
 
     void addTrailerHeader(String name, String value) {
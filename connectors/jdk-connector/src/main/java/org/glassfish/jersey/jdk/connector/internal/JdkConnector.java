@@ -35,6 +35,7 @@ import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.client.monitoring.ClientMonitoringFeature;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
 
@@ -155,6 +156,9 @@ public class JdkConnector implements Connector {
 
             @Override
             public void completed(HttpResponse result) {
+                if (httpRequest.getConnectionWaitTime() >= 0) {
+                    request.setProperty(ClientMonitoringFeature.CONNECTION_WAIT_TIME, httpRequest.getConnectionWaitTime());
+                }
                 redirectHandler.handleRedirects(result, new CompletionHandler<HttpResponse>() {
                     @Override
                     public void failed(Throwable throwable) {
@@ -236,6 +240,15 @@ public class JdkConnector implements Connector {
         return responseContext;
     }
 
+    /**
+     * Get the statistics of the connection pools, one per destination the connector has open connections to.
+     *
+     * @return snapshots of the connection pools.
+     */
+    public List<ConnectionPoolStatistics> getConnectionPoolStatistics() {
+        return httpConnectionPool.getStatistics();
+    }
+
     @Override
     public String getName() {
         return "JDK connector";
@@ -201,7 +201,7 @@ abstract class TransferEncodingParser {
                             headerParsingState.offset = input.limit();
                             headerParsingState.state = 1;
 
-                            headerParsingState.checkOverflow(LocalizationMessages.HTTP_CHUNK_ENCODING_PREFIX_OVERFLOW());
+                            headerParsingState.checkOverflow(LocalizationMessages::HTTP_CHUNK_ENCODING_PREFIX_OVERFLOW);
                             return false;
                         }
 
@@ -244,7 +244,7 @@ abstract class TransferEncodingParser {
 
                         headerParsingState.parsingNumericValue = value;
                         headerParsingState.offset = offset;
-                        headerParsingState.checkOverflow(LocalizationMessages.HTTP_CHUNK_ENCODING_PREFIX_OVERFLOW());
+                        headerParsingState.checkOverflow(LocalizationMessages::HTTP_CHUNK_ENCODING_PREFIX_OVERFLOW);
                         return false;
                     }
                 }
@@ -287,7 +287,7 @@ abstract class TransferEncodingParser {
         private boolean parseLastChunkTrailer(final ByteBuffer input) throws ParseException {
             boolean result = httpParser.parseHeadersFromBuffer(input, true);
             if (!result) {
-                headerParsingState.checkOverflow(LocalizationMessages.HTTP_TRAILER_HEADER_OVERFLOW());
+                headerParsingState.checkOverflow(LocalizationMessages::HTTP_TRAILER_HEADER_OVERFLOW);
             }
 
             return result;
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.jdk.connector.JdkConnectorProvider;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the {@link ClientProperties#ASYNC_NON_BLOCKING non-blocking} asynchronous invocations reading a response entity
+ * larger than the connector buffers. The connector completes the request in its I/O thread before the entity is received.
+ */
+public class AsyncNonBlockingTest extends JerseyTest {
+
+    private static final String ENTITY = TestUtils.generateBody(1024 * 1024);
+
+    @Path("/large")
+    public static class LargeResource {
+
+        @GET
+        public String get() {
+            return ENTITY;
+        }
+    }
+
+    /**
+     * Response filter buffering the response entity.
+     */
+    public static class BufferingFilter implements ClientResponseFilter {
+
+        @Override
+        public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext)
+                throws IOException {
+            final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(responseContext.getEntityStream(), entity);
+            responseContext.setEntityStream(new ByteArrayInputStream(entity.toByteArray()));
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(LargeResource.class);
+    }
+
+    @Override
+    protected void configureClient(ClientConfig config) {
+        config.property(ClientProperties.ASYNC_NON_BLOCKING, true);
+        config.connectorProvider(new JdkConnectorProvider());
+    }
+
+    @Test
+    public void testAsyncClass() throws Exception {
+        assertEquals(ENTITY, target("large").request().async().get(String.class).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncGenericType() throws Exception {
+        assertEquals(ENTITY, target("large").request().async().get(new GenericType<String>() {
+        }).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncCallback() throws Exception {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        target("large").request().async().get(new InvocationCallback<String>() {
+            @Override
+            public void completed(final String response) {
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(final Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        });
+        assertEquals(ENTITY, result.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRx() throws Exception {
+        assertEquals(ENTITY, target("large").request().rx().get(String.class).toCompletableFuture().get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAsyncResponse() throws Exception {
+        final Response response = target("large").request().async().get().get(10, TimeUnit.SECONDS);
+        final CompletableFuture<String> entity = CompletableFuture.supplyAsync(() -> response.readEntity(String.class));
+        assertEquals(ENTITY, entity.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testResponseFilterReadingEntity() throws Exception {
+        final Response response = target("large").register(BufferingFilter.class).request().async().get()
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(ENTITY, response.readEntity(String.class));
+    }
+}
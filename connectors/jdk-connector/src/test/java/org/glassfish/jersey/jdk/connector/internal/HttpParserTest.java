@@ -30,6 +30,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -97,6 +98,33 @@ public class HttpParserTest {
         verifyHeaderValue("name2", "value2");
     }
 
+    @Test
+    public void testKnownStringsSharedInOnePiece() throws ParseException {
+        testKnownStringsShared(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testKnownStringsSharedSegmented() throws ParseException {
+        testKnownStringsShared(7);
+    }
+
+    private void testKnownStringsShared(int segmentSize) throws ParseException {
+        for (int i = 0; i < 2; i++) {
+            httpParser.reset(false);
+            feedParser("HTTP/1.1 200 OK\r\n"
+                    + "Content-Type: text/plain\r\n"
+                    + "X-Custom: custom\r\n\r\n", segmentSize);
+
+            assertTrue(httpParser.isComplete());
+            HttpResponse httpResponse = httpParser.getHttpResponse();
+            assertSame("HTTP/1.1", httpResponse.getProtocolVersion());
+            assertSame("OK", httpResponse.getReasonPhrase());
+            assertSame("content-type", httpResponse.getHeaders().keySet().iterator().next());
+            assertSame("text/plain", httpResponse.getHeader("Content-Type").get(0));
+            assertEquals("custom", httpResponse.getHeader("X-Custom").get(0));
+        }
+    }
+
     private void verifyHeaderValue(String name, String... expectedValues) {
         verifyHeaderValue(name, false, expectedValues);
     }
@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jnh.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.message.internal.Statuses;
+
+/**
+ * A {@link Connector} that utilizes the JDK 11 {@link HttpClient} to send and receive HTTP requests and responses.
+ * <p/>
+ * The request entity is written by the calling thread into a {@link HttpRequest.BodyPublisher} that hands the written
+ * data over to the client as the client requests them, the response entity is read from the
+ * {@link HttpResponse.BodyHandlers#ofInputStream() input stream} body subscriber.
+ */
+class JavaNetHttpConnector implements Connector {
+
+    private static final Logger LOGGER = Logger.getLogger(JavaNetHttpConnector.class.getName());
+
+    /**
+     * Headers managed by the {@code HttpClient} itself, these are never sent by the connector.
+     */
+    private static final Set<String> MANAGED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        MANAGED_HEADERS.add("Connection");
+        MANAGED_HEADERS.add("Content-Length");
+        MANAGED_HEADERS.add("Expect");
+        MANAGED_HEADERS.add("Host");
+        MANAGED_HEADERS.add("Upgrade");
+    }
+
+    private final HttpClient httpClient;
+
+    /**
+     * Create the new {@code java.net.http.HttpClient}-based connector.
+     *
+     * @param client JAX-RS client instance for which the connector is being created.
+     * @param config client configuration.
+     */
+    JavaNetHttpConnector(final Client client, final Configuration config) {
+        final Map<String, Object> properties = config.getProperties();
+
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .sslContext(client.getSslContext())
+                .version(ClientProperties.getValue(properties, JavaNetHttpClientProperties.HTTP_VERSION,
+                        HttpClient.Version.HTTP_2, HttpClient.Version.class))
+                .followRedirects(ClientProperties.getValue(properties, ClientProperties.FOLLOW_REDIRECTS, true)
+                        ? HttpClient.Redirect.NORMAL : HttpClient.Redirect.NEVER);
+
+        final int connectTimeout = ClientProperties.getValue(properties, ClientProperties.CONNECT_TIMEOUT, 0);
+        if (connectTimeout > 0) {
+            builder.connectTimeout(Duration.ofMillis(connectTimeout));
+        }
+
+        final Object proxyUri = config.getProperty(ClientProperties.PROXY_URI);
+        if (proxyUri != null) {
+            final URI uri = getProxyUri(proxyUri);
+            builder.proxy(ProxySelector.of(new InetSocketAddress(uri.getHost(), uri.getPort() == -1 ? 8080 : uri.getPort())));
+        }
+
+        this.httpClient = builder.build();
+    }
+
+    @SuppressWarnings("ChainOfInstanceofChecks")
+    private static URI getProxyUri(final Object proxy) {
+        if (proxy instanceof URI) {
+            return (URI) proxy;
+        } else if (proxy instanceof String) {
+            return URI.create((String) proxy);
+        } else {
+            throw new ProcessingException(LocalizationMessages.WRONG_PROXY_URI_TYPE(ClientProperties.PROXY_URI));
+        }
+    }
+
+    /**
+     * Get the {@link HttpClient} used by this connector.
+     *
+     * @return underlying {@code java.net.http.HttpClient}.
+     */
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    @Override
+    public ClientResponse apply(final ClientRequest request) {
+        try {
+            return send(request).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(e);
+        } catch (final ExecutionException e) {
+            throw processingException(e.getCause());
+        }
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+        final CompletableFuture<ClientResponse> response;
+        try {
+            response = send(request);
+        } catch (final Throwable t) {
+            callback.failure(t);
+            return CompletableFuture.failedFuture(t);
+        }
+
+        return response.whenComplete((clientResponse, failure) -> {
+            if (failure == null) {
+                callback.response(clientResponse);
+            } else {
+                callback.failure(processingException(failure));
+            }
+        });
+    }
+
+    /**
+     * Send the request and write its entity.
+     *
+     * @param request request to be sent.
+     * @return future completed with the response once the response headers are received.
+     */
+    private CompletableFuture<ClientResponse> send(final ClientRequest request) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(request.getUri());
+
+        final Integer readTimeout = request.resolveProperty(ClientProperties.READ_TIMEOUT, Integer.class);
+        if (readTimeout != null && readTimeout > 0) {
+            builder.timeout(Duration.ofMillis(readTimeout));
+        }
+
+        if (request.getEntity() == null) {
+            setOutboundHeaders(request, builder);
+            return sendAsync(request, builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody()));
+        }
+
+        if (httpClient.version() == HttpClient.Version.HTTP_2 && "http".equalsIgnoreCase(request.getUri().getScheme())) {
+            // the cleartext h2c upgrade of a request with an entity is not understood by many HTTP/1.1 servers
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+
+        if (request.resolveProperty(ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.class)
+                == RequestEntityProcessing.BUFFERED) {
+            request.enableBuffering();
+        }
+
+        final CompletableFuture<ClientResponse> response = new CompletableFuture<>();
+        final AtomicReference<StreamingBodyPublisher> entityPublisher = new AtomicReference<>();
+        request.setStreamProvider(contentLength -> {
+            setOutboundHeaders(request, builder);
+
+            final StreamingBodyPublisher publisher = new StreamingBodyPublisher(contentLength);
+            entityPublisher.set(publisher);
+            sendAsync(request, builder.method(request.getMethod(), publisher)).whenComplete((clientResponse, failure) -> {
+                if (failure == null) {
+                    response.complete(clientResponse);
+                } else {
+                    publisher.abort(failure);
+                    response.completeExceptionally(failure);
+                }
+            });
+            return publisher;
+        });
+
+        try {
+            request.writeEntity();
+        } catch (final IOException | RuntimeException e) {
+            final StreamingBodyPublisher publisher = entityPublisher.get();
+            if (publisher != null) {
+                // abort the exchange waiting for the rest of the entity
+                publisher.fail(e);
+            }
+            // the client failure that caused the entity write to fail, if any, is more descriptive
+            response.completeExceptionally(e);
+        }
+        return response;
+    }
+
+    private CompletableFuture<ClientResponse> sendAsync(final ClientRequest request, final HttpRequest.Builder builder) {
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> translateResponse(request, response));
+    }
+
+    private static void setOutboundHeaders(final ClientRequest request, final HttpRequest.Builder builder) {
+        for (final Map.Entry<String, List<String>> header : request.getStringHeaders().entrySet()) {
+            final String name = header.getKey();
+            if (MANAGED_HEADERS.contains(name)) {
+                continue;
+            }
+            try {
+                for (final String value : header.getValue()) {
+                    builder.header(name, value);
+                }
+            } catch (final IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, LocalizationMessages.RESTRICTED_HEADER_NOT_SENT(name), e);
+            }
+        }
+    }
+
+    private static ClientResponse translateResponse(final ClientRequest request, final HttpResponse<InputStream> response) {
+        final ClientResponse jerseyResponse = new ClientResponse(Statuses.from(response.statusCode()), request);
+
+        for (final Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            // skip the HTTP/2 pseudo-headers
+            if (!header.getKey().startsWith(":")) {
+                jerseyResponse.getHeaders().addAll(header.getKey(), header.getValue());
+            }
+        }
+        jerseyResponse.setResolvedRequestUri(response.uri());
+        jerseyResponse.setEntityStream(response.body());
+
+        return jerseyResponse;
+    }
+
+    private static ProcessingException processingException(final Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        return cause instanceof ProcessingException ? (ProcessingException) cause : new ProcessingException(cause);
+    }
+
+    @Override
+    public String getName() {
+        return "java.net.http.HttpClient " + httpClient.version();
+    }
+
+    @Override
+    public void close() {
+        // the JDK 11 HttpClient has no explicit shutdown, its resources are released once it is garbage collected
+    }
+
+    /**
+     * Request entity stream publishing the written data to the {@code HttpClient}.
+     * <p/>
+     * The written bytes are collected in buffers, a full (or flushed) buffer is handed over to the subscriber once the
+     * subscriber requests it. The writing thread blocks until then, so that the entity is never held in memory as a whole.
+     */
+    private static final class StreamingBodyPublisher extends OutputStream implements HttpRequest.BodyPublisher {
+
+        private static final int BUFFER_SIZE = 8192;
+
+        private final long contentLength;
+        private final Object lock = new Object();
+
+        private Flow.Subscriber<? super ByteBuffer> subscriber;
+        private boolean subscribed;
+        private long demand;
+        private boolean cancelled;
+        private Throwable failure;
+        // the entity writing failed, the subscriber has to be notified once subscribed
+        private boolean writeFailed;
+        private boolean errorSignalled;
+
+        private ByteBuffer buffer;
+        private boolean closed;
+
+        private StreamingBodyPublisher(final long contentLength) {
+            this.contentLength = contentLength > 0 ? contentLength : -1;
+        }
+
+        @Override
+        public long contentLength() {
+            return contentLength;
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super ByteBuffer> subscriber) {
+            synchronized (lock) {
+                if (this.subscriber != null) {
+                    // a redirect or an authentication retry; the streamed entity cannot be replayed
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(final long n) {
+                        }
+
+                        @Override
+                        public void cancel() {
+                        }
+                    });
+                    subscriber.onError(new IOException(LocalizationMessages.REQUEST_ENTITY_NOT_REPEATABLE()));
+                    return;
+                }
+                this.subscriber = subscriber;
+            }
+
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    synchronized (lock) {
+                        if (n <= 0) {
+                            failure = new IllegalArgumentException("Non-positive subscription request: " + n);
+                        } else {
+                            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                        }
+                        lock.notifyAll();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    synchronized (lock) {
+                        cancelled = true;
+                        lock.notifyAll();
+                    }
+                }
+            });
+
+            final Throwable error;
+            synchronized (lock) {
+                subscribed = true;
+                error = writeFailed && !errorSignalled ? failure : null;
+                errorSignalled |= error != null;
+                lock.notifyAll();
+            }
+            if (error != null) {
+                subscriber.onError(error);
+            }
+        }
+
+        /**
+         * Fail the exchange, the writing of the entity has failed.
+         *
+         * @param failure failure of the entity writing.
+         */
+        void fail(final Throwable failure) {
+            final Flow.Subscriber<? super ByteBuffer> target;
+            final Throwable error;
+            synchronized (lock) {
+                if (this.failure == null) {
+                    this.failure = failure;
+                }
+                writeFailed = true;
+                closed = true;
+                target = subscribed && !cancelled && !errorSignalled ? subscriber : null;
+                errorSignalled |= target != null;
+                error = this.failure;
+                lock.notifyAll();
+            }
+            if (target != null) {
+                target.onError(error);
+            }
+        }
+
+        /**
+         * Stop the writing of the entity, the exchange has failed.
+         *
+         * @param failure failure of the exchange.
+         */
+        void abort(final Throwable failure) {
+            synchronized (lock) {
+                if (this.failure == null) {
+                    this.failure = failure;
+                }
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            ensureBuffer();
+            buffer.put((byte) b);
+            if (!buffer.hasRemaining()) {
+                publish();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                ensureBuffer();
+                final int chunk = Math.min(len, buffer.remaining());
+                buffer.put(b, off, chunk);
+                off += chunk;
+                len -= chunk;
+                if (!buffer.hasRemaining()) {
+                    publish();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            publish();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            publish();
+            awaitDemand(false).onComplete();
+        }
+
+        private void ensureBuffer() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed.");
+            }
+            if (buffer == null) {
+                buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            }
+        }
+
+        private void publish() throws IOException {
+            if (buffer == null || buffer.position() == 0) {
+                return;
+            }
+            final Flow.Subscriber<? super ByteBuffer> target = awaitDemand(true);
+            buffer.flip();
+            // the subscriber may keep the published buffer, a new one is allocated for the next data
+            final ByteBuffer published = buffer;
+            buffer = null;
+            target.onNext(published);
+        }
+
+        private Flow.Subscriber<? super ByteBuffer> awaitDemand(final boolean consume) throws IOException {
+            synchronized (lock) {
+                while (failure == null && !cancelled && (!subscribed || (consume && demand == 0))) {
+                    try {
+                        lock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException();
+                    }
+                }
+                if (failure != null) {
+                    throw new IOException(failure);
+                }
+                if (cancelled) {
+                    throw new IOException(LocalizationMessages.REQUEST_ENTITY_CANCELLED());
+                }
+                if (consume) {
+                    demand--;
+                }
+                return subscriber;
+            }
+        }
+    }
+}
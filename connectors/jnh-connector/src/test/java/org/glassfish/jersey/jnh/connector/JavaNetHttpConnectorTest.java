@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jnh.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.net.http.HttpClient;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HEAD;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.POST;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Basic {@link JavaNetHttpConnector} tests.
+ */
+public class JavaNetHttpConnectorTest extends JerseyTest {
+
+    private static final int LARGE_ENTITY_SIZE = 4 * 1024 * 1024 + 17;
+
+    private static final CountDownLatch FAILED_ENTITY_READ = new CountDownLatch(1);
+
+    @Path("/test")
+    public static class Resource {
+
+        @GET
+        public String get(@HeaderParam("X-Test") final String header) {
+            return "GET " + header;
+        }
+
+        @HEAD
+        public Response head() {
+            return Response.ok().header("X-Test", "head").build();
+        }
+
+        @POST
+        public String post(final String entity) {
+            return "POST " + entity;
+        }
+
+        @POST
+        @Path("length")
+        public String length(@HeaderParam("Content-Length") final String contentLength,
+                             @HeaderParam("Transfer-Encoding") final String transferEncoding,
+                             final InputStream entity) throws IOException {
+            long length = 0;
+            final byte[] buffer = new byte[8192];
+            for (int read = entity.read(buffer); read != -1; read = entity.read(buffer)) {
+                length += read;
+            }
+            return length + " " + contentLength + " " + transferEncoding;
+        }
+
+        @POST
+        @Path("failed")
+        public String failed(final InputStream entity) throws IOException {
+            try {
+                while (entity.read() != -1) {
+                    // the client fails to write the whole entity
+                }
+                return "read";
+            } finally {
+                FAILED_ENTITY_READ.countDown();
+            }
+        }
+
+        @GET
+        @Path("large")
+        public StreamingOutput large() {
+            return output -> {
+                final byte[] chunk = new byte[1000];
+                Arrays.fill(chunk, (byte) 'a');
+                for (int i = 0; i < LARGE_ENTITY_SIZE / chunk.length; i++) {
+                    output.write(chunk);
+                }
+                output.write(chunk, 0, LARGE_ENTITY_SIZE % chunk.length);
+            };
+        }
+    }
+
+    /**
+     * Request entity whose writing fails after a part of it has been sent.
+     */
+    public static class FailingEntity {
+    }
+
+    /**
+     * Writer of the {@link FailingEntity}.
+     */
+    public static class FailingEntityWriter implements MessageBodyWriter<FailingEntity> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == FailingEntity.class;
+        }
+
+        @Override
+        public void writeTo(final FailingEntity entity, final Class<?> type, final Type genericType,
+                            final Annotation[] annotations, final MediaType mediaType,
+                            final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+                throws IOException {
+            entityStream.write(new byte[64 * 1024]);
+            entityStream.flush();
+            throw new IllegalStateException("Entity writing failed.");
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(Resource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.connectorProvider(new JavaNetHttpConnectorProvider());
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals("GET header", target("test").request().header("X-Test", "header").get(String.class));
+    }
+
+    @Test
+    public void testHead() {
+        final Response response = target("test").request().head();
+        assertEquals(200, response.getStatus());
+        assertEquals("head", response.getHeaderString("X-Test"));
+    }
+
+    @Test
+    public void testPost() {
+        assertEquals("POST entity", target("test").request().post(Entity.text("entity"), String.class));
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        final Future<String> get = target("test").request().header("X-Test", "async").async().get(String.class);
+        final CompletableFuture<String> post = target("test").request().rx()
+                .post(Entity.text("rx"), String.class).toCompletableFuture();
+
+        assertEquals("GET async", get.get(10, TimeUnit.SECONDS));
+        assertEquals("POST rx", post.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testChunkedRequestEntity() {
+        final byte[] entity = new byte[LARGE_ENTITY_SIZE];
+        final String result = target("test/length").request()
+                .post(Entity.entity(entity, "application/octet-stream"), String.class);
+
+        assertEquals(LARGE_ENTITY_SIZE + " null chunked", result);
+    }
+
+    @Test
+    public void testBufferedRequestEntity() {
+        final String result = target("test/length").property(ClientProperties.REQUEST_ENTITY_PROCESSING,
+                RequestEntityProcessing.BUFFERED).request().post(Entity.text("buffered"), String.class);
+
+        assertEquals("8 8 null", result);
+    }
+
+    @Test
+    public void testLargeResponseEntity() throws IOException {
+        final InputStream entity = target("test/large").request().get(InputStream.class);
+        final byte[] buffer = new byte[8192];
+        long length = 0;
+        for (int read = entity.read(buffer); read != -1; read = entity.read(buffer)) {
+            length += read;
+        }
+        entity.close();
+
+        assertEquals(LARGE_ENTITY_SIZE, length);
+    }
+
+    @Test
+    public void testHttpVersion() {
+        final HttpClient defaultClient = JavaNetHttpConnectorProvider.getHttpClient(client());
+        assertEquals(HttpClient.Version.HTTP_2, defaultClient.version());
+
+        final HttpClient http11Client = JavaNetHttpConnectorProvider.getHttpClient(client().target(getBaseUri())
+                .property(JavaNetHttpClientProperties.HTTP_VERSION, "HTTP_1_1"));
+        assertNotNull(http11Client);
+        assertEquals(HttpClient.Version.HTTP_1_1, http11Client.version());
+    }
+
+    @Test
+    public void testFailedRequestEntity() throws Exception {
+        final Future<String> result = target("test/failed").register(FailingEntityWriter.class).request().async()
+                .post(Entity.entity(new FailingEntity(), "application/octet-stream"), String.class);
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail("ExecutionException expected.");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ProcessingException);
+        }
+        // the exchange is aborted instead of waiting for the rest of the entity
+        assertTrue(FAILED_ENTITY_READ.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,482 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http2.DefaultHttp2Connection;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2LocalFlowController;
+import io.netty.handler.codec.http2.DelegatingDecompressorFrameListener;
+import io.netty.handler.codec.http2.Http2Connection;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2ConnectionHandlerBuilder;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2EventAdapter;
+import io.netty.handler.codec.http2.Http2Exception;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2Stream;
+
+/**
+ * HTTP/2 connection multiplexing concurrent requests as separate streams.
+ * <p>
+ * The connection is used by the requests that reserved a stream using {@link Http2ConnectionPool#acquire()}. The stream
+ * ids are allocated and all the frames are written in the channel event loop. The responses are dispatched to the
+ * {@link JerseyHttp2ClientStream streams} by the stream id.
+ * </p>
+ */
+final class Http2ClientConnection extends Http2EventAdapter {
+
+    /**
+     * Connection-specific HTTP/1.1 headers that must not be sent over HTTP/2.
+     */
+    private static final Set<String> EXCLUDED_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "transfer-encoding", "upgrade", "host", "te"));
+
+    /**
+     * Maximal number of request entity bytes buffered before the entity writing thread is blocked.
+     */
+    private static final int MAX_BUFFERED_BYTES = 64 * 1024;
+
+    private final NettyConnector connector;
+    private final Http2ConnectionPool pool;
+    private final Channel channel;
+    private final Http2ConnectionHandler handler;
+
+    // accessed from the channel event loop only
+    private final Map<Integer, JerseyHttp2ClientStream> streams = new HashMap<>();
+
+    // guarded by the pool
+    private boolean settled = false;
+    private boolean ready = false;
+    private boolean goingAway = false;
+    private int reserved = 0;
+
+    // the SETTINGS_MAX_CONCURRENT_STREAMS announced by the server
+    private volatile int remoteMaxStreams = Integer.MAX_VALUE;
+
+    /**
+     * Create new HTTP/2 connection.
+     *
+     * @param connector Netty connector.
+     * @param pool      connection pool the connection belongs to.
+     * @param channel   connection channel.
+     */
+    Http2ClientConnection(final NettyConnector connector, final Http2ConnectionPool pool, final Channel channel) {
+        this.connector = connector;
+        this.pool = pool;
+        this.channel = channel;
+
+        final Http2Connection connection = new DefaultHttp2Connection(false);
+        // the connection window is refilled once the data is received, so that a response entity not read by the application
+        // stalls only its own stream, the stream windows are refilled once the data is read
+        connection.local().flowController(new DefaultHttp2LocalFlowController(
+                connection, DefaultHttp2LocalFlowController.DEFAULT_WINDOW_UPDATE_RATIO, true));
+        connection.addListener(this);
+        this.handler = new Http2ConnectionHandlerBuilder()
+                .connection(connection)
+                .frameListener(new DelegatingDecompressorFrameListener(connection, this))
+                .initialSettings(new Http2Settings().pushEnabled(false))
+                // buffer new streams exceeding a lowered server limit rather than failing them
+                .encoderEnforceMaxConcurrentStreams(true)
+                .build();
+    }
+
+    /**
+     * Get the connection channel.
+     *
+     * @return connection channel.
+     */
+    Channel channel() {
+        return channel;
+    }
+
+    /**
+     * Get the HTTP/2 connection handler to be added to the channel pipeline.
+     *
+     * @return HTTP/2 connection handler.
+     */
+    Http2ConnectionHandler handler() {
+        return handler;
+    }
+
+    // Stream reservations, guarded by the pool.
+
+    boolean settle() {
+        if (settled) {
+            return false;
+        }
+        settled = true;
+        return true;
+    }
+
+    void ready() {
+        ready = true;
+    }
+
+    void goingAway() {
+        goingAway = true;
+    }
+
+    boolean tryReserve() {
+        if (ready && !goingAway && channel.isActive()
+                && reserved < Math.min(connector.maxConcurrentStreams, remoteMaxStreams)) {
+            reserved++;
+            return true;
+        }
+        return false;
+    }
+
+    void release() {
+        reserved--;
+    }
+
+    boolean isIdle() {
+        return reserved == 0;
+    }
+
+    /**
+     * Send the request on a stream reserved by {@link Http2ConnectionPool#acquire()}.
+     *
+     * @param jerseyRequest  Jersey client request.
+     * @param jerseyCallback callback notified about the response.
+     * @param settableFuture future completed with the response.
+     */
+    void send(final ClientRequest jerseyRequest, final AsyncConnectorCallback jerseyCallback,
+              final CompletableFuture<Object> settableFuture) {
+
+        final JerseyHttp2ClientStream stream =
+                new JerseyHttp2ClientStream(connector, this, jerseyRequest, jerseyCallback, settableFuture);
+        final boolean hasEntity = jerseyRequest.hasEntity();
+        final Http2Headers headers = headers(jerseyRequest);
+
+        try {
+            channel.eventLoop().execute(() -> open(stream, headers, !hasEntity));
+        } catch (RejectedExecutionException e) {
+            stream.failed(e);
+            pool.release(this);
+            return;
+        }
+
+        if (hasEntity) {
+            jerseyRequest.setStreamProvider(contentLength -> new EntityOutputStream(stream));
+            connector.executorService.execute(() -> {
+                try {
+                    jerseyRequest.writeEntity();
+                } catch (IOException e) {
+                    jerseyCallback.failure(e);
+                    settableFuture.completeExceptionally(e);
+                    execute(() -> reset(stream));
+                }
+            });
+        }
+    }
+
+    private static Http2Headers headers(final ClientRequest jerseyRequest) {
+        final URI requestUri = jerseyRequest.getUri();
+        final String path = requestUri.getRawPath() == null || requestUri.getRawPath().isEmpty()
+                ? "/" : requestUri.getRawPath();
+
+        final Http2Headers headers = new DefaultHttp2Headers()
+                .method(jerseyRequest.getMethod())
+                .scheme(requestUri.getScheme())
+                .authority(requestUri.getPort() == -1 ? requestUri.getHost() : requestUri.getHost() + ":" + requestUri.getPort())
+                .path(requestUri.getRawQuery() == null ? path : path + "?" + requestUri.getRawQuery());
+
+        // HTTP/2 header names are lower case
+        for (final Map.Entry<String, List<String>> e : jerseyRequest.getStringHeaders().entrySet()) {
+            final String name = e.getKey().toLowerCase(Locale.ROOT);
+            if (!EXCLUDED_HEADERS.contains(name)) {
+                headers.add(name, e.getValue());
+            }
+        }
+
+        if (jerseyRequest.hasEntity() && jerseyRequest.getLengthLong() != -1) {
+            headers.setLong(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
+        }
+        return headers;
+    }
+
+    private void open(final JerseyHttp2ClientStream stream, final Http2Headers headers, final boolean endOfStream) {
+        final int streamId = handler.connection().local().incrementAndGetNextStreamId();
+        if (streamId < 0) {
+            // stream ids exhausted, the connection is replaced by a new one
+            pool.goingAway(this);
+            stream.failed(new IOException("No more streams available on the connection."));
+            pool.release(this);
+            return;
+        }
+
+        stream.streamId = streamId;
+        streams.put(streamId, stream);
+        handler.encoder().writeHeaders(context(), streamId, headers, 0, endOfStream, newPromise(streamId));
+        channel.flush();
+    }
+
+    private void writeData(final JerseyHttp2ClientStream stream, final ByteBuf data, final boolean endOfStream,
+                           final ChannelPromise promise) {
+        if (!streams.containsKey(stream.streamId)) {
+            data.release();
+            promise.tryFailure(new IOException("Stream closed."));
+            return;
+        }
+        handler.encoder().writeData(context(), stream.streamId, data, 0, endOfStream,
+                failStreamOnError(promise, stream.streamId));
+        channel.flush();
+    }
+
+    private void reset(final JerseyHttp2ClientStream stream) {
+        if (streams.containsKey(stream.streamId)) {
+            handler.resetStream(context(), stream.streamId, Http2Error.CANCEL.code(), channel.newPromise());
+            channel.flush();
+        }
+    }
+
+    private ChannelPromise newPromise(final int streamId) {
+        return failStreamOnError(channel.newPromise(), streamId);
+    }
+
+    private ChannelPromise failStreamOnError(final ChannelPromise promise, final int streamId) {
+        promise.addListener((ChannelFutureListener) future -> {
+            if (!future.isSuccess()) {
+                streamFailed(streamId, future.cause());
+            }
+        });
+        return promise;
+    }
+
+    private ChannelHandlerContext context() {
+        return channel.pipeline().context(handler);
+    }
+
+    private void execute(final Runnable task) {
+        try {
+            channel.eventLoop().execute(task);
+        } catch (RejectedExecutionException e) {
+            // the connection has been closed
+        }
+    }
+
+    /**
+     * Return the bytes read from the response entity to the stream flow control window.
+     *
+     * @param streamId stream id.
+     * @param bytes    number of the bytes read.
+     */
+    void consumeBytes(final int streamId, final int bytes) {
+        execute(() -> {
+            final Http2Stream stream = handler.connection().stream(streamId);
+            // the bytes of the closed streams are returned to the connection window by Netty
+            if (stream != null) {
+                try {
+                    handler.connection().local().flowController().consumeBytes(stream, bytes);
+                    channel.flush();
+                } catch (Http2Exception e) {
+                    handler.onError(context(), e);
+                }
+            }
+        });
+    }
+
+    private void streamFailed(final int streamId, final Throwable cause) {
+        final JerseyHttp2ClientStream stream = streams.remove(streamId);
+        if (stream != null) {
+            stream.failed(cause);
+            pool.release(this);
+        }
+    }
+
+    /**
+     * Fail the streams in progress, invoked once the connection is closed.
+     *
+     * @param cause failure cause.
+     */
+    void failStreams(final Throwable cause) {
+        final List<JerseyHttp2ClientStream> failed = new ArrayList<>(streams.values());
+        streams.clear();
+        for (final JerseyHttp2ClientStream stream : failed) {
+            stream.failed(cause);
+            pool.release(this);
+        }
+    }
+
+    @Override
+    public void onHeadersRead(final ChannelHandlerContext ctx, final int streamId, final Http2Headers headers,
+                              final int padding, final boolean endOfStream) {
+        final JerseyHttp2ClientStream stream = streams.get(streamId);
+        if (stream != null) {
+            stream.headersRead(headers, endOfStream);
+        }
+    }
+
+    @Override
+    public void onHeadersRead(final ChannelHandlerContext ctx, final int streamId, final Http2Headers headers,
+                              final int streamDependency, final short weight, final boolean exclusive,
+                              final int padding, final boolean endOfStream) {
+        onHeadersRead(ctx, streamId, headers, padding, endOfStream);
+    }
+
+    @Override
+    public int onDataRead(final ChannelHandlerContext ctx, final int streamId, final ByteBuf data,
+                          final int padding, final boolean endOfStream) {
+        final JerseyHttp2ClientStream stream = streams.get(streamId);
+        if (stream != null) {
+            return stream.dataRead(data, endOfStream) + padding;
+        }
+        return data.readableBytes() + padding;
+    }
+
+    @Override
+    public void onRstStreamRead(final ChannelHandlerContext ctx, final int streamId, final long errorCode) {
+        final JerseyHttp2ClientStream stream = streams.get(streamId);
+        if (stream != null) {
+            stream.reset(errorCode);
+        }
+    }
+
+    @Override
+    public void onSettingsRead(final ChannelHandlerContext ctx, final Http2Settings settings) {
+        final Long maxConcurrentStreams = settings.maxConcurrentStreams();
+        if (maxConcurrentStreams != null) {
+            remoteMaxStreams = (int) Math.min(maxConcurrentStreams, Integer.MAX_VALUE);
+            // the limit might have been raised
+            pool.dispatch();
+        }
+    }
+
+    @Override
+    public void onStreamClosed(final Http2Stream http2Stream) {
+        final JerseyHttp2ClientStream stream = streams.remove(http2Stream.id());
+        if (stream != null) {
+            stream.closed();
+            pool.release(this);
+        }
+    }
+
+    @Override
+    public void onGoAwayReceived(final int lastStreamId, final long errorCode, final ByteBuf debugData) {
+        // the streams above the last stream id are closed by the server
+        pool.goingAway(this);
+    }
+
+    /**
+     * Request entity stream writing the entity as HTTP/2 data frames.
+     * <p>
+     * The frames are written by the flow controller once the stream window and the channel allow, the writing thread
+     * is blocked while the frames not written yet exceed {@link #MAX_BUFFERED_BYTES}.
+     * </p>
+     */
+    private final class EntityOutputStream extends OutputStream {
+
+        private final JerseyHttp2ClientStream stream;
+        private boolean closed = false;
+
+        // the bytes of the frames not written to the channel yet, guarded by this
+        private long buffered = 0;
+
+        private EntityOutputStream(final JerseyHttp2ClientStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (closed || stream.isDone()) {
+                throw new IOException("Stream closed.");
+            }
+            if (len > 0) {
+                awaitCapacity();
+                // the frame is written asynchronously, the bytes are copied
+                final ByteBuf data = Unpooled.copiedBuffer(b, off, len);
+                writeFrame(data, false);
+            }
+        }
+
+        private synchronized void awaitCapacity() throws IOException {
+            // a frame larger than the limit is accepted once the previous frames are written
+            while (buffered >= MAX_BUFFERED_BYTES) {
+                if (stream.isDone()) {
+                    throw new IOException("Stream closed.");
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+        }
+
+        private synchronized void written(final int size) {
+            buffered -= size;
+            notifyAll();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writeFrame(Unpooled.EMPTY_BUFFER, true);
+            }
+        }
+
+        private void writeFrame(final ByteBuf data, final boolean endOfStream) throws IOException {
+            final int size = data.readableBytes();
+            synchronized (this) {
+                buffered += size;
+            }
+            // the promise is completed once the frame is written or the stream fails
+            final ChannelPromise promise = channel.newPromise();
+            promise.addListener(future -> written(size));
+            try {
+                channel.eventLoop().execute(() -> writeData(stream, data, endOfStream, promise));
+            } catch (RejectedExecutionException e) {
+                data.release();
+                written(size);
+                throw new IOException("Channel closed.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.ProcessingException;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * HTTP/2 connections to a single destination.
+ * <p>
+ * Each connection carries up to {@link NettyClientProperties#MAX_CONCURRENT_STREAMS} concurrent requests as separate
+ * streams. A new connection is opened only when the requests waiting for a stream exceed the capacity of the connections
+ * being opened and the number of connections is below {@link NettyClientProperties#MAX_CONNECTIONS}. The requests
+ * wait for a stream in the order of their arrival.
+ * </p>
+ * <p>
+ * If the server does not select HTTP/2 during the ALPN negotiation of a secure connection, the pool stops opening new
+ * connections and the waiting as well as the following requests to the destination are sent using HTTP/1.1 instead.
+ * </p>
+ */
+final class Http2ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(Http2ConnectionPool.class.getName());
+
+    private static final String IDLE_HANDLER = "jersey-idle-connection-handler";
+
+    private final NettyConnector connector;
+    private final NettyConnector.Destination destination;
+
+    // guarded by this
+    private final List<Http2ClientConnection> connections = new ArrayList<>();
+    private final Deque<CompletableFuture<Http2ClientConnection>> pending = new ArrayDeque<>();
+    private int connecting = 0;
+    private boolean closed = false;
+    // the server does not support HTTP/2
+    private boolean http1 = false;
+
+    /**
+     * Create new HTTP/2 connection pool.
+     *
+     * @param connector   Netty connector.
+     * @param destination destination of the pooled connections.
+     */
+    Http2ConnectionPool(final NettyConnector connector, final NettyConnector.Destination destination) {
+        this.connector = connector;
+        this.destination = destination;
+    }
+
+    /**
+     * Reserve a stream on a connection to the destination.
+     *
+     * @return future completed with the connection the stream has been reserved on once a stream is available, or with
+     * {@code null} if the server does not support HTTP/2 and the request has to be sent using HTTP/1.1.
+     */
+    CompletableFuture<Http2ClientConnection> acquire() {
+        final CompletableFuture<Http2ClientConnection> acquired = new CompletableFuture<>();
+
+        synchronized (this) {
+            if (closed) {
+                acquired.completeExceptionally(new IllegalStateException("Connection pool closed."));
+                return acquired;
+            }
+            if (http1) {
+                acquired.complete(null);
+                return acquired;
+            }
+            if (pending.isEmpty()) {
+                for (final Http2ClientConnection connection : connections) {
+                    if (connection.tryReserve()) {
+                        acquired.complete(connection);
+                        return acquired;
+                    }
+                }
+            }
+            if (pending.size() >= connector.maxPendingAcquires) {
+                acquired.completeExceptionally(new ProcessingException("Too many outstanding acquire operations."));
+                return acquired;
+            }
+            pending.add(acquired);
+        }
+
+        if (destination.connectTimeout > 0) {
+            // fail the requests waiting for a stream longer than the connect timeout, as the HTTP/1.1 connection pool does
+            final ScheduledFuture<?> timeout = connector.group.schedule(
+                    () -> acquireTimedOut(acquired), destination.connectTimeout, TimeUnit.MILLISECONDS);
+            acquired.whenComplete((connection, failure) -> timeout.cancel(false));
+        }
+
+        dispatch();
+        return acquired;
+    }
+
+    private void acquireTimedOut(final CompletableFuture<Http2ClientConnection> acquired) {
+        synchronized (this) {
+            if (!pending.remove(acquired)) {
+                return;
+            }
+        }
+        acquired.completeExceptionally(new TimeoutException(LocalizationMessages.HTTP_2_ACQUIRE_TIMEOUT(destination)));
+    }
+
+    /**
+     * Release a stream reserved by {@link #acquire()}.
+     *
+     * @param connection connection the stream has been reserved on.
+     */
+    void release(final Http2ClientConnection connection) {
+        synchronized (this) {
+            connection.release();
+        }
+        dispatch();
+    }
+
+    /**
+     * Close all the connections and fail the requests waiting for a stream.
+     */
+    void close() {
+        final List<Http2ClientConnection> open;
+        final List<CompletableFuture<Http2ClientConnection>> waiting;
+        synchronized (this) {
+            closed = true;
+            open = new ArrayList<>(connections);
+            waiting = new ArrayList<>(pending);
+            connections.clear();
+            pending.clear();
+        }
+        for (final Http2ClientConnection connection : open) {
+            connection.channel().close();
+        }
+        failAll(waiting, new IllegalStateException("Connection pool closed."));
+    }
+
+    /**
+     * Assign the available streams to the waiting requests and open new connections if the waiting requests exceed the
+     * capacity of the connections being opened.
+     */
+    void dispatch() {
+        final List<CompletableFuture<Http2ClientConnection>> ready = new ArrayList<>();
+        final List<Http2ClientConnection> reserved = new ArrayList<>();
+        int connect = 0;
+
+        synchronized (this) {
+            for (final Http2ClientConnection connection : connections) {
+                while (!pending.isEmpty() && connection.tryReserve()) {
+                    ready.add(pending.poll());
+                    reserved.add(connection);
+                }
+            }
+            while (pending.size() > connecting * connector.maxConcurrentStreams
+                    && connections.size() + connecting < connector.maxConnections) {
+                connecting++;
+                connect++;
+            }
+        }
+
+        for (int i = 0; i < ready.size(); i++) {
+            if (!ready.get(i).complete(reserved.get(i))) {
+                // cancelled meanwhile
+                release(reserved.get(i));
+            }
+        }
+        for (int i = 0; i < connect; i++) {
+            connect();
+        }
+    }
+
+    private void connect() {
+        final Http2ClientConnection[] connection = new Http2ClientConnection[1];
+        final boolean secure = "https".equals(destination.scheme);
+
+        final ChannelFuture connected = destination.newBootstrap(connector.group).handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(final Channel ch) {
+                connection[0] = new Http2ClientConnection(connector, Http2ConnectionPool.this, ch);
+
+                final ChannelPipeline p = ch.pipeline();
+
+                // http proxy
+                destination.addProxyHandler(p);
+
+                if (secure) {
+                    p.addLast(connector.getHttp2SslContext().newHandler(ch.alloc(), destination.host, destination.port));
+                    p.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                        @Override
+                        protected void configurePipeline(final ChannelHandlerContext ctx, final String protocol) {
+                            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                                addHttp2Handlers(ctx.pipeline(), connection[0]);
+                                connected(connection[0]);
+                            } else {
+                                notNegotiated(connection[0], protocol);
+                                ctx.close();
+                            }
+                        }
+
+                        @Override
+                        protected void handshakeFailure(final ChannelHandlerContext ctx, final Throwable cause) {
+                            connectFailed(connection[0], cause);
+                            ctx.close();
+                        }
+                    });
+                } else {
+                    addHttp2Handlers(p, connection[0]);
+                }
+            }
+        }).connect();
+
+        connected.addListener(future -> {
+            if (!future.isSuccess()) {
+                connectFailed(connection[0], future.cause());
+            } else {
+                connected.channel().closeFuture().addListener(closed -> closed(connection[0]));
+                if (!secure) {
+                    connected(connection[0]);
+                }
+            }
+        });
+    }
+
+    private void addHttp2Handlers(final ChannelPipeline p, final Http2ClientConnection connection) {
+        p.addLast(connection.handler());
+        if (connector.idleConnectionTimeout > 0) {
+            p.addLast(IDLE_HANDLER, new IdleConnectionHandler(connection, connector.idleConnectionTimeout));
+        }
+    }
+
+    private void connected(final Http2ClientConnection connection) {
+        synchronized (this) {
+            if (!connection.settle()) {
+                return;
+            }
+            connecting--;
+            if (!closed && connection.channel().isActive()) {
+                connection.ready();
+                connections.add(connection);
+            } else {
+                connection.channel().close();
+            }
+        }
+        dispatch();
+    }
+
+    private void connectFailed(final Http2ClientConnection connection, final Throwable cause) {
+        final List<CompletableFuture<Http2ClientConnection>> failed;
+        synchronized (this) {
+            if (connection != null && !connection.settle()) {
+                return;
+            }
+            connecting--;
+            // the requests waiting for other connections being opened are not affected
+            if (connections.isEmpty() && connecting == 0) {
+                failed = new ArrayList<>(pending);
+                pending.clear();
+            } else {
+                failed = null;
+            }
+        }
+        if (failed != null) {
+            failAll(failed, cause);
+        } else {
+            dispatch();
+        }
+    }
+
+    /**
+     * Switch the destination to HTTP/1.1 after the server has selected another protocol than HTTP/2.
+     *
+     * @param connection connection that has not negotiated HTTP/2.
+     * @param protocol   negotiated protocol.
+     */
+    private void notNegotiated(final Http2ClientConnection connection, final String protocol) {
+        final List<CompletableFuture<Http2ClientConnection>> waiting;
+        synchronized (this) {
+            if (!connection.settle()) {
+                return;
+            }
+            connecting--;
+            http1 = true;
+            waiting = new ArrayList<>(pending);
+            pending.clear();
+        }
+        LOGGER.log(Level.CONFIG, LocalizationMessages.HTTP_2_NOT_NEGOTIATED(destination, protocol));
+        for (final CompletableFuture<Http2ClientConnection> future : waiting) {
+            future.complete(null);
+        }
+    }
+
+    private void closed(final Http2ClientConnection connection) {
+        final IOException cause = new IOException("Channel closed.");
+        connectFailed(connection, cause);
+        synchronized (this) {
+            connection.goingAway();
+            connections.remove(connection);
+        }
+        connection.failStreams(cause);
+        dispatch();
+    }
+
+    /**
+     * Stop using the connection for new streams after the server has announced its shutdown.
+     *
+     * @param connection connection going away.
+     */
+    void goingAway(final Http2ClientConnection connection) {
+        synchronized (this) {
+            connection.goingAway();
+            connections.remove(connection);
+        }
+        dispatch();
+    }
+
+    private void closeIfIdle(final Http2ClientConnection connection) {
+        synchronized (this) {
+            if (!connection.isIdle()) {
+                return;
+            }
+            connection.goingAway();
+            connections.remove(connection);
+        }
+        connection.channel().close();
+    }
+
+    private static void failAll(final List<CompletableFuture<Http2ClientConnection>> futures, final Throwable cause) {
+        for (final CompletableFuture<Http2ClientConnection> future : futures) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Handler closing the connections without any stream that have been idle for too long.
+     */
+    private final class IdleConnectionHandler extends IdleStateHandler {
+
+        private final Http2ClientConnection connection;
+
+        private IdleConnectionHandler(final Http2ClientConnection connection, final int idleTimeout) {
+            super(0, 0, idleTimeout, TimeUnit.MILLISECONDS);
+            this.connection = connection;
+        }
+
+        @Override
+        protected void channelIdle(final ChannelHandlerContext ctx, final IdleStateEvent evt) {
+            closeIfIdle(connection);
+        }
+    }
+}
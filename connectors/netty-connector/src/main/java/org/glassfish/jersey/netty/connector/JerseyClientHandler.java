@@ -16,31 +16,29 @@
 
 package org.glassfish.jersey.netty.connector;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.ws.rs.core.Response;
 
 import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
-import org.glassfish.jersey.netty.connector.internal.NettyInputStream;
+import org.glassfish.jersey.netty.connector.internal.NettyByteBufInputStream;
 
-import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.pool.ChannelPool;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.netty.util.concurrent.Future;
-import io.netty.util.concurrent.GenericFutureListener;
 
 /**
  * Jersey implementation of Netty channel handler.
@@ -49,25 +47,42 @@ import io.netty.util.concurrent.GenericFutureListener;
  */
 class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
 
+    /**
+     * Name of the handler in the channel pipeline.
+     */
+    static final String NAME = "jersey-client-handler";
+
     private final NettyConnector connector;
-    private final LinkedBlockingDeque<InputStream> isList = new LinkedBlockingDeque<>();
 
     private final AsyncConnectorCallback asyncConnectorCallback;
     private final ClientRequest jerseyRequest;
     private final CompletableFuture future;
+    private final ChannelPool pool;
+    private final ChannelFuture requestWritten;
+
+    // accessed from the channel event loop only
+    private boolean responseReceived = false;
+    private boolean keepAlive = false;
+    private boolean released = false;
+    private NettyByteBufInputStream entityStream = null;
 
     JerseyClientHandler(NettyConnector nettyConnector, ClientRequest request,
-                        AsyncConnectorCallback callback, CompletableFuture future) {
+                        AsyncConnectorCallback callback, CompletableFuture future,
+                        ChannelPool pool, ChannelFuture requestWritten) {
         this.connector = nettyConnector;
         this.asyncConnectorCallback = callback;
         this.jerseyRequest = request;
         this.future = future;
+        this.pool = pool;
+        this.requestWritten = requestWritten;
     }
 
     @Override
     public void channelRead0(ChannelHandlerContext ctx, HttpObject msg) {
         if (msg instanceof HttpResponse) {
             final HttpResponse response = (HttpResponse) msg;
+            responseReceived = true;
+            keepAlive = HttpUtil.isKeepAlive(response);
 
             final ClientResponse jerseyResponse = new ClientResponse(new Response.StatusType() {
                 @Override
@@ -94,14 +109,8 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             if ((response.headers().contains(HttpHeaderNames.CONTENT_LENGTH) && HttpUtil.getContentLength(response) > 0)
                     || HttpUtil.isTransferEncodingChunked(response)) {
 
-                ctx.channel().closeFuture().addListener(new GenericFutureListener<Future<? super Void>>() {
-                    @Override
-                    public void operationComplete(Future<? super Void> future) throws Exception {
-                        isList.add(NettyInputStream.END_OF_INPUT_ERROR);
-                    }
-                });
-
-                jerseyResponse.setEntityStream(new NettyInputStream(isList));
+                entityStream = new NettyByteBufInputStream(ctx.channel());
+                jerseyResponse.setEntityStream(entityStream);
             } else {
                 jerseyResponse.setEntityStream(new InputStream() {
                     @Override
@@ -126,20 +135,64 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
 
             HttpContent httpContent = (HttpContent) msg;
 
-            ByteBuf content = httpContent.content();
-
-            if (content.isReadable()) {
-                // copy bytes - when netty reads last chunk, it automatically closes the channel, which invalidates all
-                // relates ByteBuffs.
-                byte[] bytes = new byte[content.readableBytes()];
-                content.getBytes(content.readerIndex(), bytes);
-                isList.add(new ByteArrayInputStream(bytes));
+            if (entityStream != null) {
+                // the content is released by the entity stream once read
+                entityStream.publish(httpContent.content().retain());
             }
 
             if (msg instanceof LastHttpContent) {
-                isList.add(NettyInputStream.END_OF_INPUT);
+                if (entityStream != null) {
+                    entityStream.complete();
+                }
+
+                // reuse the connection unless closed by the server or the request has not been sent completely
+                release(ctx, keepAlive && requestWritten.isSuccess());
+            }
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        // guard against prematurely closed channel
+        if (!released) {
+            if (!responseReceived && !future.isDone()) {
+                final IOException cause = new IOException("Channel closed.");
+                if (asyncConnectorCallback != null) {
+                    connector.executorService.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            asyncConnectorCallback.failure(cause);
+                        }
+                    });
+                }
+                future.completeExceptionally(cause);
+            }
+            if (entityStream != null) {
+                entityStream.fail();
             }
+            release(ctx, false);
         }
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * Detach the handler from the channel and return the channel to the connection pool.
+     *
+     * @param ctx   channel handler context.
+     * @param reuse if {@code false}, the channel is closed.
+     */
+    private void release(ChannelHandlerContext ctx, boolean reuse) {
+        if (released) {
+            return;
+        }
+        released = true;
+
+        final Channel ch = ctx.channel();
+        ctx.pipeline().remove(this);
+        if (!reuse) {
+            ch.close();
+        }
+        pool.release(ch);
     }
 
     @Override
@@ -153,6 +206,9 @@ class JerseyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             });
         }
         future.completeExceptionally(cause);
-        isList.add(NettyInputStream.END_OF_INPUT_ERROR);
+        if (entityStream != null) {
+            entityStream.fail();
+        }
+        release(ctx, false);
     }
 }
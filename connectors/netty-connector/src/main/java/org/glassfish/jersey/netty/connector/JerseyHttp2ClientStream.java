@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.netty.connector.internal.NettyByteBufInputStream;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpStatusClass;
+import io.netty.handler.codec.http2.Http2Error;
+import io.netty.handler.codec.http2.Http2Headers;
+
+/**
+ * Single request-response exchange on a {@link Http2ClientConnection HTTP/2 connection}.
+ * <p>
+ * The response frames are received in the channel event loop, the response is passed to the callback using the connector
+ * executor service.
+ * </p>
+ */
+final class JerseyHttp2ClientStream {
+
+    private final NettyConnector connector;
+    private final Http2ClientConnection connection;
+
+    private final AsyncConnectorCallback asyncConnectorCallback;
+    private final ClientRequest jerseyRequest;
+    private final CompletableFuture<Object> future;
+
+    // accessed from the channel event loop only
+    int streamId = 0;
+    private boolean responseReceived = false;
+    private boolean responseEnded = false;
+    private IOException resetCause = null;
+    private NettyByteBufInputStream entityStream = null;
+
+    private volatile boolean done = false;
+
+    JerseyHttp2ClientStream(final NettyConnector connector, final Http2ClientConnection connection, final ClientRequest request,
+                            final AsyncConnectorCallback callback, final CompletableFuture<Object> future) {
+        this.connector = connector;
+        this.connection = connection;
+        this.jerseyRequest = request;
+        this.asyncConnectorCallback = callback;
+        this.future = future;
+    }
+
+    /**
+     * Check whether the stream has been closed or failed.
+     *
+     * @return {@code true} if no more request data can be sent.
+     */
+    boolean isDone() {
+        return done;
+    }
+
+    void headersRead(final Http2Headers headers, final boolean endOfStream) {
+        if (!responseReceived) {
+            final HttpResponseStatus status = HttpResponseStatus.parseLine(headers.status());
+            if (status.codeClass() == HttpStatusClass.INFORMATIONAL) {
+                // interim response
+                return;
+            }
+            responseReceived = true;
+
+            final ClientResponse jerseyResponse = new ClientResponse(new Response.StatusType() {
+                @Override
+                public int getStatusCode() {
+                    return status.code();
+                }
+
+                @Override
+                public Response.Status.Family getFamily() {
+                    return Response.Status.Family.familyOf(status.code());
+                }
+
+                @Override
+                public String getReasonPhrase() {
+                    return status.reasonPhrase();
+                }
+            }, jerseyRequest);
+
+            for (final Map.Entry<CharSequence, CharSequence> entry : headers) {
+                final CharSequence name = entry.getKey();
+                // skip the pseudo-headers
+                if (name.length() > 0 && name.charAt(0) != ':') {
+                    jerseyResponse.getHeaders().add(name.toString(), entry.getValue().toString());
+                }
+            }
+
+            if (endOfStream) {
+                jerseyResponse.setEntityStream(new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        return -1;
+                    }
+                });
+            } else {
+                entityStream = new ResponseEntityStream();
+                jerseyResponse.setEntityStream(entityStream);
+            }
+
+            connector.executorService.execute(() -> {
+                asyncConnectorCallback.response(jerseyResponse);
+                future.complete(jerseyResponse);
+            });
+        }
+
+        // trailers are ignored
+        if (endOfStream) {
+            end();
+        }
+    }
+
+    /**
+     * Pass the received data to the response entity stream.
+     *
+     * @param data        received data.
+     * @param endOfStream {@code true} if this is the last data of the response.
+     * @return number of the bytes processed immediately, the rest is returned to the flow control window once read.
+     */
+    int dataRead(final ByteBuf data, final boolean endOfStream) {
+        final int processed;
+        if (entityStream != null && data.isReadable()) {
+            // the data is released by the entity stream once read
+            entityStream.publish(data.retain());
+            processed = 0;
+        } else {
+            processed = data.readableBytes();
+        }
+
+        if (endOfStream) {
+            end();
+        }
+        return processed;
+    }
+
+    private void end() {
+        if (!responseEnded) {
+            responseEnded = true;
+            if (entityStream != null) {
+                entityStream.complete();
+            }
+        }
+    }
+
+    void reset(final long errorCode) {
+        final Http2Error error = Http2Error.valueOf(errorCode);
+        resetCause = new IOException("Stream reset by the server: " + (error != null ? error : errorCode) + ".");
+    }
+
+    void closed() {
+        done = true;
+        if (!responseEnded) {
+            failed(resetCause != null ? resetCause : new IOException("Stream closed."));
+        }
+    }
+
+    void failed(final Throwable cause) {
+        done = true;
+        if (!responseReceived) {
+            responseReceived = true;
+            responseEnded = true;
+            if (!future.isDone()) {
+                connector.executorService.execute(() -> asyncConnectorCallback.failure(cause));
+                future.completeExceptionally(cause);
+            }
+        } else if (!responseEnded) {
+            responseEnded = true;
+            if (entityStream != null) {
+                entityStream.fail();
+            }
+        }
+    }
+
+    /**
+     * Response entity stream applying backpressure using the HTTP/2 flow control. The received data is returned to the
+     * stream flow control window only once read, the reading from the shared connection is never suspended.
+     */
+    private final class ResponseEntityStream extends NettyByteBufInputStream {
+
+        private ResponseEntityStream() {
+            super(connection.channel());
+        }
+
+        @Override
+        protected void queued(final long unread) {
+            // the server stops sending once the stream window is exhausted
+        }
+
+        @Override
+        protected void released(final int size, final long unread) {
+            connection.consumeBytes(streamId, size);
+        }
+
+        @Override
+        protected void ended() {
+            // the connection is never suspended
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector;
+
+import java.util.Map;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+
+/**
+ * Configuration options specific to the Client API that utilizes {@link NettyConnectorProvider}.
+ * <p>
+ * The connections are pooled per destination, i.e. per scheme, host, port and proxy. A connection is returned to the pool
+ * once the response has been received completely, unless the server asked to close it. The properties are read from the
+ * client configuration when the connector is created.
+ * </p>
+ *
+ * @since 2.29
+ */
+@PropertiesClass
+public final class NettyClientProperties {
+
+    /**
+     * The maximum number of connections opened to a single destination. Requests that need a connection while all of them
+     * are in use wait for a connection to be released, see also {@link #MAX_PENDING_ACQUIRES}. The time spent waiting is
+     * limited by the {@link org.glassfish.jersey.client.ClientProperties#CONNECT_TIMEOUT connect timeout}, if set.
+     * <p/>
+     * The value MUST be a positive {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@value #DEFAULT_MAX_CONNECTIONS}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String MAX_CONNECTIONS = "jersey.config.netty.client.maxConnections";
+
+    /**
+     * The default maximum number ({@value}) of connections opened to a single destination.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 16;
+
+    /**
+     * The maximum number of requests waiting for a connection to a single destination. Requests exceeding the limit fail
+     * immediately.
+     * <p/>
+     * The value MUST be a positive {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@link Integer#MAX_VALUE}, i.e. the number of waiting requests is not limited.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String MAX_PENDING_ACQUIRES = "jersey.config.netty.client.maxPendingAcquires";
+
+    /**
+     * The time in milliseconds after which an idle pooled connection is closed. The value should be shorter than the
+     * keep-alive timeout of the servers, so that the pooled connections are closed by the client rather than by the server.
+     * A zero value keeps the idle connections open until they are closed by the server.
+     * <p/>
+     * The value MUST be a non-negative {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@value #DEFAULT_IDLE_CONNECTION_TIMEOUT}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String IDLE_CONNECTION_TIMEOUT = "jersey.config.netty.client.idleConnectionTimeout";
+
+    /**
+     * The default time in milliseconds ({@value}) after which an idle pooled connection is closed.
+     */
+    public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = 30000;
+
+    /**
+     * If {@code true}, the requests are sent using HTTP/2. The {@code https} connections negotiate HTTP/2 ({@code h2}) using
+     * ALPN, which requires an ALPN implementation supported by Netty to be available. If the server does not select HTTP/2,
+     * the requests to the server are sent using HTTP/1.1 instead. The {@code http} connections use
+     * HTTP/2 over cleartext TCP ({@code h2c}) with prior knowledge, i.e. the server is expected to support HTTP/2 without
+     * an HTTP/1.1 upgrade.
+     * <p/>
+     * Concurrent requests to a single destination are multiplexed as separate streams over a shared connection.
+     * A new connection is opened only when all the existing connections to the destination carry
+     * {@link #MAX_CONCURRENT_STREAMS} requests. The {@link #MAX_CONNECTIONS}, {@link #MAX_PENDING_ACQUIRES} and
+     * {@link #IDLE_CONNECTION_TIMEOUT} properties apply to the HTTP/2 connections as well.
+     * <p/>
+     * The value MUST be an instance of {@link java.lang.Boolean}.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String HTTP2 = "jersey.config.netty.client.http2";
+
+    /**
+     * The maximum number of concurrent HTTP/2 streams, i.e. requests in progress, on a single connection. The limit
+     * announced by the server in its {@code SETTINGS_MAX_CONCURRENT_STREAMS} setting is honored if it is lower.
+     * <p/>
+     * The value MUST be a positive {@link java.lang.Integer}.
+     * <p/>
+     * The default value is {@value #DEFAULT_MAX_CONCURRENT_STREAMS}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     *
+     * @see #HTTP2
+     */
+    public static final String MAX_CONCURRENT_STREAMS = "jersey.config.netty.client.maxConcurrentStreams";
+
+    /**
+     * The default maximum number ({@value}) of concurrent HTTP/2 streams on a single connection.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_STREAMS = 100;
+
+    /**
+     * Get the value of the specified property.
+     *
+     * If the property is not set or the actual property value type is not compatible with the specified type, the method will
+     * return {@code null}.
+     *
+     * @param properties    Map of properties to get the property value from.
+     * @param key           Name of the property.
+     * @param type          Type to retrieve the value as.
+     * @param <T>           Type of the property value.
+     * @return Value of the property or {@code null}.
+     */
+    public static <T> T getValue(final Map<String, ?> properties, final String key, final Class<T> type) {
+        return PropertiesHelper.getValue(properties, key, type, null);
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private NettyClientProperties() {
+        throw new AssertionError("No instances allowed.");
+    }
+}
@@ -22,7 +22,9 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -36,12 +38,18 @@ import javax.ws.rs.core.Configuration;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
-import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.pool.AbstractChannelPoolMap;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.channel.pool.FixedChannelPool;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.DefaultHttpRequest;
@@ -53,14 +61,21 @@ import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.proxy.HttpProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.monitoring.ClientMonitoringFeature;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
@@ -73,11 +88,24 @@ import org.glassfish.jersey.netty.connector.internal.JerseyChunkedInput;
  */
 class NettyConnector implements Connector {
 
+    private static final String IDLE_HANDLER = "jersey-idle-connection-handler";
+
     final ExecutorService executorService;
     final EventLoopGroup group;
     final Client client;
 
-    NettyConnector(Client client) {
+    final int maxConnections;
+    final int maxPendingAcquires;
+    final int idleConnectionTimeout;
+    final int maxConcurrentStreams;
+
+    private final boolean http2;
+    private final DestinationPools pools = new DestinationPools();
+    private final ConcurrentHashMap<Destination, Http2ConnectionPool> http2Pools = new ConcurrentHashMap<>();
+    private volatile JdkSslContext sslContext;
+    private volatile JdkSslContext http2SslContext;
+
+    NettyConnector(Client client, Configuration config) {
 
         final Object threadPoolSize = client.getConfiguration().getProperties().get(ClientProperties.ASYNC_THREADPOOL_SIZE);
 
@@ -89,6 +117,23 @@ class NettyConnector implements Connector {
 
         this.group = new NioEventLoopGroup();
         this.client = client;
+
+        final Map<String, Object> properties = config.getProperties();
+        this.maxConnections = getPositiveValue(properties, NettyClientProperties.MAX_CONNECTIONS,
+                NettyClientProperties.DEFAULT_MAX_CONNECTIONS);
+        this.maxPendingAcquires = getPositiveValue(properties, NettyClientProperties.MAX_PENDING_ACQUIRES, Integer.MAX_VALUE);
+        final Integer idleTimeout = NettyClientProperties.getValue(properties,
+                NettyClientProperties.IDLE_CONNECTION_TIMEOUT, Integer.class);
+        this.idleConnectionTimeout = idleTimeout != null && idleTimeout >= 0
+                ? idleTimeout : NettyClientProperties.DEFAULT_IDLE_CONNECTION_TIMEOUT;
+        this.http2 = NettyClientProperties.getValue(properties, NettyClientProperties.HTTP2, Boolean.class) == Boolean.TRUE;
+        this.maxConcurrentStreams = getPositiveValue(properties, NettyClientProperties.MAX_CONCURRENT_STREAMS,
+                NettyClientProperties.DEFAULT_MAX_CONCURRENT_STREAMS);
+    }
+
+    private static int getPositiveValue(final Map<String, Object> properties, final String name, final int defaultValue) {
+        final Integer value = NettyClientProperties.getValue(properties, name, Integer.class);
+        return value != null && value > 0 ? value : defaultValue;
     }
 
     @Override
@@ -97,19 +142,19 @@ class NettyConnector implements Connector {
         final AtomicReference<ClientResponse> syncResponse = new AtomicReference<>(null);
         final AtomicReference<Throwable> syncException = new AtomicReference<>(null);
 
-        try {
-            Future<?> resultFuture = apply(jerseyRequest, new AsyncConnectorCallback() {
-                @Override
-                public void response(ClientResponse response) {
-                    syncResponse.set(response);
-                }
+        final Future<?> resultFuture = apply(jerseyRequest, new AsyncConnectorCallback() {
+            @Override
+            public void response(ClientResponse response) {
+                syncResponse.set(response);
+            }
 
-                @Override
-                public void failure(Throwable failure) {
-                    syncException.set(failure);
-                }
-            });
+            @Override
+            public void failure(Throwable failure) {
+                syncException.set(failure);
+            }
+        });
 
+        try {
             Integer timeout = ClientProperties.getValue(jerseyRequest.getConfiguration().getProperties(),
                                                         ClientProperties.READ_TIMEOUT, 0);
 
@@ -122,6 +167,11 @@ class NettyConnector implements Connector {
             Throwable e = ex.getCause() == null ? ex : ex.getCause();
             throw new ProcessingException(e.getMessage(), e);
         } catch (Exception ex) {
+            // the connection is closed and returned to the pool, or the pending acquisition is abandoned
+            resultFuture.cancel(true);
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw new ProcessingException(ex.getMessage(), ex);
         }
 
@@ -138,148 +188,153 @@ class NettyConnector implements Connector {
 
         final CompletableFuture<Object> settableFuture = new CompletableFuture<>();
 
-        final URI requestUri = jerseyRequest.getUri();
-        String host = requestUri.getHost();
-        int port = requestUri.getPort() != -1 ? requestUri.getPort() : "https".equals(requestUri.getScheme()) ? 443 : 80;
+        if (http2) {
+            applyHttp2(jerseyRequest, jerseyCallback, settableFuture);
+        } else {
+            applyHttp1(jerseyRequest, jerseyCallback, settableFuture);
+        }
+        return settableFuture;
+    }
 
+    private void applyHttp1(final ClientRequest jerseyRequest, final AsyncConnectorCallback jerseyCallback,
+                            final CompletableFuture<Object> settableFuture) {
+        final ChannelPool pool;
         try {
-            Bootstrap b = new Bootstrap();
-            b.group(group)
-             .channel(NioSocketChannel.class)
-             .handler(new ChannelInitializer<SocketChannel>() {
-                 @Override
-                 protected void initChannel(SocketChannel ch) throws Exception {
-                     ChannelPipeline p = ch.pipeline();
-
-                     // Enable HTTPS if necessary.
-                     if ("https".equals(requestUri.getScheme())) {
-                         // making client authentication optional for now; it could be extracted to configurable property
-                         JdkSslContext jdkSslContext = new JdkSslContext(client.getSslContext(), true, ClientAuth.NONE);
-                         p.addLast(jdkSslContext.newHandler(ch.alloc()));
-                     }
-
-                     // http proxy
-                     Configuration config = jerseyRequest.getConfiguration();
-                     final Object proxyUri = config.getProperties().get(ClientProperties.PROXY_URI);
-                     if (proxyUri != null) {
-                         final URI u = getProxyUri(proxyUri);
-
-                         final String userName = ClientProperties.getValue(
-                                 config.getProperties(), ClientProperties.PROXY_USERNAME, String.class);
-                         final String password = ClientProperties.getValue(
-                                 config.getProperties(), ClientProperties.PROXY_PASSWORD, String.class);
-
-                         p.addLast(new HttpProxyHandler(new InetSocketAddress(u.getHost(),
-                                                                              u.getPort() == -1 ? 8080 : u.getPort()),
-                                                        userName, password));
-                     }
-
-                     p.addLast(new HttpClientCodec());
-                     p.addLast(new ChunkedWriteHandler());
-                     p.addLast(new HttpContentDecompressor());
-                     p.addLast(new JerseyClientHandler(NettyConnector.this, jerseyRequest, jerseyCallback, settableFuture));
-                 }
-             });
+            pool = pools.get(new Destination(jerseyRequest));
+        } catch (ProcessingException e) {
+            settableFuture.completeExceptionally(e);
+            return;
+        }
 
-            // connect timeout
-            Integer connectTimeout = ClientProperties.getValue(jerseyRequest.getConfiguration().getProperties(),
-                                                               ClientProperties.CONNECT_TIMEOUT, 0);
-            if (connectTimeout > 0) {
-                b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+        // Obtain a pooled connection or make the connection attempt.
+        final long acquireStarted = System.nanoTime();
+        pool.acquire().addListener(new GenericFutureListener<io.netty.util.concurrent.Future<Channel>>() {
+            @Override
+            public void operationComplete(io.netty.util.concurrent.Future<Channel> future) {
+                if (future.isSuccess()) {
+                    jerseyRequest.setProperty(ClientMonitoringFeature.CONNECTION_WAIT_TIME, System.nanoTime() - acquireStarted);
+                }
+                if (future.isSuccess() && settableFuture.isCancelled()) {
+                    // the request has been abandoned while waiting for the connection
+                    pool.release(future.getNow());
+                } else if (future.isSuccess()) {
+                    send(future.getNow(), pool, jerseyRequest, jerseyCallback, settableFuture);
+                } else {
+                    jerseyCallback.failure(future.cause());
+                    settableFuture.completeExceptionally(future.cause());
+                }
+            }
+        });
+    }
+
+    private void applyHttp2(final ClientRequest jerseyRequest, final AsyncConnectorCallback jerseyCallback,
+                            final CompletableFuture<Object> settableFuture) {
+        final Http2ConnectionPool pool;
+        try {
+            pool = http2Pools.computeIfAbsent(new Destination(jerseyRequest),
+                    destination -> new Http2ConnectionPool(this, destination));
+        } catch (ProcessingException e) {
+            settableFuture.completeExceptionally(e);
+            return;
+        }
+
+        // Reserve a stream on a shared connection, the connection is opened if necessary.
+        final long acquireStarted = System.nanoTime();
+        pool.acquire().whenComplete((connection, failure) -> {
+            if (failure != null) {
+                jerseyCallback.failure(failure);
+                settableFuture.completeExceptionally(failure);
+            } else if (connection == null) {
+                // the server has not selected HTTP/2 during the protocol negotiation
+                applyHttp1(jerseyRequest, jerseyCallback, settableFuture);
+            } else {
+                jerseyRequest.setProperty(ClientMonitoringFeature.CONNECTION_WAIT_TIME, System.nanoTime() - acquireStarted);
+                connection.send(jerseyRequest, jerseyCallback, settableFuture);
             }
+        });
+    }
 
-            // Make the connection attempt.
-            final Channel ch = b.connect(host, port).sync().channel();
+    private void send(final Channel ch, final ChannelPool pool, final ClientRequest jerseyRequest,
+                      final AsyncConnectorCallback jerseyCallback, final CompletableFuture<Object> settableFuture) {
 
-            // guard against prematurely closed channel
-            final GenericFutureListener<io.netty.util.concurrent.Future<? super Void>> closeListener =
-                    new GenericFutureListener<io.netty.util.concurrent.Future<? super Void>>() {
-                        @Override
-                        public void operationComplete(io.netty.util.concurrent.Future<? super Void> future) throws Exception {
-                            if (!settableFuture.isDone()) {
-                                settableFuture.completeExceptionally(new IOException("Channel closed."));
-                            }
-                        }
-                    };
+        final URI requestUri = jerseyRequest.getUri();
 
-            ch.closeFuture().addListener(closeListener);
+        // completed once the whole request is written; the connection is not reused before
+        final ChannelPromise requestWritten = ch.newPromise();
+        ch.pipeline().addLast(JerseyClientHandler.NAME,
+                new JerseyClientHandler(this, jerseyRequest, jerseyCallback, settableFuture, pool, requestWritten));
+        settableFuture.whenComplete((response, failure) -> {
+            if (settableFuture.isCancelled()) {
+                // the handler returns the closed channel to the pool
+                ch.close();
+            }
+        });
 
-            HttpRequest nettyRequest;
+        HttpRequest nettyRequest;
 
-            if (jerseyRequest.hasEntity()) {
-                nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+        if (jerseyRequest.hasEntity()) {
+            nettyRequest = new DefaultHttpRequest(HttpVersion.HTTP_1_1,
+                                                  HttpMethod.valueOf(jerseyRequest.getMethod()),
+                                                  requestUri.getRawPath());
+        } else {
+            nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
                                                       HttpMethod.valueOf(jerseyRequest.getMethod()),
                                                       requestUri.getRawPath());
-            } else {
-                nettyRequest = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1,
-                                                          HttpMethod.valueOf(jerseyRequest.getMethod()),
-                                                          requestUri.getRawPath());
-            }
+        }
 
-            // headers
-            for (final Map.Entry<String, List<String>> e : jerseyRequest.getStringHeaders().entrySet()) {
-                nettyRequest.headers().add(e.getKey(), e.getValue());
-            }
+        // headers
+        for (final Map.Entry<String, List<String>> e : jerseyRequest.getStringHeaders().entrySet()) {
+            nettyRequest.headers().add(e.getKey(), e.getValue());
+        }
 
-            // host header - http 1.1
-            nettyRequest.headers().add(HttpHeaderNames.HOST, jerseyRequest.getUri().getHost());
+        // host header - http 1.1
+        nettyRequest.headers().add(HttpHeaderNames.HOST, jerseyRequest.getUri().getHost());
 
-            if (jerseyRequest.hasEntity()) {
-                if (jerseyRequest.getLengthLong() == -1) {
-                    HttpUtil.setTransferEncodingChunked(nettyRequest, true);
-                } else {
-                    nettyRequest.headers().add(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
-                }
+        if (jerseyRequest.hasEntity()) {
+            if (jerseyRequest.getLengthLong() == -1) {
+                HttpUtil.setTransferEncodingChunked(nettyRequest, true);
+            } else {
+                nettyRequest.headers().add(HttpHeaderNames.CONTENT_LENGTH, jerseyRequest.getLengthLong());
             }
+        }
 
-            if (jerseyRequest.hasEntity()) {
-                // Send the HTTP request.
-                ch.writeAndFlush(nettyRequest);
-
-                final JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ch);
-                jerseyRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
-                    @Override
-                    public OutputStream getOutputStream(int contentLength) throws IOException {
-                        return jerseyChunkedInput;
-                    }
-                });
+        if (jerseyRequest.hasEntity()) {
+            // Send the HTTP request.
+            ch.writeAndFlush(nettyRequest).addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
 
-                if (HttpUtil.isTransferEncodingChunked(nettyRequest)) {
-                    ch.write(new HttpChunkedInput(jerseyChunkedInput));
-                } else {
-                    ch.write(jerseyChunkedInput);
+            final JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ch);
+            jerseyRequest.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+                @Override
+                public OutputStream getOutputStream(int contentLength) throws IOException {
+                    return jerseyChunkedInput;
                 }
+            });
 
-                executorService.execute(new Runnable() {
-                    @Override
-                    public void run() {
-                        // close listener is not needed any more.
-                        ch.closeFuture().removeListener(closeListener);
-
-                        try {
-                            jerseyRequest.writeEntity();
-                        } catch (IOException e) {
-                            jerseyCallback.failure(e);
-                            settableFuture.completeExceptionally(e);
-                        }
-                    }
-                });
-
-                ch.flush();
+            if (HttpUtil.isTransferEncodingChunked(nettyRequest)) {
+                ch.write(new HttpChunkedInput(jerseyChunkedInput), requestWritten);
             } else {
-                // close listener is not needed any more.
-                ch.closeFuture().removeListener(closeListener);
-
-                // Send the HTTP request.
-                ch.writeAndFlush(nettyRequest);
+                ch.write(jerseyChunkedInput, requestWritten);
             }
 
-        } catch (InterruptedException e) {
-            settableFuture.completeExceptionally(e);
-            return settableFuture;
-        }
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        jerseyRequest.writeEntity();
+                    } catch (IOException e) {
+                        jerseyCallback.failure(e);
+                        settableFuture.completeExceptionally(e);
+                        ch.close();
+                    }
+                }
+            });
 
-        return settableFuture;
+            ch.flush();
+        } else {
+            // Send the HTTP request.
+            ch.writeAndFlush(nettyRequest, requestWritten);
+        }
+        requestWritten.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
     }
 
     @Override
@@ -289,10 +344,227 @@ class NettyConnector implements Connector {
 
     @Override
     public void close() {
+        pools.close();
+        for (final Http2ConnectionPool pool : http2Pools.values()) {
+            pool.close();
+        }
         group.shutdownGracefully();
         executorService.shutdown();
     }
 
+    /**
+     * Get the SSL context shared by all the HTTPS connections.
+     *
+     * @return Netty SSL context.
+     */
+    private JdkSslContext getSslContext() {
+        JdkSslContext context = sslContext;
+        if (context == null) {
+            synchronized (this) {
+                context = sslContext;
+                if (context == null) {
+                    // making client authentication optional for now; it could be extracted to configurable property
+                    context = new JdkSslContext(client.getSslContext(), true, ClientAuth.NONE);
+                    sslContext = context;
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Get the SSL context shared by all the HTTP/2 connections, negotiating the protocol using ALPN.
+     *
+     * @return Netty SSL context.
+     */
+    JdkSslContext getHttp2SslContext() {
+        JdkSslContext context = http2SslContext;
+        if (context == null) {
+            synchronized (this) {
+                context = http2SslContext;
+                if (context == null) {
+                    context = new JdkSslContext(client.getSslContext(), true,
+                            Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE,
+                            new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+                                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                                    ApplicationProtocolNames.HTTP_2, ApplicationProtocolNames.HTTP_1_1),
+                            ClientAuth.NONE);
+                    http2SslContext = context;
+                }
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Connection pool key. The connections are pooled per scheme, host, port and proxy. The connect timeout
+     * is a part of the key so that the requests with a specific connect timeout are honored.
+     */
+    static final class Destination {
+
+        final String scheme;
+        final String host;
+        final int port;
+        final URI proxyUri;
+        final String proxyUserName;
+        final String proxyPassword;
+        final int connectTimeout;
+
+        private Destination(final ClientRequest request) {
+            final URI requestUri = request.getUri();
+            this.scheme = requestUri.getScheme();
+            this.host = requestUri.getHost();
+            this.port = requestUri.getPort() != -1 ? requestUri.getPort() : "https".equals(scheme) ? 443 : 80;
+
+            final Map<String, Object> properties = request.getConfiguration().getProperties();
+            final Object proxy = properties.get(ClientProperties.PROXY_URI);
+            if (proxy != null) {
+                this.proxyUri = getProxyUri(proxy);
+                this.proxyUserName = ClientProperties.getValue(properties, ClientProperties.PROXY_USERNAME, String.class);
+                this.proxyPassword = ClientProperties.getValue(properties, ClientProperties.PROXY_PASSWORD, String.class);
+            } else {
+                this.proxyUri = null;
+                this.proxyUserName = null;
+                this.proxyPassword = null;
+            }
+            this.connectTimeout = ClientProperties.getValue(properties, ClientProperties.CONNECT_TIMEOUT, 0);
+        }
+
+        /**
+         * Create a bootstrap of the connections to this destination.
+         *
+         * @param group event loop group of the connections.
+         * @return connection bootstrap without a channel handler.
+         */
+        Bootstrap newBootstrap(final EventLoopGroup group) {
+            final Bootstrap b = new Bootstrap()
+                    .group(group)
+                    .channel(NioSocketChannel.class)
+                    .remoteAddress(InetSocketAddress.createUnresolved(host, port));
+
+            // connect timeout
+            if (connectTimeout > 0) {
+                b.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout);
+            }
+            return b;
+        }
+
+        /**
+         * Add the HTTP proxy handler to the pipeline of a new connection, if a proxy is configured.
+         *
+         * @param p connection channel pipeline.
+         */
+        void addProxyHandler(final ChannelPipeline p) {
+            if (proxyUri != null) {
+                p.addLast(new HttpProxyHandler(
+                        new InetSocketAddress(proxyUri.getHost(), proxyUri.getPort() == -1 ? 8080 : proxyUri.getPort()),
+                        proxyUserName, proxyPassword));
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Destination)) {
+                return false;
+            }
+            final Destination that = (Destination) o;
+            return port == that.port
+                    && connectTimeout == that.connectTimeout
+                    && Objects.equals(scheme, that.scheme)
+                    && Objects.equals(host, that.host)
+                    && Objects.equals(proxyUri, that.proxyUri)
+                    && Objects.equals(proxyUserName, that.proxyUserName)
+                    && Objects.equals(proxyPassword, that.proxyPassword);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scheme, host, port, proxyUri, proxyUserName, proxyPassword, connectTimeout);
+        }
+
+        @Override
+        public String toString() {
+            return scheme + "://" + host + ":" + port + (proxyUri == null ? "" : " via " + proxyUri);
+        }
+    }
+
+    /**
+     * Pool of the connections to a single destination.
+     */
+    private final class DestinationPools extends AbstractChannelPoolMap<Destination, ChannelPool> {
+
+        @Override
+        protected ChannelPool newPool(final Destination destination) {
+            return new FixedChannelPool(destination.newBootstrap(group), new DestinationPoolHandler(destination),
+                    ChannelHealthChecker.ACTIVE,
+                    destination.connectTimeout > 0 ? FixedChannelPool.AcquireTimeoutAction.FAIL : null,
+                    destination.connectTimeout > 0 ? destination.connectTimeout : -1,
+                    maxConnections, maxPendingAcquires, true);
+        }
+    }
+
+    /**
+     * Handler initializing the pipelines of the new connections and watching the idle pooled connections.
+     */
+    private final class DestinationPoolHandler extends AbstractChannelPoolHandler {
+
+        private final Destination destination;
+
+        private DestinationPoolHandler(final Destination destination) {
+            this.destination = destination;
+        }
+
+        @Override
+        public void channelCreated(final Channel ch) {
+            final ChannelPipeline p = ch.pipeline();
+
+            // http proxy
+            destination.addProxyHandler(p);
+
+            // Enable HTTPS if necessary.
+            if ("https".equals(destination.scheme)) {
+                p.addLast(getSslContext().newHandler(ch.alloc(), destination.host, destination.port));
+            }
+
+            p.addLast(new HttpClientCodec());
+            p.addLast(new ChunkedWriteHandler());
+            p.addLast(new HttpContentDecompressor());
+        }
+
+        @Override
+        public void channelAcquired(final Channel ch) {
+            if (ch.pipeline().get(IDLE_HANDLER) != null) {
+                ch.pipeline().remove(IDLE_HANDLER);
+            }
+        }
+
+        @Override
+        public void channelReleased(final Channel ch) {
+            if (idleConnectionTimeout > 0 && ch.isActive() && ch.pipeline().get(IDLE_HANDLER) == null) {
+                ch.pipeline().addLast(IDLE_HANDLER, new IdleConnectionHandler(idleConnectionTimeout));
+            }
+        }
+    }
+
+    /**
+     * Handler closing the pooled connections that have been idle for too long.
+     */
+    private static final class IdleConnectionHandler extends IdleStateHandler {
+
+        private IdleConnectionHandler(final int idleTimeout) {
+            super(0, 0, idleTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected void channelIdle(final ChannelHandlerContext ctx, final IdleStateEvent evt) {
+            ctx.close();
+        }
+    }
+
     @SuppressWarnings("ChainOfInstanceofChecks")
     private static URI getProxyUri(final Object proxy) {
         if (proxy instanceof URI) {
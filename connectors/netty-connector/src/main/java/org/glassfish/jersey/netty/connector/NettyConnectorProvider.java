@@ -33,6 +33,11 @@ import org.glassfish.jersey.client.spi.ConnectorProvider;
  * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_URI}</li>
  * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_USERNAME}</li>
  * <li>{@link org.glassfish.jersey.client.ClientProperties#PROXY_PASSWORD}</li>
+ * <li>{@link NettyClientProperties#MAX_CONNECTIONS}</li>
+ * <li>{@link NettyClientProperties#MAX_PENDING_ACQUIRES}</li>
+ * <li>{@link NettyClientProperties#IDLE_CONNECTION_TIMEOUT}</li>
+ * <li>{@link NettyClientProperties#HTTP2}</li>
+ * <li>{@link NettyClientProperties#MAX_CONCURRENT_STREAMS}</li>
  * </ul>
  * </p>
  * <p>
@@ -53,6 +58,6 @@ public class NettyConnectorProvider implements ConnectorProvider {
 
     @Override
     public Connector getConnector(Client client, Configuration runtimeConfig) {
-        return new NettyConnector(client);
+        return new NettyConnector(client, runtimeConfig);
     }
 }
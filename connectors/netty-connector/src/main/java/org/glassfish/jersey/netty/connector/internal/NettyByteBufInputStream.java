@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+
+/**
+ * Input stream reading the content received by a Netty channel without copying it.
+ * <p>
+ * The channel event loop {@link #publish(ByteBuf) publishes} the retained content buffers and each buffer is released
+ * as soon as it is read completely or the stream is closed. Once the unread content reaches the high watermark, the
+ * channel {@code autoRead} is switched off and it is switched on again after the unread content drops to the low watermark,
+ * so that a slow reader slows down the sender instead of buffering the whole entity.
+ * </p>
+ */
+public class NettyByteBufInputStream extends InputStream {
+
+    /**
+     * Default amount of unread bytes ({@value}) that stops reading from the channel.
+     */
+    public static final int DEFAULT_HIGH_WATERMARK = 256 * 1024;
+
+    /**
+     * Default amount of unread bytes ({@value}) that resumes reading from the channel.
+     */
+    public static final int DEFAULT_LOW_WATERMARK = 64 * 1024;
+
+    private static final ByteBuf END_OF_INPUT = Unpooled.buffer(0);
+    private static final ByteBuf END_OF_INPUT_ERROR = Unpooled.buffer(0);
+
+    private final Channel channel;
+    private final int lowWatermark;
+    private final int highWatermark;
+
+    private final LinkedBlockingDeque<ByteBuf> buffers = new LinkedBlockingDeque<>();
+    private final AtomicLong unreadBytes = new AtomicLong();
+
+    // accessed by the reading thread only
+    private ByteBuf current = null;
+    private int currentSize = 0;
+    private boolean end = false;
+
+    private volatile boolean closed = false;
+    // modified by the channel event loop only
+    private volatile boolean paused = false;
+
+    /**
+     * Create new input stream with the default watermarks.
+     *
+     * @param channel channel the content is received from.
+     */
+    public NettyByteBufInputStream(final Channel channel) {
+        this(channel, DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK);
+    }
+
+    /**
+     * Create new input stream.
+     *
+     * @param channel       channel the content is received from.
+     * @param lowWatermark  amount of unread bytes that resumes reading from the channel.
+     * @param highWatermark amount of unread bytes that stops reading from the channel.
+     */
+    public NettyByteBufInputStream(final Channel channel, final int lowWatermark, final int highWatermark) {
+        this.channel = channel;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+    }
+
+    /**
+     * Add the next piece of content. Invoked by the channel event loop.
+     *
+     * @param content retained content buffer, the stream takes over the ownership of the buffer.
+     */
+    public void publish(final ByteBuf content) {
+        final int size = content.readableBytes();
+        if (size == 0) {
+            content.release();
+            return;
+        }
+
+        final long unread = unreadBytes.addAndGet(size);
+        buffers.add(content);
+        if (closed) {
+            // closed meanwhile, nobody is going to read the content
+            discard();
+            return;
+        }
+        queued(unread);
+    }
+
+    /**
+     * Signal the end of the content. Invoked by the channel event loop.
+     */
+    public void complete() {
+        buffers.add(END_OF_INPUT);
+        ended();
+    }
+
+    /**
+     * Signal the premature end of the content, the reader gets an {@link IOException}. Invoked by the channel event loop.
+     */
+    public void fail() {
+        buffers.add(END_OF_INPUT_ERROR);
+        ended();
+    }
+
+    @Override
+    public int read() throws IOException {
+        final ByteBuf buffer = next();
+        if (buffer == null) {
+            return -1;
+        }
+        final int b = buffer.readByte() & 0xFF;
+        consumed();
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        final ByteBuf buffer = next();
+        if (buffer == null) {
+            return -1;
+        }
+        final int read = Math.min(len, buffer.readableBytes());
+        buffer.readBytes(b, off, read);
+        consumed();
+        return read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if (current != null) {
+            return current.readableBytes();
+        }
+        final ByteBuf next = buffers.peek();
+        return next == null ? 0 : next.readableBytes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (current != null) {
+            release(current, currentSize);
+            current = null;
+        }
+        discard();
+    }
+
+    private ByteBuf next() throws IOException {
+        if (current != null) {
+            return current;
+        }
+        if (end || closed) {
+            return null;
+        }
+
+        final ByteBuf next;
+        try {
+            next = buffers.take();
+        } catch (InterruptedException e) {
+            throw new IOException("Interrupted.", e);
+        }
+
+        if (next == END_OF_INPUT) {
+            end = true;
+            return null;
+        } else if (next == END_OF_INPUT_ERROR) {
+            end = true;
+            throw new IOException("Connection was closed prematurely.");
+        }
+        current = next;
+        currentSize = next.readableBytes();
+        return current;
+    }
+
+    private void consumed() {
+        if (!current.isReadable()) {
+            release(current, currentSize);
+            current = null;
+        }
+    }
+
+    private void discard() {
+        ByteBuf buffer;
+        while ((buffer = buffers.poll()) != null) {
+            if (buffer != END_OF_INPUT && buffer != END_OF_INPUT_ERROR) {
+                release(buffer, buffer.readableBytes());
+            }
+        }
+        ended();
+    }
+
+    private void release(final ByteBuf buffer, final int size) {
+        buffer.release();
+        released(size, unreadBytes.addAndGet(-size));
+    }
+
+    /**
+     * Invoked by the channel event loop once a content buffer has been published.
+     * <p>
+     * Stops reading from the channel if the amount of unread bytes reached the high watermark.
+     * </p>
+     *
+     * @param unread amount of unread bytes.
+     */
+    protected void queued(final long unread) {
+        if (!paused && unread >= highWatermark) {
+            paused = true;
+            channel.config().setAutoRead(false);
+            // the content might have been read meanwhile
+            if (unreadBytes.get() <= lowWatermark) {
+                resume();
+            }
+        }
+    }
+
+    /**
+     * Invoked once a content buffer has been read completely or discarded and released.
+     * <p>
+     * Resumes reading from the channel if the amount of unread bytes dropped to the low watermark.
+     * </p>
+     *
+     * @param size   size of the released buffer.
+     * @param unread amount of unread bytes.
+     */
+    protected void released(final int size, final long unread) {
+        if (paused && unread <= lowWatermark) {
+            execute(this::resume);
+        }
+    }
+
+    /**
+     * Invoked once no more content is expected to be read, either because the end of the content has been received
+     * or because the stream has been closed.
+     * <p>
+     * Resumes reading from the channel, so that the channel can be reused.
+     * </p>
+     */
+    protected void ended() {
+        if (paused) {
+            execute(() -> {
+                if (paused) {
+                    paused = false;
+                    channel.config().setAutoRead(true);
+                }
+            });
+        }
+    }
+
+    private void resume() {
+        if (paused && unreadBytes.get() <= lowWatermark) {
+            paused = false;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    private void execute(final Runnable task) {
+        if (channel.eventLoop().inEventLoop()) {
+            task.run();
+        } else {
+            try {
+                channel.eventLoop().execute(task);
+            } catch (RejectedExecutionException e) {
+                // the channel has been closed
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.monitoring.ClientMonitoringFeature;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.glassfish.grizzly.http.server.Request;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the reuse of the pooled connections.
+ */
+public class ConnectionPoolTest extends JerseyTest {
+
+    private static final int IDLE_CONNECTION_TIMEOUT = 500;
+
+    @Path("/")
+    public static class Resource {
+
+        @Context
+        private Request request;
+
+        @GET
+        @Path("port")
+        public int port() {
+            return request.getRemotePort();
+        }
+
+        @POST
+        @Path("port")
+        public int post(final String entity) {
+            return request.getRemotePort();
+        }
+
+        @GET
+        @Path("close")
+        public Response close() {
+            return Response.ok(request.getRemotePort()).header("Connection", "close").build();
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(Resource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.connectorProvider(new NettyConnectorProvider())
+                .property(NettyClientProperties.MAX_CONNECTIONS, 1)
+                .property(NettyClientProperties.IDLE_CONNECTION_TIMEOUT, IDLE_CONNECTION_TIMEOUT);
+    }
+
+    private int port(final String path) {
+        return target(path).request().get(Integer.class);
+    }
+
+    @Test
+    public void testConnectionReused() {
+        final int port = port("port");
+        for (int i = 0; i < 5; i++) {
+            assertEquals(port, port("port"));
+            assertEquals(port, (int) target("port").request().post(Entity.text("entity"), Integer.class));
+        }
+    }
+
+    @Test
+    public void testPendingAcquires() throws Exception {
+        final List<Future<Integer>> responses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            responses.add(target("port").request().async().get(Integer.class));
+        }
+
+        final Set<Integer> ports = new HashSet<>();
+        for (final Future<Integer> response : responses) {
+            ports.add(response.get());
+        }
+        // a single connection is used at a time
+        assertEquals(1, ports.size());
+    }
+
+    @Test
+    public void testConnectionClosedByServer() {
+        final int port = port("close");
+        assertNotEquals(port, port("port"));
+    }
+
+    @Test
+    public void testIdleConnectionClosed() throws Exception {
+        final int port = port("port");
+        Thread.sleep(IDLE_CONNECTION_TIMEOUT * 4);
+        assertNotEquals(port, port("port"));
+    }
+
+    @Test
+    public void testConnectionWaitTimeReported() {
+        final List<Object> waitTimes = new ArrayList<>();
+        final ClientResponseFilter filter = (requestContext, responseContext) ->
+                waitTimes.add(requestContext.getProperty(ClientMonitoringFeature.CONNECTION_WAIT_TIME));
+        target("port").register(filter).request().get(Integer.class);
+
+        assertEquals(1, waitTimes.size());
+        assertTrue(waitTimes.get(0) instanceof Long);
+        assertTrue((Long) waitTimes.get(0) >= 0);
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector;
+
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.Http2ConnectionHandler;
+import io.netty.handler.codec.http2.Http2ConnectionHandlerBuilder;
+import io.netty.handler.codec.http2.Http2FrameAdapter;
+import io.netty.handler.codec.http2.Http2Headers;
+import io.netty.handler.codec.http2.Http2Settings;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the HTTP/2 mode of the connector against a prior-knowledge {@code h2c} server.
+ */
+public class Http2Test {
+
+    private static final int REQUESTS = 20;
+
+    private final AtomicInteger maxActiveStreams = new AtomicInteger();
+    // the received request data is not returned to the flow control windows
+    private volatile boolean holdWindows = false;
+    private final List<Runnable> heldResponses = new ArrayList<>();
+    private int holdResponses = 0;
+
+    private EventLoopGroup serverGroup;
+    private Channel serverChannel;
+    private Client client;
+
+    @After
+    public void tearDown() throws Exception {
+        if (client != null) {
+            client.close();
+        }
+        if (serverChannel != null) {
+            serverChannel.close().sync();
+        }
+        if (serverGroup != null) {
+            serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+        }
+    }
+
+    private WebTarget target(final Http2Settings serverSettings, final Object... clientProperties) throws Exception {
+        serverGroup = new NioEventLoopGroup();
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(final Channel ch) {
+                        final ServerHandler serverHandler = new ServerHandler();
+                        serverHandler.handler = new Http2ConnectionHandlerBuilder()
+                                .server(true)
+                                .initialSettings(serverSettings)
+                                .frameListener(serverHandler)
+                                .build();
+                        ch.pipeline().addLast(serverHandler.handler);
+                    }
+                })
+                .bind(0).sync().channel();
+
+        final ClientConfig config = new ClientConfig()
+                .connectorProvider(new NettyConnectorProvider())
+                .property(NettyClientProperties.HTTP2, true);
+        for (int i = 0; i < clientProperties.length; i += 2) {
+            config.property((String) clientProperties[i], clientProperties[i + 1]);
+        }
+        client = ClientBuilder.newClient(config);
+        return client.target("http://localhost:" + ((InetSocketAddress) serverChannel.localAddress()).getPort());
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        final Response response = target(new Http2Settings()).path("echo").queryParam("q", "v").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("text/plain", response.getHeaderString("Content-Type"));
+        assertEquals("GET /echo?q=v ", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testPost() throws Exception {
+        final WebTarget target = target(new Http2Settings()).path("echo");
+        for (int i = 0; i < 3; i++) {
+            assertEquals("POST /echo entity" + i, target.request().post(Entity.text("entity" + i), String.class));
+        }
+    }
+
+    @Test
+    public void testLargeEntity() throws Exception {
+        // exceeds the default flow control windows
+        final char[] chars = new char[1024 * 1024];
+        Arrays.fill(chars, 'a');
+        final String entity = new String(chars);
+
+        final String response = target(new Http2Settings()).path("echo").request().post(Entity.text(entity), String.class);
+        assertEquals("POST /echo " + entity, response);
+    }
+
+    @Test
+    public void testUnreadLargeResponse() throws Exception {
+        final WebTarget target = target(new Http2Settings(), NettyClientProperties.MAX_CONNECTIONS, 1);
+        final char[] chars = new char[1024 * 1024];
+        Arrays.fill(chars, 'a');
+        final String entity = new String(chars);
+
+        // the large response exceeding the connection window is not read until the small response is read
+        final Response large = target.path("echo").request().async().post(Entity.text(entity)).get(10, TimeUnit.SECONDS);
+        final String small = target.path("echo").request().async().get(String.class).get(10, TimeUnit.SECONDS);
+
+        assertEquals("GET /echo ", small);
+        assertEquals("POST /echo " + entity, large.readEntity(String.class));
+    }
+
+    @Test
+    public void testRequestEntityBackpressure() throws Exception {
+        holdWindows = true;
+        final AtomicLong written = new AtomicLong();
+        final StreamingOutput entity = output -> {
+            final byte[] chunk = new byte[8192];
+            for (int i = 0; i < 2048; i++) {
+                output.write(chunk);
+                written.addAndGet(chunk.length);
+            }
+        };
+
+        target(new Http2Settings()).path("echo").request()
+                .async().post(Entity.entity(entity, MediaType.APPLICATION_OCTET_STREAM_TYPE));
+
+        // the writing is blocked once the stream window and the buffer are exhausted
+        long previous;
+        do {
+            previous = written.get();
+            Thread.sleep(200);
+        } while (written.get() != previous);
+        assertTrue("Written " + previous + " bytes.", previous > 0 && previous < 1024 * 1024);
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        // the first response is never sent, so no stream becomes available for the second request
+        holdResponses = 2;
+        final WebTarget target = target(new Http2Settings(),
+                NettyClientProperties.MAX_CONCURRENT_STREAMS, 1,
+                NettyClientProperties.MAX_CONNECTIONS, 1,
+                ClientProperties.CONNECT_TIMEOUT, 500);
+
+        target.path("echo").request().async().get();
+        while (maxActiveStreams.get() == 0) {
+            Thread.sleep(10);
+        }
+        try {
+            target.path("echo").request().async().get().get(10, TimeUnit.SECONDS);
+            fail("TimeoutException expected.");
+        } catch (final ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause().getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void testRequestsMultiplexed() throws Exception {
+        // all the requests must be in progress at the same time to get a response
+        holdResponses = REQUESTS;
+        final WebTarget target = target(new Http2Settings(), NettyClientProperties.MAX_CONNECTIONS, 1);
+
+        assertEquals(1, ports(target).size());
+        assertEquals(REQUESTS, maxActiveStreams.get());
+    }
+
+    @Test
+    public void testMaxConcurrentStreams() throws Exception {
+        holdResponses = REQUESTS;
+        final WebTarget target = target(new Http2Settings(),
+                NettyClientProperties.MAX_CONCURRENT_STREAMS, 5,
+                NettyClientProperties.MAX_CONNECTIONS, 4);
+
+        assertEquals(4, ports(target).size());
+        assertEquals(5, maxActiveStreams.get());
+    }
+
+    @Test
+    public void testServerMaxConcurrentStreams() throws Exception {
+        final WebTarget target = target(new Http2Settings().maxConcurrentStreams(2), NettyClientProperties.MAX_CONNECTIONS, 1);
+
+        assertEquals(1, ports(target).size());
+        assertTrue(maxActiveStreams.get() <= 2);
+    }
+
+    private Set<Integer> ports(final WebTarget target) throws Exception {
+        final List<Future<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(target.path("echo").request().async().get());
+        }
+
+        final Set<Integer> ports = new HashSet<>();
+        for (final Future<Response> response : responses) {
+            ports.add(Integer.valueOf(response.get(10, TimeUnit.SECONDS).getHeaderString("X-Port")));
+        }
+        return ports;
+    }
+
+    /**
+     * Server connection handler echoing the request method, path and entity.
+     */
+    private class ServerHandler extends Http2FrameAdapter {
+
+        private Http2ConnectionHandler handler;
+        private final Map<Integer, Http2Headers> requests = new HashMap<>();
+        private final Map<Integer, ByteArrayOutputStream> entities = new HashMap<>();
+
+        @Override
+        public void onHeadersRead(final ChannelHandlerContext ctx, final int streamId, final Http2Headers headers,
+                                  final int padding, final boolean endOfStream) {
+            requests.put(streamId, headers);
+            entities.put(streamId, new ByteArrayOutputStream());
+            maxActiveStreams.accumulateAndGet(handler.connection().numActiveStreams(), Math::max);
+            if (endOfStream) {
+                respond(ctx, streamId);
+            }
+        }
+
+        @Override
+        public void onHeadersRead(final ChannelHandlerContext ctx, final int streamId, final Http2Headers headers,
+                                  final int streamDependency, final short weight, final boolean exclusive,
+                                  final int padding, final boolean endOfStream) {
+            onHeadersRead(ctx, streamId, headers, padding, endOfStream);
+        }
+
+        @Override
+        public int onDataRead(final ChannelHandlerContext ctx, final int streamId, final ByteBuf data, final int padding,
+                              final boolean endOfStream) {
+            final int processed = holdWindows ? 0 : data.readableBytes() + padding;
+            final byte[] bytes = new byte[data.readableBytes()];
+            data.readBytes(bytes);
+            entities.get(streamId).write(bytes, 0, bytes.length);
+            if (endOfStream) {
+                respond(ctx, streamId);
+            }
+            return processed;
+        }
+
+        private void respond(final ChannelHandlerContext ctx, final int streamId) {
+            final Http2Headers request = requests.remove(streamId);
+            final byte[] entity = (request.method() + " " + request.path() + " "
+                    + new String(entities.remove(streamId).toByteArray(), StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+
+            final Runnable response = () -> {
+                final Http2Headers headers = new DefaultHttp2Headers()
+                        .status("200")
+                        .set("content-type", "text/plain")
+                        .setInt("x-port", ((InetSocketAddress) ctx.channel().remoteAddress()).getPort());
+                handler.encoder().writeHeaders(ctx, streamId, headers, 0, false, ctx.newPromise());
+                handler.encoder().writeData(ctx, streamId, Unpooled.wrappedBuffer(entity), 0, true, ctx.newPromise());
+                ctx.channel().flush();
+            };
+
+            final List<Runnable> responses;
+            synchronized (heldResponses) {
+                if (holdResponses == 0) {
+                    responses = Arrays.asList(response);
+                } else {
+                    heldResponses.add(() -> ctx.executor().execute(response));
+                    if (heldResponses.size() < holdResponses) {
+                        return;
+                    }
+                    responses = new ArrayList<>(heldResponses);
+                    heldResponses.clear();
+                }
+            }
+            responses.forEach(Runnable::run);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.glassfish.jersey.netty.connector;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.ws.rs.GET;
@@ -38,6 +40,9 @@ import static org.junit.Assert.fail;
  * @author Martin Matula
  */
 public class TimeoutTest extends JerseyTest {
+
+    private static final CountDownLatch RESPOND = new CountDownLatch(1);
+
     @Path("/test")
     public static class TimeoutResource {
         @GET
@@ -55,6 +60,13 @@ public class TimeoutTest extends JerseyTest {
             }
             return "GET";
         }
+
+        @GET
+        @Path("blocked")
+        public String getBlocked() throws InterruptedException {
+            RESPOND.await(10, TimeUnit.SECONDS);
+            return "GET";
+        }
     }
 
     @Override
@@ -65,6 +77,7 @@ public class TimeoutTest extends JerseyTest {
     @Override
     protected void configureClient(ClientConfig config) {
         config.property(ClientProperties.READ_TIMEOUT, 1000);
+        config.property(NettyClientProperties.MAX_CONNECTIONS, 1);
         config.connectorProvider(new NettyConnectorProvider());
     }
 
@@ -85,4 +98,21 @@ public class TimeoutTest extends JerseyTest {
                        e.getCause(), instanceOf(TimeoutException.class));
         }
     }
+
+    @Test
+    public void testTimedOutConnectionReleased() throws Exception {
+        try {
+            target("test/blocked").request().get();
+            fail("Timeout expected.");
+        } catch (ProcessingException e) {
+            assertThat("Unexpected processing exception cause",
+                       e.getCause(), instanceOf(TimeoutException.class));
+        }
+        try {
+            // the single pooled connection is available again
+            assertEquals("GET", target("test").request().async().get(String.class).get(5, TimeUnit.SECONDS));
+        } finally {
+            RESPOND.countDown();
+        }
+    }
 }
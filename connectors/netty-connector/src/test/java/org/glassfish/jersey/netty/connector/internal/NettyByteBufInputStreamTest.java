@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.netty.connector.internal;
+
+import java.io.IOException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the buffer handoff and backpressure of {@link NettyByteBufInputStream}.
+ */
+public class NettyByteBufInputStreamTest {
+
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+
+    @Test
+    public void testRead() throws IOException {
+        final NettyByteBufInputStream stream = new NettyByteBufInputStream(channel);
+        final ByteBuf first = Unpooled.wrappedBuffer(new byte[] {1, 2, 3});
+        final ByteBuf second = Unpooled.wrappedBuffer(new byte[] {4, 5});
+        stream.publish(first);
+        stream.publish(second);
+        stream.complete();
+
+        assertEquals(3, stream.available());
+        assertEquals(1, stream.read());
+
+        final byte[] bytes = new byte[10];
+        assertEquals(2, stream.read(bytes, 0, 10));
+        // released once read completely
+        assertEquals(0, first.refCnt());
+        assertEquals(1, second.refCnt());
+
+        assertEquals(2, stream.read(bytes, 2, 8));
+        assertArrayEquals(new byte[] {2, 3, 4, 5}, new byte[] {bytes[0], bytes[1], bytes[2], bytes[3]});
+        assertEquals(0, second.refCnt());
+        assertEquals(-1, stream.read(bytes, 0, 10));
+    }
+
+    @Test
+    public void testBackpressure() throws IOException {
+        final NettyByteBufInputStream stream = new NettyByteBufInputStream(channel, 10, 20);
+        assertTrue(channel.config().isAutoRead());
+
+        stream.publish(Unpooled.wrappedBuffer(new byte[10]));
+        assertTrue(channel.config().isAutoRead());
+        stream.publish(Unpooled.wrappedBuffer(new byte[10]));
+        assertFalse(channel.config().isAutoRead());
+        stream.publish(Unpooled.wrappedBuffer(new byte[5]));
+
+        // 15 bytes left unread
+        assertEquals(10, stream.read(new byte[10]));
+        assertFalse(channel.config().isAutoRead());
+
+        // 5 bytes left unread
+        assertEquals(10, stream.read(new byte[10]));
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testCompleteResumesReading() {
+        final NettyByteBufInputStream stream = new NettyByteBufInputStream(channel, 10, 20);
+        stream.publish(Unpooled.wrappedBuffer(new byte[30]));
+        assertFalse(channel.config().isAutoRead());
+
+        stream.complete();
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testCloseReleasesBuffers() throws IOException {
+        final NettyByteBufInputStream stream = new NettyByteBufInputStream(channel, 10, 20);
+        final ByteBuf first = Unpooled.wrappedBuffer(new byte[15]);
+        final ByteBuf second = Unpooled.wrappedBuffer(new byte[15]);
+        stream.publish(first);
+        stream.publish(second);
+        assertEquals(0, stream.read());
+
+        stream.close();
+        assertEquals(0, first.refCnt());
+        assertEquals(0, second.refCnt());
+        assertTrue(channel.config().isAutoRead());
+
+        // content received after the stream has been closed is released immediately
+        final ByteBuf late = Unpooled.wrappedBuffer(new byte[15]);
+        stream.publish(late);
+        assertEquals(0, late.refCnt());
+        assertEquals(-1, stream.read());
+    }
+
+    @Test(expected = IOException.class)
+    public void testFail() throws IOException {
+        final NettyByteBufInputStream stream = new NettyByteBufInputStream(channel);
+        stream.publish(Unpooled.wrappedBuffer(new byte[1]));
+        stream.fail();
+
+        assertEquals(0, stream.read());
+        stream.read();
+    }
+}
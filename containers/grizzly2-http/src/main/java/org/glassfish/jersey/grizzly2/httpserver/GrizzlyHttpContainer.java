@@ -16,10 +16,12 @@
 
 package org.glassfish.jersey.grizzly2.httpserver;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.net.URISyntaxException;
 import java.security.Principal;
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.logging.Logger;
 
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.SecurityContext;
 
 import javax.inject.Inject;
@@ -53,6 +56,8 @@ import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 
 import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.WriteResult;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
@@ -163,6 +168,11 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         private final Response grizzlyResponse;
         private final boolean configSetStatusOverSendError;
 
+        // the file transfers in progress and the commit flag, the response is resumed once both
+        // the transfers are completed and the response has been committed
+        private int transfers;
+        private boolean committed;
+
         ResponseWriter(final Response response, final boolean configSetStatusOverSendError) {
             this.grizzlyResponse = response;
             this.configSetStatusOverSendError = configSetStatusOverSendError;
@@ -184,14 +194,34 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         @Override
         public void commit() {
             try {
-                if (grizzlyResponse.isSuspended()) {
-                    grizzlyResponse.resume();
+                synchronized (this) {
+                    committed = true;
+                    if (transfers > 0) {
+                        // resumed once the last transfer is completed
+                        return;
+                    }
                 }
+                resume();
             } finally {
                 logger.debugLog("{0} - commit() called", name);
             }
         }
 
+        private void resume() {
+            if (grizzlyResponse.isSuspended()) {
+                grizzlyResponse.resume();
+            }
+        }
+
+        private void transferCompleted() {
+            synchronized (this) {
+                if (--transfers > 0 || !committed) {
+                    return;
+                }
+            }
+            resume();
+        }
+
         @Override
         public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
             try {
@@ -285,6 +315,111 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             return true;
         }
 
+        @Override
+        public boolean isWriteReady() {
+            return grizzlyResponse.getOutputBuffer().canWrite();
+        }
+
+        @Override
+        public boolean notifyWriteReady(final Runnable callback) {
+            grizzlyResponse.getOutputBuffer().notifyCanWrite(new WriteHandler() {
+                @Override
+                public void onWritePossible() {
+                    callback.run();
+                }
+
+                @Override
+                public void onError(final Throwable t) {
+                    callback.run();
+                }
+            });
+            return true;
+        }
+
+        @Override
+        public boolean transferFile(final File file, final long position, final long count,
+                                    final ContainerResponse responseContext) throws IOException {
+            try {
+                // sendfile replaces the content encoding and cannot be used on secure connections
+                if (!grizzlyResponse.isSendFileEnabled()
+                        || grizzlyResponse.getRequest().isSecure()
+                        || grizzlyResponse.isCommitted()
+                        || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                    return false;
+                }
+
+                writeResponseStatusAndHeaders(count, responseContext);
+
+                // Grizzly completes the response once a transfer of a response that is not suspended is done,
+                // so keep the response suspended and resume it once both Jersey committed the response
+                // and the transfer is completed
+                if (!grizzlyResponse.isSuspended()) {
+                    grizzlyResponse.suspend();
+                }
+                synchronized (this) {
+                    transfers++;
+                }
+                try {
+                    grizzlyResponse.getOutputBuffer().sendfile(file, position, count, new TransferCompletionHandler(file));
+                } catch (final RuntimeException e) {
+                    transferCompleted();
+                    throw e;
+                }
+                return true;
+            } finally {
+                logger.debugLog("{0} - transferFile(...) called", name);
+            }
+        }
+
+        @Override
+        public boolean transferBuffer(final ByteBuffer buffer, final ContainerResponse responseContext) throws IOException {
+            try {
+                if (grizzlyResponse.isCommitted()) {
+                    return false;
+                }
+
+                writeResponseStatusAndHeaders(buffer.remaining(), responseContext);
+                grizzlyResponse.getOutputBuffer().writeByteBuffer(buffer.duplicate());
+                return true;
+            } finally {
+                logger.debugLog("{0} - transferBuffer(...) called", name);
+            }
+        }
+
+        /**
+         * Resumes the response once the file transfer is done and the response is committed.
+         */
+        private final class TransferCompletionHandler implements CompletionHandler<WriteResult> {
+
+            private final File file;
+
+            private TransferCompletionHandler(final File file) {
+                this.file = file;
+            }
+
+            @Override
+            public void cancelled() {
+                logger.debugLog("{0} - transfer of {1} cancelled", name, file);
+                transferCompleted();
+            }
+
+            @Override
+            public void failed(final Throwable throwable) {
+                logger.log(Level.FINE, "Transfer of " + file + " failed.", throwable);
+                transferCompleted();
+            }
+
+            @Override
+            public void completed(final WriteResult result) {
+                transferCompleted();
+            }
+
+            @Override
+            public void updated(final WriteResult result) {
+                // no-op
+            }
+        }
+
         /**
          * Rethrow the original exception as required by JAX-RS, 3.3.4
          *
@@ -16,11 +16,15 @@
 
 package org.glassfish.jersey.jetty;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.Principal;
 import java.util.Enumeration;
 import java.util.List;
@@ -361,6 +365,34 @@ public final class JettyHttpContainer extends AbstractHandler implements Contain
             return false;
         }
 
+        @Override
+        public boolean transferFile(final File file, final long position, final long count,
+                                    final ContainerResponse responseContext) throws IOException {
+            if (count > Integer.MAX_VALUE || response.getHttpOutput().isWritten()) {
+                return false;
+            }
+
+            // memory mapped file content is written to the connection without being copied to the heap
+            final ByteBuffer content;
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                content = channel.map(FileChannel.MapMode.READ_ONLY, position, count);
+            }
+            writeResponseStatusAndHeaders(count, responseContext);
+            response.getHttpOutput().sendContent(content);
+            return true;
+        }
+
+        @Override
+        public boolean transferBuffer(final ByteBuffer buffer, final ContainerResponse responseContext) throws IOException {
+            if (response.getHttpOutput().isWritten()) {
+                return false;
+            }
+
+            writeResponseStatusAndHeaders(buffer.remaining(), responseContext);
+            response.getHttpOutput().sendContent(buffer.duplicate());
+            return true;
+        }
+
         /**
          * Rethrow the original exception as required by JAX-RS, 3.3.4.
          *
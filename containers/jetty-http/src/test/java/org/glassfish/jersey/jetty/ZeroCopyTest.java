@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jetty;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that {@link File}, {@link java.nio.file.Path} and {@link ByteBuffer} entities are written correctly
+ * with and without the zero-copy entity transfer.
+ */
+public class ZeroCopyTest extends AbstractJettyServerTester {
+
+    private static final byte[] CONTENT = new byte[100000];
+    private static File file;
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        for (int i = 0; i < CONTENT.length; i++) {
+            CONTENT[i] = (byte) i;
+        }
+        file = File.createTempFile("jersey-zero-copy", ".bin");
+        Files.write(file.toPath(), CONTENT);
+    }
+
+    @AfterClass
+    public static void deleteFile() {
+        file.delete();
+    }
+
+    @Path("zero-copy")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public static class ZeroCopyResource {
+
+        @GET
+        @Path("file")
+        public File file() {
+            return file;
+        }
+
+        @GET
+        @Path("path")
+        public java.nio.file.Path path() {
+            return file.toPath();
+        }
+
+        @GET
+        @Path("buffer")
+        public ByteBuffer buffer() {
+            return ByteBuffer.wrap(CONTENT);
+        }
+
+        @GET
+        @Path("direct-buffer")
+        public ByteBuffer directBuffer() {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(CONTENT.length);
+            buffer.put(CONTENT).flip();
+            return buffer;
+        }
+
+        @GET
+        @Path("small-buffer")
+        public ByteBuffer smallBuffer() {
+            return ByteBuffer.wrap(CONTENT, 10, 20);
+        }
+    }
+
+    private void testEntities(final boolean zeroCopy) {
+        startServer(new ResourceConfig(ZeroCopyResource.class)
+                .property(ServerProperties.RESPONSE_ZERO_COPY_ENABLED, zeroCopy));
+        final Client client = ClientBuilder.newClient();
+        try {
+            for (final String path : new String[] {"file", "path", "buffer", "direct-buffer"}) {
+                final Response response = client.target(getUri()).path("zero-copy").path(path).request().get();
+                assertEquals(path, 200, response.getStatus());
+                assertArrayEquals(path, CONTENT, response.readEntity(byte[].class));
+            }
+
+            final Response response = client.target(getUri()).path("zero-copy/small-buffer").request().get();
+            assertEquals(200, response.getStatus());
+            assertArrayEquals(Arrays.copyOfRange(CONTENT, 10, 30), response.readEntity(byte[].class));
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testZeroCopyEnabled() {
+        testEntities(true);
+    }
+
+    @Test
+    public void testZeroCopyDisabled() {
+        testEntities(false);
+    }
+}
@@ -16,7 +16,10 @@
 
 package org.glassfish.jersey.netty.httpserver;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledFuture;
@@ -29,11 +32,15 @@ import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpChunkedInput;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -42,6 +49,7 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.ssl.SslHandler;
 
 /**
  * Netty implementation of {@link ContainerResponseWriter}.
@@ -67,6 +75,7 @@ class NettyResponseWriter implements ContainerResponseWriter {
     private volatile Runnable suspendTimeoutHandler;
 
     private boolean responseWritten = false;
+    private volatile ChunkedEntityOutputStream chunkedEntityStream;
 
     NettyResponseWriter(ChannelHandlerContext ctx, HttpRequest req, NettyHttpContainer container) {
         this.ctx = ctx;
@@ -117,14 +126,15 @@ class NettyResponseWriter implements ContainerResponseWriter {
 
         if (req.method() != HttpMethod.HEAD && (contentLength > 0 || contentLength == -1)) {
 
-            JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ctx.channel());
-
             if (HttpUtil.isTransferEncodingChunked(response)) {
-                ctx.write(new HttpChunkedInput(jerseyChunkedInput)).addListener(FLUSH_FUTURE);
+                // entity of unknown length may still be transferred as a whole, see transferFile(...)
+                chunkedEntityStream = new ChunkedEntityOutputStream();
+                return chunkedEntityStream;
             } else {
+                JerseyChunkedInput jerseyChunkedInput = new JerseyChunkedInput(ctx.channel());
                 ctx.write(new HttpChunkedInput(jerseyChunkedInput)).addListener(FLUSH_FUTURE);
+                return jerseyChunkedInput;
             }
-            return jerseyChunkedInput;
 
         } else {
             ctx.writeAndFlush(LastHttpContent.EMPTY_LAST_CONTENT);
@@ -184,4 +194,135 @@ class NettyResponseWriter implements ContainerResponseWriter {
     public boolean enableResponseBuffering() {
         return true;
     }
+
+    @Override
+    public boolean isWriteReady() {
+        return ctx.channel().isWritable();
+    }
+
+    @Override
+    public boolean notifyWriteReady(final Runnable callback) {
+        ctx.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+            private boolean notified;
+
+            @Override
+            public void handlerAdded(final ChannelHandlerContext handlerCtx) {
+                // the channel may have become writable or inactive before the handler was added
+                if (handlerCtx.channel().isWritable() || !handlerCtx.channel().isActive()) {
+                    runCallback(handlerCtx);
+                }
+            }
+
+            @Override
+            public void channelWritabilityChanged(final ChannelHandlerContext handlerCtx) {
+                if (handlerCtx.channel().isWritable()) {
+                    runCallback(handlerCtx);
+                }
+                handlerCtx.fireChannelWritabilityChanged();
+            }
+
+            @Override
+            public void channelInactive(final ChannelHandlerContext handlerCtx) {
+                runCallback(handlerCtx);
+                handlerCtx.fireChannelInactive();
+            }
+
+            private void runCallback(final ChannelHandlerContext handlerCtx) {
+                if (!notified) {
+                    notified = true;
+                    handlerCtx.pipeline().remove(this);
+                    callback.run();
+                }
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean transferFile(final File file, final long position, final long count,
+                                final ContainerResponse responseContext) throws IOException {
+        // file region is written directly to the channel and cannot be encrypted
+        return ctx.pipeline().get(SslHandler.class) == null
+                && canTransfer(responseContext)
+                && chunkedEntityStream.transfer(new DefaultFileRegion(file, position, count));
+    }
+
+    @Override
+    public boolean transferBuffer(final ByteBuffer buffer, final ContainerResponse responseContext) throws IOException {
+        return canTransfer(responseContext)
+                && chunkedEntityStream.transfer(new DefaultLastHttpContent(Unpooled.wrappedBuffer(buffer.duplicate())));
+    }
+
+    /**
+     * Write the response status and headers of an entity of unknown length, unless they have been written already.
+     *
+     * @return {@code true} if the entity can be transferred to the {@link #chunkedEntityStream} as a whole.
+     */
+    private boolean canTransfer(final ContainerResponse responseContext) {
+        if (responseWritten || req.method() == HttpMethod.HEAD) {
+            return false;
+        }
+        writeResponseStatusAndHeaders(-1, responseContext);
+        return chunkedEntityStream != null;
+    }
+
+    /**
+     * Chunked response entity output stream.
+     * <p>
+     * The {@link JerseyChunkedInput} is queued for writing once the first entity bytes are written to the stream,
+     * so that the complete entity can be written to the channel directly instead.
+     * </p>
+     */
+    private final class ChunkedEntityOutputStream extends OutputStream {
+
+        private JerseyChunkedInput chunkedInput;
+        private boolean transferred;
+
+        private synchronized OutputStream chunkedInput() throws IOException {
+            if (transferred) {
+                throw new IOException("Response entity already transferred.");
+            }
+            if (chunkedInput == null) {
+                chunkedInput = new JerseyChunkedInput(ctx.channel());
+                ctx.write(new HttpChunkedInput(chunkedInput)).addListener(FLUSH_FUTURE);
+            }
+            return chunkedInput;
+        }
+
+        private synchronized boolean transfer(final Object entity) {
+            if (chunkedInput != null || transferred) {
+                return false;
+            }
+            transferred = true;
+
+            ctx.write(entity);
+            if (!(entity instanceof LastHttpContent)) {
+                ctx.write(LastHttpContent.EMPTY_LAST_CONTENT);
+            }
+            ctx.flush();
+            return true;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            chunkedInput().write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            chunkedInput().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ctx.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (!transferred) {
+                chunkedInput().close();
+            }
+        }
+    }
 }
@@ -125,6 +125,37 @@ public final class ClientProperties {
      */
     public static final String ASYNC_THREADPOOL_SIZE = "jersey.config.client.async.threadPoolSize";
 
+    /**
+     * If {@code true}, the asynchronous requests are sent without being handed over to the client async executor service.
+     * <p>
+     * The request filters and the connector are invoked directly in the thread submitting the request. Only once the
+     * connector completes the request, the response filters and the response callback run in a client async executor
+     * service thread, so that no thread is blocked while waiting for the response. The invocations
+     * made using {@link javax.ws.rs.client.Invocation.Builder#rx()} return the completion stage of the asynchronous
+     * invocation instead of performing a blocking synchronous invocation in an executor service thread. The mode is
+     * intended for connectors with a natively asynchronous transport (e.g. Netty, Grizzly, Jetty or JDK connectors),
+     * the default {@link org.glassfish.jersey.client.HttpUrlConnectorProvider HttpUrlConnector} completes the request
+     * in the submitting thread.
+     * </p>
+     * <p>
+     * A connector may complete the request before the response entity is received (e.g. the JDK connector completes it
+     * in its I/O thread once the response headers are received), the response filters and callbacks reading the entity
+     * therefore must not run in the connector thread.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String ASYNC_NON_BLOCKING = "jersey.config.client.async.nonBlocking";
+
     /**
      * Scheduler thread pool size.
      * <p>
@@ -167,6 +198,105 @@ public final class ClientProperties {
      */
     public static final String USE_ENCODING = "jersey.config.client.useEncoding";
 
+    /**
+     * Maximal size in bytes of the response entities kept in memory by the
+     * {@link org.glassfish.jersey.client.filter.ClientCachingFeature client cache}.
+     * <p>
+     * The least recently used responses are evicted from the memory once the size is exceeded. Responses with an entity
+     * larger than the size are not cached.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * </p>
+     * <p>
+     * The default value is {@code 10485760} (10 MiB).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CACHE_MAX_SIZE = "jersey.config.client.cache.maxSize";
+
+    /**
+     * Directory of the on-disk tier of the {@link org.glassfish.jersey.client.filter.ClientCachingFeature client cache}.
+     * <p>
+     * If set, the cached responses are also stored in the directory and the responses evicted from the memory are loaded
+     * back from it. The directory is created if it does not exist.
+     * </p>
+     * <p>
+     * The value MUST be an instance of {@link String} or {@link java.io.File}.
+     * </p>
+     * <p>
+     * A default value is not set, the responses are cached in memory only.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CACHE_DIRECTORY = "jersey.config.client.cache.directory";
+
+    /**
+     * Maximal size in bytes of the files stored in the {@link #CACHE_DIRECTORY directory} of the
+     * {@link org.glassfish.jersey.client.filter.ClientCachingFeature client cache}.
+     * <p>
+     * The least recently used files are deleted once the size is exceeded.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Long}.
+     * </p>
+     * <p>
+     * The default value is {@code 104857600} (100 MiB).
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CACHE_DIRECTORY_MAX_SIZE = "jersey.config.client.cache.directory.maxSize";
+
+    /**
+     * If {@code true}, the statistics gathered by the
+     * {@link org.glassfish.jersey.client.monitoring.ClientMonitoringFeature client monitoring feature} are exposed as MXBeans.
+     * <p>
+     * The value MUST be an instance of {@link java.lang.Boolean}.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String MONITORING_STATISTICS_MBEANS_ENABLED = "jersey.config.client.monitoring.statistics.mbeans.enabled";
+
+    /**
+     * Path template the {@link org.glassfish.jersey.client.monitoring.ClientMonitoringFeature client monitoring feature}
+     * groups the request statistics by, e.g. {@code /users/{id}}.
+     * <p>
+     * The property can be set on a client, on a web target or on a single request. Without it, the statistics are
+     * grouped by the request URI path, which should be avoided for URIs containing identifiers.
+     * </p>
+     * <p>
+     * The value MUST be an instance of {@link String}.
+     * </p>
+     * <p>
+     * A default value is not set.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String MONITORING_PATH_TEMPLATE = "jersey.config.client.monitoring.pathTemplate";
+
     /**
      * If {@code true} then disable auto-discovery on the client.
      * <p>
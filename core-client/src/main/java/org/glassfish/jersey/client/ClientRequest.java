@@ -21,10 +21,12 @@ import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -81,6 +83,8 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
     private Iterable<ReaderInterceptor> readerInterceptors;
     // do not add user-agent header (if not directly set) to the request.
     private boolean ignoreUserAgent;
+    // callbacks invoked if the request processing fails
+    private List<Consumer<? super ClientRequest>> failureCallbacks;
 
     private static final Logger LOGGER = Logger.getLogger(ClientRequest.class.getName());
 
@@ -247,6 +251,42 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
         this.abortResponse = response;
     }
 
+    /**
+     * Register a callback invoked if the request processing fails, e.g. if the connector fails to send the request or a
+     * response filter throws an exception.
+     * <p>
+     * The callbacks allow the filters keeping a state of the request until its response is filtered to release the state if
+     * the response filters are not reached. The callbacks are invoked at most once, in the order of their registration.
+     * </p>
+     *
+     * @param callback callback invoked with the failed request.
+     * @since 2.29
+     */
+    public void registerFailureCallback(final Consumer<? super ClientRequest> callback) {
+        if (failureCallbacks == null) {
+            failureCallbacks = new ArrayList<>(1);
+        }
+        failureCallbacks.add(callback);
+    }
+
+    /**
+     * Invoke the {@link #registerFailureCallback(Consumer) failure callbacks} of the request.
+     */
+    void failed() {
+        final List<Consumer<? super ClientRequest>> callbacks = failureCallbacks;
+        if (callbacks == null) {
+            return;
+        }
+        failureCallbacks = null;
+        for (final Consumer<? super ClientRequest> callback : callbacks) {
+            try {
+                callback.accept(this);
+            } catch (final RuntimeException ex) {
+                LOGGER.log(Level.WARNING, LocalizationMessages.ERROR_FAILURE_CALLBACK(), ex);
+            }
+        }
+    }
+
     /**
      * Get the request filter chain aborting response if set, or {@code null} otherwise.
      *
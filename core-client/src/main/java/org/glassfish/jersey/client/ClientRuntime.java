@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -71,6 +72,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
     private final RequestScope requestScope;
     private final LazyValue<ExecutorService> asyncRequestExecutor;
     private final LazyValue<ScheduledExecutorService> backgroundScheduler;
+    private final boolean asyncNonBlocking;
 
     private final Iterable<ClientLifecycleListener> lifecycleListeners;
 
@@ -114,6 +116,8 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
                 config.getScheduledExecutorService() == null
                         ? injectionManager.getInstance(ScheduledExecutorService.class, ClientBackgroundSchedulerLiteral.INSTANCE)
                         : config.getScheduledExecutorService());
+        this.asyncNonBlocking = ClientProperties.getValue(config.getProperties(), ClientProperties.ASYNC_NON_BLOCKING,
+                false, Boolean.class);
 
         this.injectionManager = injectionManager;
         this.lifecycleListeners = Providers.getAllProviders(injectionManager, ClientLifecycleListener.class);
@@ -151,22 +155,55 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
 
                     @Override
                     public void response(final ClientResponse response) {
-                        requestScope.runInScope(() -> processResponse(response, callback));
+                        if (asyncNonBlocking) {
+                            requestScope.runInScope(() -> submitResponse(response, callback));
+                        } else {
+                            requestScope.runInScope(() -> processResponse(response, callback));
+                        }
                     }
 
                     @Override
                     public void failure(final Throwable failure) {
-                        requestScope.runInScope(() -> processFailure(failure, callback));
+                        requestScope.runInScope(() -> processFailure(request, failure, callback));
                     }
                 };
 
                 connector.apply(processedRequest, connectorCallback);
             } catch (final Throwable throwable) {
-                processFailure(throwable, callback);
+                processFailure(request, throwable, callback);
             }
         });
     }
 
+    /**
+     * Submit a {@link ClientRequest client request} for asynchronous processing.
+     * <p>
+     * By default, the request processing is handed over to the client async executor service. In the
+     * {@link ClientProperties#ASYNC_NON_BLOCKING non-blocking mode}, the request processing stages and the connector
+     * are invoked directly in the calling thread and only the response processing stages are handed over to the client
+     * async executor service once the connector completes the callback.
+     * </p>
+     *
+     * @param request  client request to be sent.
+     * @param callback asynchronous response callback.
+     */
+    void submit(final ClientRequest request, final ResponseCallback callback) {
+        if (asyncNonBlocking) {
+            createRunnableForAsyncProcessing(request, callback).run();
+        } else {
+            submit(createRunnableForAsyncProcessing(request, callback));
+        }
+    }
+
+    /**
+     * Check whether the asynchronous requests are processed without handing them over to the client async executor service.
+     *
+     * @return {@code true} if the {@link ClientProperties#ASYNC_NON_BLOCKING non-blocking mode} is enabled.
+     */
+    boolean isAsyncNonBlocking() {
+        return asyncNonBlocking;
+    }
+
     @Override
     public <T> Future<T> submit(Callable<T> task) {
         return asyncRequestExecutor.get().submit(task);
@@ -197,17 +234,40 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
         try {
             processedResponse = Stages.process(response, responseProcessingRoot);
         } catch (final Throwable throwable) {
-            processFailure(throwable, callback);
+            processFailure(response.getRequestContext(), throwable, callback);
             return;
         }
         callback.completed(processedResponse, requestScope);
     }
 
-    private void processFailure(final Throwable failure, final ResponseCallback callback) {
+    private void processFailure(final ClientRequest request, final Throwable failure, final ResponseCallback callback) {
+        request.failed();
         callback.failed(failure instanceof ProcessingException
                 ? (ProcessingException) failure : new ProcessingException(failure));
     }
 
+    /**
+     * Process the response in the client async executor service. The connector may complete its callback before the
+     * response entity is received, the response filters and the callback reading the entity in the connector thread
+     * could block the connector from receiving it.
+     */
+    private void submitResponse(final ClientResponse response, final ResponseCallback callback) {
+        final RequestContext context = requestScope.referenceCurrent();
+        try {
+            submit(() -> {
+                try {
+                    requestScope.runInScope(context, () -> processResponse(response, callback));
+                } finally {
+                    context.release();
+                }
+            });
+        } catch (final RejectedExecutionException ex) {
+            context.release();
+            response.close();
+            processFailure(response.getRequestContext(), ex, callback);
+        }
+    }
+
     private Future<?> submit(final ExecutorService executor, final Runnable task) {
         return executor.submit(() -> requestScope.runInScope(task));
     }
@@ -258,8 +318,10 @@ class ClientRuntime implements JerseyClient.ShutdownHook, ClientExecutor {
 
             return Stages.process(response, responseProcessingRoot);
         } catch (final ProcessingException pe) {
+            request.failed();
             throw pe;
         } catch (final Throwable t) {
+            request.failed();
             throw new ProcessingException(t.getMessage(), t);
         }
     }
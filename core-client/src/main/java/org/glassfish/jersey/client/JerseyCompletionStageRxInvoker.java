@@ -33,12 +33,31 @@ import javax.ws.rs.core.GenericType;
  */
 public class JerseyCompletionStageRxInvoker extends AbstractRxInvoker<CompletionStage> implements CompletionStageRxInvoker {
 
+    private final boolean nonBlocking;
+
     JerseyCompletionStageRxInvoker(Invocation.Builder builder, ExecutorService executor) {
+        this(builder, executor, false);
+    }
+
+    /**
+     * Create new invoker.
+     *
+     * @param builder     request invocation builder.
+     * @param executor    executor service used to perform the synchronous invocations.
+     * @param nonBlocking if {@code true}, the completion stage of an asynchronous invocation is returned instead of
+     *                    performing a synchronous invocation using the executor service.
+     */
+    JerseyCompletionStageRxInvoker(Invocation.Builder builder, ExecutorService executor, boolean nonBlocking) {
         super(builder, executor);
+        this.nonBlocking = nonBlocking;
     }
 
     @Override
     public <T> CompletionStage<T> method(final String name, final Entity<?> entity, final Class<T> responseType) {
+        if (nonBlocking) {
+            return ((JerseyInvocation.Builder) getSyncInvoker()).build(name, entity).submitAsync(responseType);
+        }
+
         final ExecutorService executorService = getExecutorService();
 
         return executorService == null
@@ -48,6 +67,10 @@ public class JerseyCompletionStageRxInvoker extends AbstractRxInvoker<Completion
 
     @Override
     public <T> CompletionStage<T> method(final String name, final Entity<?> entity, final GenericType<T> responseType) {
+        if (nonBlocking) {
+            return ((JerseyInvocation.Builder) getSyncInvoker()).build(name, entity).submitAsync(responseType);
+        }
+
         final ExecutorService executorService = getExecutorService();
 
         return executorService == null
@@ -454,7 +454,8 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
             ExecutorServiceProvider instance = this.requestContext.getInjectionManager()
                                                                   .getInstance(ExecutorServiceProvider.class);
 
-            return new JerseyCompletionStageRxInvoker(this, instance.getExecutorService());
+            return new JerseyCompletionStageRxInvoker(this, instance.getExecutorService(),
+                                                      requestContext.getClientRuntime().isAsyncNonBlocking());
         }
 
         @Override
@@ -774,7 +775,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
     public Future<Response> submit() {
         final CompletableFuture<Response> responseFuture = new CompletableFuture<>();
         final ClientRuntime runtime = request().getClientRuntime();
-        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext), new ResponseCallback() {
+        runtime.submit(requestForCall(requestContext), new ResponseCallback() {
 
             @Override
             public void completed(final ClientResponse response, final RequestScope scope) {
@@ -791,20 +792,31 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
                     responseFuture.completeExceptionally(error);
                 }
             }
-        }));
+        });
 
         return responseFuture;
     }
 
     @Override
     public <T> Future<T> submit(final Class<T> responseType) {
+        return submitAsync(responseType);
+    }
+
+    /**
+     * Submit the request for an asynchronous invocation.
+     *
+     * @param <T>          response type.
+     * @param responseType Java type the response entity will be converted to.
+     * @return future completed with the response of the specified type.
+     */
+    <T> CompletableFuture<T> submitAsync(final Class<T> responseType) {
         if (responseType == null) {
             throw new IllegalArgumentException(LocalizationMessages.RESPONSE_TYPE_IS_NULL());
         }
         final CompletableFuture<T> responseFuture = new CompletableFuture<>();
         //noinspection Duplicates
         final ClientRuntime runtime = request().getClientRuntime();
-        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext), new ResponseCallback() {
+        runtime.submit(requestForCall(requestContext), new ResponseCallback() {
 
             @Override
             public void completed(final ClientResponse response, final RequestScope scope) {
@@ -830,7 +842,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
                     responseFuture.completeExceptionally(error);
                 }
             }
-        }));
+        });
 
         return responseFuture;
     }
@@ -862,13 +874,24 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
 
     @Override
     public <T> Future<T> submit(final GenericType<T> responseType) {
+        return submitAsync(responseType);
+    }
+
+    /**
+     * Submit the request for an asynchronous invocation.
+     *
+     * @param <T>          generic response type.
+     * @param responseType type literal representing a generic Java type the response entity will be converted to.
+     * @return future completed with the response of the specified type.
+     */
+    <T> CompletableFuture<T> submitAsync(final GenericType<T> responseType) {
         if (responseType == null) {
             throw new IllegalArgumentException(LocalizationMessages.RESPONSE_TYPE_IS_NULL());
         }
         final CompletableFuture<T> responseFuture = new CompletableFuture<>();
         //noinspection Duplicates
         final ClientRuntime runtime = request().getClientRuntime();
-        runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext), new ResponseCallback() {
+        runtime.submit(requestForCall(requestContext), new ResponseCallback() {
 
             @Override
             public void completed(final ClientResponse response, final RequestScope scope) {
@@ -895,7 +918,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
                     responseFuture.completeExceptionally(error);
                 }
             }
-        }));
+        });
 
         return responseFuture;
     }
@@ -1008,7 +1031,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
                 }
             };
             final ClientRuntime runtime = request().getClientRuntime();
-            runtime.submit(runtime.createRunnableForAsyncProcessing(requestForCall(requestContext), responseCallback));
+            runtime.submit(requestForCall(requestContext), responseCallback);
         } catch (final Throwable error) {
             final ProcessingException ce;
             //noinspection ChainOfInstanceofChecks
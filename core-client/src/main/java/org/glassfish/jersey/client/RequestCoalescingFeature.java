@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Feature that coalesces identical concurrent {@code GET} and {@code HEAD} requests sent by a client into a single
+ * request (a "single-flight" request).
+ * <p>
+ * While a request is in flight, an identical request sent from another thread waits for the response of the first one
+ * instead of being sent by the connector. The first response is buffered and each of the waiting requests receives its own
+ * copy of the response, so that every caller can read the entity independently. The requests are identical if they have
+ * the same method, the same URI and the same values of the {@code Accept}, {@code Accept-Encoding},
+ * {@code Accept-Language}, {@code Authorization} and {@code Cookie} headers. In addition, the values of the headers listed
+ * in the {@code Vary} header of the response have to match, otherwise the waiting request is sent on its own. A response
+ * with {@code Vary: *} is never shared. Requests with an entity are never coalesced.
+ * </p>
+ * <p>
+ * The feature reduces the load of the upstream servers when many threads ask for the same resource at the same moment.
+ * Note that the waiting requests block the thread that invoked the request filters, which is the calling thread for
+ * the synchronous requests and for the asynchronous requests in the {@link ClientProperties#ASYNC_NON_BLOCKING
+ * non-blocking mode}. If the first request fails, the waiting requests are sent on their own. A waiting request does not
+ * wait longer than its {@link ClientProperties#READ_TIMEOUT read timeout}, it is sent on its own once the timeout expires.
+ * </p>
+ * <p>
+ * Typical usage:
+ * </p>
+ * <pre>
+ * {@code
+ * Client client = ClientBuilder.newClient(new ClientConfig().register(RequestCoalescingFeature.class));
+ * }
+ * </pre>
+ *
+ * @since 2.29
+ */
+public class RequestCoalescingFeature implements Feature {
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new RequestCoalescingFilter());
+        return true;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Client filter coalescing the identical concurrent requests, see {@link RequestCoalescingFeature}.
+ * <p>
+ * The first of the identical requests (the leader) registers itself as an in-flight call and is sent by the connector,
+ * the following requests join the call and wait for its response in the request filter. The leader's response is buffered
+ * in the response filter and handed over to the waiting requests, which are {@link ClientRequestContext#abortWith(Response)
+ * aborted} with a copy of it. If the leader fails, its {@link ClientRequest#registerFailureCallback(java.util.function.Consumer)
+ * failure callback} releases the waiting requests, which are then sent on their own. A waiting request is also sent on its
+ * own once it has waited longer than its {@link ClientProperties#READ_TIMEOUT read timeout}.
+ * </p>
+ * <p>
+ * The filter runs after the user request filters, so that the requests are compared with their final headers.
+ * </p>
+ */
+@Priority(Priorities.USER + 1000)
+class RequestCoalescingFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String IN_FLIGHT_PROPERTY = RequestCoalescingFilter.class.getName() + ".inFlight";
+
+    /**
+     * Request headers that are a part of the in-flight call key.
+     */
+    private static final List<String> KEY_HEADERS = Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING,
+            HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+    private final ConcurrentMap<String, InFlight> calls = new ConcurrentHashMap<>();
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!(HttpMethod.GET.equals(request.getMethod()) || HttpMethod.HEAD.equals(request.getMethod()))
+                || request.hasEntity()) {
+            return;
+        }
+
+        final String key = key(request);
+        final InFlight leader = new InFlight(key, request.getStringHeaders());
+        while (true) {
+            final InFlight call = calls.putIfAbsent(key, leader);
+            if (call == null) {
+                request.setProperty(IN_FLIGHT_PROPERTY, leader);
+                if (request instanceof ClientRequest) {
+                    ((ClientRequest) request).registerFailureCallback(RequestCoalescingFilter::requestFailed);
+                }
+                return;
+            }
+            if (call.join()) {
+                final SharedResponse response = call.await(readTimeout(request));
+                if (response != null && response.matches(request.getStringHeaders())) {
+                    request.abortWith(response.toResponse());
+                }
+                return;
+            }
+            // the call has just been completed and removed, try to become the leader
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final InFlight call = (InFlight) request.getProperty(IN_FLIGHT_PROPERTY);
+        if (call == null) {
+            return;
+        }
+        request.removeProperty(IN_FLIGHT_PROPERTY);
+
+        SharedResponse shared = null;
+        try {
+            if (call.close()) {
+                byte[] entity = null;
+                if (response.hasEntity()) {
+                    final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    try (InputStream entityStream = response.getEntityStream()) {
+                        ReaderWriter.writeTo(entityStream, buffer);
+                    }
+                    entity = buffer.toByteArray();
+                    response.setEntityStream(new ByteArrayInputStream(entity));
+                }
+                shared = new SharedResponse(call.requestHeaders, response, entity);
+            }
+        } finally {
+            call.complete(shared);
+        }
+    }
+
+    /**
+     * Release the requests waiting for the response of a failed request.
+     *
+     * @param request failed request.
+     */
+    private static void requestFailed(final ClientRequest request) {
+        final Object call = request.getProperty(IN_FLIGHT_PROPERTY);
+        if (call instanceof InFlight) {
+            request.removeProperty(IN_FLIGHT_PROPERTY);
+            ((InFlight) call).close();
+            ((InFlight) call).complete(null);
+        }
+    }
+
+    private static int readTimeout(final ClientRequestContext request) {
+        return request instanceof ClientRequest
+                ? ((ClientRequest) request).resolveProperty(ClientProperties.READ_TIMEOUT, 0)
+                : ClientProperties.getValue(request.getConfiguration().getProperties(), ClientProperties.READ_TIMEOUT, 0);
+    }
+
+        private static String key(final ClientRequestContext request) {
+        final StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUri());
+        for (final String header : KEY_HEADERS) {
+            final List<String> values = request.getStringHeaders().get(header);
+            if (values != null) {
+                key.append('\n').append(header).append(": ").append(values);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Call in flight the identical requests can join.
+     */
+    private final class InFlight {
+
+        private final String key;
+        private final MultivaluedMap<String, String> requestHeaders;
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private int followers;
+        private boolean closed;
+        private volatile SharedResponse response;
+
+        private InFlight(final String key, final MultivaluedMap<String, String> requestHeaders) {
+            this.key = key;
+            this.requestHeaders = new StringKeyIgnoreCaseMultivaluedMap<>();
+            this.requestHeaders.putAll(requestHeaders);
+        }
+
+        /**
+         * Join the call.
+         *
+         * @return {@code false} if the call has already been closed and will not share its response.
+         */
+        private synchronized boolean join() {
+            if (closed) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        /**
+         * Close the call, no more requests can join it.
+         *
+         * @return {@code true} if there are any requests waiting for the response.
+         */
+        private synchronized boolean close() {
+            calls.remove(key, this);
+            closed = true;
+            return followers > 0;
+        }
+
+        private void complete(final SharedResponse response) {
+            this.response = response;
+            done.countDown();
+        }
+
+        /**
+         * Wait for the response of the call.
+         *
+         * @param timeout maximum time to wait in milliseconds, {@code 0} to wait until the call is completed.
+         * @return shared response or {@code null} if the call failed, its response cannot be shared or the wait timed out.
+         * @throws InterruptedIOException in case the waiting thread is interrupted.
+         */
+        private SharedResponse await(final int timeout) throws InterruptedIOException {
+            try {
+                if (timeout > 0) {
+                    if (!done.await(timeout, TimeUnit.MILLISECONDS)) {
+                        return null;
+                    }
+                } else {
+                    done.await();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Buffered response of a call.
+     */
+    private static final class SharedResponse {
+
+        private final MultivaluedMap<String, String> requestHeaders;
+        private final Response.StatusType status;
+        private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        private final String vary;
+        private final byte[] entity;
+
+        private SharedResponse(final MultivaluedMap<String, String> requestHeaders,
+                               final ClientResponseContext response,
+                               final byte[] entity) {
+            this.requestHeaders = requestHeaders;
+            this.status = response.getStatusInfo();
+            for (final Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+            this.vary = response.getHeaderString(HttpHeaders.VARY);
+            this.entity = entity;
+        }
+
+        /**
+         * Check whether the response can be shared with a request with the given headers.
+         *
+         * @param headers headers of the waiting request.
+         * @return {@code true} if all the headers named by the {@code Vary} response header are the same.
+         */
+        private boolean matches(final MultivaluedMap<String, String> headers) {
+            if (vary == null) {
+                return true;
+            }
+            for (final String name : vary.split(",")) {
+                final String header = name.trim();
+                if ("*".equals(header) || !Objects.equals(requestHeaders.get(header), headers.get(header))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Response toResponse() {
+            final Response.ResponseBuilder response = Response.status(status).replaceAll(headers);
+            if (entity != null) {
+                response.entity(entity);
+            }
+            return response.build();
+        }
+    }
+}
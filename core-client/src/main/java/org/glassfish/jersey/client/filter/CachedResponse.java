@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+import org.glassfish.jersey.message.internal.CacheControlProvider;
+import org.glassfish.jersey.message.internal.EntityTagProvider;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+import org.glassfish.jersey.message.internal.Statuses;
+
+/**
+ * Response stored in the {@link ResponseCache}.
+ * <p>
+ * Instances are immutable, a revalidated response is stored as a new instance.
+ * </p>
+ */
+final class CachedResponse {
+
+    private static final CacheControlProvider CACHE_CONTROL_PROVIDER = new CacheControlProvider();
+    private static final EntityTagProvider ENTITY_TAG_PROVIDER = new EntityTagProvider();
+
+    private final String uri;
+    private final Map<String, List<String>> varyHeaders;
+    private final int status;
+    private final String reasonPhrase;
+    private final MultivaluedMap<String, String> headers;
+    private final byte[] entity;
+    private final long storedAt;
+    private final long expiresAt;
+
+    private CachedResponse(final String uri,
+                           final Map<String, List<String>> varyHeaders,
+                           final int status,
+                           final String reasonPhrase,
+                           final MultivaluedMap<String, String> headers,
+                           final byte[] entity,
+                           final long storedAt,
+                           final long expiresAt) {
+        this.uri = uri;
+        this.varyHeaders = varyHeaders;
+        this.status = status;
+        this.reasonPhrase = reasonPhrase;
+        this.headers = headers;
+        this.entity = entity;
+        this.storedAt = storedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Create a stored response if the response may be stored.
+     *
+     * @param uri            request URI.
+     * @param requestHeaders request headers.
+     * @param status         response status.
+     * @param headers        response headers.
+     * @param entity         response entity or {@code null} if the response has no entity.
+     * @param now            current time in milliseconds.
+     * @return stored response or {@code null} if the response must not be stored.
+     */
+    static CachedResponse create(final String uri,
+                                 final MultivaluedMap<String, String> requestHeaders,
+                                 final Response.StatusType status,
+                                 final MultivaluedMap<String, String> headers,
+                                 final byte[] entity,
+                                 final long now) {
+        final CacheControl cacheControl = cacheControl(headers.getFirst(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl == null || cacheControl.isNoStore()) {
+            return null;
+        }
+        if (requestHeaders.containsKey(HttpHeaders.AUTHORIZATION)
+                && !cacheControl.getCacheExtension().containsKey("public") && cacheControl.getSMaxAge() < 0) {
+            // the response to an authorized request may be served to other credentials only if explicitly allowed
+            return null;
+        }
+
+        final Map<String, List<String>> varyHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final List<String> vary = headers.get(HttpHeaders.VARY);
+        if (vary != null) {
+            for (final String value : vary) {
+                for (final String name : value.split(",")) {
+                    final String header = name.trim();
+                    if ("*".equals(header)) {
+                        return null;
+                    }
+                    if (!header.isEmpty()) {
+                        final List<String> values = requestHeaders.get(header);
+                        varyHeaders.put(header, values == null ? null : new ArrayList<>(values));
+                    }
+                }
+            }
+        }
+
+        final MultivaluedMap<String, String> storedHeaders = new StringKeyIgnoreCaseMultivaluedMap<>();
+        copy(headers, storedHeaders);
+        final CachedResponse response = new CachedResponse(uri, varyHeaders, status.getStatusCode(), status.getReasonPhrase(),
+                storedHeaders, entity, now, expiresAt(cacheControl, storedHeaders, now));
+        return response.isFresh(now) || response.hasValidator() ? response : null;
+    }
+
+    /**
+     * Create an updated response from the headers of a {@code 304 Not Modified} response.
+     *
+     * @param notModifiedHeaders headers of the {@code 304} response.
+     * @param now                current time in milliseconds.
+     * @return revalidated response or {@code null} if the response must not be stored any more.
+     */
+    CachedResponse revalidate(final MultivaluedMap<String, String> notModifiedHeaders, final long now) {
+        final MultivaluedMap<String, String> updatedHeaders = new StringKeyIgnoreCaseMultivaluedMap<>();
+        copy(headers, updatedHeaders);
+        for (final Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+                updatedHeaders.put(header.getKey(), new ArrayList<>(header.getValue()));
+            }
+        }
+
+        final CacheControl cacheControl = cacheControl(updatedHeaders.getFirst(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl == null || cacheControl.isNoStore()) {
+            return null;
+        }
+        return new CachedResponse(uri, varyHeaders, status, reasonPhrase, updatedHeaders, entity, now,
+                expiresAt(cacheControl, updatedHeaders, now));
+    }
+
+    /**
+     * Parse the {@code Cache-Control} header.
+     *
+     * @param value header value, may be {@code null}.
+     * @return parsed value, a default {@code CacheControl} for a {@code null} value or {@code null} for an invalid value.
+     */
+    static CacheControl cacheControl(final String value) {
+        if (value == null) {
+            return new CacheControl();
+        }
+        try {
+            return CACHE_CONTROL_PROVIDER.fromString(value);
+        } catch (final RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long expiresAt(final CacheControl cacheControl, final MultivaluedMap<String, String> headers, final long now) {
+        if (cacheControl.isNoCache()) {
+            return now;
+        }
+
+        final long age = TimeUnit.SECONDS.toMillis(parseLong(headers.getFirst("Age")));
+        if (cacheControl.getMaxAge() >= 0) {
+            return now + TimeUnit.SECONDS.toMillis(cacheControl.getMaxAge()) - age;
+        }
+
+        final String expires = headers.getFirst(HttpHeaders.EXPIRES);
+        if (expires != null) {
+            // an invalid date means the response has already expired
+            final long expiresTime = parseDate(expires);
+            final long date = parseDate(headers.getFirst(HttpHeaders.DATE));
+            return expiresTime < 0 ? now : now + expiresTime - (date >= 0 ? date : now) - age;
+        }
+        return now;
+    }
+
+    private static long parseLong(final String value) {
+        try {
+            return value == null ? 0 : Math.max(0, Long.parseLong(value.trim()));
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long parseDate(final String value) {
+        try {
+            return value == null ? -1 : HttpDateFormat.readDate(value).getTime();
+        } catch (final ParseException e) {
+            return -1;
+        }
+    }
+
+    private static void copy(final MultivaluedMap<String, String> source, final MultivaluedMap<String, String> target) {
+        for (final Map.Entry<String, List<String>> header : source.entrySet()) {
+            target.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+    }
+
+    /**
+     * Get the request URI the response is stored for.
+     *
+     * @return request URI.
+     */
+    String getUri() {
+        return uri;
+    }
+
+    /**
+     * Get the key of the response among the responses stored for the same URI.
+     *
+     * @return variant key.
+     */
+    String getVariantKey() {
+        return varyHeaders.toString();
+    }
+
+    /**
+     * Get the size of the response accounted in the cache size.
+     *
+     * @return size of the entity.
+     */
+    int getSize() {
+        return entity == null ? 0 : entity.length;
+    }
+
+    /**
+     * Check whether the response can be returned for a request with the given headers.
+     *
+     * @param requestHeaders request headers.
+     * @return {@code true} if the request has the same values of the headers named by the {@code Vary} header.
+     */
+    boolean matches(final MultivaluedMap<String, String> requestHeaders) {
+        for (final Map.Entry<String, List<String>> header : varyHeaders.entrySet()) {
+            if (!Objects.equals(header.getValue(), requestHeaders.get(header.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the response can be returned without a revalidation.
+     *
+     * @param now current time in milliseconds.
+     * @return {@code true} if the response is fresh.
+     */
+    boolean isFresh(final long now) {
+        return now < expiresAt;
+    }
+
+    /**
+     * Get the time elapsed since the response was received or revalidated.
+     *
+     * @param now current time in milliseconds.
+     * @return age of the response in seconds.
+     */
+    long getAge(final long now) {
+        return TimeUnit.MILLISECONDS.toSeconds(now - storedAt);
+    }
+
+    private boolean hasValidator() {
+        return getEntityTag() != null || headers.getFirst(HttpHeaders.LAST_MODIFIED) != null;
+    }
+
+    /**
+     * Get the entity tag of the response.
+     *
+     * @return {@code ETag} header value or {@code null} if the response has no valid entity tag.
+     */
+    String getEntityTag() {
+        final String value = headers.getFirst(HttpHeaders.ETAG);
+        if (value == null) {
+            return null;
+        }
+        try {
+            final EntityTag entityTag = ENTITY_TAG_PROVIDER.fromString(value);
+            return ENTITY_TAG_PROVIDER.toString(entityTag);
+        } catch (final RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the last modification date of the response.
+     *
+     * @return {@code Last-Modified} header value or {@code null}.
+     */
+    String getLastModified() {
+        return headers.getFirst(HttpHeaders.LAST_MODIFIED);
+    }
+
+    /**
+     * Get the status of the response.
+     *
+     * @return response status.
+     */
+    Response.StatusType getStatus() {
+        return reasonPhrase == null ? Statuses.from(status) : Statuses.from(status, reasonPhrase);
+    }
+
+    /**
+     * Get the headers of the response.
+     *
+     * @return response headers.
+     */
+    MultivaluedMap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the entity of the response.
+     *
+     * @return response entity or {@code null} if the response has no entity.
+     */
+    byte[] getEntity() {
+        return entity;
+    }
+
+    /**
+     * Create a response for a request served from the cache.
+     *
+     * @param now current time in milliseconds.
+     * @return copy of the stored response.
+     */
+    Response toResponse(final long now) {
+        final MultivaluedMap<String, Object> responseHeaders = new MultivaluedHashMap<>();
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            responseHeaders.put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        responseHeaders.putSingle("Age", String.valueOf(getAge(now)));
+
+        final Response.ResponseBuilder response = Response.status(getStatus()).replaceAll(responseHeaders);
+        if (entity != null && entity.length > 0) {
+            response.entity(entity);
+        }
+        return response.build();
+    }
+
+    /**
+     * Write the response to the on-disk cache file.
+     *
+     * @param out file output.
+     * @throws IOException in case of an I/O error.
+     */
+    void writeTo(final DataOutputStream out) throws IOException {
+        out.writeUTF(uri);
+        out.writeInt(varyHeaders.size());
+        for (final Map.Entry<String, List<String>> header : varyHeaders.entrySet()) {
+            out.writeUTF(header.getKey());
+            writeValues(out, header.getValue());
+        }
+        out.writeInt(status);
+        out.writeUTF(reasonPhrase == null ? "" : reasonPhrase);
+        out.writeInt(headers.size());
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            out.writeUTF(header.getKey());
+            writeValues(out, header.getValue());
+        }
+        out.writeLong(storedAt);
+        out.writeLong(expiresAt);
+        if (entity == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(entity.length);
+            out.write(entity);
+        }
+    }
+
+    /**
+     * Read a response from the on-disk cache file.
+     *
+     * @param in file input.
+     * @return read response.
+     * @throws IOException in case of an I/O error.
+     */
+    static CachedResponse readFrom(final DataInputStream in) throws IOException {
+        final String uri = in.readUTF();
+        final Map<String, List<String>> varyHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = in.readInt(); i > 0; i--) {
+            varyHeaders.put(in.readUTF(), readValues(in));
+        }
+        final int status = in.readInt();
+        final String reasonPhrase = in.readUTF();
+        final MultivaluedMap<String, String> headers = new StringKeyIgnoreCaseMultivaluedMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            headers.put(in.readUTF(), readValues(in));
+        }
+        final long storedAt = in.readLong();
+        final long expiresAt = in.readLong();
+        final int length = in.readInt();
+        byte[] entity = null;
+        if (length >= 0) {
+            entity = new byte[length];
+            in.readFully(entity);
+        }
+        return new CachedResponse(uri, varyHeaders, status, reasonPhrase.isEmpty() ? null : reasonPhrase, headers, entity,
+                storedAt, expiresAt);
+    }
+
+    private static void writeValues(final DataOutputStream out, final List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.size());
+        for (final String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readValues(final DataInputStream in) throws IOException {
+        final int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        final List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.File;
+
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Feature that enables a private HTTP response cache on the client side.
+ * <p>
+ * The responses to {@code GET} requests are stored by their URI and the values of the request headers named by
+ * their {@code Vary} header. The freshness of a stored response is given by the {@code max-age} directive of its
+ * {@code Cache-Control} header, or by its {@code Expires} header. Fresh responses are served without contacting the
+ * server. Stale responses that carry an {@code ETag} or a {@code Last-Modified} header are revalidated with
+ * {@code If-None-Match} and {@code If-Modified-Since} requests, and a {@code 304 Not Modified} response is replaced with
+ * the stored response. Responses with the {@code no-store} directive or with {@code Vary: *} are not stored, neither are
+ * the responses to requests with an {@code Authorization} header unless their {@code Cache-Control} header contains
+ * the {@code public} or the {@code s-maxage} directive. A successful
+ * request with an unsafe method (e.g. {@code POST} or {@code DELETE}) removes the responses stored for its URI.
+ * </p>
+ * <p>
+ * The responses are kept in a bounded memory cache, whose size is configured by the
+ * {@link ClientProperties#CACHE_MAX_SIZE} property. If the {@link ClientProperties#CACHE_DIRECTORY} property is set,
+ * the responses are also stored in the directory and the responses evicted from the memory are loaded back from there.
+ * The size of the directory is bounded by the {@link ClientProperties#CACHE_DIRECTORY_MAX_SIZE} property.
+ * </p>
+ * <p>
+ * The requests with the {@code no-store} directive and the conditional requests set by the application are not cached.
+ * The {@code no-cache} and {@code max-age} directives of a request force a revalidation of a stored response.
+ * </p>
+ * <p>
+ * Typical usage:
+ * </p>
+ * <pre>
+ * {@code
+ * Client client = ClientBuilder.newClient(new ClientConfig()
+ *         .register(ClientCachingFeature.class)
+ *         .property(ClientProperties.CACHE_DIRECTORY, "/var/cache/my-app"));
+ * }
+ * </pre>
+ *
+ * @since 2.29
+ */
+public class ClientCachingFeature implements Feature {
+
+    /**
+     * Default maximal size of the entities kept in memory.
+     */
+    private static final int DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * Default maximal size of the files stored in the directory.
+     */
+    private static final long DEFAULT_DIRECTORY_MAX_SIZE = 100 * 1024 * 1024;
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final Configuration config = context.getConfiguration();
+        final int maxSize = ClientProperties.getValue(config.getProperties(), ClientProperties.CACHE_MAX_SIZE,
+                DEFAULT_MAX_SIZE, Integer.class);
+
+        final Object directory = config.getProperty(ClientProperties.CACHE_DIRECTORY);
+        final File cacheDirectory = directory == null ? null
+                : directory instanceof File ? (File) directory : new File(directory.toString());
+        final long maxDirectorySize = ClientProperties.getValue(config.getProperties(),
+                ClientProperties.CACHE_DIRECTORY_MAX_SIZE, DEFAULT_DIRECTORY_MAX_SIZE, Long.class);
+
+        context.register(new ClientCachingFilter(new ResponseCache(maxSize, cacheDirectory, maxDirectorySize)));
+        return true;
+    }
+}
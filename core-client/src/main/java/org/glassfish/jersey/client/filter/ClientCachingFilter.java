@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Client filter serving the requests from the {@link ResponseCache}, see {@link ClientCachingFeature}.
+ * <p>
+ * The filter runs after the user request filters, so that the requests are matched with their final headers, and its
+ * response filter runs before the user response filters, so that they see the responses restored from the cache.
+ * </p>
+ */
+@Priority(Priorities.USER + 500)
+class ClientCachingFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String CACHED_PROPERTY = ClientCachingFilter.class.getName() + ".cached";
+    private static final String REVALIDATED_PROPERTY = ClientCachingFilter.class.getName() + ".revalidated";
+
+    /**
+     * Statuses of the responses that may be stored.
+     */
+    private static final Set<Integer> CACHEABLE_STATUSES = new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 404, 410));
+
+    /**
+     * Methods whose successful responses do not invalidate the stored responses.
+     */
+    private static final Set<String> SAFE_METHODS = new HashSet<>(Arrays.asList(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, "TRACE"));
+
+    private final ResponseCache cache;
+
+    /**
+     * Create a new filter.
+     *
+     * @param cache storage of the responses.
+     */
+    ClientCachingFilter(final ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) {
+        final CacheControl cacheControl = requestCacheControl(request);
+        if (cacheControl == null) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final CachedResponse cached = cache.get(request.getUri().toString(), request.getStringHeaders());
+        if (cached == null) {
+            return;
+        }
+
+        if (cached.isFresh(now) && !cacheControl.isNoCache()
+                && (cacheControl.getMaxAge() < 0 || cached.getAge(now) <= cacheControl.getMaxAge())) {
+            request.setProperty(CACHED_PROPERTY, cached);
+            request.abortWith(cached.toResponse(now));
+            return;
+        }
+
+        final String entityTag = cached.getEntityTag();
+        final String lastModified = cached.getLastModified();
+        if (entityTag != null) {
+            request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entityTag);
+        }
+        if (lastModified != null) {
+            request.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        if (entityTag != null || lastModified != null) {
+            request.setProperty(REVALIDATED_PROPERTY, cached);
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            if (response.getStatus() < 400) {
+                cache.invalidate(request.getUri().toString());
+            }
+            return;
+        }
+
+        if (request.getProperty(CACHED_PROPERTY) != null) {
+            // served from the cache
+            return;
+        }
+
+        final CachedResponse revalidated = (CachedResponse) request.getProperty(REVALIDATED_PROPERTY);
+        if (revalidated != null) {
+            request.removeProperty(REVALIDATED_PROPERTY);
+            if (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                restore(revalidated, response);
+                return;
+            }
+        } else if (requestCacheControl(request) == null) {
+            return;
+        }
+
+        if (CACHEABLE_STATUSES.contains(response.getStatus())) {
+            store(request, response);
+        }
+    }
+
+    /**
+     * Get the cache control of a request that can be served from the cache.
+     *
+     * @param request client request.
+     * @return request cache control or {@code null} if the request must not be served from the cache.
+     */
+    private static CacheControl requestCacheControl(final ClientRequestContext request) {
+        if (!HttpMethod.GET.equals(request.getMethod())
+                || request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                || request.getHeaders().containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            return null;
+        }
+        final CacheControl cacheControl = CachedResponse.cacheControl(request.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        return cacheControl == null || cacheControl.isNoStore() ? null : cacheControl;
+    }
+
+    /**
+     * Replace a {@code 304 Not Modified} response with the stored response.
+     */
+    private void restore(final CachedResponse cached, final ClientResponseContext response) {
+        final long now = System.currentTimeMillis();
+        final CachedResponse updated = cached.revalidate(response.getHeaders(), now);
+        final CachedResponse restored;
+        if (updated == null) {
+            cache.invalidate(cached.getUri());
+            restored = cached;
+        } else {
+            cache.put(updated);
+            restored = updated;
+        }
+
+        response.setStatusInfo(restored.getStatus());
+        response.getHeaders().clear();
+        for (final Map.Entry<String, List<String>> header : restored.getHeaders().entrySet()) {
+            response.getHeaders().put(header.getKey(), new ArrayList<>(header.getValue()));
+        }
+        final byte[] entity = restored.getEntity();
+        response.setEntityStream(entity == null ? null : new ByteArrayInputStream(entity));
+    }
+
+    private void store(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        byte[] entity = null;
+        if (response.hasEntity()) {
+            final int maxSize = cache.getMaxSize();
+            if (response.getLength() > maxSize) {
+                return;
+            }
+
+            final InputStream entityStream = response.getEntityStream();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(new LimitedInputStream(entityStream, maxSize + 1L), buffer);
+            if (buffer.size() > maxSize) {
+                // too large to be cached, hand over the already read data and the rest of the entity
+                response.setEntityStream(new SequenceInputStream(
+                        new ByteArrayInputStream(buffer.toByteArray()), entityStream));
+                return;
+            }
+            entityStream.close();
+
+            entity = buffer.toByteArray();
+            response.setEntityStream(new ByteArrayInputStream(entity));
+        }
+
+        final CachedResponse cached = CachedResponse.create(request.getUri().toString(), request.getStringHeaders(),
+                response.getStatusInfo(), response.getHeaders(), entity, System.currentTimeMillis());
+        if (cached != null) {
+            cache.put(cached);
+        }
+    }
+
+    /**
+     * Input stream reading at most the given number of bytes of the underlying stream, which is left open.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private LimitedInputStream(final InputStream in, final long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int read = in.read();
+            if (read != -1) {
+                remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read != -1) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Storage of the {@link ClientCachingFeature client cache}.
+ * <p>
+ * The responses are kept in memory, grouped by their URI. The URIs are evicted in the least recently used order once the
+ * total size of the stored entities exceeds the maximal size. If a directory is configured, every stored response is also
+ * written to a file in the directory ({@code <directory>/<hash of URI>/<hash of Vary header values>}), so that the responses
+ * evicted from the memory can be loaded back. The files are deleted in the least recently used order once their total size
+ * exceeds the maximal directory size, the files found in the directory on startup are ordered by their modification time.
+ * </p>
+ */
+final class ResponseCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCache.class.getName());
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int maxSize;
+    private final Path directory;
+    private final long maxDirectorySize;
+
+    private final LinkedHashMap<String, List<CachedResponse>> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    // sizes of the files in the directory, guarded by files
+    private final LinkedHashMap<Path, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long directorySize;
+
+    /**
+     * Create a new cache.
+     *
+     * @param maxSize          maximal size of the entities kept in memory.
+     * @param directory        directory of the on-disk tier or {@code null} if the responses are kept in memory only.
+     * @param maxDirectorySize maximal size of the files in the directory.
+     */
+    ResponseCache(final int maxSize, final File directory, final long maxDirectorySize) {
+        this.maxSize = maxSize;
+        this.directory = directory == null ? null : createDirectory(directory.toPath());
+        this.maxDirectorySize = maxDirectorySize;
+        if (this.directory != null) {
+            scanDirectory();
+        }
+    }
+
+    private static Path createDirectory(final Path directory) {
+        try {
+            return Files.createDirectories(directory);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.CLIENT_CACHE_DIRECTORY_ERROR(directory), e);
+            return null;
+        }
+    }
+
+    /**
+     * Get the maximal size of the entities kept in memory.
+     *
+     * @return maximal size in bytes.
+     */
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the response stored for a request.
+     *
+     * @param uri            request URI.
+     * @param requestHeaders request headers.
+     * @return stored response or {@code null} if there is no response for the request.
+     */
+    CachedResponse get(final String uri, final MultivaluedMap<String, String> requestHeaders) {
+        synchronized (memory) {
+            final List<CachedResponse> variants = memory.get(uri);
+            if (variants != null) {
+                for (final CachedResponse variant : variants) {
+                    if (variant.matches(requestHeaders)) {
+                        return variant;
+                    }
+                }
+            }
+        }
+
+        final CachedResponse loaded = load(uri, requestHeaders);
+        if (loaded != null && loaded.getSize() <= maxSize) {
+            store(loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Store a response, replacing the response stored for the same request.
+     *
+     * @param response response to be stored.
+     */
+    void put(final CachedResponse response) {
+        if (response.getSize() <= maxSize) {
+            store(response);
+        }
+        save(response);
+    }
+
+    /**
+     * Remove all the responses stored for an URI.
+     *
+     * @param uri request URI.
+     */
+    void invalidate(final String uri) {
+        synchronized (memory) {
+            final List<CachedResponse> variants = memory.remove(uri);
+            if (variants != null) {
+                for (final CachedResponse variant : variants) {
+                    size -= variant.getSize();
+                }
+            }
+        }
+
+        final Path uriDirectory = uriDirectory(uri);
+        if (uriDirectory == null || !Files.isDirectory(uriDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> uriFiles = Files.newDirectoryStream(uriDirectory)) {
+            for (final Path file : uriFiles) {
+                Files.deleteIfExists(file);
+                removed(file);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_CACHE_FILE_ERROR(uriDirectory), e);
+        }
+    }
+
+    private void store(final CachedResponse response) {
+        synchronized (memory) {
+            final List<CachedResponse> variants = memory.computeIfAbsent(response.getUri(), uri -> new ArrayList<>(1));
+            for (final Iterator<CachedResponse> it = variants.iterator(); it.hasNext();) {
+                final CachedResponse variant = it.next();
+                if (variant.getVariantKey().equals(response.getVariantKey())) {
+                    size -= variant.getSize();
+                    it.remove();
+                }
+            }
+            variants.add(response);
+            size += response.getSize();
+
+            // evict the least recently used URIs
+            for (final Iterator<Map.Entry<String, List<CachedResponse>>> it = memory.entrySet().iterator();
+                 size > maxSize && it.hasNext();) {
+                final Map.Entry<String, List<CachedResponse>> eldest = it.next();
+                if (eldest.getValue() != variants) {
+                    for (final CachedResponse variant : eldest.getValue()) {
+                        size -= variant.getSize();
+                    }
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private void save(final CachedResponse response) {
+        final Path uriDirectory = uriDirectory(response.getUri());
+        if (uriDirectory == null || response.getSize() > maxDirectorySize) {
+            return;
+        }
+        final Path file = uriDirectory.resolve(hash(response.getVariantKey()));
+        try {
+            Files.createDirectories(uriDirectory);
+            // write a temporary file first, so that a concurrent reader never sees a partially written response
+            final Path temporary = Files.createTempFile(uriDirectory, "response", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporary);
+                 DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+                response.writeTo(data);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            saved(file, Files.size(file));
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_CACHE_FILE_ERROR(file), e);
+        }
+    }
+
+    /**
+     * Register the files found in the directory, the least recently modified first, and delete the files exceeding the
+     * maximal directory size.
+     */
+    private void scanDirectory() {
+        final List<Map.Entry<Path, BasicFileAttributes>> found = new ArrayList<>();
+        try (DirectoryStream<Path> uriDirectories = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (final Path uriDirectory : uriDirectories) {
+                try (DirectoryStream<Path> uriFiles = Files.newDirectoryStream(uriDirectory,
+                        file -> !file.toString().endsWith(".tmp"))) {
+                    for (final Path file : uriFiles) {
+                        found.add(new AbstractMap.SimpleImmutableEntry<>(
+                                file, Files.readAttributes(file, BasicFileAttributes.class)));
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_CACHE_FILE_ERROR(directory), e);
+        }
+
+        found.sort(Comparator.comparing(file -> file.getValue().lastModifiedTime()));
+        for (final Map.Entry<Path, BasicFileAttributes> file : found) {
+            saved(file.getKey(), file.getValue().size());
+        }
+    }
+
+    private void saved(final Path file, final long fileSize) {
+        synchronized (files) {
+            final Long previous = files.put(file, fileSize);
+            directorySize += fileSize - (previous == null ? 0 : previous);
+
+            // delete the least recently used files
+            for (final Iterator<Map.Entry<Path, Long>> it = files.entrySet().iterator();
+                 directorySize > maxDirectorySize && it.hasNext();) {
+                final Map.Entry<Path, Long> eldest = it.next();
+                directorySize -= eldest.getValue();
+                it.remove();
+                try {
+                    Files.deleteIfExists(eldest.getKey());
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_CACHE_FILE_ERROR(eldest.getKey()), e);
+                }
+            }
+        }
+    }
+
+    private void removed(final Path file) {
+        synchronized (files) {
+            final Long fileSize = files.remove(file);
+            if (fileSize != null) {
+                directorySize -= fileSize;
+            }
+        }
+    }
+
+    private void used(final Path file) {
+        synchronized (files) {
+            files.get(file);
+        }
+    }
+
+    private CachedResponse load(final String uri, final MultivaluedMap<String, String> requestHeaders) {
+        final Path uriDirectory = uriDirectory(uri);
+        if (uriDirectory == null || !Files.isDirectory(uriDirectory)) {
+            return null;
+        }
+        try (DirectoryStream<Path> uriFiles = Files.newDirectoryStream(uriDirectory,
+                file -> !file.toString().endsWith(".tmp"))) {
+            for (final Path file : uriFiles) {
+                try (InputStream in = Files.newInputStream(file);
+                     DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+                    final CachedResponse response = CachedResponse.readFrom(data);
+                    if (uri.equals(response.getUri()) && response.matches(requestHeaders)) {
+                        used(file);
+                        return response;
+                    }
+                } catch (final NoSuchFileException e) {
+                    // removed concurrently
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_CACHE_FILE_ERROR(uriDirectory), e);
+        }
+        return null;
+    }
+
+    private Path uriDirectory(final String uri) {
+        return directory == null ? null : directory.resolve(hash(uri));
+    }
+
+    private static String hash(final String value) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+        final char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.FeatureContext;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.client.ClientLifecycleListener;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.client.monitoring.ClientMonitoringFeature;
+import org.glassfish.jersey.client.monitoring.ClientStatistics;
+import org.glassfish.jersey.client.monitoring.TargetStatistics;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+
+/**
+ * Monitor gathering the request statistics of a client.
+ * <p>
+ * The statistics are grouped by the target host and path template. The number of the targets is limited, the requests
+ * to the targets over the limit are recorded under a single target with the {@value #OVERFLOW_HOST} host and the
+ * {@value #OVERFLOW_PATH_TEMPLATE} path template, so that a client sending requests to unbounded number of hosts or
+ * paths without a path template does not exhaust the memory.
+ * </p>
+ */
+public final class ClientMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(ClientMonitor.class.getName());
+
+    /**
+     * Maximal number of the monitored targets.
+     */
+    static final int MAX_TARGETS = 256;
+
+    /**
+     * Host of the requests to the targets over the {@link #MAX_TARGETS limit}.
+     */
+    static final String OVERFLOW_HOST = "*";
+
+    /**
+     * Path template of the requests to the targets over the {@link #MAX_TARGETS limit}.
+     */
+    static final String OVERFLOW_PATH_TEMPLATE = "*";
+
+    private static final String DOMAIN = "org.glassfish.jersey.client";
+
+    private final String name;
+    private final ConcurrentMap<String, TargetRecorder> targets = new ConcurrentHashMap<>();
+    private final List<ObjectName> registeredMBeans = new ArrayList<>();
+    private volatile boolean mbeansEnabled;
+    private int activeRuntimes;
+
+    /**
+     * Create a new client monitor.
+     *
+     * @param name name of the monitored client used in the MBean names or {@code null} to generate a name.
+     */
+    public ClientMonitor(final String name) {
+        this.name = name == null ? "Client_" + Integer.toHexString(System.identityHashCode(this)) : name;
+    }
+
+    /**
+     * Register the monitoring providers into the client runtime.
+     *
+     * @param context client feature context.
+     */
+    public void configure(final FeatureContext context) {
+        mbeansEnabled = PropertiesHelper.isProperty(
+                context.getConfiguration().getProperty(ClientProperties.MONITORING_STATISTICS_MBEANS_ENABLED));
+
+        context.register(new ClientMonitoringFilter(this));
+        context.register(new ConnectorTimingFilter());
+        context.register(new LifecycleListener());
+    }
+
+    /**
+     * Get a snapshot of the gathered statistics.
+     *
+     * @return client statistics.
+     */
+    public ClientStatistics getStatistics() {
+        final List<TargetStatistics> statistics = new ArrayList<>(targets.size());
+        for (final TargetRecorder recorder : targets.values()) {
+            statistics.add(recorder.snapshot());
+        }
+        return new Statistics(Collections.unmodifiableList(statistics));
+    }
+
+    /**
+     * Record a completed request.
+     *
+     * @param request request context.
+     * @param timer   timer of the request.
+     * @param error   {@code true} if the request failed.
+     */
+    void record(final ClientRequestContext request, final RequestTimer timer, final boolean error) {
+        final long end = System.nanoTime();
+        final URI uri = request.getUri();
+
+        Object template = request.getProperty(ClientProperties.MONITORING_PATH_TEMPLATE);
+        if (template == null) {
+            template = request.getConfiguration().getProperty(ClientProperties.MONITORING_PATH_TEMPLATE);
+        }
+        final String path = uri.getRawPath();
+        final String pathTemplate = template != null
+                ? template.toString()
+                : path == null || path.isEmpty() ? "/" : path;
+
+        final Object wait = request.getProperty(ClientMonitoringFeature.CONNECTION_WAIT_TIME);
+        final long connectionWait = wait instanceof Number ? ((Number) wait).longValue() : -1;
+
+        recorder(host(uri), pathTemplate).record(timer, end, connectionWait, error);
+    }
+
+    private static String host(final URI uri) {
+        final String scheme = uri.getScheme();
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(scheme) ? 443 : 80;
+        }
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+
+    private TargetRecorder recorder(final String host, final String pathTemplate) {
+        final String key = key(host, pathTemplate);
+        TargetRecorder recorder = targets.get(key);
+        if (recorder == null) {
+            if (targets.size() >= MAX_TARGETS) {
+                return recorder(OVERFLOW_HOST, OVERFLOW_PATH_TEMPLATE, key(OVERFLOW_HOST, OVERFLOW_PATH_TEMPLATE));
+            }
+            recorder = recorder(host, pathTemplate, key);
+        }
+        return recorder;
+    }
+
+    private TargetRecorder recorder(final String host, final String pathTemplate, final String key) {
+        final TargetRecorder recorder = targets.get(key);
+        if (recorder != null) {
+            return recorder;
+        }
+        final TargetRecorder created = new TargetRecorder(host, pathTemplate);
+        final TargetRecorder existing = targets.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        if (mbeansEnabled) {
+            registerMBean(created);
+        }
+        return created;
+    }
+
+    private static String key(final String host, final String pathTemplate) {
+        return host + ' ' + pathTemplate;
+    }
+
+    private synchronized void registerMBean(final TargetRecorder recorder) {
+        if (activeRuntimes == 0) {
+            // client closed
+            return;
+        }
+        final String objectName = DOMAIN + ":type=" + ObjectName.quote(name)
+                + ",host=" + ObjectName.quote(recorder.getHost())
+                + ",path=" + ObjectName.quote(recorder.getPathTemplate());
+        try {
+            final ObjectName mbeanName = new ObjectName(objectName);
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new TargetMXBeanImpl(recorder), mbeanName);
+            registeredMBeans.add(mbeanName);
+        } catch (final JMException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.ERROR_MONITORING_MBEANS_REGISTRATION(objectName), e);
+        }
+    }
+
+    private synchronized void unregisterMBeans() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (final ObjectName mbeanName : registeredMBeans) {
+            try {
+                server.unregisterMBean(mbeanName);
+            } catch (final JMException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.ERROR_MONITORING_MBEANS_UNREGISTRATION(mbeanName), e);
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    /**
+     * Listener un-registering the MBeans once all the client runtimes using the monitor are closed.
+     */
+    private class LifecycleListener implements ClientLifecycleListener {
+
+        @Override
+        public void onInit() {
+            synchronized (ClientMonitor.this) {
+                activeRuntimes++;
+            }
+        }
+
+        @Override
+        public void onClose() {
+            synchronized (ClientMonitor.this) {
+                if (--activeRuntimes == 0) {
+                    unregisterMBeans();
+                }
+            }
+        }
+    }
+
+    /**
+     * Immutable client statistics.
+     */
+    private static final class Statistics implements ClientStatistics {
+
+        private final List<TargetStatistics> targets;
+
+        private Statistics(final List<TargetStatistics> targets) {
+            this.targets = targets;
+        }
+
+        @Override
+        public List<TargetStatistics> getTargetStatistics() {
+            return targets;
+        }
+
+        @Override
+        public TargetStatistics getTargetStatistics(final String host, final String pathTemplate) {
+            for (final TargetStatistics target : targets) {
+                if (target.getHost().equals(host) && target.getPathTemplate().equals(pathTemplate)) {
+                    return target;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "ClientStatistics" + targets;
+        }
+    }
+}
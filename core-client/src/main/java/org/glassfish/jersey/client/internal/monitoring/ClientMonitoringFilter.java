@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+import javax.annotation.Priority;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+import org.glassfish.jersey.client.ClientRequest;
+
+/**
+ * Filter starting the request timer and recording the completed requests.
+ * <p>
+ * The filter is the first request filter and the last response filter. The requests that fail before the last response
+ * filter is invoked are reported by the request {@link ClientRequest#registerFailureCallback(java.util.function.Consumer)
+ * failure callback}.
+ * </p>
+ */
+@Priority(Integer.MIN_VALUE)
+public final class ClientMonitoringFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    /**
+     * Name of the request property holding the {@link RequestTimer}.
+     */
+    static final String TIMER_PROPERTY = ClientMonitoringFilter.class.getName() + ".timer";
+
+    private final ClientMonitor monitor;
+
+    ClientMonitoringFilter(final ClientMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) {
+        request.setProperty(TIMER_PROPERTY, new RequestTimer(monitor));
+        if (request instanceof ClientRequest) {
+            ((ClientRequest) request).registerFailureCallback(ClientMonitoringFilter::requestFailed);
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) {
+        final Object timer = request.getProperty(TIMER_PROPERTY);
+        if (timer instanceof RequestTimer) {
+            request.removeProperty(TIMER_PROPERTY);
+            monitor.record(request, (RequestTimer) timer, response.getStatus() >= 500);
+        }
+    }
+
+    /**
+     * Record a request that failed before its processing completed.
+     *
+     * @param request failed request.
+     */
+    private static void requestFailed(final ClientRequest request) {
+        final Object timer = request.getProperty(TIMER_PROPERTY);
+        if (timer instanceof RequestTimer) {
+            request.removeProperty(TIMER_PROPERTY);
+            ((RequestTimer) timer).monitor.record(request, (RequestTimer) timer, true);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+import javax.annotation.Priority;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+/**
+ * Filter recording the time the request is handed over to the connector and the time the response is received.
+ * <p>
+ * The filter is the last request filter and the first response filter.
+ * </p>
+ */
+@Priority(Integer.MAX_VALUE)
+final class ConnectorTimingFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    @Override
+    public void filter(final ClientRequestContext request) {
+        final Object timer = request.getProperty(ClientMonitoringFilter.TIMER_PROPERTY);
+        if (timer instanceof RequestTimer) {
+            ((RequestTimer) timer).connectorStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) {
+        final Object timer = request.getProperty(ClientMonitoringFilter.TIMER_PROPERTY);
+        if (timer instanceof RequestTimer && ((RequestTimer) timer).connectorStart != 0) {
+            ((RequestTimer) timer).connectorEnd = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.client.monitoring.LatencyStatistics;
+import org.glassfish.jersey.internal.util.collection.LogLinearHistogram;
+
+/**
+ * Lock-free histogram of durations in nanoseconds.
+ * <p>
+ * The durations are counted in the {@link LogLinearHistogram log-linear buckets} shared with the server monitoring,
+ * so that the relative error of a reported value does not exceed 12.5%. Durations longer than about 68 seconds fall
+ * into the last bucket. The histogram takes about 2 KiB regardless of the number of durations.
+ * </p>
+ */
+final class LatencyHistogram {
+
+    private final LogLinearHistogram histogram = new LogLinearHistogram();
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos duration in nanoseconds, negative values are recorded as {@code 0}.
+     */
+    void record(final long nanos) {
+        histogram.record(nanos);
+    }
+
+    /**
+     * Create a snapshot of the histogram.
+     *
+     * @return current statistics.
+     */
+    LatencyStatistics snapshot() {
+        final long[] counts = histogram.getCounts();
+        long count = 0;
+        for (final long bucketCount : counts) {
+            count += bucketCount;
+        }
+        return count == 0 ? Snapshot.EMPTY
+                : new Snapshot(counts, count, histogram.getSum(), histogram.getMinimum(), histogram.getMaximum());
+    }
+
+    /**
+     * Immutable statistics of the histogram.
+     */
+    private static final class Snapshot implements LatencyStatistics {
+
+        private static final Snapshot EMPTY = new Snapshot(new long[0], 0, 0, 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        private Snapshot(final long[] counts, final long count, final long sum, final long min, final long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public long getMinimum(final TimeUnit unit) {
+            return unit.convert(min, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getMaximum(final TimeUnit unit) {
+            return unit.convert(max, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public double getMean(final TimeUnit unit) {
+            return count == 0 ? 0 : (double) sum / count / unit.toNanos(1);
+        }
+
+        @Override
+        public long getValueAtQuantile(final double quantile, final TimeUnit unit) {
+            if (count == 0) {
+                return 0;
+            }
+            final long value = LogLinearHistogram.valueAtQuantile(counts, count, Math.min(1, Math.max(0, quantile)), min, max);
+            return unit.convert(value, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count
+                    + ", mean=" + getMean(TimeUnit.MICROSECONDS) + "us"
+                    + ", p50=" + getValueAtQuantile(0.5, TimeUnit.MICROSECONDS) + "us"
+                    + ", p99=" + getValueAtQuantile(0.99, TimeUnit.MICROSECONDS) + "us"
+                    + ", max=" + getMaximum(TimeUnit.MICROSECONDS) + "us";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+/**
+ * Timestamps of the processing phases of a single request.
+ * <p>
+ * The timer is stored in the request properties by the {@link ClientMonitoringFilter} and updated by the
+ * {@link ConnectorTimingFilter}. The request processing phases of a single request never run concurrently.
+ * </p>
+ */
+final class RequestTimer {
+
+    final ClientMonitor monitor;
+    final long start = System.nanoTime();
+    long connectorStart;
+    long connectorEnd;
+
+    RequestTimer(final ClientMonitor monitor) {
+        this.monitor = monitor;
+    }
+}
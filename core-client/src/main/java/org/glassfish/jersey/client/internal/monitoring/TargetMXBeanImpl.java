@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.client.monitoring.TargetMXBean;
+import org.glassfish.jersey.client.monitoring.TargetStatistics;
+
+/**
+ * MXBean exposing the statistics of a single target.
+ */
+final class TargetMXBeanImpl implements TargetMXBean {
+
+    private static final TimeUnit UNIT = TimeUnit.MICROSECONDS;
+
+    private final TargetRecorder recorder;
+
+    TargetMXBeanImpl(final TargetRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    private TargetStatistics statistics() {
+        return recorder.snapshot();
+    }
+
+    @Override
+    public String getHost() {
+        return recorder.getHost();
+    }
+
+    @Override
+    public String getPathTemplate() {
+        return recorder.getPathTemplate();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return statistics().getRequestCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return statistics().getErrorCount();
+    }
+
+    @Override
+    public double getErrorRate() {
+        return statistics().getErrorRate();
+    }
+
+    @Override
+    public double getLatencyMeanMicros() {
+        return statistics().getLatency().getMean(UNIT);
+    }
+
+    @Override
+    public long getLatency50thPercentileMicros() {
+        return statistics().getLatency().getValueAtQuantile(0.5, UNIT);
+    }
+
+    @Override
+    public long getLatency99thPercentileMicros() {
+        return statistics().getLatency().getValueAtQuantile(0.99, UNIT);
+    }
+
+    @Override
+    public long getLatencyMaxMicros() {
+        return statistics().getLatency().getMaximum(UNIT);
+    }
+
+    @Override
+    public double getRequestFilterTimeMeanMicros() {
+        return statistics().getRequestFilterTime().getMean(UNIT);
+    }
+
+    @Override
+    public double getConnectorTimeMeanMicros() {
+        return statistics().getConnectorTime().getMean(UNIT);
+    }
+
+    @Override
+    public long getConnectorTime99thPercentileMicros() {
+        return statistics().getConnectorTime().getValueAtQuantile(0.99, UNIT);
+    }
+
+    @Override
+    public double getConnectionWaitTimeMeanMicros() {
+        return statistics().getConnectionWaitTime().getMean(UNIT);
+    }
+
+    @Override
+    public long getConnectionWaitTimeMaxMicros() {
+        return statistics().getConnectionWaitTime().getMaximum(UNIT);
+    }
+
+    @Override
+    public double getResponseFilterTimeMeanMicros() {
+        return statistics().getResponseFilterTime().getMean(UNIT);
+    }
+}
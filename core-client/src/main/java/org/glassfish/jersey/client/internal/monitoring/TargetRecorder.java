@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.internal.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.jersey.client.monitoring.LatencyStatistics;
+import org.glassfish.jersey.client.monitoring.TargetStatistics;
+
+/**
+ * Recorder of the request statistics of a single target.
+ */
+final class TargetRecorder {
+
+    private final String host;
+    private final String pathTemplate;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram requestFilterTime = new LatencyHistogram();
+    private final LatencyHistogram connectorTime = new LatencyHistogram();
+    private final LatencyHistogram connectionWaitTime = new LatencyHistogram();
+    private final LatencyHistogram responseFilterTime = new LatencyHistogram();
+
+    TargetRecorder(final String host, final String pathTemplate) {
+        this.host = host;
+        this.pathTemplate = pathTemplate;
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    String getPathTemplate() {
+        return pathTemplate;
+    }
+
+    /**
+     * Record a completed request.
+     *
+     * @param timer          timer of the request.
+     * @param end            time the request processing completed.
+     * @param connectionWait time the request waited for a connection or a negative value if unknown.
+     * @param error          {@code true} if the request failed.
+     */
+    void record(final RequestTimer timer, final long end, final long connectionWait, final boolean error) {
+        requests.increment();
+        if (error) {
+            errors.increment();
+        }
+        latency.record(end - timer.start);
+        if (timer.connectorStart != 0) {
+            requestFilterTime.record(timer.connectorStart - timer.start);
+            if (timer.connectorEnd != 0) {
+                connectorTime.record(timer.connectorEnd - timer.connectorStart);
+                responseFilterTime.record(end - timer.connectorEnd);
+            }
+        }
+        if (connectionWait >= 0) {
+            connectionWaitTime.record(connectionWait);
+        }
+    }
+
+    /**
+     * Create a snapshot of the statistics.
+     *
+     * @return current statistics.
+     */
+    TargetStatistics snapshot() {
+        return new Snapshot(host, pathTemplate, requests.sum(), errors.sum(), latency.snapshot(), requestFilterTime.snapshot(),
+                connectorTime.snapshot(), connectionWaitTime.snapshot(), responseFilterTime.snapshot());
+    }
+
+    /**
+     * Immutable statistics of a target.
+     */
+    private static final class Snapshot implements TargetStatistics {
+
+        private final String host;
+        private final String pathTemplate;
+        private final long requestCount;
+        private final long errorCount;
+        private final LatencyStatistics latency;
+        private final LatencyStatistics requestFilterTime;
+        private final LatencyStatistics connectorTime;
+        private final LatencyStatistics connectionWaitTime;
+        private final LatencyStatistics responseFilterTime;
+
+        private Snapshot(final String host,
+                         final String pathTemplate,
+                         final long requestCount,
+                         final long errorCount,
+                         final LatencyStatistics latency,
+                         final LatencyStatistics requestFilterTime,
+                         final LatencyStatistics connectorTime,
+                         final LatencyStatistics connectionWaitTime,
+                         final LatencyStatistics responseFilterTime) {
+            this.host = host;
+            this.pathTemplate = pathTemplate;
+            this.requestCount = requestCount;
+            this.errorCount = errorCount;
+            this.latency = latency;
+            this.requestFilterTime = requestFilterTime;
+            this.connectorTime = connectorTime;
+            this.connectionWaitTime = connectionWaitTime;
+            this.responseFilterTime = responseFilterTime;
+        }
+
+        @Override
+        public String getHost() {
+            return host;
+        }
+
+        @Override
+        public String getPathTemplate() {
+            return pathTemplate;
+        }
+
+        @Override
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        @Override
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        @Override
+        public double getErrorRate() {
+            return requestCount == 0 ? 0 : (double) errorCount / requestCount;
+        }
+
+        @Override
+        public LatencyStatistics getLatency() {
+            return latency;
+        }
+
+        @Override
+        public LatencyStatistics getRequestFilterTime() {
+            return requestFilterTime;
+        }
+
+        @Override
+        public LatencyStatistics getConnectorTime() {
+            return connectorTime;
+        }
+
+        @Override
+        public LatencyStatistics getConnectionWaitTime() {
+            return connectionWaitTime;
+        }
+
+        @Override
+        public LatencyStatistics getResponseFilterTime() {
+            return responseFilterTime;
+        }
+
+        @Override
+        public String toString() {
+            return "TargetStatistics{"
+                    + "host=" + host
+                    + ", pathTemplate=" + pathTemplate
+                    + ", requestCount=" + requestCount
+                    + ", errorCount=" + errorCount
+                    + ", latency={" + latency + '}'
+                    + ", connectorTime={" + connectorTime + '}'
+                    + ", connectionWaitTime={" + connectionWaitTime + '}'
+                    + '}';
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.monitoring;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.internal.monitoring.ClientMonitor;
+
+/**
+ * Feature that enables gathering of the request statistics of a client.
+ * <p>
+ * The requests are grouped by their target host and path template. For each target, the number of requests and errors
+ * is counted and the latency histograms of the whole request processing and of its phases (request filters, connector,
+ * waiting for a connection, response filters) are recorded. Both the synchronous and the asynchronous invocations are
+ * monitored. The request URIs are resolved before they are sent, so the path template has to be set in the
+ * {@link ClientProperties#MONITORING_PATH_TEMPLATE} property of the client, target or request; the requests without a
+ * template are grouped by their path.
+ * </p>
+ * <p>
+ * The gathered statistics are available through {@link #getStatistics()} and, if the
+ * {@link ClientProperties#MONITORING_STATISTICS_MBEANS_ENABLED} property is enabled, exposed as {@link TargetMXBean MXBeans}
+ * named {@code org.glassfish.jersey.client:type=<client name>,host=<host>,path=<path template>}. The MXBeans are
+ * un-registered when the client is closed.
+ * </p>
+ * <p>
+ * Typical usage:
+ * </p>
+ * <pre>
+ * {@code
+ * ClientMonitoringFeature monitoring = new ClientMonitoringFeature("orders");
+ * Client client = ClientBuilder.newClient(new ClientConfig().register(monitoring));
+ * client.target("http://localhost:8080/orders/{id}")
+ *         .property(ClientProperties.MONITORING_PATH_TEMPLATE, "/orders/{id}")
+ *         .resolveTemplate("id", 42)
+ *         .request().get();
+ * TargetStatistics statistics = monitoring.getStatistics()
+ *         .getTargetStatistics("http://localhost:8080", "/orders/{id}");
+ * }
+ * </pre>
+ *
+ * @since 2.29
+ */
+public class ClientMonitoringFeature implements Feature {
+
+    /**
+     * Name of the request property in which a connector reports the time the request waited for a pooled connection.
+     * <p>
+     * The value is a {@link Long} in nanoseconds. The property is set by the JDK and Netty connectors. The connectors
+     * that do not pool the connections or do not measure the wait time do not set the property and no connection wait
+     * time is recorded for their requests.
+     * </p>
+     */
+    public static final String CONNECTION_WAIT_TIME = "jersey.config.client.monitoring.connectionWaitTime";
+
+    private final ClientMonitor monitor;
+
+    /**
+     * Create a new client monitoring feature with a generated client name.
+     */
+    public ClientMonitoringFeature() {
+        this(null);
+    }
+
+    /**
+     * Create a new client monitoring feature.
+     *
+     * @param name name of the client used in the names of the MXBeans.
+     */
+    public ClientMonitoringFeature(final String name) {
+        this.monitor = new ClientMonitor(name);
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        monitor.configure(context);
+        return true;
+    }
+
+    /**
+     * Get a snapshot of the statistics gathered so far.
+     *
+     * @return client statistics.
+     */
+    public ClientStatistics getStatistics() {
+        return monitor.getStatistics();
+    }
+}
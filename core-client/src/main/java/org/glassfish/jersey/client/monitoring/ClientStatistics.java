@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.monitoring;
+
+import java.util.List;
+
+/**
+ * Snapshot of the request statistics gathered by the {@link ClientMonitoringFeature}.
+ * <p>
+ * The statistics of the individual targets are gathered without stopping the request processing, so they need not be
+ * consistent with each other.
+ * </p>
+ *
+ * @since 2.29
+ */
+public interface ClientStatistics {
+
+    /**
+     * Get the statistics of the requests grouped by their targets.
+     *
+     * @return unmodifiable list of the target statistics.
+     */
+    List<TargetStatistics> getTargetStatistics();
+
+    /**
+     * Get the statistics of the requests to a target.
+     *
+     * @param host         target host in the {@code scheme://host:port} form.
+     * @param pathTemplate target path template.
+     * @return target statistics or {@code null} if no request has been sent to the target.
+     */
+    TargetStatistics getTargetStatistics(String host, String pathTemplate);
+}
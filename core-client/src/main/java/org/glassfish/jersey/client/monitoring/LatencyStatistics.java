@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of the durations of a request processing phase.
+ * <p>
+ * The durations are recorded in a histogram with a relative precision of about 6%, the minimum, maximum and mean
+ * are exact. The values are measured since the client was created.
+ * </p>
+ *
+ * @since 2.29
+ */
+public interface LatencyStatistics {
+
+    /**
+     * Get the number of recorded durations.
+     *
+     * @return number of durations.
+     */
+    long getCount();
+
+    /**
+     * Get the shortest recorded duration.
+     *
+     * @param unit time unit of the returned value.
+     * @return minimum duration or {@code 0} if no duration has been recorded.
+     */
+    long getMinimum(TimeUnit unit);
+
+    /**
+     * Get the longest recorded duration.
+     *
+     * @param unit time unit of the returned value.
+     * @return maximum duration or {@code 0} if no duration has been recorded.
+     */
+    long getMaximum(TimeUnit unit);
+
+    /**
+     * Get the mean of the recorded durations.
+     *
+     * @param unit time unit of the returned value.
+     * @return mean duration or {@code 0} if no duration has been recorded.
+     */
+    double getMean(TimeUnit unit);
+
+    /**
+     * Get the duration that the given fraction of the recorded durations does not exceed.
+     *
+     * @param quantile quantile between {@code 0} and {@code 1}, e.g. {@code 0.99} for the 99th percentile.
+     * @param unit     time unit of the returned value.
+     * @return duration at the quantile or {@code 0} if no duration has been recorded.
+     */
+    long getValueAtQuantile(double quantile, TimeUnit unit);
+}
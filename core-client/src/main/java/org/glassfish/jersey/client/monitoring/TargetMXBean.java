@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.monitoring;
+
+/**
+ * MXBean interface of the {@link TargetStatistics request statistics of a target}.
+ * <p>
+ * The durations are in microseconds.
+ * </p>
+ *
+ * @since 2.29
+ */
+public interface TargetMXBean {
+
+    /**
+     * Get the host of the target.
+     *
+     * @return target host.
+     */
+    String getHost();
+
+    /**
+     * Get the path template of the target.
+     *
+     * @return path template.
+     */
+    String getPathTemplate();
+
+    /**
+     * Get the number of completed requests.
+     *
+     * @return number of requests.
+     */
+    long getRequestCount();
+
+    /**
+     * Get the number of failed requests.
+     *
+     * @return number of failed requests.
+     */
+    long getErrorCount();
+
+    /**
+     * Get the ratio of the failed requests.
+     *
+     * @return error rate.
+     */
+    double getErrorRate();
+
+    /**
+     * Get the mean request latency.
+     *
+     * @return mean latency in microseconds.
+     */
+    double getLatencyMeanMicros();
+
+    /**
+     * Get the median request latency.
+     *
+     * @return median latency in microseconds.
+     */
+    long getLatency50thPercentileMicros();
+
+    /**
+     * Get the 99th percentile of the request latency.
+     *
+     * @return 99th percentile latency in microseconds.
+     */
+    long getLatency99thPercentileMicros();
+
+    /**
+     * Get the maximum request latency.
+     *
+     * @return maximum latency in microseconds.
+     */
+    long getLatencyMaxMicros();
+
+    /**
+     * Get the mean time spent in the request filters.
+     *
+     * @return mean request filters time in microseconds.
+     */
+    double getRequestFilterTimeMeanMicros();
+
+    /**
+     * Get the mean connector time.
+     *
+     * @return mean connector time in microseconds.
+     */
+    double getConnectorTimeMeanMicros();
+
+    /**
+     * Get the 99th percentile of the connector time.
+     *
+     * @return 99th percentile connector time in microseconds.
+     */
+    long getConnectorTime99thPercentileMicros();
+
+    /**
+     * Get the mean connection wait time.
+     *
+     * @return mean connection wait time in microseconds.
+     */
+    double getConnectionWaitTimeMeanMicros();
+
+    /**
+     * Get the maximum connection wait time.
+     *
+     * @return maximum connection wait time in microseconds.
+     */
+    long getConnectionWaitTimeMaxMicros();
+
+    /**
+     * Get the mean time spent in the response filters.
+     *
+     * @return mean response filters time in microseconds.
+     */
+    double getResponseFilterTimeMeanMicros();
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.monitoring;
+
+/**
+ * Statistics of the requests sent to a single target, i.e. the requests with the same host and path template.
+ * <p>
+ * Besides the total latency, the time spent in each processing phase is recorded, so that the latency caused by the
+ * filters, by waiting for a pooled connection and by the server can be told apart. The requests served without a
+ * connector (e.g. from a client cache) have no connector time recorded. The connection wait time is recorded only if the
+ * connector reports it (see {@link ClientMonitoringFeature#CONNECTION_WAIT_TIME}).
+ * </p>
+ *
+ * @since 2.29
+ */
+public interface TargetStatistics {
+
+    /**
+     * Get the host of the target in the {@code scheme://host:port} form.
+     *
+     * @return target host.
+     */
+    String getHost();
+
+    /**
+     * Get the path template of the target (see {@link org.glassfish.jersey.client.ClientProperties#MONITORING_PATH_TEMPLATE}).
+     *
+     * @return path template or the request path if no template was set.
+     */
+    String getPathTemplate();
+
+    /**
+     * Get the number of completed requests, successful or not.
+     *
+     * @return number of requests.
+     */
+    long getRequestCount();
+
+    /**
+     * Get the number of requests that failed or got a server error ({@code 5xx}) response.
+     *
+     * @return number of failed requests.
+     */
+    long getErrorCount();
+
+    /**
+     * Get the ratio of the failed requests.
+     *
+     * @return number of failed requests divided by the number of requests or {@code 0} if there was no request.
+     */
+    double getErrorRate();
+
+    /**
+     * Get the total request processing time, from the first request filter to the last response filter.
+     *
+     * @return request latency.
+     */
+    LatencyStatistics getLatency();
+
+    /**
+     * Get the time spent in the request filters.
+     *
+     * @return request filters time.
+     */
+    LatencyStatistics getRequestFilterTime();
+
+    /**
+     * Get the time spent by the connector, from handing the request over to the connector to receiving the response
+     * headers. The time includes the {@link #getConnectionWaitTime() connection wait time}.
+     *
+     * @return connector time.
+     */
+    LatencyStatistics getConnectorTime();
+
+    /**
+     * Get the time the requests waited for a pooled connection.
+     *
+     * @return connection wait time.
+     */
+    LatencyStatistics getConnectionWaitTime();
+
+    /**
+     * Get the time spent in the response filters.
+     *
+     * @return response filters time.
+     */
+    LatencyStatistics getResponseFilterTime();
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the {@link ClientProperties#ASYNC_NON_BLOCKING non-blocking} asynchronous invocations.
+ */
+public class AsyncNonBlockingTest {
+
+    private static final String IO_THREAD = "test-connector-io";
+
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> new Thread(r, IO_THREAD));
+    private Client client;
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        io.shutdownNow();
+    }
+
+    private Client client(final boolean nonBlocking) {
+        client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new AsyncConnectorProvider())
+                .property(ClientProperties.ASYNC_NON_BLOCKING, nonBlocking)
+                .register(new ThreadRecordingFilter()));
+        return client;
+    }
+
+    @Test
+    public void testAsyncNonBlocking() throws Exception {
+        final Future<Response> future = client(true).target("http://localhost/test").request().async().get();
+
+        final Response response = future.get(10, TimeUnit.SECONDS);
+        assertEquals(Thread.currentThread().getName(), response.getHeaderString("Request-Filter-Thread"));
+        // the response filters run in an async executor service thread
+        assertNotEquals(IO_THREAD, response.getHeaderString("Response-Filter-Thread"));
+        assertNotEquals(Thread.currentThread().getName(), response.getHeaderString("Response-Filter-Thread"));
+        assertEquals("GET http://localhost/test", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testAsyncDefault() throws Exception {
+        final Response response = client(false).target("http://localhost/test").request().async().get()
+                .get(10, TimeUnit.SECONDS);
+
+        assertNotEquals(Thread.currentThread().getName(), response.getHeaderString("Request-Filter-Thread"));
+    }
+
+    @Test
+    public void testRxNonBlocking() throws Exception {
+        final Response response = client(true).target("http://localhost/test").request().rx().get()
+                .toCompletableFuture().get(10, TimeUnit.SECONDS);
+
+        assertEquals(Thread.currentThread().getName(), response.getHeaderString("Request-Filter-Thread"));
+        // the response filters run in an async executor service thread
+        assertNotEquals(IO_THREAD, response.getHeaderString("Response-Filter-Thread"));
+        assertNotEquals(Thread.currentThread().getName(), response.getHeaderString("Response-Filter-Thread"));
+
+        final String entity = client.target("http://localhost/test").request().rx().post(null, String.class)
+                .toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertEquals("POST http://localhost/test", entity);
+    }
+
+    @Test
+    public void testRxNonBlockingNotFound() throws Exception {
+        try {
+            client(true).target("http://localhost/test").request().header("Response-Status", 404).rx().get(String.class)
+                    .toCompletableFuture().get(10, TimeUnit.SECONDS);
+            fail("NotFoundException expected.");
+        } catch (final Exception expected) {
+            assertTrue(expected.getCause() instanceof NotFoundException);
+        }
+    }
+
+    /**
+     * Filter recording the threads the request and response filters are invoked in.
+     */
+    private static class ThreadRecordingFilter implements ClientRequestFilter, ClientResponseFilter {
+
+        @Override
+        public void filter(final ClientRequestContext requestContext) {
+            requestContext.setProperty("Request-Filter-Thread", Thread.currentThread().getName());
+        }
+
+        @Override
+        public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext) {
+            final String requestThread = (String) requestContext.getProperty("Request-Filter-Thread");
+            responseContext.getHeaders().add("Request-Filter-Thread", requestThread);
+            responseContext.getHeaders().add("Response-Filter-Thread", Thread.currentThread().getName());
+        }
+    }
+
+    /**
+     * Connector completing the requests in its own I/O thread.
+     */
+    private class AsyncConnectorProvider implements ConnectorProvider, Connector {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            final String status = request.getHeaderString("Response-Status");
+            final ClientResponse response = new ClientResponse(
+                    Response.Status.fromStatusCode(status == null ? 200 : Integer.parseInt(status)), request);
+            response.setEntityStream(new ByteArrayInputStream(
+                    (request.getMethod() + " " + request.getUri()).getBytes(StandardCharsets.UTF_8)));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            return io.submit(() -> callback.response(apply(request)));
+        }
+
+        @Override
+        public String getName() {
+            return "test-async-connector";
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
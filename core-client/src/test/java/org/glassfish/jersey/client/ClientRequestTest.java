@@ -20,6 +20,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
@@ -193,4 +196,26 @@ public class ClientRequestTest {
         }
     }
 
+    /**
+     * Test the failure callbacks are invoked once, in the order of their registration.
+     */
+    @Test
+    public void testFailureCallbacks() {
+        final ClientRequest request = new ClientRequest(
+                URI.create("http://example.org"),
+                new JerseyClientBuilder().build().getConfiguration(),
+                new MapPropertiesDelegate());
+
+        final List<String> invoked = new ArrayList<>();
+        request.registerFailureCallback(failed -> {
+            invoked.add("first");
+            throw new IllegalStateException();
+        });
+        request.registerFailureCallback(failed -> invoked.add(failed == request ? "second" : "other"));
+
+        request.failed();
+        request.failed();
+
+        assertEquals(Arrays.asList("first", "second"), invoked);
+    }
 }
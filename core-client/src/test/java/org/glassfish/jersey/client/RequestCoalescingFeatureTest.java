@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the {@link RequestCoalescingFeature}.
+ */
+public class RequestCoalescingFeatureTest {
+
+    private static final int FOLLOWERS = 8;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BlockingConnector connector = new BlockingConnector();
+    private final Client client = ClientBuilder.newClient(new ClientConfig()
+            .connectorProvider(connector)
+            .register(RequestCoalescingFeature.class));
+
+    @After
+    public void tearDown() {
+        client.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testIdenticalRequestsCoalesced() throws Exception {
+        final Future<String> leader = executor.submit(() -> get("text/plain"));
+        assertTrue(connector.requested.await(10, TimeUnit.SECONDS));
+
+        final List<Future<String>> followers = startFollowers("text/plain");
+        connector.release.countDown();
+
+        assertEquals("GET http://localhost/test 1", leader.get(10, TimeUnit.SECONDS));
+        for (final Future<String> follower : followers) {
+            assertEquals("GET http://localhost/test 1", follower.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, connector.requests.get());
+    }
+
+    @Test
+    public void testDifferentRequestsNotCoalesced() throws Exception {
+        final Future<String> plain = executor.submit(() -> get("text/plain"));
+        assertTrue(connector.requested.await(10, TimeUnit.SECONDS));
+        final Future<String> html = executor.submit(() -> get("text/html"));
+
+        connector.release.countDown();
+        assertTrue(plain.get(10, TimeUnit.SECONDS).startsWith("GET http://localhost/test"));
+        assertTrue(html.get(10, TimeUnit.SECONDS).startsWith("GET http://localhost/test"));
+        assertEquals(2, connector.requests.get());
+    }
+
+    @Test
+    public void testFollowersSentOnLeaderFailure() throws Exception {
+        connector.failFirst = true;
+        final Future<String> leader = executor.submit(() -> get("text/plain"));
+        assertTrue(connector.requested.await(10, TimeUnit.SECONDS));
+
+        final List<Future<String>> followers = startFollowers("text/plain");
+        connector.release.countDown();
+
+        try {
+            leader.get(10, TimeUnit.SECONDS);
+            fail("ProcessingException expected.");
+        } catch (final Exception expected) {
+            assertTrue(expected.getCause() instanceof ProcessingException);
+        }
+        for (final Future<String> follower : followers) {
+            assertTrue(follower.get(10, TimeUnit.SECONDS).startsWith("GET http://localhost/test"));
+        }
+        assertTrue(connector.requests.get() > 1);
+    }
+
+    @Test
+    public void testFollowerSentOnReadTimeout() throws Exception {
+        final Future<String> leader = executor.submit(() -> get("text/plain"));
+        assertTrue(connector.requested.await(10, TimeUnit.SECONDS));
+
+        final Future<String> follower = executor.submit(() -> client.target("http://localhost/test")
+                .request("text/plain")
+                .property(ClientProperties.READ_TIMEOUT, 100)
+                .get(String.class));
+        final long end = System.currentTimeMillis() + 10_000;
+        while (connector.requests.get() < 2 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, connector.requests.get());
+
+        connector.release.countDown();
+        assertTrue(leader.get(10, TimeUnit.SECONDS).startsWith("GET http://localhost/test"));
+        assertTrue(follower.get(10, TimeUnit.SECONDS).startsWith("GET http://localhost/test"));
+    }
+
+    private String get(final String accept) {
+        return client.target("http://localhost/test").request(accept).get(String.class);
+    }
+
+    /**
+     * Start the followers and wait until they are all blocked waiting for the response of the leader.
+     */
+    private List<Future<String>> startFollowers(final String accept) throws InterruptedException {
+        final List<Thread> threads = new ArrayList<>();
+        final List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                return get(accept);
+            }));
+        }
+
+        final long end = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < end) {
+            synchronized (threads) {
+                if (threads.size() == FOLLOWERS
+                        && threads.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                    break;
+                }
+            }
+            Thread.sleep(10);
+        }
+        return followers;
+    }
+
+    /**
+     * Connector blocking the requests until released.
+     */
+    private static class BlockingConnector implements ConnectorProvider, Connector {
+
+        private final AtomicInteger requests = new AtomicInteger();
+        private final CountDownLatch requested = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean failFirst;
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            final int count = requests.incrementAndGet();
+            requested.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                throw new ProcessingException(e);
+            }
+            if (failFirst && count == 1) {
+                throw new ProcessingException("Connection refused.");
+            }
+
+            final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+            response.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN);
+            response.getHeaders().putSingle(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            response.setEntityStream(new ByteArrayInputStream(
+                    (request.getMethod() + " " + request.getUri() + " " + count).getBytes(StandardCharsets.UTF_8)));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "blocking-connector";
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Test the {@link ClientCachingFeature}.
+ */
+public class ClientCachingFeatureTest {
+
+    private static final String URI = "http://localhost/resource";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Client> clients = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        clients.forEach(Client::close);
+    }
+
+    @Test
+    public void testFreshResponseServedFromCache() {
+        final ScriptedConnector connector = new ScriptedConnector((request, count) ->
+                response(200, "entity " + count).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        final Client client = client(connector, null);
+
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        final Response cached = client.target(URI).request().get();
+        assertEquals(200, cached.getStatus());
+        assertEquals("entity 1", cached.readEntity(String.class));
+        assertNotNull(cached.getHeaderString("Age"));
+        assertEquals(1, connector.requests.size());
+
+        // a request demanding an end-to-end revalidation
+        assertEquals("entity 2", client.target(URI).request().header(HttpHeaders.CACHE_CONTROL, "no-cache").get(String.class));
+        assertEquals(2, connector.requests.size());
+    }
+
+    @Test
+    public void testRevalidation() {
+        final ScriptedConnector connector = new ScriptedConnector((request, count) -> {
+            if ("\"v1\"".equals(request.getHeaderString(HttpHeaders.IF_NONE_MATCH))) {
+                return response(304, null).header(HttpHeaders.ETAG, "\"v1\"");
+            }
+            return response(200, "entity " + count)
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .header(HttpHeaders.ETAG, "\"v1\"");
+        });
+        final Client client = client(connector, null);
+
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        final Response revalidated = client.target(URI).request().get();
+        assertEquals(200, revalidated.getStatus());
+        assertEquals("entity 1", revalidated.readEntity(String.class));
+        assertEquals(2, connector.requests.size());
+        assertEquals("\"v1\"", connector.requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void testVary() {
+        final ScriptedConnector connector = new ScriptedConnector((request, count) ->
+                response(200, request.getHeaderString(HttpHeaders.ACCEPT) + " " + count)
+                        .header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        final Client client = client(connector, null);
+
+        assertEquals("text/plain 1", client.target(URI).request("text/plain").get(String.class));
+        assertEquals("text/html 2", client.target(URI).request("text/html").get(String.class));
+        assertEquals("text/plain 1", client.target(URI).request("text/plain").get(String.class));
+        assertEquals("text/html 2", client.target(URI).request("text/html").get(String.class));
+        assertEquals(2, connector.requests.size());
+    }
+
+    @Test
+    public void testNotStored() {
+        final ScriptedConnector connector = new ScriptedConnector((request, count) -> {
+            final Response.ResponseBuilder response = response(200, "entity " + count);
+            return count == 1 ? response.header(HttpHeaders.CACHE_CONTROL, "no-store") : response;
+        });
+        final Client client = client(connector, null);
+
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        assertEquals("entity 2", client.target(URI).request().get(String.class));
+        // no explicit freshness and no validator
+        assertEquals("entity 3", client.target(URI).request().get(String.class));
+    }
+
+    @Test
+    public void testAuthorizedNotStored() {
+        final ScriptedConnector connector = new ScriptedConnector((request, count) -> response(200, "entity " + count)
+                .header(HttpHeaders.CACHE_CONTROL, count == 3 ? "public, max-age=60" : "max-age=60"));
+        final Client client = client(connector, null);
+
+        assertEquals("entity 1", client.target(URI).request().header(HttpHeaders.AUTHORIZATION, "user1").get(String.class));
+        assertEquals("entity 2", client.target(URI).request().header(HttpHeaders.AUTHORIZATION, "user2").get(String.class));
+        // explicitly shared response
+        assertEquals("entity 3", client.target(URI).request().header(HttpHeaders.AUTHORIZATION, "user1").get(String.class));
+        assertEquals("entity 3", client.target(URI).request().get(String.class));
+        assertEquals(3, connector.requests.size());
+    }
+
+    @Test
+    public void testUnsafeMethodInvalidates() {
+        final ScriptedConnector connector = new ScriptedConnector((request, count) ->
+                response(200, "entity " + count).header(HttpHeaders.EXPIRES, "Thu, 01 Jan 2099 00:00:00 GMT"));
+        final Client client = client(connector, null);
+
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        client.target(URI).request().post(Entity.text("update")).close();
+        assertEquals("entity 3", client.target(URI).request().get(String.class));
+    }
+
+    @Test
+    public void testDiskTier() throws Exception {
+        final File directory = folder.newFolder();
+        final ScriptedConnector connector = new ScriptedConnector((request, count) ->
+                response(200, "entity " + count).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+
+        assertEquals("entity 1", client(connector, directory).target(URI).request().get(String.class));
+        // a new client with an empty memory cache
+        assertEquals("entity 1", client(connector, directory).target(URI).request().get(String.class));
+        assertEquals(1, connector.requests.size());
+
+        // a client without the on-disk tier
+        assertEquals("entity 2", client(connector, null).target(URI).request().get(String.class));
+    }
+
+    @Test
+    public void testDiskTierBounded() throws Exception {
+        final File directory = folder.newFolder();
+        final ScriptedConnector connector = new ScriptedConnector((request, count) ->
+                response(200, "entity " + count).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+
+        assertEquals("entity 1", client(connector, directory).target(URI + "/1").request().get(String.class));
+        final long fileSize = directorySize(directory);
+
+        // a directory large enough for a single response
+        final long maxDirectorySize = fileSize + fileSize / 2;
+        assertEquals("entity 2", client(connector, directory, maxDirectorySize).target(URI + "/2").request().get(String.class));
+        assertEquals(fileSize, directorySize(directory));
+
+        // the least recently used response has been deleted
+        final Client client = client(connector, directory, maxDirectorySize);
+        assertEquals("entity 2", client.target(URI + "/2").request().get(String.class));
+        assertEquals("entity 3", client.target(URI + "/1").request().get(String.class));
+        assertEquals(3, connector.requests.size());
+    }
+
+    @Test
+    public void testDiskTierLargerThanMemory() throws Exception {
+        final File directory = folder.newFolder();
+        final ScriptedConnector connector = new ScriptedConnector((request, count) ->
+                response(200, "entity " + count).header(HttpHeaders.CACHE_CONTROL, "max-age=60"));
+        assertEquals("entity 1", client(connector, directory).target(URI).request().get(String.class));
+
+        final ClientConfig config = new ClientConfig().connectorProvider(connector).register(ClientCachingFeature.class)
+                .property(ClientProperties.CACHE_DIRECTORY, directory)
+                .property(ClientProperties.CACHE_MAX_SIZE, 1);
+        final Client client = ClientBuilder.newClient(config);
+        clients.add(client);
+
+        // the stored response is larger than the memory cache, it is loaded from the directory every time
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        assertEquals("entity 1", client.target(URI).request().get(String.class));
+        assertEquals(1, connector.requests.size());
+    }
+
+    private static long directorySize(final File directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory.toPath())) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private Client client(final ScriptedConnector connector, final File directory) {
+        return client(connector, directory, null);
+    }
+
+    private Client client(final ScriptedConnector connector, final File directory, final Long maxDirectorySize) {
+        final ClientConfig config = new ClientConfig().connectorProvider(connector).register(ClientCachingFeature.class);
+        if (directory != null) {
+            config.property(ClientProperties.CACHE_DIRECTORY, directory);
+        }
+        if (maxDirectorySize != null) {
+            config.property(ClientProperties.CACHE_DIRECTORY_MAX_SIZE, maxDirectorySize);
+        }
+        final Client client = ClientBuilder.newClient(config);
+        clients.add(client);
+        return client;
+    }
+
+    private static Response.ResponseBuilder response(final int status, final String entity) {
+        return Response.status(status).entity(entity);
+    }
+
+    /**
+     * Connector creating the responses by a script and recording the requests.
+     */
+    private static class ScriptedConnector implements ConnectorProvider, Connector {
+
+        private final BiFunction<ClientRequest, Integer, Response.ResponseBuilder> script;
+        private final List<ClientRequest> requests = new ArrayList<>();
+
+        private ScriptedConnector(final BiFunction<ClientRequest, Integer, Response.ResponseBuilder> script) {
+            this.script = script;
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            requests.add(request);
+            final Response response = script.apply(request, requests.size()).build();
+            final ClientResponse clientResponse = new ClientResponse(response.getStatusInfo(), request);
+            response.getStringHeaders().forEach((name, values) -> clientResponse.getHeaders().addAll(name, values));
+            if (response.hasEntity()) {
+                clientResponse.setEntityStream(new ByteArrayInputStream(
+                        response.getEntity().toString().getBytes(StandardCharsets.UTF_8)));
+            }
+            return clientResponse;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return "scripted-connector";
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.client.monitoring;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Response;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the {@link ClientMonitoringFeature}.
+ */
+public class ClientMonitoringFeatureTest {
+
+    private static final String HOST = "http://localhost:80";
+    private static final long CONNECTION_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(3);
+    private static final long CONNECTOR_DELAY_MILLIS = 20;
+
+    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    private final ClientMonitoringFeature monitoring = new ClientMonitoringFeature("test");
+    private Client client;
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        io.shutdownNow();
+    }
+
+    private Client client(final Object... providers) {
+        final ClientConfig config = new ClientConfig()
+                .connectorProvider(new TestConnectorProvider())
+                .property(ClientProperties.MONITORING_STATISTICS_MBEANS_ENABLED, true)
+                .register(monitoring);
+        for (final Object provider : providers) {
+            config.register(provider);
+        }
+        client = ClientBuilder.newClient(config);
+        return client;
+    }
+
+    @Test
+    public void testSyncAndAsyncRequests() throws Exception {
+        client();
+        assertEquals(200, client.target("http://localhost/items/1").request().get().getStatus());
+        assertEquals(200, client.target("http://localhost/items/1").request().async().get().get(10, TimeUnit.SECONDS)
+                .getStatus());
+        assertEquals(200, client.target("http://localhost/items/1").request().rx().get().toCompletableFuture()
+                .get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(200, client.target("https://localhost/items/2").request().get().getStatus());
+
+        final ClientStatistics statistics = monitoring.getStatistics();
+        assertEquals(2, statistics.getTargetStatistics().size());
+
+        final TargetStatistics items = statistics.getTargetStatistics(HOST, "/items/1");
+        assertNotNull(items);
+        assertEquals(3, items.getRequestCount());
+        assertEquals(0, items.getErrorCount());
+        assertEquals(0, items.getErrorRate(), 0);
+        assertEquals(3, items.getLatency().getCount());
+        assertEquals(3, items.getConnectorTime().getCount());
+        assertTrue(items.getConnectorTime().getMinimum(TimeUnit.MILLISECONDS) >= CONNECTOR_DELAY_MILLIS);
+        assertTrue(items.getLatency().getValueAtQuantile(0.5, TimeUnit.MILLISECONDS) >= CONNECTOR_DELAY_MILLIS);
+        assertEquals(3, items.getConnectionWaitTime().getCount());
+        assertEquals(CONNECTION_WAIT_NANOS, items.getConnectionWaitTime().getMaximum(TimeUnit.NANOSECONDS));
+
+        assertEquals(1, statistics.getTargetStatistics("https://localhost:443", "/items/2").getRequestCount());
+    }
+
+    @Test
+    public void testPathTemplate() throws Exception {
+        client();
+        for (int i = 0; i < 3; i++) {
+            client.target("http://localhost/items/{id}")
+                    .property(ClientProperties.MONITORING_PATH_TEMPLATE, "/items/{id}")
+                    .resolveTemplate("id", i)
+                    .request().get();
+        }
+        client.target("http://localhost/orders/1").request()
+                .property(ClientProperties.MONITORING_PATH_TEMPLATE, "/orders/{id}")
+                .get();
+
+        final ClientStatistics statistics = monitoring.getStatistics();
+        assertEquals(2, statistics.getTargetStatistics().size());
+        assertEquals(3, statistics.getTargetStatistics(HOST, "/items/{id}").getRequestCount());
+        assertEquals(1, statistics.getTargetStatistics(HOST, "/orders/{id}").getRequestCount());
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        client();
+        client.target("http://localhost/test").request().get();
+        client.target("http://localhost/test").request().header("Response-Status", 500).get();
+        client.target("http://localhost/test").request().header("Response-Status", 404).get();
+        try {
+            client.target("http://localhost/test").request().header("Fail", true).get();
+            fail("ProcessingException expected.");
+        } catch (final ProcessingException expected) {
+            // expected
+        }
+        try {
+            client.target("http://localhost/test").request().header("Fail", true).async().get().get(10, TimeUnit.SECONDS);
+            fail("Failure expected.");
+        } catch (final Exception expected) {
+            // expected
+        }
+
+        final TargetStatistics statistics = monitoring.getStatistics().getTargetStatistics(HOST, "/test");
+        assertEquals(5, statistics.getRequestCount());
+        assertEquals(3, statistics.getErrorCount());
+        assertEquals(0.6, statistics.getErrorRate(), 0.0001);
+    }
+
+    @Test
+    public void testRequestFilterTime() throws Exception {
+        final ClientRequestFilter slowFilter = requestContext -> {
+            try {
+                Thread.sleep(CONNECTOR_DELAY_MILLIS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        client(slowFilter);
+        client.target("http://localhost/test").request().get();
+
+        final TargetStatistics statistics = monitoring.getStatistics().getTargetStatistics(HOST, "/test");
+        assertTrue(statistics.getRequestFilterTime().getMinimum(TimeUnit.MILLISECONDS) >= CONNECTOR_DELAY_MILLIS);
+        assertTrue(statistics.getLatency().getMinimum(TimeUnit.MILLISECONDS) >= 2 * CONNECTOR_DELAY_MILLIS);
+        assertEquals(1, statistics.getResponseFilterTime().getCount());
+    }
+
+    @Test
+    public void testAbortedRequest() throws Exception {
+        client((ClientRequestFilter) requestContext -> requestContext.abortWith(Response.ok().build()));
+        client.target("http://localhost/test").request().get();
+
+        final TargetStatistics statistics = monitoring.getStatistics().getTargetStatistics(HOST, "/test");
+        assertEquals(1, statistics.getRequestCount());
+        assertEquals(0, statistics.getConnectorTime().getCount());
+        assertNull(monitoring.getStatistics().getTargetStatistics(HOST, "/other"));
+    }
+
+    @Test
+    public void testTargetsOverLimit() throws Exception {
+        client((ClientRequestFilter) requestContext -> requestContext.abortWith(Response.ok().build()));
+        for (int i = 0; i < 300; i++) {
+            client.target("http://host" + i + "/test").request().get();
+        }
+
+        // the requests to the targets over the limit share a single target
+        final ClientStatistics statistics = monitoring.getStatistics();
+        assertEquals(256 + 1, statistics.getTargetStatistics().size());
+        assertEquals(300 - 256, statistics.getTargetStatistics("*", "*").getRequestCount());
+        assertEquals(256 + 1, ManagementFactory.getPlatformMBeanServer().queryNames(
+                new ObjectName("org.glassfish.jersey.client:type=" + ObjectName.quote("test") + ",*"), null).size());
+    }
+
+    @Test
+    public void testMBeans() throws Exception {
+        client();
+        client.target("http://localhost/test").request().get();
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName("org.glassfish.jersey.client:type=" + ObjectName.quote("test")
+                + ",host=" + ObjectName.quote(HOST) + ",path=" + ObjectName.quote("/test"));
+        assertTrue(server.isRegistered(name));
+        assertEquals(1L, server.getAttribute(name, "RequestCount"));
+        final long maxLatency = (Long) server.getAttribute(name, "LatencyMaxMicros");
+        assertTrue(maxLatency >= TimeUnit.MILLISECONDS.toMicros(CONNECTOR_DELAY_MILLIS));
+
+        client.close();
+        assertFalse(server.isRegistered(name));
+    }
+
+    /**
+     * Connector responding with the status given by the {@code Response-Status} header after a delay.
+     */
+    private class TestConnectorProvider implements ConnectorProvider, Connector {
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            try {
+                Thread.sleep(CONNECTOR_DELAY_MILLIS);
+            } catch (final InterruptedException e) {
+                throw new ProcessingException(e);
+            }
+            if (request.getHeaderString("Fail") != null) {
+                throw new ProcessingException("Connection refused.");
+            }
+            request.setProperty(ClientMonitoringFeature.CONNECTION_WAIT_TIME, CONNECTION_WAIT_NANOS);
+
+            final String status = request.getHeaderString("Response-Status");
+            final ClientResponse response = new ClientResponse(
+                    Response.Status.fromStatusCode(status == null ? 200 : Integer.parseInt(status)), request);
+            response.setEntityStream(new ByteArrayInputStream("OK".getBytes(StandardCharsets.UTF_8)));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            return io.submit(() -> {
+                try {
+                    callback.response(apply(request));
+                } catch (final ProcessingException e) {
+                    callback.failure(e);
+                }
+            });
+        }
+
+        @Override
+        public String getName() {
+            return "test-monitoring-connector";
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+    }
+}
@@ -216,6 +216,40 @@ public final class CommonProperties {
      */
     public static final String OUTBOUND_CONTENT_LENGTH_BUFFER_SERVER = "jersey.config.server.contentLength.buffer";
 
+    /**
+     * Value of the system property selects how the current request scope context is carried along with the request-scoped
+     * tasks. The value is either {@value #REQUEST_SCOPE_CONTEXT_CARRIER_THREAD} or
+     * {@value #REQUEST_SCOPE_CONTEXT_CARRIER_SCOPED_VALUE}. Invalid values are ignored.
+     * <p>
+     * The default value is <tt>{@value #REQUEST_SCOPE_CONTEXT_CARRIER_THREAD}</tt>.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String REQUEST_SCOPE_CONTEXT_CARRIER = "jersey.config.requestScope.contextCarrier";
+
+    /**
+     * {@link #REQUEST_SCOPE_CONTEXT_CARRIER Request scope context carrier} value selecting the default carrier that keeps
+     * the context in a per-thread holder. The holder is stored in a thread local variable once per thread, entering
+     * the request scope on a thread that already has the holder does not modify any thread local variable.
+     *
+     * @since 2.29
+     */
+    public static final String REQUEST_SCOPE_CONTEXT_CARRIER_THREAD = "thread";
+
+    /**
+     * {@link #REQUEST_SCOPE_CONTEXT_CARRIER Request scope context carrier} value selecting the carrier that binds
+     * the context to a {@code java.lang.ScopedValue}, which is well suited for applications running the requests
+     * on (a large number of) virtual threads. The carrier is only available on JDKs providing scoped values, the
+     * default carrier is used otherwise.
+     *
+     * @since 2.29
+     */
+    public static final String REQUEST_SCOPE_CONTEXT_CARRIER_SCOPED_VALUE = "scopedValue";
+
     /**
      * Prevent instantiation.
      */
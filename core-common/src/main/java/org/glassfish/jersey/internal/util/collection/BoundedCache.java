@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util.collection;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded concurrent cache.
+ * <p>
+ * Cache lookups never block and do not modify the cache structure. Once the number of cached entries exceeds
+ * the maximum size, a single thread adding a new entry evicts the entries that have not been accessed since
+ * the last eviction run (a "second chance" approximation of the least recently used eviction policy). Other
+ * threads adding entries at the same time do not wait for the eviction to complete, so the cache size may
+ * temporarily exceed the maximum size slightly.
+ * </p>
+ * <p>
+ * The cache keeps track of its hits, misses and evictions.
+ * </p>
+ *
+ * @param <K> cache key type.
+ * @param <V> cache value type.
+ */
+public final class BoundedCache<K, V> {
+
+    /**
+     * Immutable snapshot of the cache statistics.
+     */
+    public static final class Statistics {
+
+        /**
+         * Statistics of a disabled cache, all the values are equal to zero.
+         */
+        public static final Statistics EMPTY = new Statistics(0, 0, 0, 0, 0);
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+        private final int maximumSize;
+
+        private Statistics(final long hitCount,
+                           final long missCount,
+                           final long evictionCount,
+                           final int size,
+                           final int maximumSize) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * Get the number of lookups that returned a cached value.
+         *
+         * @return number of cache hits.
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Get the number of lookups that did not find any cached value.
+         *
+         * @return number of cache misses.
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Get the number of entries evicted from the cache because the cache was full.
+         *
+         * @return number of evicted entries.
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Get the number of the cached entries.
+         *
+         * @return number of the cached entries.
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Get the maximum number of the cached entries.
+         *
+         * @return maximum cache size.
+         */
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private volatile boolean referenced;
+
+        private Entry(final V value) {
+            this.value = value;
+        }
+    }
+
+    private final ConcurrentHashMap<K, Entry<V>> cache;
+    private final int maximumSize;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create new bounded cache.
+     *
+     * @param maximumSize maximum number of the cached entries. Must be a positive number.
+     * @throws IllegalArgumentException in case the maximum size is not positive.
+     */
+    public BoundedCache(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maximumSize, 32), 0.75f, DataStructures.DEFAULT_CONCURENCY_LEVEL);
+    }
+
+    /**
+     * Get the value cached for the key.
+     *
+     * @param key cache key.
+     * @return cached value or {@code null} if there is no value cached for the key.
+     */
+    public V get(final K key) {
+        final Entry<V> entry = cache.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Cache the value for the key. Evicts some of the entries in case the cache is full.
+     *
+     * @param key   cache key.
+     * @param value value to be cached.
+     */
+    public void put(final K key, final V value) {
+        if (cache.put(key, new Entry<>(value)) == null && cache.size() > maximumSize) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            // another thread is already evicting
+            return;
+        }
+
+        try {
+            // two passes at most - the first one may only clear the reference flags
+            for (int pass = 0; pass < 2 && cache.size() > maximumSize; pass++) {
+                final Iterator<Entry<V>> iterator = cache.values().iterator();
+                while (iterator.hasNext() && cache.size() > maximumSize) {
+                    final Entry<V> entry = iterator.next();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        iterator.remove();
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Remove all the cached entries. The statistics are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Get the number of the cached entries.
+     *
+     * @return number of the cached entries.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get the snapshot of the cache statistics.
+     *
+     * @return current cache statistics.
+     */
+    public Statistics statistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), cache.size(), maximumSize);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util.collection;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-memory histogram of non-negative values, used by the client and the server monitoring.
+ * <p>
+ * The values are counted in log-linear buckets (in the style of the HdrHistogram): each power of two range is split into
+ * {@value #SUB_BUCKETS} buckets of the same width, so that the highest value of a bucket exceeds any value counted in
+ * the bucket by at most 12.5%. The values higher than {@link #MAX_VALUE} (about 68 seconds in nanoseconds) are counted
+ * in the last bucket.
+ * </p>
+ * <p>
+ * An instance keeps the counts of all the recorded values and records the values without locking. The static methods
+ * give the layout of the buckets and evaluate the bucket counts, so that the histograms keeping their counts in another
+ * way (e.g. in rolling time slices) share the same buckets.
+ * </p>
+ *
+ * @see <a href="http://hdrhistogram.org">HdrHistogram</a>
+ */
+public final class LogLinearHistogram {
+
+    /**
+     * Number of the buckets per a power of two, logarithm base 2.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * Exponent of the highest power of two counted in separate buckets.
+     */
+    private static final int MAX_EXPONENT = 35;
+
+    /**
+     * Number of the buckets.
+     */
+    public static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * The highest value counted in a separate bucket, higher values are counted in the last bucket.
+     */
+    public static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Record a value.
+     *
+     * @param value recorded value, negative values are recorded as {@code 0}.
+     */
+    public void record(final long value) {
+        final long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucket(recorded));
+        sum.add(recorded);
+        if (recorded < min.get()) {
+            min.accumulateAndGet(recorded, Math::min);
+        }
+        if (recorded > max.get()) {
+            max.accumulateAndGet(recorded, Math::max);
+        }
+    }
+
+    /**
+     * Get a copy of the bucket counts.
+     *
+     * @return counts of the values recorded in the buckets.
+     */
+    public long[] getCounts() {
+        final long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get the sum of the recorded values.
+     *
+     * @return sum of the values.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Get the minimum of the recorded values.
+     *
+     * @return minimum value or {@code Long.MAX_VALUE} if no value has been recorded.
+     */
+    public long getMinimum() {
+        return min.get();
+    }
+
+    /**
+     * Get the maximum of the recorded values.
+     *
+     * @return maximum value or {@code Long.MIN_VALUE} if no value has been recorded.
+     */
+    public long getMaximum() {
+        return max.get();
+    }
+
+    /**
+     * Get the index of the bucket counting a value.
+     *
+     * @param value the value, negative values are counted in the first bucket.
+     * @return bucket index.
+     */
+    public static int bucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        final long bounded = Math.min(value, MAX_VALUE);
+        final int exponent = 63 - Long.numberOfLeadingZeros(bounded);
+        final int subBucket = (int) (bounded >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Get the highest value counted in a bucket.
+     *
+     * @param bucket bucket index.
+     * @return highest value of the bucket.
+     */
+    public static long highestValue(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Get the value at a quantile of the counted values, i.e. the highest value of the bucket containing the quantile,
+     * bounded by the minimum and the maximum.
+     *
+     * @param counts   bucket counts.
+     * @param count    number of the counted values, must be positive.
+     * @param quantile quantile in the {@code [0, 1]} range.
+     * @param min      minimum of the counted values.
+     * @param max      maximum of the counted values.
+     * @return value at the quantile.
+     */
+    public static long valueAtQuantile(final long[] counts, final long count, final double quantile,
+                                       final long min, final long max) {
+        final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long cumulative = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            cumulative += counts[bucket];
+            if (cumulative >= rank) {
+                // the last bucket counts all the values higher than MAX_VALUE
+                return bucket == BUCKETS - 1 ? max : Math.max(min, Math.min(max, highestValue(bucket)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Get the number of the counted values not exceeding a value. Only the buckets whose all values do not exceed
+     * the value are counted, so the number is exact if the value is the highest value of a bucket, e.g. for all
+     * the values of the form {@code 2^n - 1}.
+     *
+     * @param counts   bucket counts.
+     * @param maxValue the value.
+     * @return number of the values in the buckets not exceeding the value.
+     */
+    public static long countAtMost(final long[] counts, final long maxValue) {
+        int lastBucket = bucket(maxValue);
+        if (highestValue(lastBucket) > maxValue) {
+            lastBucket--;
+        }
+
+        long cumulative = 0;
+        for (int bucket = 0; bucket <= lastBucket; bucket++) {
+            cumulative += counts[bucket];
+        }
+        return cumulative;
+    }
+}
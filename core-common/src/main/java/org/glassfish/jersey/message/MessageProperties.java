@@ -79,6 +79,36 @@ public final class MessageProperties {
      */
     public static final int IO_DEFAULT_BUFFER_SIZE = 8192;
 
+    /**
+     * Value of the system property selects the pool of byte and character arrays used for copying entity streams.
+     * The value is either {@value #IO_BUFFER_POOL_STRIPED}, {@value #IO_BUFFER_POOL_NONE} or a fully qualified name
+     * of a class implementing the {@link org.glassfish.jersey.spi.BufferPool} interface with a public no-argument
+     * constructor. Invalid values are ignored.
+     * <p />
+     * The default value is <code>{@value #IO_BUFFER_POOL_STRIPED}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.29
+     */
+    public static final String IO_BUFFER_POOL = "jersey.config.io.bufferPool";
+
+    /**
+     * {@link #IO_BUFFER_POOL Buffer pool} value selecting the default pool that keeps the buffers
+     * of the {@link #IO_BUFFER_SIZE configured size} in a bounded number of per-thread stripes.
+     *
+     * @since 2.29
+     */
+    public static final String IO_BUFFER_POOL_STRIPED = "striped";
+
+    /**
+     * {@link #IO_BUFFER_POOL Buffer pool} value disabling the pooling, i.e. a new buffer is allocated
+     * for every copied stream.
+     *
+     * @since 2.29
+     */
+    public static final String IO_BUFFER_POOL_NONE = "none";
+
     /**
      * If set to {@code true}, {@code DeflateEncoder deflate encoding interceptor} will use non-standard version
      * of the deflate content encoding, skipping the zlib wrapper. Unfortunately, deflate encoding
@@ -104,6 +134,48 @@ public final class MessageProperties {
      */
     public static final String LEGACY_WORKERS_ORDERING = "jersey.config.workers.legacyOrdering";
 
+    /**
+     * Value of the property indicates the maximum number of entity provider lookup results (per entity class and media type)
+     * cached for each of {@link javax.ws.rs.ext.MessageBodyReader MessageBodyReaders} and
+     * {@link javax.ws.rs.ext.MessageBodyWriter MessageBodyWriters}. The least recently used lookup results are evicted
+     * when the cache is full. The property value is expected to be a positive integer otherwise it will be ignored.
+     * <p />
+     * The default value is <code>{@value #WORKERS_DEFAULT_LOOKUP_CACHE_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.29
+     */
+    public static final String WORKERS_LOOKUP_CACHE_SIZE = "jersey.config.workers.lookupCacheSize";
+
+    /**
+     * The default maximum number ({@value}) of cached entity provider lookup results.
+     *
+     * @since 2.29
+     */
+    public static final int WORKERS_DEFAULT_LOOKUP_CACHE_SIZE = 1024;
+
+    /**
+     * Value of the system property indicates the maximum number of parsed {@code Accept}, {@code Accept-Language}
+     * and {@code Content-Type} header values shared among all messages, for each of the headers. A full cache evicts
+     * the values that have not been used recently. The property value is expected to be a non-negative integer
+     * otherwise it will be ignored. Zero value disables the caching.
+     * <p />
+     * The default value is <code>{@value #HEADER_DEFAULT_CACHE_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     *
+     * @since 2.29
+     */
+    public static final String HEADER_CACHE_SIZE = "jersey.config.headers.parsedCacheSize";
+
+    /**
+     * The default maximum number ({@value}) of cached parsed values of a header.
+     *
+     * @since 2.29
+     */
+    public static final int HEADER_DEFAULT_CACHE_SIZE = 256;
+
     /**
      * Prevents instantiation.
      */
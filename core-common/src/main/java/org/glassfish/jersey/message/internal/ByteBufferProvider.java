@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import javax.inject.Singleton;
+
+/**
+ * Provider for marshalling/un-marshalling of {@code application/octet-stream}
+ * entity type to/from a {@link ByteBuffer} instance.
+ * <p>
+ * The remaining content of the buffer is written. The buffer is transferred to the {@link ZeroCopyOutput entity output}
+ * directly if supported. The position of the buffer is never modified.
+ * </p>
+ */
+@Produces({"application/octet-stream", "*/*"})
+@Consumes({"application/octet-stream", "*/*"})
+@Singleton
+public final class ByteBufferProvider extends AbstractMessageReaderWriterProvider<ByteBuffer> {
+
+    @Override
+    public boolean isReadable(final Class<?> type,
+                              final Type genericType,
+                              final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return ByteBuffer.class == type;
+    }
+
+    @Override
+    public ByteBuffer readFrom(final Class<ByteBuffer> type,
+                               final Type genericType,
+                               final Annotation[] annotations,
+                               final MediaType mediaType,
+                               final MultivaluedMap<String, String> httpHeaders,
+                               final InputStream entityStream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(entityStream, out);
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type,
+                               final Type genericType,
+                               final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return ByteBuffer.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(final ByteBuffer t,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        if (entityStream instanceof ZeroCopyOutput && ((ZeroCopyOutput) entityStream).transferBuffer(t)) {
+            return;
+        }
+
+        if (t.hasArray()) {
+            entityStream.write(t.array(), t.arrayOffset() + t.position(), t.remaining());
+            return;
+        }
+
+        final ByteBuffer source = t.duplicate();
+        final byte[] data = ReaderWriter.BUFFER_POOL.acquireByteBuffer();
+        try {
+            while (source.hasRemaining()) {
+                final int length = Math.min(data.length, source.remaining());
+                source.get(data, 0, length);
+                entityStream.write(data, 0, length);
+            }
+        } finally {
+            ReaderWriter.BUFFER_POOL.releaseByteBuffer(data);
+        }
+    }
+
+    @Override
+    public long getSize(final ByteBuffer t,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return t.remaining();
+    }
+}
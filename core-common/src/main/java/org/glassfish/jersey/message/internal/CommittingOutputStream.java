@@ -17,8 +17,10 @@
 package org.glassfish.jersey.message.internal;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -55,7 +57,7 @@ import org.glassfish.jersey.internal.guava.Preconditions;
  * @author Marek Potociar (marek.potociar at oracle.com)
  * @author Miroslav Fuksa
  */
-public final class CommittingOutputStream extends OutputStream {
+public final class CommittingOutputStream extends OutputStream implements ZeroCopyOutput {
 
     private static final Logger LOGGER = Logger.getLogger(CommittingOutputStream.class.getName());
     /**
@@ -264,6 +266,61 @@ public final class CommittingOutputStream extends OutputStream {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The transfer is delegated to the stream provider in case the provider implements {@link ZeroCopyOutput} and nothing
+     * has been written to this stream yet. If the buffering is enabled, only file regions that would not fit into the buffer
+     * are transferred, so that the entity size of smaller entities is still measured. The stream provider writes the message
+     * headers itself if it transfers the content, so this stream is committed only after a successful transfer and any
+     * attempt to write to this stream afterwards fails. A declined transfer leaves this stream intact.
+     * </p>
+     */
+    @Override
+    public boolean transferFile(final File file, final long position, final long count) throws IOException {
+        if (!isTransferPossible(count)) {
+            return false;
+        }
+
+        return transferred(((ZeroCopyOutput) streamProvider).transferFile(file, position, count));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The transfer is delegated to the stream provider in case the provider implements {@link ZeroCopyOutput} and nothing
+     * has been written to this stream yet. If the buffering is enabled, only byte buffers that would not fit into the buffer
+     * are transferred, so that the entity size of smaller entities is still measured. The stream provider writes the message
+     * headers itself if it transfers the content, so this stream is committed only after a successful transfer and any
+     * attempt to write to this stream afterwards fails. A declined transfer leaves this stream intact.
+     * </p>
+     */
+    @Override
+    public boolean transferBuffer(final ByteBuffer buffer) throws IOException {
+        if (!isTransferPossible(buffer.remaining())) {
+            return false;
+        }
+
+        return transferred(((ZeroCopyOutput) streamProvider).transferBuffer(buffer));
+    }
+
+    private boolean isTransferPossible(final long count) {
+        return streamProvider instanceof ZeroCopyOutput
+                && !isCommitted
+                && !isClosed
+                && (directWrite || (buffer.size() == 0 && count > bufferSize));
+    }
+
+    private boolean transferred(final boolean transferred) {
+        if (transferred) {
+            // the stream provider has written the headers and the content already
+            adaptedOutput = new TransferredOutputStream();
+            directWrite = true;
+            isCommitted = true;
+        }
+        return transferred;
+    }
+
     private void flushBuffer(boolean endOfStream) throws IOException {
         if (!directWrite) {
             int currentSize;
@@ -280,4 +337,19 @@ public final class CommittingOutputStream extends OutputStream {
         }
     }
 
+    /**
+     * Output stream that rejects any writes once the complete entity has been transferred.
+     */
+    private static final class TransferredOutputStream extends OutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            throw new IOException(LocalizationMessages.COMMITTING_STREAM_ENTITY_TRANSFERRED());
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            throw new IOException(LocalizationMessages.COMMITTING_STREAM_ENTITY_TRANSFERRED());
+        }
+    }
 }
@@ -16,8 +16,6 @@
 
 package org.glassfish.jersey.message.internal;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -62,7 +60,8 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
                          final MultivaluedMap<String, String> httpHeaders,
                          final InputStream entityStream) throws IOException {
         final File file = Utils.createTempFile();
-        final OutputStream stream = new BufferedOutputStream(new FileOutputStream(file));
+        // no need for extra buffering, the entity is copied in chunks of the I/O buffer size
+        final OutputStream stream = new FileOutputStream(file);
 
         try {
             writeTo(entityStream, stream);
@@ -89,7 +88,12 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
                         final MediaType mediaType,
                         final MultivaluedMap<String, Object> httpHeaders,
                         final OutputStream entityStream) throws IOException {
-        final InputStream stream = new BufferedInputStream(new FileInputStream(t), ReaderWriter.BUFFER_SIZE);
+        if (entityStream instanceof ZeroCopyOutput && t.isFile()
+                && ((ZeroCopyOutput) entityStream).transferFile(t, 0, t.length())) {
+            return;
+        }
+
+        final InputStream stream = new FileInputStream(t);
 
         try {
             writeTo(stream, entityStream);
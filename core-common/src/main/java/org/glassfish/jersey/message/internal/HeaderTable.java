@@ -0,0 +1,642 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+/**
+ * Compact mutable message headers container with case-insensitive header names.
+ * <p>
+ * Header names and their value lists are stored in flat arrays in the insertion order and looked up by a linear scan,
+ * which is cheaper than hashing for the small number of headers a message typically carries. Well-known header names
+ * are interned on insertion, so that the lookups using the {@link HttpHeaders} constants are resolved by reference
+ * comparison. A single header value is stored without any additional list node.
+ * </p>
+ * <p>
+ * The table also caches the typed views of single-valued headers (see {@link #convert(String, Object, Class, Function)}).
+ * A cached typed view is reused for as long as the header keeps the raw value it was converted from.
+ * </p>
+ *
+ * @param <V> header value type. Typically {@link Object} in case of the outbound headers and {@link String} in case of
+ *            the inbound headers.
+ */
+final class HeaderTable<V> extends AbstractMap<String, List<V>> implements MultivaluedMap<String, V> {
+
+    private static final String[] NO_NAMES = new String[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final Map<String, String> KNOWN_NAMES = new HashMap<>();
+
+    static {
+        final String[] names = {
+                HttpHeaders.ACCEPT,
+                HttpHeaders.ACCEPT_CHARSET,
+                HttpHeaders.ACCEPT_ENCODING,
+                HttpHeaders.ACCEPT_LANGUAGE,
+                HttpHeaders.ALLOW,
+                HttpHeaders.AUTHORIZATION,
+                HttpHeaders.CACHE_CONTROL,
+                HttpHeaders.CONTENT_DISPOSITION,
+                HttpHeaders.CONTENT_ENCODING,
+                HttpHeaders.CONTENT_ID,
+                HttpHeaders.CONTENT_LANGUAGE,
+                HttpHeaders.CONTENT_LENGTH,
+                HttpHeaders.CONTENT_LOCATION,
+                HttpHeaders.CONTENT_TYPE,
+                HttpHeaders.COOKIE,
+                HttpHeaders.DATE,
+                HttpHeaders.ETAG,
+                HttpHeaders.EXPIRES,
+                HttpHeaders.HOST,
+                HttpHeaders.IF_MATCH,
+                HttpHeaders.IF_MODIFIED_SINCE,
+                HttpHeaders.IF_NONE_MATCH,
+                HttpHeaders.IF_UNMODIFIED_SINCE,
+                HttpHeaders.LAST_MODIFIED,
+                HttpHeaders.LINK,
+                HttpHeaders.LOCATION,
+                HttpHeaders.RETRY_AFTER,
+                HttpHeaders.SET_COOKIE,
+                HttpHeaders.USER_AGENT,
+                HttpHeaders.VARY,
+                HttpHeaders.WWW_AUTHENTICATE,
+                "Connection",
+                "Keep-Alive",
+                "Transfer-Encoding",
+                "X-Forwarded-For",
+                "X-Forwarded-Proto"
+        };
+        for (final String name : names) {
+            KNOWN_NAMES.put(name, name);
+            final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            KNOWN_NAMES.put(lowerCaseName, lowerCaseName);
+        }
+    }
+
+    private String[] names = NO_NAMES;
+    private Object[] values = NO_VALUES;
+    // pairs of the raw header value and the typed view converted from it
+    private Object[] converted;
+    private int size;
+    private int modCount;
+
+    private Set<Entry<String, List<V>>> entrySet;
+    private Set<String> keySet;
+
+    /**
+     * Create new empty header table.
+     */
+    HeaderTable() {
+    }
+
+    private static String intern(final String name) {
+        final String known = name == null ? null : KNOWN_NAMES.get(name);
+        return known == null ? name : known;
+    }
+
+    private int indexOf(final Object name) {
+        final String[] names = this.names;
+        final int size = this.size;
+        for (int i = 0; i < size; i++) {
+            if (names[i] == name) {
+                return i;
+            }
+        }
+        if (name instanceof String) {
+            final String header = (String) name;
+            for (int i = 0; i < size; i++) {
+                if (header.equalsIgnoreCase(names[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<V> valuesAt(final int index) {
+        return (List<V>) values[index];
+    }
+
+    private void append(final String name, final List<V> headerValues) {
+        if (size == names.length) {
+            final int capacity = size == 0 ? INITIAL_CAPACITY : size << 1;
+            names = Arrays.copyOf(names, capacity);
+            values = Arrays.copyOf(values, capacity);
+            if (converted != null) {
+                converted = Arrays.copyOf(converted, capacity << 1);
+            }
+        }
+        names[size] = intern(name);
+        values[size] = headerValues;
+        size++;
+        modCount++;
+    }
+
+    private void removeAt(final int index) {
+        final int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(names, index + 1, names, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            if (converted != null) {
+                System.arraycopy(converted, (index + 1) << 1, converted, index << 1, moved << 1);
+            }
+        }
+        size--;
+        names[size] = null;
+        values[size] = null;
+        resetConverted(size);
+        modCount++;
+    }
+
+    private void resetConverted(final int index) {
+        if (converted != null) {
+            converted[index << 1] = null;
+            converted[(index << 1) + 1] = null;
+        }
+    }
+
+    private List<V> valuesOf(final String name) {
+        final int index = indexOf(name);
+        if (index >= 0) {
+            List<V> headerValues = valuesAt(index);
+            if (headerValues == null) {
+                headerValues = new HeaderValues<>();
+                values[index] = headerValues;
+            }
+            return headerValues;
+        }
+
+        final List<V> headerValues = new HeaderValues<>();
+        append(name, headerValues);
+        return headerValues;
+    }
+
+    /**
+     * Get the typed view of a single-valued header.
+     * <p>
+     * If the typed view of the same raw header value instance has already been converted to the requested type,
+     * the cached typed view is returned. Otherwise the converter is invoked and its result is cached along with the
+     * header. Mutable typed views must not be cached.
+     * </p>
+     *
+     * @param name      header name.
+     * @param value     raw header value currently stored in the header.
+     * @param type      type of the typed view.
+     * @param converter function converting the raw header value to the typed view.
+     * @param <S>       raw header value type.
+     * @param <T>       typed view type.
+     * @return typed view of the header value.
+     */
+    <S, T> T convert(final String name, final S value, final Class<T> type, final Function<? super S, T> converter) {
+        final int index = indexOf(name);
+        if (index >= 0 && converted != null && converted[index << 1] == value) {
+            final Object cached = converted[(index << 1) + 1];
+            if (type.isInstance(cached)) {
+                return type.cast(cached);
+            }
+        }
+
+        final T result = converter.apply(value);
+        if (index >= 0 && value != null && result != null) {
+            if (converted == null) {
+                converted = new Object[names.length << 1];
+            }
+            converted[index << 1] = value;
+            converted[(index << 1) + 1] = result;
+        }
+        return result;
+    }
+
+    // Map
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public List<V> get(final Object key) {
+        final int index = indexOf(key);
+        return index >= 0 ? valuesAt(index) : null;
+    }
+
+    @Override
+    public List<V> put(final String key, final List<V> value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            final List<V> previous = valuesAt(index);
+            values[index] = value;
+            resetConverted(index);
+            return previous;
+        }
+        append(key, value);
+        return null;
+    }
+
+    @Override
+    public List<V> remove(final Object key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final List<V> previous = valuesAt(index);
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        if (converted != null) {
+            Arrays.fill(converted, 0, size << 1, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public Set<Entry<String, List<V>>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    // MultivaluedMap
+
+    @Override
+    public void putSingle(final String key, final V value) {
+        final int index = indexOf(key);
+        if (index >= 0 && valuesAt(index) != null) {
+            final List<V> headerValues = valuesAt(index);
+            headerValues.clear();
+            if (value != null) {
+                headerValues.add(value);
+            }
+        } else if (index >= 0) {
+            values[index] = value == null ? new HeaderValues<V>() : new HeaderValues<>(value);
+        } else {
+            append(key, value == null ? new HeaderValues<V>() : new HeaderValues<>(value));
+        }
+    }
+
+    @Override
+    public void add(final String key, final V value) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            append(key, value == null ? new HeaderValues<V>() : new HeaderValues<>(value));
+        } else if (value != null) {
+            valuesOf(key).add(value);
+        } else {
+            valuesOf(key);
+        }
+    }
+
+    @Override
+    @SafeVarargs
+    public final void addAll(final String key, final V... newValues) {
+        if (newValues == null) {
+            throw new NullPointerException("Supplied array of values must not be null.");
+        }
+        if (newValues.length == 0) {
+            return;
+        }
+
+        final List<V> headerValues = valuesOf(key);
+        for (final V value : newValues) {
+            if (value != null) {
+                headerValues.add(value);
+            }
+        }
+    }
+
+    @Override
+    public void addAll(final String key, final List<V> valueList) {
+        if (valueList == null) {
+            throw new NullPointerException("Supplied list of values must not be null.");
+        }
+        if (valueList.isEmpty()) {
+            return;
+        }
+
+        final List<V> headerValues = valuesOf(key);
+        for (final V value : valueList) {
+            if (value != null) {
+                headerValues.add(value);
+            }
+        }
+    }
+
+    @Override
+    public V getFirst(final String key) {
+        final List<V> headerValues = get(key);
+        return headerValues != null && !headerValues.isEmpty() ? headerValues.get(0) : null;
+    }
+
+    @Override
+    public void addFirst(final String key, final V value) {
+        final List<V> headerValues = valuesOf(key);
+        if (value != null) {
+            headerValues.add(0, value);
+        }
+    }
+
+    @Override
+    public boolean equalsIgnoreValueOrder(final MultivaluedMap<String, V> otherMap) {
+        if (this == otherMap) {
+            return true;
+        }
+        if (!keySet().equals(otherMap.keySet())) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            final List<V> headerValues = valuesAt(i);
+            final List<V> otherValues = otherMap.get(names[i]);
+            if (headerValues == null || otherValues == null) {
+                if (headerValues != otherValues) {
+                    return false;
+                }
+                continue;
+            }
+            if (headerValues.size() != otherValues.size()) {
+                return false;
+            }
+            for (final V value : headerValues) {
+                if (!otherValues.contains(value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Iterator over the table indexes.
+     */
+    private abstract class TableIterator<E> implements Iterator<E> {
+
+        private int next;
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public E next() {
+            checkModCount();
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return element(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            checkModCount();
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkModCount() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        abstract E element(int index);
+    }
+
+    /**
+     * Header entry writing the value changes through to the table.
+     */
+    private final class TableEntry extends SimpleEntry<String, List<V>> {
+
+        private TableEntry(final String name, final List<V> headerValues) {
+            super(name, headerValues);
+        }
+
+        @Override
+        public List<V> setValue(final List<V> value) {
+            super.setValue(value);
+            return put(getKey(), value);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, List<V>>> {
+
+        @Override
+        public Iterator<Entry<String, List<V>>> iterator() {
+            return new TableIterator<Entry<String, List<V>>>() {
+                @Override
+                Entry<String, List<V>> element(final int index) {
+                    return new TableEntry(names[index], valuesAt(index));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            HeaderTable.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            return new TableIterator<String>() {
+                @Override
+                String element(final int index) {
+                    return names[index];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            final int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            removeAt(index);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            HeaderTable.this.clear();
+        }
+    }
+
+    /**
+     * Mutable list of header values storing the first value inline.
+     *
+     * @param <V> header value type.
+     */
+    private static final class HeaderValues<V> extends AbstractList<V> implements RandomAccess {
+
+        private Object first;
+        private Object[] rest;
+        private int size;
+
+        private HeaderValues() {
+        }
+
+        private HeaderValues(final V value) {
+            this.first = value;
+            this.size = 1;
+        }
+
+        private Object element(final int index) {
+            return index == 0 ? first : rest[index - 1];
+        }
+
+        private void element(final int index, final Object value) {
+            if (index == 0) {
+                first = value;
+            } else {
+                rest[index - 1] = value;
+            }
+        }
+
+        private void checkIndex(final int index, final int bound) {
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(final int index) {
+            checkIndex(index, size);
+            return (V) element(index);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V set(final int index, final V value) {
+            checkIndex(index, size);
+            final V previous = (V) element(index);
+            element(index, value);
+            return previous;
+        }
+
+        @Override
+        public void add(final int index, final V value) {
+            checkIndex(index, size + 1);
+            if (size > 0 && (rest == null || rest.length < size)) {
+                rest = rest == null ? new Object[2] : Arrays.copyOf(rest, rest.length << 1);
+            }
+            for (int i = size; i > index; i--) {
+                element(i, element(i - 1));
+            }
+            element(index, value);
+            size++;
+            modCount++;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V remove(final int index) {
+            checkIndex(index, size);
+            final V previous = (V) element(index);
+            for (int i = index; i < size - 1; i++) {
+                element(i, element(i + 1));
+            }
+            element(size - 1, null);
+            size--;
+            modCount++;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            first = null;
+            if (rest != null) {
+                Arrays.fill(rest, null);
+            }
+            size = 0;
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
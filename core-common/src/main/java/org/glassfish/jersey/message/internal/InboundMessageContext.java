@@ -89,7 +89,7 @@ public abstract class InboundMessageContext {
     private static final List<AcceptableMediaType> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST =
             Collections.singletonList(MediaTypes.WILDCARD_ACCEPTABLE_TYPE);
 
-    private final MultivaluedMap<String, String> headers;
+    private final HeaderTable<String> headers;
     private final EntityContent entityContent;
     private final boolean translateNce;
     private MessageBodyWorkers workers;
@@ -152,7 +152,7 @@ public abstract class InboundMessageContext {
      *                     as required by JAX-RS specification on the server side.
      */
     public InboundMessageContext(boolean translateNce) {
-        this.headers = HeaderUtils.createInbound();
+        this.headers = new HeaderTable<>();
         this.entityContent = new EntityContent();
         this.translateNce = translateNce;
     }
@@ -267,6 +267,9 @@ public abstract class InboundMessageContext {
         if (values.isEmpty()) {
             return "";
         }
+        if (values.size() == 1) {
+            return values.get(0);
+        }
 
         final Iterator<String> valuesIterator = values.iterator();
         StringBuilder buffer = new StringBuilder(valuesIterator.next());
@@ -281,13 +284,15 @@ public abstract class InboundMessageContext {
      * Get a single typed header value.
      *
      * @param name        header name.
+     * @param valueType   type of the header value. If not {@code null}, the converted value is cached until the header
+     *                    changes. Must be {@code null} in case of mutable value types.
      * @param converter   from string conversion function. Is expected to throw {@link ProcessingException}
      *                    if conversion fails.
      * @param convertNull if {@code true} this method calls the provided converter even for {@code null}. Otherwise this
      *                    method returns the {@code null} without calling the converter.
      * @return value of the header, or (possibly converted) {@code null} if not present.
      */
-    private <T> T singleHeader(String name, Function<String, T> converter, boolean convertNull) {
+    private <T> T singleHeader(String name, Class<T> valueType, Function<String, T> converter, boolean convertNull) {
         final List<String> values = this.headers.get(name);
 
         if (values == null || values.isEmpty()) {
@@ -298,13 +303,13 @@ public abstract class InboundMessageContext {
                     HeaderValueException.Context.INBOUND);
         }
 
-        Object value = values.get(0);
+        final String value = values.get(0);
         if (value == null) {
             return convertNull ? converter.apply(null) : null;
         }
 
         try {
-            return converter.apply(HeaderUtils.asString(value, null));
+            return valueType == null ? converter.apply(value) : headers.convert(name, value, valueType, converter);
         } catch (ProcessingException ex) {
             throw exception(name, value, ex);
         }
@@ -330,7 +335,7 @@ public abstract class InboundMessageContext {
      * @return the message date, otherwise {@code null} if not present.
      */
     public Date getDate() {
-        return singleHeader(HttpHeaders.DATE, new Function<String, Date>() {
+        return singleHeader(HttpHeaders.DATE, null, new Function<String, Date>() {
             @Override
             public Date apply(String input) {
                 try {
@@ -382,7 +387,7 @@ public abstract class InboundMessageContext {
      * @return the language of the entity or {@code null} if not specified.
      */
     public Locale getLanguage() {
-        return singleHeader(HttpHeaders.CONTENT_LANGUAGE, new Function<String, Locale>() {
+        return singleHeader(HttpHeaders.CONTENT_LANGUAGE, Locale.class, new Function<String, Locale>() {
             @Override
             public Locale apply(String input) {
                 try {
@@ -400,7 +405,7 @@ public abstract class InboundMessageContext {
      * @return Content-Length as integer if present and valid number. In other cases returns -1.
      */
     public int getLength() {
-        return singleHeader(HttpHeaders.CONTENT_LENGTH, new Function<String, Integer>() {
+        return singleHeader(HttpHeaders.CONTENT_LENGTH, Integer.class, new Function<String, Integer>() {
             @Override
             public Integer apply(String input) {
                 try {
@@ -419,7 +424,7 @@ public abstract class InboundMessageContext {
      * message entity).
      */
     public MediaType getMediaType() {
-        return singleHeader(HttpHeaders.CONTENT_TYPE, new Function<String, MediaType>() {
+        return singleHeader(HttpHeaders.CONTENT_TYPE, MediaType.class, new Function<String, MediaType>() {
             @Override
             public MediaType apply(String input) {
                 try {
@@ -438,17 +443,7 @@ public abstract class InboundMessageContext {
      * to their q-value, with highest preference first.
      */
     public List<AcceptableMediaType> getQualifiedAcceptableMediaTypes() {
-        final String value = getHeaderString(HttpHeaders.ACCEPT);
-
-        if (value == null || value.isEmpty()) {
-            return WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST;
-        }
-
-        try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value));
-        } catch (ParseException e) {
-            throw exception(HttpHeaders.ACCEPT, value, e);
-        }
+        return qualifiedHeader(HttpHeaders.ACCEPT, WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST, ParsedHeaderCache.ACCEPT);
     }
 
     /**
@@ -458,17 +453,33 @@ public abstract class InboundMessageContext {
      * to their q-value, with highest preference first.
      */
     public List<AcceptableLanguageTag> getQualifiedAcceptableLanguages() {
-        final String value = getHeaderString(HttpHeaders.ACCEPT_LANGUAGE);
+        return qualifiedHeader(HttpHeaders.ACCEPT_LANGUAGE,
+                Collections.singletonList(new AcceptableLanguageTag("*", null)), ParsedHeaderCache.ACCEPT_LANGUAGE);
+    }
+
+    /**
+     * Get a read-only quality-ordered list of the header values. The parsed list is cached until the header changes.
+     *
+     * @param name          header name.
+     * @param defaultValues values returned if the header is not present or empty.
+     * @param cache         global cache of the parsed header values.
+     * @return read-only list of the header values.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> qualifiedHeader(final String name, final List<T> defaultValues, final ParsedHeaderCache<List<T>> cache) {
+        final String value = getHeaderString(name);
 
         if (value == null || value.isEmpty()) {
-            return Collections.singletonList(new AcceptableLanguageTag("*", null));
+            return defaultValues;
         }
 
-        try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(value));
-        } catch (ParseException e) {
-            throw exception(HttpHeaders.ACCEPT_LANGUAGE, value, e);
-        }
+        return headers.convert(name, value, List.class, input -> {
+            try {
+                return cache.parse(input);
+            } catch (ParseException e) {
+                throw exception(name, input, e);
+            }
+        });
     }
 
     /**
@@ -572,7 +583,7 @@ public abstract class InboundMessageContext {
      * @return the entity tag, otherwise {@code null} if not present.
      */
     public EntityTag getEntityTag() {
-        return singleHeader(HttpHeaders.ETAG, new Function<String, EntityTag>() {
+        return singleHeader(HttpHeaders.ETAG, EntityTag.class, new Function<String, EntityTag>() {
             @Override
             public EntityTag apply(String value) {
                 return EntityTag.valueOf(value);
@@ -586,7 +597,7 @@ public abstract class InboundMessageContext {
      * @return the last modified date, otherwise {@code null} if not present.
      */
     public Date getLastModified() {
-        return singleHeader(HttpHeaders.LAST_MODIFIED, new Function<String, Date>() {
+        return singleHeader(HttpHeaders.LAST_MODIFIED, null, new Function<String, Date>() {
             @Override
             public Date apply(String input) {
                 try {
@@ -604,7 +615,7 @@ public abstract class InboundMessageContext {
      * @return the location URI, otherwise {@code null} if not present.
      */
     public URI getLocation() {
-        return singleHeader(HttpHeaders.LOCATION, new Function<String, URI>() {
+        return singleHeader(HttpHeaders.LOCATION, URI.class, new Function<String, URI>() {
             @Override
             public URI apply(String value) {
                 try {
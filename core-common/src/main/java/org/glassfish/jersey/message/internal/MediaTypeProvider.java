@@ -64,7 +64,7 @@ public class MediaTypeProvider implements HeaderDelegateProvider<MediaType> {
         throwIllegalArgumentExceptionIfNull(header, MEDIA_TYPE_IS_NULL);
 
         try {
-            return valueOf(HttpHeaderReader.newInstance(header));
+            return ParsedHeaderCache.CONTENT_TYPE.parse(header);
         } catch (ParseException ex) {
             throw new IllegalArgumentException(
                     "Error parsing media type '" + header + "'", ex);
@@ -68,6 +68,7 @@ import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper.DeclaringClassInterfacePair;
+import org.glassfish.jersey.internal.util.collection.BoundedCache;
 import org.glassfish.jersey.internal.util.collection.DataStructures;
 import org.glassfish.jersey.internal.util.collection.KeyComparator;
 import org.glassfish.jersey.internal.util.collection.KeyComparatorHashMap;
@@ -176,8 +177,9 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     private List<ReaderModel> readers;
     private List<WriterModel> writers;
 
-    private final Map<MediaType, List<MessageBodyReader>> readersCache = new KeyComparatorHashMap<>(MEDIA_TYPE_KEY_COMPARATOR);
-    private final Map<MediaType, List<MessageBodyWriter>> writersCache = new KeyComparatorHashMap<>(MEDIA_TYPE_KEY_COMPARATOR);
+    // populated during the initialization only, read-only afterwards
+    private Map<MediaType, List<MessageBodyReader>> readersCache = Collections.emptyMap();
+    private Map<MediaType, List<MessageBodyWriter>> writersCache = Collections.emptyMap();
 
     private static final int LOOKUP_CACHE_INITIAL_CAPACITY = 32;
     private static final float LOOKUP_CACHE_LOAD_FACTOR = 0.75f;
@@ -191,10 +193,8 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     private final Map<Class<?>, List<MediaType>> typeToMediaTypeWritersCache = new ConcurrentHashMap<>(
             LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
 
-    private final Map<ModelLookupKey, List<ReaderModel>> mbrLookupCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
-    private final Map<ModelLookupKey, List<WriterModel>> mbwLookupCache = new ConcurrentHashMap<>(
-            LOOKUP_CACHE_INITIAL_CAPACITY, LOOKUP_CACHE_LOAD_FACTOR, DataStructures.DEFAULT_CONCURENCY_LEVEL);
+    private final BoundedCache<ModelLookupKey, List<ReaderModel>> mbrLookupCache;
+    private final BoundedCache<ModelLookupKey, List<WriterModel>> mbwLookupCache;
 
     /**
      * Create a new message body factory.
@@ -204,6 +204,17 @@ public class MessageBodyFactory implements MessageBodyWorkers {
     public MessageBodyFactory(Configuration configuration) {
         this.legacyProviderOrdering = configuration != null
                 && PropertiesHelper.isProperty(configuration.getProperty(MessageProperties.LEGACY_WORKERS_ORDERING));
+
+        int lookupCacheSize = configuration == null ? MessageProperties.WORKERS_DEFAULT_LOOKUP_CACHE_SIZE
+                : PropertiesHelper.getValue(configuration.getProperties(), MessageProperties.WORKERS_LOOKUP_CACHE_SIZE,
+                        MessageProperties.WORKERS_DEFAULT_LOOKUP_CACHE_SIZE, Integer.class, null);
+        if (lookupCacheSize <= 0) {
+            LOGGER.log(Level.CONFIG, LocalizationMessages.MESSAGE_BODY_WORKERS_LOOKUP_CACHE_INVALID_SIZE(lookupCacheSize,
+                    MessageProperties.WORKERS_DEFAULT_LOOKUP_CACHE_SIZE));
+            lookupCacheSize = MessageProperties.WORKERS_DEFAULT_LOOKUP_CACHE_SIZE;
+        }
+        this.mbrLookupCache = new BoundedCache<>(lookupCacheSize);
+        this.mbwLookupCache = new BoundedCache<>(lookupCacheSize);
     }
 
     /**
@@ -225,6 +236,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         if (legacyProviderOrdering) {
             readers.sort(new LegacyWorkerComparator<>(MessageBodyReader.class));
 
+            final Map<MediaType, List<MessageBodyReader>> readersCache = new KeyComparatorHashMap<>(MEDIA_TYPE_KEY_COMPARATOR);
             for (final ReaderModel model : readers) {
                 for (final MediaType mt : model.declaredTypes()) {
                     List<MessageBodyReader> readerList = readersCache.get(mt);
@@ -236,6 +248,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                     readerList.add(model.provider());
                 }
             }
+            this.readersCache = readersCache;
         }
 
         // Initialize writers
@@ -251,6 +264,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         if (legacyProviderOrdering) {
             writers.sort(new LegacyWorkerComparator<>(MessageBodyWriter.class));
 
+            final Map<MediaType, List<MessageBodyWriter>> writersCache = new KeyComparatorHashMap<>(MEDIA_TYPE_KEY_COMPARATOR);
             for (final AbstractEntityProviderModel<MessageBodyWriter> model : writers) {
                 for (final MediaType mt : model.declaredTypes()) {
                     List<MessageBodyWriter> writerList = writersCache.get(mt);
@@ -262,6 +276,7 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                     writerList.add(model.provider());
                 }
             }
+            this.writersCache = writersCache;
         }
     }
 
@@ -511,6 +526,24 @@ public class MessageBodyFactory implements MessageBodyWorkers {
         }
     }
 
+    /**
+     * Get the statistics of the cache of {@link MessageBodyReader message body readers} lookups by entity class and media type.
+     *
+     * @return message body reader lookup cache statistics.
+     */
+    public BoundedCache.Statistics getReaderLookupCacheStatistics() {
+        return mbrLookupCache.statistics();
+    }
+
+    /**
+     * Get the statistics of the cache of {@link MessageBodyWriter message body writers} lookups by entity class and media type.
+     *
+     * @return message body writer lookup cache statistics.
+     */
+    public BoundedCache.Statistics getWriterLookupCacheStatistics() {
+        return mbwLookupCache.statistics();
+    }
+
     private static void addReaders(final List<ReaderModel> models, final Set<MessageBodyReader> readers, final boolean custom) {
         for (final MessageBodyReader provider : readers) {
             final List<MediaType> values = MediaTypes.createFrom(provider.getClass().getAnnotation(Consumes.class));
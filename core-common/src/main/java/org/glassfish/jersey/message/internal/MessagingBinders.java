@@ -70,11 +70,13 @@ public final class MessagingBinders {
 
             // Message body providers (both readers & writers)
             bindSingletonWorker(ByteArrayProvider.class);
+            bindSingletonWorker(ByteBufferProvider.class);
             bindSingletonWorker(DataSourceProvider.class);
             bindSingletonWorker(FileProvider.class);
             bindSingletonWorker(FormMultivaluedMapProvider.class);
             bindSingletonWorker(FormProvider.class);
             bindSingletonWorker(InputStreamProvider.class);
+            bindSingletonWorker(PathProvider.class);
             bindSingletonWorker(BasicTypesMessageProvider.class);
             bindSingletonWorker(ReaderProvider.class);
             bindSingletonWorker(RenderedImageProvider.class);
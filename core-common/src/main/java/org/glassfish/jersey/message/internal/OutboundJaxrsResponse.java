@@ -159,12 +159,8 @@ public class OutboundJaxrsResponse extends javax.ws.rs.core.Response {
         }
         final InputStream in = InputStream.class.cast(context.getEntity());
         final ByteArrayOutputStream out = new ByteArrayOutputStream();
-        byte[] buffer = new byte[1024];
-        int len;
         try {
-            while ((len = in.read(buffer)) != -1) {
-                out.write(buffer, 0, len);
-            }
+            ReaderWriter.writeTo(in, out);
         } catch (IOException ex) {
             throw new ProcessingException(ex);
         } finally {
@@ -63,7 +63,7 @@ public class OutboundMessageContext {
     private static final List<MediaType> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST =
             Collections.<MediaType>singletonList(MediaTypes.WILDCARD_ACCEPTABLE_TYPE);
 
-    private final MultivaluedMap<String, Object> headers;
+    private final HeaderTable<Object> headers;
     private final CommittingOutputStream committingOutputStream;
 
     private Object entity;
@@ -97,7 +97,7 @@ public class OutboundMessageContext {
      * Create new outbound message context.
      */
     public OutboundMessageContext() {
-        this.headers = HeaderUtils.createOutbound();
+        this.headers = new HeaderTable<>();
         this.committingOutputStream = new CommittingOutputStream();
         this.entityStream = committingOutputStream;
     }
@@ -109,7 +109,7 @@ public class OutboundMessageContext {
      * @param original the original outbound message context.
      */
     public OutboundMessageContext(OutboundMessageContext original) {
-        this.headers = HeaderUtils.createOutbound();
+        this.headers = new HeaderTable<>();
         this.headers.putAll(original.headers);
         this.committingOutputStream = new CommittingOutputStream();
         this.entityStream = committingOutputStream;
@@ -166,7 +166,7 @@ public class OutboundMessageContext {
      *
      * @param <T>         header value type.
      * @param name        header name.
-     * @param valueType   header value class.
+     * @param valueType   header value class. Values converted from a string are cached until the header changes.
      * @param converter   from string conversion function. Is expected to throw {@link ProcessingException}
      *                    if conversion fails.
      * @param convertNull if {@code true} this method calls the provided converter even for {@code null}. Otherwise this
@@ -194,7 +194,10 @@ public class OutboundMessageContext {
             return valueType.cast(value);
         } else {
             try {
-                return converter.apply(HeaderUtils.asString(value, null));
+                // cache the values converted from the immutable strings, except for the mutable dates
+                return value instanceof String && valueType != Date.class
+                        ? headers.convert(name, (String) value, valueType, converter)
+                        : converter.apply(HeaderUtils.asString(value, null));
             } catch (ProcessingException ex) {
                 throw exception(name, value, ex);
             }
@@ -279,7 +282,7 @@ public class OutboundMessageContext {
                     result.add(_value);
                 } else {
                     conversionApplied = true;
-                    result.addAll(HttpHeaderReader.readAcceptMediaType(HeaderUtils.asString(value, rd)));
+                    result.addAll(ParsedHeaderCache.ACCEPT.parse(HeaderUtils.asString(value, rd)));
                 }
             } catch (java.text.ParseException e) {
                 throw exception(HttpHeaders.ACCEPT, value, e);
@@ -319,7 +322,7 @@ public class OutboundMessageContext {
             } else {
                 conversionApplied = true;
                 try {
-                    result.addAll(HttpHeaderReader.readAcceptLanguage(HeaderUtils.asString(value, rd))
+                    result.addAll(ParsedHeaderCache.ACCEPT_LANGUAGE.parse(HeaderUtils.asString(value, rd))
                                                   .stream()
                                                   .map(LanguageTag::getAsLocale)
                                                   .collect(Collectors.toList()));
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.security.AccessController;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.collection.BoundedCache;
+import org.glassfish.jersey.message.MessageProperties;
+
+/**
+ * Global bounded cache of parsed header values.
+ * <p>
+ * Real-world clients send only a handful of distinct {@code Accept}, {@code Accept-Language} or {@code Content-Type}
+ * header values, so the immutable results of parsing these values are shared among all messages. Parse failures
+ * and header values longer than {@value #MAX_VALUE_LENGTH} characters are not cached.
+ * </p>
+ * <p>
+ * The size of each cache is limited by the {@link MessageProperties#HEADER_CACHE_SIZE} system property. The values
+ * are kept in a {@link BoundedCache}, so once the limit is reached, the values that have not been used recently are
+ * evicted. Cache lookups do not lock. The {@link #getStatistics() cache statistics} are exposed by the server monitoring.
+ * </p>
+ *
+ * @param <T> parsed header value type.
+ */
+public final class ParsedHeaderCache<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(ParsedHeaderCache.class.getName());
+
+    /**
+     * The maximum length of a cached header value.
+     */
+    static final int MAX_VALUE_LENGTH = 1024;
+
+    private static final int MAXIMUM_SIZE = readMaximumSize();
+
+    /**
+     * Cache of the parsed {@code Accept} header values.
+     */
+    public static final ParsedHeaderCache<List<AcceptableMediaType>> ACCEPT = new ParsedHeaderCache<>(MAXIMUM_SIZE,
+            value -> Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value)));
+
+    /**
+     * Cache of the parsed {@code Accept-Language} header values.
+     */
+    public static final ParsedHeaderCache<List<AcceptableLanguageTag>> ACCEPT_LANGUAGE = new ParsedHeaderCache<>(MAXIMUM_SIZE,
+            value -> Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(value)));
+
+    /**
+     * Cache of the parsed {@code Content-Type} header values.
+     */
+    public static final ParsedHeaderCache<MediaType> CONTENT_TYPE = new ParsedHeaderCache<>(MAXIMUM_SIZE,
+            value -> MediaTypeProvider.valueOf(HttpHeaderReader.newInstance(value)));
+
+    /**
+     * Header value parser.
+     *
+     * @param <T> parsed header value type.
+     */
+    @FunctionalInterface
+    interface Parser<T> {
+
+        /**
+         * Parse the header value.
+         *
+         * @param value header value.
+         * @return immutable parsed header value.
+         * @throws ParseException in case of a header parsing error.
+         */
+        T parse(String value) throws ParseException;
+    }
+
+    private final BoundedCache<String, T> cache;
+    private final Parser<T> parser;
+
+    /**
+     * Create new parsed header cache.
+     *
+     * @param maximumSize maximum number of cached values. If not positive, the parsed values are not cached.
+     * @param parser      header value parser producing immutable values.
+     */
+    ParsedHeaderCache(final int maximumSize, final Parser<T> parser) {
+        this.cache = maximumSize > 0 ? new BoundedCache<>(maximumSize) : null;
+        this.parser = parser;
+    }
+
+    private static int readMaximumSize() {
+        final String value = AccessController.doPrivileged(
+                PropertiesHelper.getSystemProperty(MessageProperties.HEADER_CACHE_SIZE));
+        if (value != null) {
+            try {
+                final int size = Integer.parseInt(value);
+                if (size >= 0) {
+                    return size;
+                }
+            } catch (NumberFormatException e) {
+                // invalid value logged below
+            }
+            LOGGER.log(Level.CONFIG,
+                    LocalizationMessages.HEADER_CACHE_INVALID_SIZE(value, MessageProperties.HEADER_DEFAULT_CACHE_SIZE));
+        }
+        return MessageProperties.HEADER_DEFAULT_CACHE_SIZE;
+    }
+
+    /**
+     * Get the parsed header value.
+     *
+     * @param value header value.
+     * @return immutable parsed header value, possibly shared with other callers.
+     * @throws ParseException in case of a header parsing error.
+     */
+    public T parse(final String value) throws ParseException {
+        if (cache == null || value.length() > MAX_VALUE_LENGTH) {
+            return parser.parse(value);
+        }
+
+        T parsed = cache.get(value);
+        if (parsed == null) {
+            parsed = parser.parse(value);
+            cache.put(value, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * Get the snapshot of the cache statistics. The header values that are not cached (because the caching is disabled
+     * or because they are too long) are not counted.
+     *
+     * @return current cache statistics.
+     */
+    public BoundedCache.Statistics getStatistics() {
+        return cache == null ? BoundedCache.Statistics.EMPTY : cache.statistics();
+    }
+
+    @Override
+    public String toString() {
+        final BoundedCache.Statistics statistics = getStatistics();
+        return "ParsedHeaderCache{size=" + statistics.getSize() + ", maximumSize=" + statistics.getMaximumSize()
+                + ", hits=" + statistics.getHitCount() + ", misses=" + statistics.getMissCount()
+                + ", evictions=" + statistics.getEvictionCount() + '}';
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import javax.inject.Singleton;
+
+/**
+ * Provider for marshalling/un-marshalling of {@code application/octet-stream}
+ * entity type to/from a {@link Path} instance.
+ * <p>
+ * Files of the default file system are transferred to the {@link ZeroCopyOutput entity output} directly if supported.
+ * An un-marshalled entity is stored in a temporary file.
+ * </p>
+ */
+@Produces({"application/octet-stream", "*/*"})
+@Consumes({"application/octet-stream", "*/*"})
+@Singleton
+public final class PathProvider extends AbstractMessageReaderWriterProvider<Path> {
+
+    @Override
+    public boolean isReadable(final Class<?> type,
+                              final Type genericType,
+                              final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return Path.class == type;
+    }
+
+    @Override
+    public Path readFrom(final Class<Path> type,
+                         final Type genericType,
+                         final Annotation[] annotations,
+                         final MediaType mediaType,
+                         final MultivaluedMap<String, String> httpHeaders,
+                         final InputStream entityStream) throws IOException {
+        final Path path = Utils.createTempFile().toPath();
+
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            writeTo(entityStream, stream);
+        }
+
+        return path;
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type,
+                               final Type genericType,
+                               final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return Path.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(final Path t,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException {
+        if (entityStream instanceof ZeroCopyOutput
+                && t.getFileSystem() == FileSystems.getDefault()
+                && Files.isRegularFile(t)
+                && ((ZeroCopyOutput) entityStream).transferFile(t.toFile(), 0, Files.size(t))) {
+            return;
+        }
+
+        try (InputStream stream = Files.newInputStream(t)) {
+            writeTo(stream, entityStream);
+        }
+    }
+
+    @Override
+    public long getSize(final Path t,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType) {
+        try {
+            return Files.size(t);
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+}
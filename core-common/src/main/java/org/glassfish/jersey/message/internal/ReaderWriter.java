@@ -34,7 +34,9 @@ import javax.ws.rs.core.MediaType;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.message.MessageProperties;
+import org.glassfish.jersey.spi.BufferPool;
 
 /**
  * A utility class for reading and writing using byte and character streams.
@@ -43,6 +45,9 @@ import org.glassfish.jersey.message.MessageProperties;
  * is by default the value of {@value org.glassfish.jersey.message.MessageProperties#IO_DEFAULT_BUFFER_SIZE}.
  * This value can be set using the system property
  * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE}.
+ * <p>
+ * The arrays are acquired from the {@link #BUFFER_POOL buffer pool} selected using the system property
+ * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_POOL}.
  *
  * @author Paul Sandoz
  */
@@ -57,6 +62,10 @@ public final class ReaderWriter {
      * The buffer size for arrays of byte and character.
      */
     public static final int BUFFER_SIZE = getBufferSize();
+    /**
+     * The pool of byte and character arrays used to copy streams.
+     */
+    public static final BufferPool BUFFER_POOL = getBufferPool();
 
     private static int getBufferSize() {
         // TODO should we unify this buffer size and CommittingOutputStream buffer size (controlled by CommonProperties.OUTBOUND_CONTENT_LENGTH_BUFFER)?
@@ -79,6 +88,53 @@ public final class ReaderWriter {
         return MessageProperties.IO_DEFAULT_BUFFER_SIZE;
     }
 
+    private static BufferPool getBufferPool() {
+        final String value = AccessController.doPrivileged(PropertiesHelper.getSystemProperty(MessageProperties.IO_BUFFER_POOL));
+        if (value == null || MessageProperties.IO_BUFFER_POOL_STRIPED.equals(value)) {
+            return new StripedBufferPool();
+        }
+        if (MessageProperties.IO_BUFFER_POOL_NONE.equals(value)) {
+            return new AllocatingBufferPool();
+        }
+
+        try {
+            final Class<?> poolClass = AccessController.doPrivileged(ReflectionHelper.classForNamePA(value));
+            if (poolClass != null && BufferPool.class.isAssignableFrom(poolClass)) {
+                return (BufferPool) poolClass.newInstance();
+            }
+            LOGGER.log(Level.CONFIG,
+                    LocalizationMessages.IO_BUFFER_POOL_INVALID(value, MessageProperties.IO_BUFFER_POOL_STRIPED));
+        } catch (InstantiationException | IllegalAccessException | RuntimeException e) {
+            LOGGER.log(Level.CONFIG,
+                    LocalizationMessages.IO_BUFFER_POOL_INVALID(value, MessageProperties.IO_BUFFER_POOL_STRIPED), e);
+        }
+        return new StripedBufferPool();
+    }
+
+    /**
+     * Buffer pool that allocates a new buffer for every acquisition.
+     */
+    private static final class AllocatingBufferPool implements BufferPool {
+
+        @Override
+        public byte[] acquireByteBuffer() {
+            return new byte[BUFFER_SIZE];
+        }
+
+        @Override
+        public void releaseByteBuffer(final byte[] buffer) {
+        }
+
+        @Override
+        public char[] acquireCharBuffer() {
+            return new char[BUFFER_SIZE];
+        }
+
+        @Override
+        public void releaseCharBuffer(final char[] buffer) {
+        }
+    }
+
     /**
      * Read bytes from an input stream and write them to an output stream.
      *
@@ -88,9 +144,13 @@ public final class ReaderWriter {
      */
     public static void writeTo(InputStream in, OutputStream out) throws IOException {
         int read;
-        final byte[] data = new byte[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1) {
-            out.write(data, 0, read);
+        final byte[] data = BUFFER_POOL.acquireByteBuffer();
+        try {
+            while ((read = in.read(data)) != -1) {
+                out.write(data, 0, read);
+            }
+        } finally {
+            BUFFER_POOL.releaseByteBuffer(data);
         }
     }
 
@@ -103,9 +163,13 @@ public final class ReaderWriter {
      */
     public static void writeTo(Reader in, Writer out) throws IOException {
         int read;
-        final char[] data = new char[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1) {
-            out.write(data, 0, read);
+        final char[] data = BUFFER_POOL.acquireCharBuffer();
+        try {
+            while ((read = in.read(data)) != -1) {
+                out.write(data, 0, read);
+            }
+        } finally {
+            BUFFER_POOL.releaseCharBuffer(data);
         }
     }
 
@@ -147,10 +211,14 @@ public final class ReaderWriter {
      */
     public static String readFromAsString(Reader reader) throws IOException {
         StringBuilder sb = new StringBuilder();
-        char[] c = new char[BUFFER_SIZE];
-        int l;
-        while ((l = reader.read(c)) != -1) {
-            sb.append(c, 0, l);
+        char[] c = BUFFER_POOL.acquireCharBuffer();
+        try {
+            int l;
+            while ((l = reader.read(c)) != -1) {
+                sb.append(c, 0, l);
+            }
+        } finally {
+            BUFFER_POOL.releaseCharBuffer(c);
         }
         return sb.toString();
     }
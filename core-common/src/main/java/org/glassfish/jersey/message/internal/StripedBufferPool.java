@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.glassfish.jersey.spi.BufferPool;
+
+/**
+ * Default {@link BufferPool buffer pool} implementation.
+ * <p>
+ * The pool keeps at most one byte and one character buffer per stripe. The number of stripes is derived from
+ * the number of available processors and a stripe is selected by the id of the current thread, so threads
+ * rarely compete for the same pooled buffer. Acquisition and release never block; if the stripe of the current
+ * thread is empty a new buffer is allocated and a released buffer simply replaces the buffer pooled in the stripe,
+ * if any. The pooled memory is thus bounded regardless of the number of threads.
+ * </p>
+ */
+public final class StripedBufferPool implements BufferPool {
+
+    private final int bufferSize;
+    private final int mask;
+    private final AtomicReferenceArray<byte[]> byteBuffers;
+    private final AtomicReferenceArray<char[]> charBuffers;
+
+    /**
+     * Create new pool of buffers of the {@link ReaderWriter#BUFFER_SIZE default size}.
+     */
+    public StripedBufferPool() {
+        this(ReaderWriter.BUFFER_SIZE, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Create new pool.
+     *
+     * @param bufferSize size of the pooled buffers.
+     * @param stripes    minimal number of stripes.
+     */
+    StripedBufferPool(final int bufferSize, final int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+
+        this.bufferSize = bufferSize;
+        this.mask = size - 1;
+        this.byteBuffers = new AtomicReferenceArray<>(size);
+        this.charBuffers = new AtomicReferenceArray<>(size);
+    }
+
+    private int stripe() {
+        final long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 32)) & mask;
+    }
+
+    @Override
+    public byte[] acquireByteBuffer() {
+        final byte[] buffer = byteBuffers.getAndSet(stripe(), null);
+        return buffer != null ? buffer : new byte[bufferSize];
+    }
+
+    @Override
+    public void releaseByteBuffer(final byte[] buffer) {
+        if (buffer.length == bufferSize) {
+            byteBuffers.lazySet(stripe(), buffer);
+        }
+    }
+
+    @Override
+    public char[] acquireCharBuffer() {
+        final char[] buffer = charBuffers.getAndSet(stripe(), null);
+        return buffer != null ? buffer : new char[bufferSize];
+    }
+
+    @Override
+    public void releaseCharBuffer(final char[] buffer) {
+        if (buffer.length == bufferSize) {
+            charBuffers.lazySet(stripe(), buffer);
+        }
+    }
+}
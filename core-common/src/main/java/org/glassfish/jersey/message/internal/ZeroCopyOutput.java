@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Entity output able to transfer a file region or a byte buffer to the underlying I/O layer directly, without copying
+ * the content through a byte array.
+ * <p>
+ * Entity streams passed to {@link javax.ws.rs.ext.MessageBodyWriter message body writers} may implement this interface.
+ * A transferred file region or byte buffer always represents the complete message entity, i.e. the transfer may only be
+ * attempted if nothing has been written to the entity stream before and nothing may be written to the entity stream
+ * after a successful transfer. If the transfer is not possible, the methods return {@code false} without any side effects
+ * on the entity and the caller is expected to write the same content to the entity stream.
+ * </p>
+ *
+ * @since 2.29
+ */
+public interface ZeroCopyOutput {
+
+    /**
+     * Transfer the file region as the complete message entity.
+     *
+     * @param file     file to be transferred.
+     * @param position position of the first transferred byte in the file.
+     * @param count    number of bytes to be transferred.
+     * @return {@code true} if the file region has been transferred, {@code false} if the transfer is not supported
+     * and the file region should be written to the entity stream.
+     * @throws IOException in case of the I/O error.
+     */
+    boolean transferFile(File file, long position, long count) throws IOException;
+
+    /**
+     * Transfer the remaining content of the byte buffer as the complete message entity.
+     * <p>
+     * The position of the buffer is not modified.
+     * </p>
+     *
+     * @param buffer byte buffer to be transferred.
+     * @return {@code true} if the buffer has been transferred, {@code false} if the transfer is not supported
+     * and the buffer content should be written to the entity stream.
+     * @throws IOException in case of the I/O error.
+     */
+    boolean transferBuffer(ByteBuffer buffer) throws IOException;
+}
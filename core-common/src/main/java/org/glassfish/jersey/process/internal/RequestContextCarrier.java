@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.process.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.security.AccessController;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+
+/**
+ * Carries the {@link RequestContext request scope context} of the request-scoped task running on the current thread.
+ * <p>
+ * The context is bound to the current thread only for the duration of the {@link #call(RequestContext, ScopedTask) task}
+ * and the previously bound context (if any) is restored once the task finishes.
+ * </p>
+ */
+abstract class RequestContextCarrier {
+
+    private static final Logger LOGGER = Logger.getLogger(RequestContextCarrier.class.getName());
+
+    /**
+     * Task run by the carrier with a request scope context bound to the current thread.
+     *
+     * @param <T> task result type.
+     * @param <E> type of the exception thrown by the task.
+     */
+    interface ScopedTask<T, E extends Exception> {
+
+        /**
+         * Run the task.
+         *
+         * @return task result.
+         * @throws E in case the task fails.
+         */
+        T call() throws E;
+    }
+
+    /**
+     * Get the request scope context bound to the current thread.
+     *
+     * @return current request scope context or {@code null} if no context is bound to the current thread.
+     */
+    abstract RequestContext current();
+
+    /**
+     * Run the task with the request scope context bound to the current thread.
+     *
+     * @param context request scope context to be bound to the current thread while running the task.
+     * @param task    task to be run.
+     * @param <T>     task result type.
+     * @param <E>     type of the exception thrown by the task.
+     * @return task result.
+     * @throws E in case the task fails.
+     */
+    abstract <T, E extends Exception> T call(RequestContext context, ScopedTask<T, E> task) throws E;
+
+    /**
+     * Create new request scope context carrier as selected by the {@value CommonProperties#REQUEST_SCOPE_CONTEXT_CARRIER}
+     * system property.
+     *
+     * @return new request scope context carrier.
+     */
+    static RequestContextCarrier create() {
+        final String carrier = AccessController.doPrivileged(
+                PropertiesHelper.getSystemProperty(CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER));
+
+        if (carrier == null || CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER_THREAD.equals(carrier)) {
+            return new ThreadCarrier();
+        } else if (CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER_SCOPED_VALUE.equals(carrier)) {
+            try {
+                return new ScopedValueCarrier();
+            } catch (final Throwable t) {
+                LOGGER.log(Level.CONFIG, LocalizationMessages.REQUEST_SCOPE_CONTEXT_CARRIER_UNAVAILABLE(carrier), t);
+                return new ThreadCarrier();
+            }
+        }
+
+        LOGGER.warning(LocalizationMessages.REQUEST_SCOPE_CONTEXT_CARRIER_INVALID(carrier));
+        return new ThreadCarrier();
+    }
+
+    /**
+     * Request scope context carrier keeping the context in a per-thread holder.
+     * <p>
+     * The holder is stored in a thread local variable once per thread, running a task on a thread that already
+     * has the holder only swaps the holder content.
+     * </p>
+     */
+    static final class ThreadCarrier extends RequestContextCarrier {
+
+        private static final class Holder {
+
+            private RequestContext context;
+        }
+
+        private final ThreadLocal<Holder> holder = new ThreadLocal<>();
+
+        @Override
+        RequestContext current() {
+            final Holder current = holder.get();
+            return current == null ? null : current.context;
+        }
+
+        @Override
+        <T, E extends Exception> T call(final RequestContext context, final ScopedTask<T, E> task) throws E {
+            Holder current = holder.get();
+            if (current == null) {
+                current = new Holder();
+                holder.set(current);
+            }
+
+            final RequestContext oldContext = current.context;
+            current.context = context;
+            try {
+                return task.call();
+            } finally {
+                current.context = oldContext;
+            }
+        }
+    }
+
+    /**
+     * Request scope context carrier binding the context to a {@code java.lang.ScopedValue}.
+     * <p>
+     * Scoped values are only available on the newer JDKs, hence the carrier accesses the scoped value API reflectively.
+     * No thread local variable is involved in carrying the context.
+     * </p>
+     */
+    static final class ScopedValueCarrier extends RequestContextCarrier {
+
+        private static final MethodHandle NEW_INSTANCE;
+        private static final MethodHandle IS_BOUND;
+        private static final MethodHandle GET;
+        private static final MethodHandle WHERE;
+        private static final MethodHandle RUN;
+        private static final Throwable UNAVAILABLE;
+
+        static {
+            MethodHandle newInstance = null;
+            MethodHandle isBound = null;
+            MethodHandle get = null;
+            MethodHandle where = null;
+            MethodHandle run = null;
+            Throwable unavailable = null;
+            try {
+                final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                final Class<?> scopedValueClass = Class.forName("java.lang.ScopedValue");
+                final Class<?> carrierClass = Class.forName("java.lang.ScopedValue$Carrier");
+
+                newInstance = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass));
+                isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class));
+                get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class));
+                where = lookup.findStatic(scopedValueClass, "where",
+                        MethodType.methodType(carrierClass, scopedValueClass, Object.class));
+                run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class));
+            } catch (final Throwable t) {
+                unavailable = t;
+            }
+            NEW_INSTANCE = newInstance;
+            IS_BOUND = isBound;
+            GET = get;
+            WHERE = where;
+            RUN = run;
+            UNAVAILABLE = unavailable;
+        }
+
+        private final Object scopedValue;
+
+        /**
+         * Create new scoped value carrier.
+         *
+         * @throws Throwable in case the scoped values are not available.
+         */
+        ScopedValueCarrier() throws Throwable {
+            if (UNAVAILABLE != null) {
+                throw UNAVAILABLE;
+            }
+            this.scopedValue = NEW_INSTANCE.invoke();
+
+            // fail early, e.g. if the scoped values are a disabled preview feature
+            current();
+        }
+
+        @Override
+        RequestContext current() {
+            try {
+                return (boolean) IS_BOUND.invoke(scopedValue) ? (RequestContext) GET.invoke(scopedValue) : null;
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        @Override
+        <T, E extends Exception> T call(final RequestContext context, final ScopedTask<T, E> task) throws E {
+            final Object[] result = new Object[1];
+            final Throwable[] failure = new Throwable[1];
+            try {
+                RUN.invoke(WHERE.invoke(scopedValue, context), (Runnable) () -> {
+                    try {
+                        result[0] = task.call();
+                    } catch (final Throwable t) {
+                        failure[0] = t;
+                    }
+                });
+            } catch (final RuntimeException | Error e) {
+                throw e;
+            } catch (final Throwable t) {
+                throw new IllegalStateException(t);
+            }
+
+            if (failure[0] != null) {
+                // the task may only throw E or an unchecked exception
+                throw ScopedValueCarrier.<E>sneakyThrow(failure[0]);
+            }
+
+            @SuppressWarnings("unchecked")
+            final T t = (T) result[0];
+            return t;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E extends Exception> E sneakyThrow(final Throwable t) throws E {
+            throw (E) t;
+        }
+    }
+}
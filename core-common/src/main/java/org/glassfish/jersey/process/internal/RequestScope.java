@@ -96,6 +96,12 @@ import static org.glassfish.jersey.internal.guava.Preconditions.checkState;
  * which may change it's state during each request-scoped task execution for
  * which this scope context is used.
  * </p>
+ * <p>
+ * The current request scope context is carried along with the running task as selected by the
+ * {@value org.glassfish.jersey.CommonProperties#REQUEST_SCOPE_CONTEXT_CARRIER} system property. The context is
+ * never propagated to other threads implicitly, tasks running on other threads have to be run in the scope
+ * context retrieved explicitly via {@link #referenceCurrent()} or {@link #suspendCurrent()}.
+ * </p>
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  * @author Miroslav Fuksa
@@ -105,9 +111,9 @@ public abstract class RequestScope {
     private static final ExtendedLogger logger = new ExtendedLogger(Logger.getLogger(RequestScope.class.getName()), Level.FINEST);
 
     /**
-     * A thread local copy of the current scope context.
+     * Carrier of the current scope context.
      */
-    private final ThreadLocal<RequestContext> currentRequestContext = new ThreadLocal<>();
+    private final RequestContextCarrier currentRequestContext = RequestContextCarrier.create();
     private volatile boolean isActive = true;
 
     public boolean isActive() {
@@ -149,7 +155,7 @@ public abstract class RequestScope {
     public RequestContext current() {
         checkState(isActive, "Request scope has been already shut down.");
 
-        final RequestContext scopeInstance = currentRequestContext.get();
+        final RequestContext scopeInstance = currentRequestContext.current();
         checkState(scopeInstance != null, "Not inside a request scope.");
 
         return scopeInstance;
@@ -157,7 +163,7 @@ public abstract class RequestScope {
 
     private RequestContext retrieveCurrent() {
         checkState(isActive, "Request scope has been already shut down.");
-        return currentRequestContext.get();
+        return currentRequestContext.current();
     }
 
     /**
@@ -219,22 +225,22 @@ public abstract class RequestScope {
     public abstract RequestContext createContext();
 
     /**
-     * Stores the provided {@link RequestContext} to thread-local variable belonging to current request scope.
+     * Executes the action when the provided {@link RequestContext} becomes the current context of the request scope.
      *
-     * @param context storage with request scoped objects.
+     * @param context    storage with request scoped objects.
+     * @param oldContext previously current storage with request scoped objects or {@code null}.
      */
     protected void activate(RequestContext context, RequestContext oldContext) {
         checkState(isActive, "Request scope has been already shut down.");
-        currentRequestContext.set(context);
     }
 
     /**
-     * Resumes the provided {@link RequestContext} to thread-local variable belonging to current request scope.
+     * Executes the action when the provided {@link RequestContext} becomes the current context of the request scope again
+     * once a task running in another context has finished.
      *
-     * @param context storage with request scoped objects.
+     * @param context storage with request scoped objects or {@code null}.
      */
     protected void resume(RequestContext context) {
-        currentRequestContext.set(context);
     }
 
     /**
@@ -260,13 +266,10 @@ public abstract class RequestScope {
      */
     public void runInScope(RequestContext context, Runnable task) {
         final RequestContext oldContext = retrieveCurrent();
-        try {
-            activate(context.getReference(), oldContext);
+        runInScope(context.getReference(), oldContext, () -> {
             Errors.process(task);
-        } finally {
-            release(context);
-            resume(oldContext);
-        }
+            return null;
+        });
     }
 
     /**
@@ -282,14 +285,10 @@ public abstract class RequestScope {
      */
     public void runInScope(Runnable task) {
         final RequestContext oldContext = retrieveCurrent();
-        final RequestContext context = createContext();
-        try {
-            activate(context, oldContext);
+        runInScope(createContext(), oldContext, () -> {
             Errors.process(task);
-        } finally {
-            release(context);
-            resume(oldContext);
-        }
+            return null;
+        });
     }
 
     /**
@@ -309,13 +308,7 @@ public abstract class RequestScope {
      */
     public <T> T runInScope(RequestContext context, Callable<T> task) throws Exception {
         final RequestContext oldContext = retrieveCurrent();
-        try {
-            activate(context.getReference(), oldContext);
-            return Errors.process(task);
-        } finally {
-            release(context);
-            resume(oldContext);
-        }
+        return runInScope(context.getReference(), oldContext, () -> Errors.process(task));
     }
 
     /**
@@ -334,14 +327,7 @@ public abstract class RequestScope {
      */
     public <T> T runInScope(Callable<T> task) throws Exception {
         final RequestContext oldContext = retrieveCurrent();
-        final RequestContext context = createContext();
-        try {
-            activate(context, oldContext);
-            return Errors.process(task);
-        } finally {
-            release(context);
-            resume(oldContext);
-        }
+        return runInScope(createContext(), oldContext, () -> Errors.process(task));
     }
 
     /**
@@ -360,13 +346,7 @@ public abstract class RequestScope {
      */
     public <T> T runInScope(RequestContext context, Producer<T> task) {
         final RequestContext oldContext = retrieveCurrent();
-        try {
-            activate(context.getReference(), oldContext);
-            return Errors.process(task);
-        } finally {
-            release(context);
-            resume(oldContext);
-        }
+        return runInScope(context.getReference(), oldContext, () -> Errors.process(task));
     }
 
     /**
@@ -384,14 +364,25 @@ public abstract class RequestScope {
      */
     public <T> T runInScope(Producer<T> task) {
         final RequestContext oldContext = retrieveCurrent();
-        final RequestContext context = createContext();
-        try {
-            activate(context, oldContext);
-            return Errors.process(task);
-        } finally {
-            release(context);
-            resume(oldContext);
-        }
+        return runInScope(createContext(), oldContext, () -> Errors.process(task));
+    }
+
+    /**
+     * Runs the task with the scope context being the current context of the request scope.
+     * The previously current scope context is restored and the scope context is released once the task finishes.
+     */
+    private <T, E extends Exception> T runInScope(final RequestContext context,
+                                                  final RequestContext oldContext,
+                                                  final RequestContextCarrier.ScopedTask<T, E> task) throws E {
+        return currentRequestContext.call(context, () -> {
+            try {
+                activate(context, oldContext);
+                return task.call();
+            } finally {
+                release(context);
+                resume(oldContext);
+            }
+        });
     }
 
     /**
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.spi;
+
+/**
+ * An extension contract for providing a pluggable pool of byte and character arrays used by Jersey runtime
+ * to copy message entities between streams.
+ * <p>
+ * Jersey runtime acquires a buffer from the pool before copying an entity stream and releases the buffer back
+ * to the pool once the copying is finished. The caller never uses a buffer once it has been released and never
+ * releases the same buffer twice. Implementations are free to return buffers of any positive length, to discard
+ * released buffers or to allocate a new buffer for every acquisition.
+ * </p>
+ * <p>
+ * The implementations must be thread-safe and must provide a public no-argument constructor. The implementation
+ * class is selected by the {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_POOL} system property.
+ * </p>
+ *
+ * @see org.glassfish.jersey.message.MessageProperties#IO_BUFFER_POOL
+ * @since 2.29
+ */
+public interface BufferPool {
+
+    /**
+     * Acquire a byte buffer from the pool.
+     *
+     * @return byte buffer, never {@code null}.
+     */
+    byte[] acquireByteBuffer();
+
+    /**
+     * Release the byte buffer previously {@link #acquireByteBuffer() acquired} from the pool.
+     *
+     * @param buffer released byte buffer.
+     */
+    void releaseByteBuffer(byte[] buffer);
+
+    /**
+     * Acquire a character buffer from the pool.
+     *
+     * @return character buffer, never {@code null}.
+     */
+    char[] acquireCharBuffer();
+
+    /**
+     * Release the character buffer previously {@link #acquireCharBuffer() acquired} from the pool.
+     *
+     * @param buffer released character buffer.
+     */
+    void releaseCharBuffer(char[] buffer);
+}
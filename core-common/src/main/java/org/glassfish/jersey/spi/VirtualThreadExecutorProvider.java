@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.spi;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.PreDestroy;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.util.collection.LazyValue;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+import org.glassfish.jersey.process.JerseyProcessingUncaughtExceptionHandler;
+
+/**
+ * Jersey {@link org.glassfish.jersey.spi.ExecutorServiceProvider executor service provider SPI} implementation that
+ * provisions an executor service starting a new virtual thread for each submitted task.
+ * <p>
+ * Virtual threads are cheap to create and block, which makes this provider suitable for running large numbers of
+ * concurrent tasks that spend most of their time waiting for blocking I/O. Virtual threads are only available on
+ * the newer JDKs, hence the provider accesses the virtual thread API reflectively. Use {@link #isSupported()} to check
+ * whether the current JVM supports virtual threads before creating the provider.
+ * </p>
+ * <p>
+ * The provisioned executor service is created lazily, with the first call to {@link #getExecutorService()} method,
+ * and is shared by all the callers. The executor service is shut down when the provider is {@link #close() closed}.
+ * </p>
+ *
+ * @see ThreadPoolExecutorProvider
+ * @since 2.29
+ */
+public class VirtualThreadExecutorProvider implements ExecutorServiceProvider, AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(VirtualThreadExecutorProvider.class.getName());
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle NAME;
+    private static final MethodHandle UNCAUGHT_EXCEPTION_HANDLER;
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+    private static final Throwable UNSUPPORTED;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle uncaughtExceptionHandler = null;
+        MethodHandle factory = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        Throwable unsupported = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Class<?> ofVirtualClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualClass));
+            name = lookup.findVirtual(ofVirtualClass, "name",
+                    MethodType.methodType(ofVirtualClass, String.class, long.class));
+            uncaughtExceptionHandler = lookup.findVirtual(ofVirtualClass, "uncaughtExceptionHandler",
+                    MethodType.methodType(ofVirtualClass, Thread.UncaughtExceptionHandler.class));
+            factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            newThreadPerTaskExecutor = lookup.findStatic(java.util.concurrent.Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+
+            // fails if the virtual threads are a disabled preview feature
+            ofVirtual.invoke();
+        } catch (final Throwable t) {
+            unsupported = t;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNCAUGHT_EXCEPTION_HANDLER = uncaughtExceptionHandler;
+        FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+        UNSUPPORTED = unsupported;
+    }
+
+    private final String name;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final LazyValue<ExecutorService> lazyExecutorService = Values.lazy((Value<ExecutorService>) this::createExecutor);
+
+    /**
+     * Check whether the current JVM supports virtual threads.
+     *
+     * @return {@code true} if the virtual threads are supported, {@code false} otherwise.
+     */
+    public static boolean isSupported() {
+        return UNSUPPORTED == null;
+    }
+
+    /**
+     * Create a new instance of the virtual thread executor provider.
+     *
+     * @param name provider name. The name will be used to name the virtual threads started by the provisioned
+     *             executor service.
+     * @throws UnsupportedOperationException in case the current JVM does not {@link #isSupported() support} virtual threads.
+     */
+    public VirtualThreadExecutorProvider(final String name) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException(LocalizationMessages.VIRTUAL_THREADS_NOT_SUPPORTED(), UNSUPPORTED);
+        }
+        this.name = name;
+    }
+
+    private ExecutorService createExecutor() {
+        try {
+            final Object builder = UNCAUGHT_EXCEPTION_HANDLER.invoke(
+                    NAME.invoke(OF_VIRTUAL.invoke(), name + "-", 0L),
+                    new JerseyProcessingUncaughtExceptionHandler());
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke((ThreadFactory) FACTORY.invoke(builder));
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        if (isClosed()) {
+            throw new IllegalStateException(LocalizationMessages.VIRTUAL_THREAD_EXECUTOR_PROVIDER_CLOSED());
+        }
+        return lazyExecutorService.get();
+    }
+
+    @Override
+    public void dispose(final ExecutorService executorService) {
+        // NO-OP.
+    }
+
+    /**
+     * Get the executor service termination timeout in milliseconds.
+     * <p>
+     * The method can be overridden to customize the maximum time to wait for the running tasks to finish when
+     * the provider is {@link #close() closed}. Defaults to {@value AbstractThreadPoolProvider#DEFAULT_TERMINATION_TIMEOUT}.
+     * </p>
+     *
+     * @return executor service termination timeout in milliseconds.
+     */
+    protected int getTerminationTimeout() {
+        return AbstractThreadPoolProvider.DEFAULT_TERMINATION_TIMEOUT;
+    }
+
+    /**
+     * Check if this virtual thread executor provider has been {@link #close() closed}.
+     *
+     * @return {@code true} if this provider has been closed, {@code false} otherwise.
+     */
+    public final boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Close this virtual thread executor provider.
+     * <p>
+     * Once the provider is closed, subsequent invocations of {@link #getExecutorService()} method result in an
+     * {@link java.lang.IllegalStateException} being thrown. The provisioned executor service, if any, is shut down
+     * gracefully first and forcefully in case the running tasks do not finish within the
+     * {@link #getTerminationTimeout() termination timeout}.
+     * </p>
+     */
+    @Override
+    public final void close() {
+        if (!closed.compareAndSet(false, true) || !lazyExecutorService.isInitialized()) {
+            return;
+        }
+
+        final ExecutorService executorService = lazyExecutorService.get();
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(getTerminationTimeout(), TimeUnit.MILLISECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.log(Level.FINEST, "Interrupted while waiting for virtual thread executor " + name + " to shutdown.", e);
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Container pre-destroy handler method.
+     * <p>
+     * Invoking the method {@link #close() closes} this provider.
+     * </p>
+     */
+    @PreDestroy
+    public void preDestroy() {
+        close();
+    }
+}
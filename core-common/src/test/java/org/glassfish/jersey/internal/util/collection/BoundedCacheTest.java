@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util.collection;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link BoundedCache} unit tests.
+ */
+public class BoundedCacheTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaximumSize() {
+        new BoundedCache<String, String>(0);
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        assertNull(cache.get("a"));
+        cache.put("a", "A");
+        assertEquals("A", cache.get("a"));
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+
+        final BoundedCache.Statistics statistics = cache.statistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(0, statistics.getEvictionCount());
+        assertEquals(1, statistics.getSize());
+        assertEquals(10, statistics.getMaximumSize());
+    }
+
+    @Test
+    public void testEviction() {
+        final BoundedCache<Integer, Integer> cache = new BoundedCache<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        // keep the first entry referenced
+        assertEquals(Integer.valueOf(0), cache.get(0));
+
+        cache.put(4, 4);
+        assertEquals(4, cache.size());
+        assertEquals(1, cache.statistics().getEvictionCount());
+        assertEquals(Integer.valueOf(0), cache.get(0));
+        assertEquals(Integer.valueOf(4), cache.get(4));
+
+        for (int i = 5; i < 100; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= 4);
+        }
+        assertEquals(96, cache.statistics().getEvictionCount());
+    }
+
+    @Test
+    public void testClear() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        cache.put("a", "A");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.internal.util.collection;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LogLinearHistogram} unit tests.
+ */
+public class LogLinearHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value <= LogLinearHistogram.MAX_VALUE; value += 1 + value / 100) {
+            final int bucket = LogLinearHistogram.bucket(value);
+            final long highest = LogLinearHistogram.highestValue(bucket);
+            assertTrue(bucket < LogLinearHistogram.BUCKETS);
+            assertTrue(value <= highest);
+            assertTrue(highest - value <= value / 8);
+            if (highest < LogLinearHistogram.MAX_VALUE) {
+                assertEquals(bucket + 1, LogLinearHistogram.bucket(highest + 1));
+            }
+        }
+        assertEquals(LogLinearHistogram.BUCKETS - 1, LogLinearHistogram.bucket(Long.MAX_VALUE));
+        assertEquals(0, LogLinearHistogram.bucket(-1));
+    }
+
+    @Test
+    public void testRecord() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+        histogram.record(-5);
+
+        final long[] counts = histogram.getCounts();
+        assertEquals(1001, LogLinearHistogram.countAtMost(counts, Long.MAX_VALUE));
+        assertEquals(500500, histogram.getSum());
+        assertEquals(0, histogram.getMinimum());
+        assertEquals(1000, histogram.getMaximum());
+        assertEquals(64, LogLinearHistogram.countAtMost(counts, 63));
+
+        final long median = LogLinearHistogram.valueAtQuantile(counts, 1001, 0.5, 0, 1000);
+        assertTrue(median >= 500 && median <= 500 + 500 / 8);
+        assertEquals(0, LogLinearHistogram.valueAtQuantile(counts, 1001, 0, 0, 1000));
+        assertEquals(1000, LogLinearHistogram.valueAtQuantile(counts, 1001, 1, 0, 1000));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ReaderInterceptor;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link HeaderTable} unit tests.
+ */
+public class HeaderTableTest {
+
+    @Test
+    public void testCaseInsensitiveNames() {
+        final HeaderTable<String> headers = new HeaderTable<>();
+        headers.add("content-type", "text/plain");
+        headers.add("X-Custom", "a");
+        headers.add("x-custom", "b");
+
+        assertEquals(2, headers.size());
+        assertEquals("text/plain", headers.getFirst(HttpHeaders.CONTENT_TYPE));
+        assertEquals(Arrays.asList("a", "b"), headers.get("X-CUSTOM"));
+        assertTrue(headers.containsKey("CONTENT-TYPE"));
+        assertTrue(headers.keySet().contains("Content-Type"));
+        // original name case is preserved
+        assertEquals(Arrays.asList("content-type", "X-Custom"), Arrays.asList(headers.keySet().toArray()));
+
+        assertEquals(Collections.singletonList("text/plain"), headers.remove("Content-Type"));
+        assertFalse(headers.containsKey("content-type"));
+        assertTrue(headers.keySet().remove("X-CUSTOM"));
+        assertTrue(headers.isEmpty());
+    }
+
+    @Test
+    public void testWellKnownNamesInterned() {
+        final HeaderTable<String> headers = new HeaderTable<>();
+        headers.add(new String(HttpHeaders.CONTENT_TYPE), "text/plain");
+
+        assertSame(HttpHeaders.CONTENT_TYPE, headers.keySet().iterator().next());
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final HeaderTable<Object> headers = new HeaderTable<>();
+        for (int i = 0; i < 20; i++) {
+            headers.add("Header-" + i, i);
+        }
+        headers.remove("Header-3");
+
+        int expected = 0;
+        for (final Map.Entry<String, List<Object>> entry : headers.entrySet()) {
+            expected = expected == 3 ? 4 : expected;
+            assertEquals("Header-" + expected, entry.getKey());
+            assertEquals(Collections.singletonList(expected), entry.getValue());
+            expected++;
+        }
+        assertEquals(20, expected);
+        assertEquals(19, headers.size());
+    }
+
+    @Test
+    public void testMultivaluedMapSemantics() {
+        final HeaderTable<String> headers = new HeaderTable<>();
+
+        headers.add("A", null);
+        assertTrue(headers.containsKey("A"));
+        assertTrue(headers.get("A").isEmpty());
+        assertNull(headers.getFirst("A"));
+
+        headers.addAll("A", "1", null, "2", "3");
+        headers.addFirst("A", "0");
+        assertEquals(Arrays.asList("0", "1", "2", "3"), headers.get("A"));
+        headers.get("A").remove(1);
+        assertEquals(Arrays.asList("0", "2", "3"), headers.get("A"));
+
+        headers.putSingle("A", "x");
+        assertEquals(Collections.singletonList("x"), headers.get("A"));
+
+        final List<String> values = Arrays.asList("y", "z");
+        headers.put("B", values);
+        assertSame(values, headers.get("b"));
+
+        headers.addAll("C", Collections.<String>emptyList());
+        assertFalse(headers.containsKey("C"));
+
+        final HeaderTable<String> other = new HeaderTable<>();
+        other.add("b", "z");
+        other.add("b", "y");
+        other.add("a", "x");
+        assertTrue(headers.equalsIgnoreValueOrder(other));
+        assertFalse(headers.equals(other));
+
+        final Iterator<Map.Entry<String, List<String>>> iterator = headers.entrySet().iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(Collections.singleton("B"), headers.keySet());
+
+        headers.entrySet().iterator().next().setValue(Collections.singletonList("w"));
+        assertEquals("w", headers.getFirst("B"));
+
+        headers.clear();
+        assertTrue(headers.isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddAllNullList() {
+        new HeaderTable<String>().addAll("A", (List<String>) null);
+    }
+
+    @Test
+    public void testConvertedValueCached() {
+        final HeaderTable<String> headers = new HeaderTable<>();
+        headers.putSingle(HttpHeaders.CONTENT_TYPE, "text/plain");
+
+        final String value = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        final MediaType mediaType = headers.convert(HttpHeaders.CONTENT_TYPE, value, MediaType.class, MediaType::valueOf);
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, mediaType);
+        assertSame(mediaType, headers.convert(HttpHeaders.CONTENT_TYPE, value, MediaType.class, MediaType::valueOf));
+
+        // mutation invalidates the cached value
+        headers.putSingle(HttpHeaders.CONTENT_TYPE, "text/html");
+        final String changed = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        assertEquals(MediaType.TEXT_HTML_TYPE,
+                headers.convert(HttpHeaders.CONTENT_TYPE, changed, MediaType.class, MediaType::valueOf));
+
+        // cached values move along with the headers
+        headers.putSingle("Content-Language", "en");
+        final String language = headers.getFirst("Content-Language");
+        final Locale locale = headers.convert("Content-Language", language, Locale.class, Locale::new);
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        assertSame(locale, headers.convert("Content-Language", language, Locale.class, Locale::new));
+    }
+
+    @Test
+    public void testInboundTypedHeaders() {
+        final InboundMessageContext context = new InboundMessageContext() {
+            @Override
+            protected Iterable<ReaderInterceptor> getReaderInterceptors() {
+                return Collections.emptyList();
+            }
+        };
+        context.header(HttpHeaders.CONTENT_TYPE, "application/json");
+        context.header(HttpHeaders.CONTENT_LENGTH, "42");
+
+        final MediaType mediaType = context.getMediaType();
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, mediaType);
+        assertSame(mediaType, context.getMediaType());
+        assertEquals(42, context.getLength());
+
+        context.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, "text/plain");
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, context.getMediaType());
+        context.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, "7");
+        assertEquals(7, context.getLength());
+    }
+}
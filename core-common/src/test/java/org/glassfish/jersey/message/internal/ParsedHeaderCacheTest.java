@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.internal.util.collection.BoundedCache;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ParsedHeaderCache} unit tests.
+ */
+public class ParsedHeaderCacheTest {
+
+    private static ParsedHeaderCache<List<AcceptableMediaType>> acceptCache(final int maximumSize, final AtomicInteger parsed) {
+        return new ParsedHeaderCache<>(maximumSize, value -> {
+            parsed.incrementAndGet();
+            return HttpHeaderReader.readAcceptMediaType(value);
+        });
+    }
+
+    @Test
+    public void testParsedValueShared() throws Exception {
+        final AtomicInteger parsed = new AtomicInteger();
+        final ParsedHeaderCache<List<AcceptableMediaType>> cache = acceptCache(4, parsed);
+
+        final List<AcceptableMediaType> types = cache.parse("text/plain;q=0.5, application/json");
+        assertEquals(2, types.size());
+        assertEquals("json", types.get(0).getSubtype());
+        assertEquals("plain", types.get(1).getSubtype());
+        assertEquals(500, types.get(1).getQuality());
+        assertSame(types, cache.parse("text/plain;q=0.5, application/json"));
+        assertSame(types, cache.parse(new String("text/plain;q=0.5, application/json")));
+
+        assertEquals(1, parsed.get());
+        final BoundedCache.Statistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getSize());
+    }
+
+    @Test
+    public void testSizeLimit() throws Exception {
+        final AtomicInteger parsed = new AtomicInteger();
+        final ParsedHeaderCache<List<AcceptableMediaType>> cache = acceptCache(4, parsed);
+
+        cache.parse("application/x-0");
+        for (int i = 1; i < 10; i++) {
+            cache.parse("application/x-" + i);
+            cache.parse("application/x-0");
+        }
+        final BoundedCache.Statistics statistics = cache.getStatistics();
+        assertEquals(4, statistics.getMaximumSize());
+        assertEquals(4, statistics.getSize());
+        assertEquals(6, statistics.getEvictionCount());
+        assertEquals(10, statistics.getMissCount());
+
+        // the value in use is not evicted
+        assertEquals(9, statistics.getHitCount());
+        assertEquals(10, parsed.get());
+    }
+
+    @Test
+    public void testNotCached() throws Exception {
+        final AtomicInteger parsed = new AtomicInteger();
+
+        final ParsedHeaderCache<List<AcceptableMediaType>> disabled = acceptCache(0, parsed);
+        assertNotSame(disabled.parse("text/plain"), disabled.parse("text/plain"));
+        assertEquals(0, disabled.getStatistics().getSize());
+        assertEquals(0, disabled.getStatistics().getMaximumSize());
+
+        final ParsedHeaderCache<List<AcceptableMediaType>> cache = acceptCache(4, parsed);
+        final StringBuilder longValue = new StringBuilder("text/plain");
+        while (longValue.length() <= ParsedHeaderCache.MAX_VALUE_LENGTH) {
+            longValue.append(", text/plain");
+        }
+        assertNotSame(cache.parse(longValue.toString()), cache.parse(longValue.toString()));
+        assertEquals(0, cache.getStatistics().getSize());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.parse("text/plain;q=invalid");
+                fail("ParseException expected.");
+            } catch (final ParseException expected) {
+                // parse failures are not cached
+            }
+        }
+        assertEquals(0, cache.getStatistics().getSize());
+        assertEquals(2, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testContentTypeCache() {
+        final MediaType mediaType = MediaType.valueOf("application/json;charset=UTF-8");
+        assertEquals(MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8"), mediaType);
+        assertSame(mediaType, MediaType.valueOf("application/json;charset=UTF-8"));
+    }
+}
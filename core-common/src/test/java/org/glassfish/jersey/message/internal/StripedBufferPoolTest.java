@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link StripedBufferPool} unit tests.
+ */
+public class StripedBufferPoolTest {
+
+    @Test
+    public void testBuffersReused() {
+        final StripedBufferPool pool = new StripedBufferPool(16, 4);
+
+        final byte[] bytes = pool.acquireByteBuffer();
+        assertEquals(16, bytes.length);
+        // pooled buffer is handed out only once
+        assertNotSame(bytes, pool.acquireByteBuffer());
+        pool.releaseByteBuffer(bytes);
+        assertSame(bytes, pool.acquireByteBuffer());
+
+        final char[] chars = pool.acquireCharBuffer();
+        assertEquals(16, chars.length);
+        pool.releaseCharBuffer(chars);
+        assertSame(chars, pool.acquireCharBuffer());
+    }
+
+    @Test
+    public void testForeignBuffersNotPooled() {
+        final StripedBufferPool pool = new StripedBufferPool(16, 4);
+
+        final byte[] bytes = new byte[8];
+        pool.releaseByteBuffer(bytes);
+        assertEquals(16, pool.acquireByteBuffer().length);
+
+        final char[] chars = new char[32];
+        pool.releaseCharBuffer(chars);
+        assertEquals(16, pool.acquireCharBuffer().length);
+    }
+
+    @Test
+    public void testReaderWriterCopy() throws Exception {
+        final byte[] data = new byte[ReaderWriter.BUFFER_SIZE * 3 + 7];
+        Arrays.fill(data, (byte) 'x');
+
+        // repeated copies share the pooled buffers
+        for (int i = 0; i < 3; i++) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ReaderWriter.writeTo(new ByteArrayInputStream(data), out);
+            assertArrayEquals(data, out.toByteArray());
+
+            final String text = new String(data, "US-ASCII");
+            final StringWriter writer = new StringWriter();
+            ReaderWriter.writeTo(new StringReader(text), writer);
+            assertEquals(text, writer.toString());
+            assertEquals(text, ReaderWriter.readFromAsString(new StringReader(text)));
+        }
+    }
+}
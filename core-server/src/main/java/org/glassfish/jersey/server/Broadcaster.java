@@ -27,6 +27,11 @@ import org.glassfish.jersey.server.internal.LocalizationMessages;
 
 /**
  * Used for broadcasting response chunks to multiple {@link ChunkedOutput} instances.
+ * <p>
+ * By default, each chunk is serialized by every registered {@code ChunkedOutput}. A broadcaster created with
+ * {@code serializeOnce} set to {@code true} serializes a broadcast chunk only once and writes the same bytes to all the
+ * chunked outputs of the same media type (see {@link ChunkedOutput.SharedChunk}).
+ * </p>
  *
  * @param <T> broadcast type.
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -40,6 +45,8 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
     private final ConcurrentLinkedQueue<ChunkedOutput<T>> chunkedOutputs =
             new ConcurrentLinkedQueue<ChunkedOutput<T>>();
 
+    private final boolean serializeOnce;
+
     /**
      * Creates a new instance.
      * If this constructor is called by a subclass, it assumes the the reason for the subclass to exist is to implement
@@ -51,6 +58,18 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
         this(Broadcaster.class);
     }
 
+    /**
+     * Creates a new instance.
+     * If this constructor is called by a subclass, the newly created instance is added as the listener the same way
+     * as in {@link #Broadcaster()}.
+     *
+     * @param serializeOnce if {@code true}, the broadcast chunks are serialized only once for all the chunked outputs.
+     * @since 2.29
+     */
+    public Broadcaster(final boolean serializeOnce) {
+        this(Broadcaster.class, serializeOnce);
+    }
+
     /**
      * Can be used by subclasses to override the default functionality of adding self to the set of
      * {@link BroadcasterListener listeners}. If creating a direct instance of a subclass passed in the parameter,
@@ -61,6 +80,21 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @see #Broadcaster()
      */
     protected Broadcaster(final Class<? extends Broadcaster> subclass) {
+        this(subclass, false);
+    }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link BroadcasterListener listeners} and to set the serialization of the broadcast chunks.
+     *
+     * @param subclass      subclass of Broadcaster that should not be registered as a listener - if creating a direct
+     *                      instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param serializeOnce if {@code true}, the broadcast chunks are serialized only once for all the chunked outputs.
+     * @see #Broadcaster(Class)
+     * @since 2.29
+     */
+    protected Broadcaster(final Class<? extends Broadcaster> subclass, final boolean serializeOnce) {
+        this.serializeOnce = serializeOnce;
         if (subclass != getClass()) {
             listeners.add(this);
         }
@@ -124,6 +158,17 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @param chunk chunk to be sent.
      */
     public void broadcast(final T chunk) {
+        if (serializeOnce && chunk != null) {
+            final ChunkedOutput.SharedChunk<T> sharedChunk = new ChunkedOutput.SharedChunk<T>(chunk);
+            forEachOutput(new Task<ChunkedOutput<T>>() {
+                @Override
+                public void run(final ChunkedOutput<T> cr) throws IOException {
+                    cr.writeShared(sharedChunk);
+                }
+            });
+            return;
+        }
+
         forEachOutput(new Task<ChunkedOutput<T>>() {
             @Override
             public void run(final ChunkedOutput<T> cr) throws IOException {
@@ -16,18 +16,28 @@
 
 package org.glassfish.jersey.server;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.ws.rs.container.ConnectionCallback;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.WriterInterceptor;
 
 import javax.inject.Provider;
@@ -36,6 +46,7 @@ import org.glassfish.jersey.process.internal.RequestContext;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.process.MappableException;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 
 /**
  * Used for sending messages in "typed" chunks. Useful for long running processes,
@@ -48,9 +59,11 @@ import org.glassfish.jersey.server.internal.process.MappableException;
  */
 // TODO:  something like prequel/sequel - usable for EventChannelWriter and XML related writers
 public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ChunkedOutput.class.getName());
     private static final byte[] ZERO_LENGTH_DELIMITER = new byte[0];
 
-    private final BlockingDeque<T> queue = new LinkedBlockingDeque<>();
+    // chunks and shared chunks
+    private final BlockingDeque<Object> queue = new LinkedBlockingDeque<>();
     private final byte[] chunkDelimiter;
     private final AtomicBoolean resumed = new AtomicBoolean(false);
 
@@ -65,6 +78,7 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
     private volatile ContainerRequest requestContext;
     private volatile ContainerResponse responseContext;
     private volatile ConnectionCallback connectionCallback;
+    private volatile AsyncWriter asyncWriter;
 
 
     /**
@@ -181,6 +195,27 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         flushQueue();
     }
 
+    /**
+     * Write a chunk shared with other chunked outputs.
+     * <p>
+     * The chunk is serialized by the first output that flushes it, the outputs with the same media type write the already
+     * serialized bytes. The chunk is not passed to {@link #write(Object)}.
+     * </p>
+     *
+     * @param chunk a shared chunk to be written.
+     * @throws IOException if this response is closed or when encountered any problem during serializing or writing a chunk.
+     * @since 2.29
+     */
+    protected void writeShared(final SharedChunk<T> chunk) throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+        }
+
+        queue.add(chunk);
+
+        flushQueue();
+    }
+
     protected void flushQueue() throws IOException {
         if (resumed.compareAndSet(false, true) && asyncContext != null) {
             asyncContext.resume(this);
@@ -190,13 +225,19 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
             return;
         }
 
+        final AsyncWriter asyncWriter = this.asyncWriter;
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+            return;
+        }
+
         Exception ex = null;
         try {
             requestScope.runInScope(requestScopeContext, new Callable<Void>() {
                 @Override
                 public Void call() throws IOException {
                     boolean shouldClose;
-                    T t;
+                    Object t;
 
                     synchronized (ChunkedOutput.this) {
                         if (flushing) {
@@ -221,19 +262,14 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
                     while (t != null) {
                         try {
                             final OutputStream origStream = responseContext.getEntityStream();
-                            final OutputStream writtenStream = requestContext.getWorkers().writeTo(
-                                    t,
-                                    t.getClass(),
-                                    getType(),
-                                    responseContext.getEntityAnnotations(),
-                                    responseContext.getMediaType(),
-                                    responseContext.getHeaders(),
-                                    requestContext.getPropertiesDelegate(),
-                                    origStream,
-                                    // The output stream stored in the response context for this chunked output
-                                    // is already intercepted as a whole (if there are any interceptors);
-                                    // no need to intercept the individual chunks.
-                                    Collections.<WriterInterceptor>emptyList());
+                            final OutputStream writtenStream;
+                            if (t instanceof SharedChunk) {
+                                origStream.write(((SharedChunk<?>) t).getBytes(responseContext.getMediaType(),
+                                        ChunkedOutput.this::serialize));
+                                writtenStream = origStream;
+                            } else {
+                                writtenStream = writeChunk(t, origStream);
+                            }
 
                             //noinspection ArrayEquality
                             if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
@@ -311,6 +347,28 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         }
     }
 
+    private OutputStream writeChunk(final Object chunk, final OutputStream stream) throws IOException {
+        return requestContext.getWorkers().writeTo(
+                chunk,
+                chunk.getClass(),
+                getType(),
+                responseContext.getEntityAnnotations(),
+                responseContext.getMediaType(),
+                responseContext.getHeaders(),
+                requestContext.getPropertiesDelegate(),
+                stream,
+                // The output stream stored in the response context for this chunked output
+                // is already intercepted as a whole (if there are any interceptors);
+                // no need to intercept the individual chunks.
+                Collections.<WriterInterceptor>emptyList());
+    }
+
+    private byte[] serialize(final Object chunk) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        writeChunk(chunk, bytes).flush();
+        return bytes.toByteArray();
+    }
+
     /**
      * Close this response - it will be finalized and underlying connections will be closed
      * or made available for another response.
@@ -321,6 +379,32 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         flushQueue();
     }
 
+    /**
+     * Get the number of serialized bytes waiting to be written to the container.
+     * <p>
+     * The chunks are queued only if the chunked output is written asynchronously
+     * (see {@link ServerProperties#CHUNKED_OUTPUT_ASYNC_ENABLED}).
+     * </p>
+     *
+     * @return number of queued bytes.
+     * @since 2.29
+     */
+    public long getQueuedBytes() {
+        final AsyncWriter asyncWriter = this.asyncWriter;
+        return asyncWriter == null ? 0 : asyncWriter.getQueuedBytes();
+    }
+
+    /**
+     * Get the number of chunks dropped by the {@link OverflowPolicy#DROP_OLDEST} overflow policy.
+     *
+     * @return number of dropped chunks.
+     * @since 2.29
+     */
+    public long getDroppedChunks() {
+        final AsyncWriter asyncWriter = this.asyncWriter;
+        return asyncWriter == null ? 0 : asyncWriter.getDroppedChunks();
+    }
+
     /**
      * Get state information.
      *
@@ -359,18 +443,432 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
      * @param requestContext           request context.
      * @param responseContext          response context.
      * @param connectionCallbackRunner connection callback.
+     * @param asyncConfig              configuration of the asynchronous writing, {@code null} if the chunks are written
+     *                                 by the writing thread.
      * @throws IOException when encountered any problem during serializing or writing a chunk.
      */
     void setContext(final RequestScope requestScope,
                     final RequestContext requestScopeContext,
                     final ContainerRequest requestContext,
                     final ContainerResponse responseContext,
-                    final ConnectionCallback connectionCallbackRunner) throws IOException {
+                    final ConnectionCallback connectionCallbackRunner,
+                    final AsyncConfig asyncConfig) throws IOException {
         this.requestScope = requestScope;
         this.requestScopeContext = requestScopeContext;
         this.requestContext = requestContext;
         this.responseContext = responseContext;
         this.connectionCallback = connectionCallbackRunner;
+        if (asyncConfig != null) {
+            this.asyncWriter = new AsyncWriter(asyncConfig, requestContext.getResponseWriter());
+        }
         flushQueue();
     }
+
+    /**
+     * Policy applied when a chunk does not fit into the full queue of a chunked output written asynchronously.
+     * <p>
+     * The policy is applied only while the container does not accept the queued bytes, i.e. while the container is not
+     * {@link org.glassfish.jersey.server.spi.ContainerResponseWriter#isWriteReady() ready for writing} or while a single
+     * write of a queued chunk has been blocked for more than 100 milliseconds. While the queued chunks are being written,
+     * the writing thread waits for the room in the queue, so that no chunk is dropped for a client keeping up.
+     * </p>
+     *
+     * @see ServerProperties#CHUNKED_OUTPUT_OVERFLOW_POLICY
+     * @since 2.29
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest queued chunks are dropped to make room for the new chunk.
+         */
+        DROP_OLDEST,
+        /**
+         * The chunked output is closed without writing the queued chunks and the new chunk is rejected with
+         * an {@link IOException}.
+         */
+        DISCONNECT,
+        /**
+         * The writing thread waits until the new chunk fits into the queue.
+         */
+        BLOCK
+    }
+
+    /**
+     * Configuration of the asynchronous writing of the chunked outputs.
+     */
+    static final class AsyncConfig {
+
+        private static final int DEFAULT_QUEUE_SIZE = 1024 * 1024;
+
+        private final Provider<ExecutorService> executor;
+        private final long queueSize;
+        private final OverflowPolicy overflowPolicy;
+
+        private AsyncConfig(final Provider<ExecutorService> executor, final long queueSize,
+                            final OverflowPolicy overflowPolicy) {
+            this.executor = executor;
+            this.queueSize = queueSize;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        /**
+         * Create the configuration from the server properties.
+         *
+         * @param properties server properties.
+         * @param executor   executor writing the chunks.
+         * @return configuration of the asynchronous writing or {@code null} if it is not enabled.
+         */
+        static AsyncConfig create(final Map<String, Object> properties, final Provider<ExecutorService> executor) {
+            if (!ServerProperties.getValue(properties, ServerProperties.CHUNKED_OUTPUT_ASYNC_ENABLED,
+                    Boolean.FALSE, Boolean.class)) {
+                return null;
+            }
+            final int queueSize = ServerProperties.getValue(properties, ServerProperties.CHUNKED_OUTPUT_QUEUE_SIZE,
+                    DEFAULT_QUEUE_SIZE, Integer.class);
+            final OverflowPolicy overflowPolicy = ServerProperties.getValue(properties,
+                    ServerProperties.CHUNKED_OUTPUT_OVERFLOW_POLICY, OverflowPolicy.BLOCK, OverflowPolicy.class);
+            return new AsyncConfig(executor, Math.max(0, queueSize), overflowPolicy);
+        }
+    }
+
+    /**
+     * Serializes the chunks in the writing threads into a bounded queue and writes the queue to the container
+     * in the executor threads, when the container accepts the bytes without blocking.
+     */
+    private final class AsyncWriter implements Runnable {
+
+        /**
+         * Duration of a single write after which a container not supporting the write readiness notification is
+         * considered not to accept the bytes.
+         */
+        private static final long STALLED_WRITE_NANOS = 100_000_000L;
+
+        private final ExecutorService executor;
+        private final long queueSize;
+        private final OverflowPolicy overflowPolicy;
+        private final ContainerResponseWriter responseWriter;
+
+        // serialized chunks, the fields below are guarded by the queue
+        private final ArrayDeque<byte[]> pending = new ArrayDeque<>();
+        private long queuedBytes;
+        private long droppedChunks;
+        // a drain task is scheduled, running or waiting for the container
+        private boolean draining;
+        // the drain task is waiting for the container to accept the bytes
+        private boolean stalled;
+        // System.nanoTime() when the drain task started writing the current chunk, 0 if it is not writing
+        private long writeStarted;
+        // all the chunks written before closing have been queued
+        private boolean closing;
+        // the queued chunks are discarded
+        private boolean discard;
+        // the response has been closed
+        private boolean finished;
+
+        private AsyncWriter(final AsyncConfig config, final ContainerResponseWriter responseWriter) {
+            this.executor = config.executor.get();
+            this.queueSize = config.queueSize;
+            this.overflowPolicy = config.overflowPolicy;
+            this.responseWriter = responseWriter;
+        }
+
+        long getQueuedBytes() {
+            synchronized (pending) {
+                return queuedBytes;
+            }
+        }
+
+        long getDroppedChunks() {
+            synchronized (pending) {
+                return droppedChunks;
+            }
+        }
+
+        /**
+         * Serialize the chunks written so far and schedule the writing of the queue.
+         */
+        void flush() throws IOException {
+            try {
+                // keep the order of the chunks written concurrently
+                synchronized (this) {
+                    // remember the closed flag before polling the queue, the response is closed after the last chunk
+                    final boolean close = closed;
+                    Object chunk;
+                    while ((chunk = queue.poll()) != null) {
+                        enqueue(serializeInScope(chunk));
+                    }
+                    if (close) {
+                        closing();
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                closed = true;
+                closing();
+                throw e;
+            } finally {
+                schedule();
+            }
+        }
+
+        private void closing() {
+            synchronized (pending) {
+                closing = true;
+            }
+        }
+
+        private byte[] serializeInScope(final Object chunk) throws IOException {
+            try {
+                return requestScope.runInScope(requestScopeContext, new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws IOException {
+                        return chunk instanceof SharedChunk
+                                ? ((SharedChunk<?>) chunk).getBytes(responseContext.getMediaType(),
+                                        ChunkedOutput.this::serialize)
+                                : serialize(chunk);
+                    }
+                });
+            } catch (final IOException | RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new IOException(e);
+            }
+        }
+
+        /**
+         * Queue a serialized chunk. The overflow policy is applied only against a stalled drain task, otherwise the chunk
+         * waits for the drain task to make room in the queue.
+         */
+        private void enqueue(final byte[] bytes) throws IOException {
+            final long size = bytes.length + chunkDelimiter.length;
+            while (true) {
+                synchronized (pending) {
+                    while (!pending.isEmpty() && queuedBytes + size > queueSize && !finished && !discard && draining) {
+                        final long stalledIn = stalledIn();
+                        if (stalledIn > 0 || overflowPolicy == OverflowPolicy.BLOCK) {
+                            await(overflowPolicy == OverflowPolicy.BLOCK ? 0 : stalledIn);
+                        } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                            queuedBytes -= pending.poll().length + chunkDelimiter.length;
+                            droppedChunks++;
+                        } else {
+                            discard = true;
+                            throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_QUEUE_OVERFLOW(queueSize));
+                        }
+                    }
+                    if (finished || discard) {
+                        throw new IOException(LocalizationMessages.CHUNKED_OUTPUT_CLOSED());
+                    }
+                    if (pending.isEmpty() || queuedBytes + size <= queueSize) {
+                        pending.add(bytes);
+                        queuedBytes += size;
+                        return;
+                    }
+                }
+                // the queue is full while nothing writes it, e.g. with the chunks written before the context is set
+                schedule();
+            }
+        }
+
+        /**
+         * Get the time remaining until the drain task is considered stalled. The drain task is stalled if it waits for
+         * the container to accept the bytes or if it has been writing the current chunk for too long.
+         *
+         * @return {@code 0} if the drain task is stalled, {@code Long.MAX_VALUE} if it does not write, the remaining
+         * nanoseconds of the current write otherwise.
+         */
+        private long stalledIn() {
+            if (stalled) {
+                return 0;
+            }
+            if (writeStarted == 0) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, STALLED_WRITE_NANOS - (System.nanoTime() - writeStarted));
+        }
+
+        private void await(final long nanos) throws InterruptedIOException {
+            try {
+                if (nanos == 0 || nanos == Long.MAX_VALUE) {
+                    pending.wait();
+                } else {
+                    TimeUnit.NANOSECONDS.timedWait(pending, nanos);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        private void schedule() {
+            synchronized (pending) {
+                if (draining || finished || (pending.isEmpty() && !closing)) {
+                    return;
+                }
+                draining = true;
+                stalled = false;
+                writeStarted = 0;
+            }
+            executor.execute(this);
+        }
+
+        @Override
+        public void run() {
+            try {
+                final OutputStream stream = responseContext.getEntityStream();
+                while (true) {
+                    if (!responseWriter.isWriteReady()) {
+                        // the writing threads apply the overflow policy while the container does not accept the bytes
+                        stalled(true);
+                        if (responseWriter.notifyWriteReady(() -> executor.execute(this))) {
+                            // continue once the container accepts the bytes
+                            return;
+                        }
+                        stalled(false);
+                    }
+
+                    final byte[] bytes;
+                    final boolean close;
+                    synchronized (pending) {
+                        if (discard) {
+                            pending.clear();
+                            queuedBytes = 0;
+                        }
+                        stalled = false;
+                        close = closing;
+                        bytes = pending.poll();
+                        // never 0 while writing
+                        writeStarted = bytes == null ? 0 : System.nanoTime() | 1;
+                        if (bytes != null) {
+                            queuedBytes -= bytes.length + chunkDelimiter.length;
+                            pending.notifyAll();
+                        } else if (close) {
+                            finished = true;
+                            pending.notifyAll();
+                        }
+                    }
+
+                    if (bytes == null) {
+                        if (close) {
+                            closeResponse();
+                            return;
+                        }
+                        responseContext.commitStream();
+                        synchronized (pending) {
+                            // check again before clearing the flag, a chunk may have been queued while committing
+                            if (pending.isEmpty() && !closing) {
+                                draining = false;
+                                pending.notifyAll();
+                                return;
+                            }
+                        }
+                        continue;
+                    }
+
+                    stream.write(bytes);
+                    //noinspection ArrayEquality
+                    if (chunkDelimiter != ZERO_LENGTH_DELIMITER) {
+                        stream.write(chunkDelimiter);
+                    }
+                    stream.flush();
+                }
+            } catch (final Exception e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), e);
+                if (e instanceof IOException) {
+                    connectionCallback.onDisconnect(asyncContext);
+                }
+                closed = true;
+                synchronized (pending) {
+                    pending.clear();
+                    queuedBytes = 0;
+                    finished = true;
+                    pending.notifyAll();
+                }
+                closeResponse();
+            }
+        }
+
+        private void stalled(final boolean stalled) {
+            synchronized (pending) {
+                this.stalled = stalled;
+                pending.notifyAll();
+            }
+        }
+
+        private void closeResponse() {
+            try {
+                responseContext.close();
+            } catch (final Exception e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.ERROR_CLOSING_COMMIT_OUTPUT_STREAM(), e);
+            } finally {
+                requestScopeContext.release();
+            }
+        }
+    }
+
+    /**
+     * A chunk written to several chunked outputs and serialized only once.
+     * <p>
+     * The bytes serialized by the first output are reused by the outputs with the same media type, the other outputs
+     * serialize the chunk on their own. The message body writer of the chunk is invoked with the entity annotations
+     * and headers of the first output.
+     * </p>
+     *
+     * @param <T> chunk type.
+     * @since 2.29
+     * @see #writeShared(SharedChunk)
+     */
+    public static final class SharedChunk<T> {
+
+        private final T chunk;
+        private volatile Serialized serialized;
+
+        /**
+         * Create a new shared chunk.
+         *
+         * @param chunk a chunk instance to be shared. Must not be {@code null}.
+         */
+        public SharedChunk(final T chunk) {
+            if (chunk == null) {
+                throw new NullPointerException(LocalizationMessages.PARAM_NULL("chunk"));
+            }
+            this.chunk = chunk;
+        }
+
+        /**
+         * Get the shared chunk instance.
+         *
+         * @return the chunk instance.
+         */
+        public T getChunk() {
+            return chunk;
+        }
+
+        private byte[] getBytes(final MediaType mediaType, final Serializer serializer) throws IOException {
+            Serialized current = serialized;
+            if (current == null) {
+                synchronized (this) {
+                    current = serialized;
+                    if (current == null) {
+                        current = new Serialized(mediaType, serializer.serialize(chunk));
+                        serialized = current;
+                    }
+                }
+            }
+            return Objects.equals(current.mediaType, mediaType) ? current.bytes : serializer.serialize(chunk);
+        }
+
+        private static final class Serialized {
+
+            private final MediaType mediaType;
+            private final byte[] bytes;
+
+            private Serialized(final MediaType mediaType, final byte[] bytes) {
+                this.mediaType = mediaType;
+                this.bytes = bytes;
+            }
+        }
+    }
+
+    private interface Serializer {
+
+        byte[] serialize(Object chunk) throws IOException;
+    }
 }
@@ -16,6 +16,8 @@
 
 package org.glassfish.jersey.server;
 
+import java.util.logging.Logger;
+
 import org.glassfish.jersey.internal.BootstrapBag;
 import org.glassfish.jersey.internal.inject.Bindings;
 import org.glassfish.jersey.internal.inject.InjectionManager;
@@ -23,10 +25,12 @@ import org.glassfish.jersey.internal.inject.InstanceBinding;
 import org.glassfish.jersey.model.internal.ComponentBag;
 import org.glassfish.jersey.model.internal.ManagedObjectsFinalizer;
 import org.glassfish.jersey.process.internal.AbstractExecutorProvidersConfigurator;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.spi.ExecutorServiceProvider;
 import org.glassfish.jersey.spi.ScheduledExecutorServiceProvider;
 import org.glassfish.jersey.spi.ScheduledThreadPoolExecutorProvider;
 import org.glassfish.jersey.spi.ThreadPoolExecutorProvider;
+import org.glassfish.jersey.spi.VirtualThreadExecutorProvider;
 
 /**
  * Configurator which initializes and register {@link org.glassfish.jersey.spi.ExecutorServiceProvider} and
@@ -36,6 +40,8 @@ import org.glassfish.jersey.spi.ThreadPoolExecutorProvider;
  */
 class ServerExecutorProvidersConfigurator extends AbstractExecutorProvidersConfigurator {
 
+    private static final Logger LOGGER = Logger.getLogger(ServerExecutorProvidersConfigurator.class.getName());
+
     @Override
     public void init(InjectionManager injectionManager, BootstrapBag bootstrapBag) {
         ServerBootstrapBag serverBag = (ServerBootstrapBag) bootstrapBag;
@@ -52,7 +58,9 @@ class ServerExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
         injectionManager.register(schedulerBinding);
         finalizer.registerForPreDestroyCall(defaultScheduledExecutorProvider);
 
-        ExecutorServiceProvider defaultAsyncExecutorProvider = new DefaultManagedAsyncExecutorProvider();
+        ExecutorServiceProvider defaultAsyncExecutorProvider = isVirtualThreadsEnabled(runtimeConfig)
+                ? new DefaultVirtualThreadManagedAsyncExecutorProvider()
+                : new DefaultManagedAsyncExecutorProvider();
         InstanceBinding<ExecutorServiceProvider> executorBinding = Bindings
                 .service(defaultAsyncExecutorProvider)
                 .to(ExecutorServiceProvider.class);
@@ -62,6 +70,17 @@ class ServerExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
         registerExecutors(injectionManager, componentBag, defaultAsyncExecutorProvider, defaultScheduledExecutorProvider);
     }
 
+    private static boolean isVirtualThreadsEnabled(ResourceConfig runtimeConfig) {
+        if (!ServerProperties.getValue(runtimeConfig.getProperties(), ServerProperties.VIRTUAL_THREADS_ENABLED, false)) {
+            return false;
+        }
+        if (!VirtualThreadExecutorProvider.isSupported()) {
+            LOGGER.warning(LocalizationMessages.WARNING_VIRTUAL_THREADS_NOT_SUPPORTED(ServerProperties.VIRTUAL_THREADS_ENABLED));
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Default {@link ScheduledExecutorServiceProvider} used on the server side for providing the scheduled executor service that
      * runs background tasks.
@@ -92,4 +111,19 @@ class ServerExecutorProvidersConfigurator extends AbstractExecutorProvidersConfi
             super("jersey-server-managed-async-executor");
         }
     }
+
+    /**
+     * Default {@link ExecutorServiceProvider} used on the server side for managed asynchronous request processing
+     * in case the {@link ServerProperties#VIRTUAL_THREADS_ENABLED virtual threads} are enabled.
+     */
+    @ManagedAsyncExecutor
+    private static class DefaultVirtualThreadManagedAsyncExecutorProvider extends VirtualThreadExecutorProvider {
+
+        /**
+         * Create new instance for the default virtual thread managed async executor provider.
+         */
+        public DefaultVirtualThreadManagedAsyncExecutorProvider() {
+            super("jersey-server-managed-async-executor");
+        }
+    }
 }
@@ -506,6 +506,62 @@ public final class ServerProperties {
      */
     public static final String MONITORING_STATISTICS_MBEANS_ENABLED = "jersey.config.server.monitoring.statistics.mbeans.enabled";
 
+    /**
+     * If {@code true} then Jersey will expose the monitoring statistics in the
+     * <a href="https://openmetrics.io">OpenMetrics</a> text format (which can be scraped e.g. by Prometheus) on the path
+     * defined by the property {@link #MONITORING_STATISTICS_OPENMETRICS_PATH}.
+     * <p/>
+     * The exposed metrics are based on {@link org.glassfish.jersey.server.monitoring.MonitoringStatistics}, therefore
+     * if this property is {@code true} the calculation of monitoring statistics is automatically enabled (the same result
+     * as setting the property {@link #MONITORING_STATISTICS_ENABLED} to {@code true}). The latency histograms of the
+     * application and of the resource methods are exposed if the property {@link #MONITORING_STATISTICS_HISTOGRAMS_ENABLED}
+     * is {@code true}, which is the default when this property is enabled.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     *
+     * @see #MONITORING_STATISTICS_ENABLED
+     * @since 2.29
+     */
+    public static final String MONITORING_STATISTICS_OPENMETRICS_ENABLED =
+            "jersey.config.server.monitoring.statistics.openmetrics.enabled";
+
+    /**
+     * The path, relative to the application path, on which the monitoring statistics are exposed in the OpenMetrics text
+     * format if the property {@link #MONITORING_STATISTICS_OPENMETRICS_ENABLED} is {@code true}.
+     * <p/>
+     * The default value is {@code "metrics"}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     *
+     * @since 2.29
+     */
+    public static final String MONITORING_STATISTICS_OPENMETRICS_PATH =
+            "jersey.config.server.monitoring.statistics.openmetrics.path";
+
+    /**
+     * If {@code true} then the execution times gathered by the monitoring statistics are kept in fixed-size latency
+     * histograms instead of the sliding windows of the individual measurements.
+     * <p/>
+     * The histograms consume a constant amount of memory regardless of the request rate and provide the percentiles of
+     * the execution times for all the time windows
+     * (see {@link org.glassfish.jersey.server.monitoring.TimeWindowStatistics#getDurationAtQuantile(double)}), at the cost of
+     * a bounded relative error of the reported percentiles. The exact minimum, maximum and average execution times are kept.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * <p/>
+     *
+     * @see #MONITORING_STATISTICS_ENABLED
+     * @since 2.29
+     */
+    public static final String MONITORING_STATISTICS_HISTOGRAMS_ENABLED =
+            "jersey.config.server.monitoring.statistics.histograms.enabled";
+
     /**
      * Interval (in {@code ms}) indicating how often will be monitoring statistics refreshed and
      * {@link org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener#onStatistics(org.glassfish.jersey.server.monitoring.MonitoringStatistics) onStatistics}
@@ -724,6 +780,171 @@ public final class ServerProperties {
     public static final String LOCATION_HEADER_RELATIVE_URI_RESOLUTION_DISABLED =
             "jersey.config.server.headers.location.relative.resolution.disabled";
 
+    /**
+     * If {@code true} then Jersey will compile the request path routing of each resource model level into a trie
+     * of literal path segments instead of trying each routing pattern in turn.
+     * <p>
+     * In the compiled mode only the routing patterns whose leading literal path segments match the request path
+     * (and patterns starting with a template variable) are evaluated, so that the cost of the request path matching
+     * depends on the path depth rather than on the number of routes. The JAX-RS matching precedence is not affected.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String COMPILED_ROUTING_ENABLED = "jersey.config.server.routing.compiled.enabled";
+
+    /**
+     * An integer value that defines the maximum number of resource method selections cached by each resource (or sub-resource)
+     * method selecting router. The selections are cached by the request HTTP method and the values of the request
+     * {@code Content-Type} and {@code Accept} headers so that the request media types are not matched against the resource
+     * methods for every request.
+     * <p>
+     * The default value is {@value #METHOD_SELECTION_DEFAULT_CACHE_SIZE} which means the caching is not enabled.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #METHOD_SELECTION_TABLE_ENABLED
+     * @since 2.29
+     */
+    public static final String METHOD_SELECTION_CACHE_SIZE = "jersey.config.server.method.selection.cache.size";
+
+    /**
+     * The default resource method selection cache size ({@value}).
+     *
+     * @see #METHOD_SELECTION_CACHE_SIZE
+     * @since 2.29
+     */
+    public static final int METHOD_SELECTION_DEFAULT_CACHE_SIZE = 0;
+
+    /**
+     * If {@code true} and the resource method selection caching is {@link #METHOD_SELECTION_CACHE_SIZE enabled}, Jersey
+     * will precompute the resource method selections for requests without an entity that either do not contain
+     * an {@code Accept} header or accept just one of the media types produced by the resource methods. The selections
+     * are precomputed only for resources producing a few media types.
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #METHOD_SELECTION_CACHE_SIZE
+     * @since 2.29
+     */
+    public static final String METHOD_SELECTION_TABLE_ENABLED = "jersey.config.server.method.selection.table.enabled";
+
+    /**
+     * If {@code true} then response entities of {@link java.io.File}, {@link java.nio.file.Path} and
+     * {@link java.nio.ByteBuffer} types are written directly to the connection by the I/O containers that support
+     * {@link org.glassfish.jersey.server.spi.ContainerResponseWriter#transferFile(java.io.File, long, long,
+     * ContainerResponse) direct file} and
+     * {@link org.glassfish.jersey.server.spi.ContainerResponseWriter#transferBuffer(java.nio.ByteBuffer,
+     * ContainerResponse) direct buffer}
+     * transfers (e.g. using {@code sendfile}), without copying the entity content through the entity output stream.
+     * <p>
+     * The direct transfer is used only if no {@link javax.ws.rs.ext.WriterInterceptor writer interceptor} replaces the entity
+     * output stream and no bytes have been written to the stream before. Entities that fit into the
+     * {@link #OUTBOUND_CONTENT_LENGTH_BUFFER response buffer} are always written to the output stream.
+     * </p>
+     * <p>
+     * The default value is {@code true}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String RESPONSE_ZERO_COPY_ENABLED = "jersey.config.server.response.zeroCopy.enabled";
+
+    /**
+     * If {@code true} and the JVM {@link org.glassfish.jersey.spi.VirtualThreadExecutorProvider#isSupported() supports}
+     * virtual threads, Jersey will invoke every resource method on a new virtual thread, as if the method was annotated with
+     * {@link ManagedAsync &#64;ManagedAsync}. The default {@link ManagedAsyncExecutor managed async executor} then starts
+     * a virtual thread for each task instead of using a thread pool, so that the blocking resource methods do not block
+     * the container I/O threads.
+     * <p>
+     * The invocation of each resource method suspends the request, hence the container must support asynchronous request
+     * processing. Methods producing server-sent events are still invoked on the container thread. In case the JVM does not
+     * support virtual threads, a warning is logged and the property is ignored.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String VIRTUAL_THREADS_ENABLED = "jersey.config.server.virtualThreads.enabled";
+
+    /**
+     * If {@code true}, the chunks of {@link ChunkedOutput chunked outputs} (including the server-sent event sinks) are
+     * serialized by the writing thread into a bounded per-output queue and written to the container by the
+     * {@link ManagedAsyncExecutor managed async executor}, so that a slow client does not block the threads writing
+     * or broadcasting the chunks.
+     * <p>
+     * The queued chunks are written only when the container accepts the bytes without blocking, if the container
+     * supports the {@link org.glassfish.jersey.server.spi.ContainerResponseWriter#isWriteReady() write readiness}
+     * notification. Otherwise the executor thread writing the chunks of a slow client is blocked, while the threads
+     * writing to its full queue are subject to the overflow policy once a single write has been blocked for more than
+     * 100 milliseconds. The size of the queue is set by the {@link #CHUNKED_OUTPUT_QUEUE_SIZE} property and
+     * the behaviour of a full queue by the {@link #CHUNKED_OUTPUT_OVERFLOW_POLICY} property. The container must support
+     * asynchronous request processing.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CHUNKED_OUTPUT_ASYNC_ENABLED = "jersey.config.server.chunkedOutput.async.enabled";
+
+    /**
+     * The maximal number of serialized bytes queued by a {@link ChunkedOutput chunked output} written
+     * {@link #CHUNKED_OUTPUT_ASYNC_ENABLED asynchronously}. A chunk larger than the queue is accepted when the queue is
+     * empty.
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}. The default value is {@code 1048576}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CHUNKED_OUTPUT_QUEUE_SIZE = "jersey.config.server.chunkedOutput.queue.size";
+
+    /**
+     * The {@link ChunkedOutput.OverflowPolicy policy} applied when a chunk does not fit into the full
+     * {@link #CHUNKED_OUTPUT_QUEUE_SIZE queue} of a {@link ChunkedOutput chunked output} written
+     * {@link #CHUNKED_OUTPUT_ASYNC_ENABLED asynchronously}. The policy is applied only while the container does not accept
+     * the queued bytes, i.e. while the container is not ready for writing or while a single write has been blocked for
+     * more than 100 milliseconds. Otherwise the writing thread waits for the queued chunks to be written.
+     * <p>
+     * The value MUST be an instance of {@link ChunkedOutput.OverflowPolicy} or its name ({@code DROP_OLDEST},
+     * {@code DISCONNECT} or {@code BLOCK}). The default value is {@code BLOCK}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    public static final String CHUNKED_OUTPUT_OVERFLOW_POLICY = "jersey.config.server.chunkedOutput.overflowPolicy";
+
     private ServerProperties() {
         // prevents instantiation
     }
@@ -16,9 +16,11 @@
 
 package org.glassfish.jersey.server;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -67,6 +69,7 @@ import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundExceptio
 import org.glassfish.jersey.message.internal.OutboundJaxrsResponse;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
 import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.message.internal.ZeroCopyOutput;
 import org.glassfish.jersey.process.internal.RequestContext;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.process.internal.Stage;
@@ -125,6 +128,10 @@ public class ServerRuntime {
     private final boolean disableLocationHeaderRelativeUriResolution;
     /** Resolve relative URIs according to RFC7231 (not JAX-RS 2.0 compliant */
     private final boolean rfc7231LocationHeaderRelativeUriResolution;
+    /** Transfer file and byte buffer entities directly via the container response writer. */
+    private final boolean zeroCopyEnabled;
+
+    private final ChunkedOutput.AsyncConfig chunkedOutputAsyncConfig;
 
     static ServerRuntime createServerRuntime(
             InjectionManager injectionManager,
@@ -188,6 +195,13 @@ public class ServerRuntime {
         this.rfc7231LocationHeaderRelativeUriResolution = ServerProperties.getValue(configuration.getProperties(),
                 ServerProperties.LOCATION_HEADER_RELATIVE_URI_RESOLUTION_RFC7231,
                 Boolean.FALSE, Boolean.class);
+
+        this.zeroCopyEnabled = ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.RESPONSE_ZERO_COPY_ENABLED,
+                Boolean.TRUE, Boolean.class);
+
+        this.chunkedOutputAsyncConfig = ChunkedOutput.AsyncConfig.create(configuration.getProperties(),
+                managedAsyncExecutorProvider);
     }
 
     /**
@@ -594,6 +608,64 @@ public class ServerRuntime {
             throw originalThrowable;
         }
 
+        /**
+         * Provides the container output stream once the response status and headers are written.
+         */
+        private class ResponseStreamProvider implements OutboundMessageContext.StreamProvider {
+
+            private final ContainerResponse response;
+            private final ContainerResponseWriter writer;
+            private final boolean isHead;
+
+            private ResponseStreamProvider(final ContainerResponse response,
+                                           final ContainerResponseWriter writer,
+                                           final boolean isHead) {
+                this.response = response;
+                this.writer = writer;
+                this.isHead = isHead;
+            }
+
+            @Override
+            public OutputStream getOutputStream(final int contentLength) throws IOException {
+                resolveLocation();
+                final OutputStream outputStream = writer.writeResponseStatusAndHeaders(contentLength, response);
+                return isHead ? null : outputStream;
+            }
+
+            /**
+             * Resolve the relative location header before the response status and headers are written.
+             */
+            void resolveLocation() {
+                if (!runtime.disableLocationHeaderRelativeUriResolution) {
+                    ServerRuntime.ensureAbsolute(response.getLocation(), response.getHeaders(),
+                            response.getRequestContext(), runtime.rfc7231LocationHeaderRelativeUriResolution);
+                }
+            }
+        }
+
+        /**
+         * Response stream provider that lets the container response writer transfer file and byte buffer entities
+         * directly. The container writes the response status and headers itself if, and only if, it transfers the entity.
+         */
+        private class ZeroCopyStreamProvider extends ResponseStreamProvider implements ZeroCopyOutput {
+
+            private ZeroCopyStreamProvider(final ContainerResponse response, final ContainerResponseWriter writer) {
+                super(response, writer, false);
+            }
+
+            @Override
+            public boolean transferFile(final File file, final long position, final long count) throws IOException {
+                resolveLocation();
+                return super.writer.transferFile(file, position, count, super.response);
+            }
+
+            @Override
+            public boolean transferBuffer(final ByteBuffer buffer) throws IOException {
+                resolveLocation();
+                return super.writer.transferBuffer(buffer, super.response);
+            }
+        }
+
         private ContainerResponse writeResponse(final ContainerResponse response) {
             final ContainerRequest request = processingContext.request();
             final ContainerResponseWriter writer = request.getResponseWriter();
@@ -618,17 +690,9 @@ public class ServerRuntime {
             final boolean isHead = request.getMethod().equals(HttpMethod.HEAD);
 
             try {
-                response.setStreamProvider(new OutboundMessageContext.StreamProvider() {
-                    @Override
-                    public OutputStream getOutputStream(final int contentLength) throws IOException {
-                        if (!runtime.disableLocationHeaderRelativeUriResolution) {
-                            ServerRuntime.ensureAbsolute(response.getLocation(), response.getHeaders(),
-                                    response.getRequestContext(), runtime.rfc7231LocationHeaderRelativeUriResolution);
-                        }
-                        final OutputStream outputStream = writer.writeResponseStatusAndHeaders(contentLength, response);
-                        return isHead ? null : outputStream;
-                    }
-                });
+                response.setStreamProvider(runtime.zeroCopyEnabled && !isHead
+                        ? new ZeroCopyStreamProvider(response, writer)
+                        : new ResponseStreamProvider(response, writer, isHead));
 
                 if ((writer.enableResponseBuffering() || isHead) && !response.isChunked()) {
                     response.enableBuffering(runtime.configuration);
@@ -683,13 +747,20 @@ public class ServerRuntime {
                         }
 
                         final ChunkedOutput chunked = (ChunkedOutput) entity;
+                        final boolean async = runtime.chunkedOutputAsyncConfig != null;
+                        // the chunks written asynchronously may complete the response any time after the context is set,
+                        // so the writer has to be suspended first
+                        if (async && !writer.suspend(AsyncResponder.NO_TIMEOUT, TimeUnit.SECONDS, null)) {
+                            LOGGER.fine(LocalizationMessages.ERROR_SUSPENDING_CHUNKED_OUTPUT_RESPONSE());
+                        }
                         try {
                             chunked.setContext(
                                     runtime.requestScope,
                                     runtime.requestScope.referenceCurrent(),
                                     request,
                                     response,
-                                    connectionCallbackRunner);
+                                    connectionCallbackRunner,
+                                    runtime.chunkedOutputAsyncConfig);
                         } catch (final IOException ex) {
                             LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY_CHUNK(), ex);
                             close = true;
@@ -697,7 +768,7 @@ public class ServerRuntime {
                         // suspend the writer indefinitely (passing null timeout handler is ok in such case) if the output is not
                         // already closed.
                         // TODO what to do if we detect that the writer has already been suspended? override the timeout value?
-                        if (!chunked.isClosed()
+                        if (!async && !chunked.isClosed()
                                 && !writer.suspend(AsyncResponder.NO_TIMEOUT, TimeUnit.SECONDS, null)) {
                             LOGGER.fine(LocalizationMessages.ERROR_SUSPENDING_CHUNKED_OUTPUT_RESPONSE());
                         }
@@ -19,6 +19,9 @@ package org.glassfish.jersey.server.internal.monitoring;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.glassfish.jersey.server.monitoring.ExceptionMapperStatistics;
 
@@ -32,15 +35,16 @@ final class ExceptionMapperStatisticsImpl implements ExceptionMapperStatistics {
     /**
      * Builder of exception mapper statistics.
      * <p/>
-     * This builder does not need to be threadsafe since it's called only from the jersey-background-task-scheduler.
+     * Must be thread-safe, the mappings are added directly by the request processing threads.
      */
     static class Builder {
 
-        private Map<Class<?>, Long> exceptionMapperExecutionCountMap = new HashMap<>();
-        private long successfulMappings;
-        private long unsuccessfulMappings;
-        private long totalMappings;
+        private final ConcurrentMap<Class<?>, LongAdder> exceptionMapperExecutionCountMap = new ConcurrentHashMap<>();
+        private final LongAdder successfulMappings = new LongAdder();
+        private final LongAdder unsuccessfulMappings = new LongAdder();
+        private final LongAdder totalMappings = new LongAdder();
 
+        private volatile boolean modified = false;
         private ExceptionMapperStatisticsImpl cached;
 
         /**
@@ -50,14 +54,13 @@ final class ExceptionMapperStatisticsImpl implements ExceptionMapperStatistics {
          * @param count Number of mappings.
          */
         void addMapping(final boolean success, final int count) {
-            cached = null;
-
-            totalMappings++;
+            totalMappings.increment();
             if (success) {
-                successfulMappings += count;
+                successfulMappings.add(count);
             } else {
-                unsuccessfulMappings += count;
+                unsuccessfulMappings.add(count);
             }
+            markModified();
         }
 
         /**
@@ -67,11 +70,19 @@ final class ExceptionMapperStatisticsImpl implements ExceptionMapperStatistics {
          * @param count Number of executions of the {@code mapper}.
          */
         void addExceptionMapperExecution(final Class<?> mapper, final int count) {
-            cached = null;
+            LongAdder counter = exceptionMapperExecutionCountMap.get(mapper);
+            if (counter == null) {
+                counter = exceptionMapperExecutionCountMap.computeIfAbsent(mapper, clazz -> new LongAdder());
+            }
+            counter.add(count);
+            markModified();
+        }
 
-            Long cnt = exceptionMapperExecutionCountMap.get(mapper);
-            cnt = cnt == null ? count : cnt + count;
-            exceptionMapperExecutionCountMap.put(mapper, cnt);
+        private void markModified() {
+            // the flag is cleared before the counters are read in build(), so no update can get lost in the cached instance
+            if (!modified) {
+                modified = true;
+            }
         }
 
         /**
@@ -80,9 +91,15 @@ final class ExceptionMapperStatisticsImpl implements ExceptionMapperStatistics {
          * @return New instance of exception mapper statistics.
          */
         public ExceptionMapperStatisticsImpl build() {
-            if (cached == null) {
-                cached = new ExceptionMapperStatisticsImpl(new HashMap<>(this.exceptionMapperExecutionCountMap),
-                        successfulMappings, unsuccessfulMappings, totalMappings);
+            if (cached == null || modified) {
+                modified = false;
+
+                final Map<Class<?>, Long> exceptionMapperExecutionCount = new HashMap<>();
+                for (final Map.Entry<Class<?>, LongAdder> entry : exceptionMapperExecutionCountMap.entrySet()) {
+                    exceptionMapperExecutionCount.put(entry.getKey(), entry.getValue().sum());
+                }
+                cached = new ExceptionMapperStatisticsImpl(exceptionMapperExecutionCount,
+                        successfulMappings.sum(), unsuccessfulMappings.sum(), totalMappings.sum());
             }
 
             return cached;
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.glassfish.jersey.server.internal.monitoring.core.RollingHistogram;
 import org.glassfish.jersey.server.internal.monitoring.core.UniformTimeReservoir;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
 import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
@@ -55,35 +56,65 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
         /**
          * Create a new builder.
          */
-        @SuppressWarnings("MagicNumber")
         public Builder() {
+            this(false);
+        }
+
+        /**
+         * Create a new builder.
+         *
+         * @param histograms if {@code true}, the execution times are kept in a {@link RollingHistogram fixed-size histogram}
+         *                   instead of the sliding windows of the individual measurements.
+         */
+        @SuppressWarnings("MagicNumber")
+        public Builder(final boolean histograms) {
             final long nowMillis = System.currentTimeMillis();
-            final AggregatingTrimmer trimmer = new AggregatingTrimmer(nowMillis, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
-            final TimeWindowStatisticsImpl.Builder<Long> oneSecondIntervalWindowBuilder =
-                    new TimeWindowStatisticsImpl.Builder<>(
-                            new SlidingWindowTimeReservoir(1, TimeUnit.SECONDS, nowMillis, TimeUnit.MILLISECONDS, trimmer));
-            final TimeWindowStatisticsImpl.Builder<Long> infiniteIntervalWindowBuilder =
-                    new TimeWindowStatisticsImpl.Builder<>(new UniformTimeReservoir(nowMillis, TimeUnit.MILLISECONDS));
-
-            this.updatableIntervalStatistics =
-                    Arrays.asList(infiniteIntervalWindowBuilder, oneSecondIntervalWindowBuilder);
-
-            // create unmodifiable map to ensure that an iteration in the build() won't have multi-threading issues
-            final HashMap<Long, TimeWindowStatisticsImpl.Builder> tmpIntervalStatistics = new HashMap<>(6);
-            // Add approximate infinite time window builder
-            tmpIntervalStatistics.put(0L, infiniteIntervalWindowBuilder);
-            // Add precise 1 second time window builder
-            tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1), oneSecondIntervalWindowBuilder);
-            // Add aggregated 15 seconds time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.SECONDS, trimmer);
-            // Add aggregated 1 minute time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.MINUTES, trimmer);
-            // Add aggregated 15 minutes time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.MINUTES, trimmer);
-            // Add aggregated 1 hour time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.HOURS, trimmer);
-
-            this.intervalStatistics = Collections.unmodifiableMap(tmpIntervalStatistics);
+            if (histograms) {
+                final RollingHistogram histogram = new RollingHistogram(nowMillis, TimeUnit.MILLISECONDS,
+                        1, TimeUnit.SECONDS, 10);
+                final TimeWindowStatisticsImpl.Builder<Long> oneSecondIntervalWindowBuilder =
+                        new TimeWindowStatisticsImpl.Builder<>(histogram.getReservoir());
+
+                // all the time windows are updated by recording the execution in the histogram
+                this.updatableIntervalStatistics = Collections.singletonList(oneSecondIntervalWindowBuilder);
+
+                final HashMap<Long, TimeWindowStatisticsImpl.Builder> tmpIntervalStatistics = new HashMap<>(6);
+                tmpIntervalStatistics.put(0L, new TimeWindowStatisticsImpl.Builder<>(histogram.getTotalReservoir()));
+                tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1), oneSecondIntervalWindowBuilder);
+                addHistogramInterval(tmpIntervalStatistics, histogram, 15, TimeUnit.SECONDS, 5);
+                addHistogramInterval(tmpIntervalStatistics, histogram, 1, TimeUnit.MINUTES, 6);
+                addHistogramInterval(tmpIntervalStatistics, histogram, 15, TimeUnit.MINUTES, 5);
+                addHistogramInterval(tmpIntervalStatistics, histogram, 1, TimeUnit.HOURS, 6);
+
+                this.intervalStatistics = Collections.unmodifiableMap(tmpIntervalStatistics);
+            } else {
+                final AggregatingTrimmer trimmer = new AggregatingTrimmer(nowMillis, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
+                final TimeWindowStatisticsImpl.Builder<Long> oneSecondIntervalWindowBuilder =
+                        new TimeWindowStatisticsImpl.Builder<>(
+                                new SlidingWindowTimeReservoir(1, TimeUnit.SECONDS, nowMillis, TimeUnit.MILLISECONDS, trimmer));
+                final TimeWindowStatisticsImpl.Builder<Long> infiniteIntervalWindowBuilder =
+                        new TimeWindowStatisticsImpl.Builder<>(new UniformTimeReservoir(nowMillis, TimeUnit.MILLISECONDS));
+
+                this.updatableIntervalStatistics =
+                        Arrays.asList(infiniteIntervalWindowBuilder, oneSecondIntervalWindowBuilder);
+
+                // create unmodifiable map to ensure that an iteration in the build() won't have multi-threading issues
+                final HashMap<Long, TimeWindowStatisticsImpl.Builder> tmpIntervalStatistics = new HashMap<>(6);
+                // Add approximate infinite time window builder
+                tmpIntervalStatistics.put(0L, infiniteIntervalWindowBuilder);
+                // Add precise 1 second time window builder
+                tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1), oneSecondIntervalWindowBuilder);
+                // Add aggregated 15 seconds time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.SECONDS, trimmer);
+                // Add aggregated 1 minute time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.MINUTES, trimmer);
+                // Add aggregated 15 minutes time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.MINUTES, trimmer);
+                // Add aggregated 1 hour time window builder
+                addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.HOURS, trimmer);
+
+                this.intervalStatistics = Collections.unmodifiableMap(tmpIntervalStatistics);
+            }
         }
 
         private static void addAggregatedInterval(
@@ -98,6 +129,16 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
                             TimeUnit.MILLISECONDS, notifier)));
         }
 
+        private static void addHistogramInterval(
+                final Map<Long, TimeWindowStatisticsImpl.Builder> intervalStatisticsMap,
+                final RollingHistogram histogram,
+                final long interval,
+                final TimeUnit timeUnit,
+                final int slices) {
+            intervalStatisticsMap.put(timeUnit.toMillis(interval),
+                    new TimeWindowStatisticsImpl.Builder<>(histogram.addReservoir(interval, timeUnit, slices)));
+        }
+
         /**
          * Add execution of a target.
          *
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.HttpHeaders;
+
+import org.glassfish.jersey.internal.util.collection.BoundedCache;
+import org.glassfish.jersey.message.internal.ParsedHeaderCache;
+import org.glassfish.jersey.server.monitoring.HeaderCacheStatistics;
+
+/**
+ * Immutable parsed header cache statistics.
+ */
+final class HeaderCacheStatisticsImpl implements HeaderCacheStatistics {
+
+    /**
+     * Create the snapshot of the current statistics of the parsed header caches.
+     *
+     * @return statistics of the parsed header caches keyed by the header name.
+     */
+    static Map<String, HeaderCacheStatistics> snapshot() {
+        final Map<String, HeaderCacheStatistics> statistics = new LinkedHashMap<>();
+        statistics.put(HttpHeaders.ACCEPT, new HeaderCacheStatisticsImpl(ParsedHeaderCache.ACCEPT.getStatistics()));
+        statistics.put(HttpHeaders.ACCEPT_LANGUAGE,
+                new HeaderCacheStatisticsImpl(ParsedHeaderCache.ACCEPT_LANGUAGE.getStatistics()));
+        statistics.put(HttpHeaders.CONTENT_TYPE, new HeaderCacheStatisticsImpl(ParsedHeaderCache.CONTENT_TYPE.getStatistics()));
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private final BoundedCache.Statistics statistics;
+
+    private HeaderCacheStatisticsImpl(final BoundedCache.Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public long getHits() {
+        return statistics.getHitCount();
+    }
+
+    @Override
+    public long getMisses() {
+        return statistics.getMissCount();
+    }
+
+    @Override
+    public long getEvictions() {
+        return statistics.getEvictionCount();
+    }
+
+    @Override
+    public int getSize() {
+        return statistics.getSize();
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return statistics.getMaximumSize();
+    }
+}
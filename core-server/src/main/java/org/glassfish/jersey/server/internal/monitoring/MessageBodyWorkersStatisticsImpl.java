@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import org.glassfish.jersey.internal.util.collection.BoundedCache;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.MessageBodyFactory;
+import org.glassfish.jersey.server.monitoring.MessageBodyWorkersStatistics;
+
+/**
+ * Immutable message body workers statistics.
+ */
+public final class MessageBodyWorkersStatisticsImpl implements MessageBodyWorkersStatistics {
+
+    /**
+     * Statistics of message body workers that do not cache lookups.
+     */
+    public static final MessageBodyWorkersStatisticsImpl EMPTY = new MessageBodyWorkersStatisticsImpl(0, 0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Create the snapshot of the current lookup cache statistics of message body workers.
+     *
+     * @param workers message body workers, may be {@code null}.
+     * @return message body workers statistics.
+     */
+    static MessageBodyWorkersStatisticsImpl snapshot(final MessageBodyWorkers workers) {
+        if (!(workers instanceof MessageBodyFactory)) {
+            return EMPTY;
+        }
+
+        final MessageBodyFactory factory = (MessageBodyFactory) workers;
+        final BoundedCache.Statistics readers = factory.getReaderLookupCacheStatistics();
+        final BoundedCache.Statistics writers = factory.getWriterLookupCacheStatistics();
+        return new MessageBodyWorkersStatisticsImpl(
+                readers.getHitCount(), readers.getMissCount(), readers.getEvictionCount(), readers.getSize(),
+                writers.getHitCount(), writers.getMissCount(), writers.getEvictionCount(), writers.getSize());
+    }
+
+    private final long readerHits;
+    private final long readerMisses;
+    private final long readerEvictions;
+    private final int readerSize;
+    private final long writerHits;
+    private final long writerMisses;
+    private final long writerEvictions;
+    private final int writerSize;
+
+    private MessageBodyWorkersStatisticsImpl(final long readerHits, final long readerMisses,
+                                             final long readerEvictions, final int readerSize,
+                                             final long writerHits, final long writerMisses,
+                                             final long writerEvictions, final int writerSize) {
+        this.readerHits = readerHits;
+        this.readerMisses = readerMisses;
+        this.readerEvictions = readerEvictions;
+        this.readerSize = readerSize;
+        this.writerHits = writerHits;
+        this.writerMisses = writerMisses;
+        this.writerEvictions = writerEvictions;
+        this.writerSize = writerSize;
+    }
+
+    @Override
+    public long getReaderLookupCacheHits() {
+        return readerHits;
+    }
+
+    @Override
+    public long getReaderLookupCacheMisses() {
+        return readerMisses;
+    }
+
+    @Override
+    public long getReaderLookupCacheEvictions() {
+        return readerEvictions;
+    }
+
+    @Override
+    public int getReaderLookupCacheSize() {
+        return readerSize;
+    }
+
+    @Override
+    public long getWriterLookupCacheHits() {
+        return writerHits;
+    }
+
+    @Override
+    public long getWriterLookupCacheMisses() {
+        return writerMisses;
+    }
+
+    @Override
+    public long getWriterLookupCacheEvictions() {
+        return writerEvictions;
+    }
+
+    @Override
+    public int getWriterLookupCacheSize() {
+        return writerSize;
+    }
+}
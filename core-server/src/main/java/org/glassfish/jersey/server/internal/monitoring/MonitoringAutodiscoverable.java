@@ -44,8 +44,10 @@ public final class MonitoringAutodiscoverable implements ForcedAutoDiscoverable
                     ServerProperties.MONITORING_STATISTICS_ENABLED, Boolean.FALSE);
             final Boolean mbeansEnabled = ServerProperties.getValue(context.getConfiguration().getProperties(),
                     ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, Boolean.FALSE);
+            final Boolean openMetricsEnabled = ServerProperties.getValue(context.getConfiguration().getProperties(),
+                    ServerProperties.MONITORING_STATISTICS_OPENMETRICS_ENABLED, Boolean.FALSE);
 
-            if (monitoringEnabled || statisticsEnabled || mbeansEnabled) {
+            if (monitoringEnabled || statisticsEnabled || mbeansEnabled || openMetricsEnabled) {
                 context.register(MonitoringFeature.class);
             }
         }
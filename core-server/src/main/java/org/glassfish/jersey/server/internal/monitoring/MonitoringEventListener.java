@@ -16,13 +16,10 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ListIterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javax.ws.rs.ProcessingException;
 
@@ -44,6 +41,11 @@ import org.glassfish.jersey.uri.UriTemplate;
  * and {@link RequestEvent request} events and supplies data to {@link MonitoringStatisticsProcessor} which
  * produces {@link org.glassfish.jersey.server.monitoring.MonitoringStatistics monitoring statistics}.
  * <p>
+ * The request events are added to the statistics builder of the processor directly in the request processing thread.
+ * The builder consists of lock-free counters and reservoirs, so no event is lost or queued for a later processing
+ * regardless of the request rate.
+ * </p>
+ * <p>
  * The {@link MonitoringStatisticsProcessor} is started by this class after the first application event
  * comes.
  * </p>
@@ -59,118 +61,18 @@ import org.glassfish.jersey.uri.UriTemplate;
 public final class MonitoringEventListener implements ApplicationEventListener {
 
     private static final Logger LOGGER = Logger.getLogger(MonitoringEventListener.class.getName());
-    private static final int EVENT_QUEUE_SIZE = 500_000;
 
     @Inject
     private InjectionManager injectionManager;
 
-    private final Queue<RequestStats> requestQueuedItems = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
-    private final Queue<Integer> responseStatuses = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
-    private final Queue<RequestEvent> exceptionMapperEvents = new ArrayBlockingQueue<>(EVENT_QUEUE_SIZE);
     private volatile MonitoringStatisticsProcessor monitoringStatisticsProcessor;
 
-    /**
-     * Time statistics.
-     */
-    static class TimeStats {
-
-        private final long duration;
-        private final long startTime;
-
-        private TimeStats(final long startTime, final long requestDuration) {
-            this.duration = requestDuration;
-            this.startTime = startTime;
-        }
-
-        /**
-         * Get duration.
-         *
-         * @return Duration in milliseconds.
-         */
-        long getDuration() {
-            return duration;
-        }
-
-        /**
-         * Get start time.
-         *
-         * @return Start time (Unix timestamp format).
-         */
-        long getStartTime() {
-            return startTime;
-        }
-    }
-
-    /**
-     * Method statistics.
-     */
-    static class MethodStats extends TimeStats {
-
-        private final ResourceMethod method;
-
-        private MethodStats(final ResourceMethod method, final long startTime, final long requestDuration) {
-            super(startTime, requestDuration);
-            this.method = method;
-        }
-
-        /**
-         * Get the resource method executed.
-         *
-         * @return resource method.
-         */
-        ResourceMethod getMethod() {
-            return method;
-        }
-    }
-
-    /**
-     * Request statistics.
-     */
-    static class RequestStats {
-
-        private final TimeStats requestStats;
-        private final MethodStats methodStats; // might be null if a method was not executed during a request
-        private final String requestUri;
-
-        private RequestStats(final TimeStats requestStats, final MethodStats methodStats, final String requestUri) {
-            this.requestStats = requestStats;
-            this.methodStats = methodStats;
-            this.requestUri = requestUri;
-        }
-
-        /**
-         * Get request statistics.
-         *
-         * @return request statistics.
-         */
-        TimeStats getRequestStats() {
-            return requestStats;
-        }
-
-        /**
-         * Get method statistics.
-         *
-         * @return method statistics.
-         */
-        MethodStats getMethodStats() {
-            return methodStats;
-        }
-
-        /**
-         * Get the request uri.
-         *
-         * @return request uri.
-         */
-        String getRequestUri() {
-            return requestUri;
-        }
-    }
-
     @Override
     public ReqEventListener onRequest(final RequestEvent requestEvent) {
         switch (requestEvent.getType()) {
             case START:
-                return new ReqEventListener();
+                final MonitoringStatisticsProcessor processor = monitoringStatisticsProcessor;
+                return processor == null ? null : new ReqEventListener(processor.getStatisticsBuilder());
 
         }
         return null;
@@ -184,7 +86,7 @@ public final class MonitoringEventListener implements ApplicationEventListener {
                 break;
             case RELOAD_FINISHED:
             case INITIALIZATION_FINISHED:
-                this.monitoringStatisticsProcessor = new MonitoringStatisticsProcessor(injectionManager, this);
+                this.monitoringStatisticsProcessor = new MonitoringStatisticsProcessor(injectionManager);
                 this.monitoringStatisticsProcessor.startMonitoringWorker();
                 break;
             case DESTROY_FINISHED:
@@ -215,13 +117,16 @@ public final class MonitoringEventListener implements ApplicationEventListener {
         }
     }
 
-    private class ReqEventListener implements RequestEventListener {
+    private static class ReqEventListener implements RequestEventListener {
 
+        private final MonitoringStatisticsImpl.Builder statisticsBuilder;
         private final long requestTimeStart;
         private volatile long methodTimeStart;
-        private volatile MethodStats methodStats;
+        private volatile long methodDuration;
+        private volatile ResourceMethod method; // might be null if a method was not executed during a request
 
-        public ReqEventListener() {
+        public ReqEventListener(final MonitoringStatisticsImpl.Builder statisticsBuilder) {
+            this.statisticsBuilder = statisticsBuilder;
             this.requestTimeStart = System.currentTimeMillis();
         }
 
@@ -234,70 +139,48 @@ public final class MonitoringEventListener implements ApplicationEventListener {
                     this.methodTimeStart = now;
                     break;
                 case RESOURCE_METHOD_FINISHED:
-                    final ResourceMethod method = event.getUriInfo().getMatchedResourceMethod();
-                    methodStats = new MethodStats(method, methodTimeStart, now - methodTimeStart);
+                    this.methodDuration = now - methodTimeStart;
+                    this.method = event.getUriInfo().getMatchedResourceMethod();
                     break;
                 case EXCEPTION_MAPPING_FINISHED:
-                    if (!exceptionMapperEvents.offer(event)) {
-                        LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_MAPPER());
+                    final ExceptionMapperStatisticsImpl.Builder mapperStats =
+                            statisticsBuilder.getExceptionMapperStatisticsBuilder();
+                    if (event.getExceptionMapper() != null) {
+                        mapperStats.addExceptionMapperExecution(event.getExceptionMapper().getClass(), 1);
                     }
+                    mapperStats.addMapping(event.isResponseSuccessfullyMapped(), 1);
                     break;
                 case FINISHED:
                     if (event.isResponseWritten()) {
-                        if (!responseStatuses.offer(event.getContainerResponse().getStatus())) {
-                            LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_RESPONSE());
-                        }
+                        statisticsBuilder.addResponseCode(event.getContainerResponse().getStatus());
                     }
-                    final StringBuilder sb = new StringBuilder();
-                    final List<UriTemplate> orderedTemplates =
-                            event.getUriInfo().getMatchedTemplates()
-                                 .stream()
-                                 .collect(Collectors.collectingAndThen(Collectors.toList(), uriTemplates -> {
-                                     Collections.reverse(uriTemplates);
-                                     return uriTemplates;
-                                 }));
 
-                    for (final UriTemplate uriTemplate : orderedTemplates) {
-                        sb.append(uriTemplate.getTemplate());
-                        if (!uriTemplate.endsWithSlash()) {
-                            sb.append("/");
-                        }
-                        sb.setLength(sb.length() - 1);
-                    }
+                    final long requestDuration = now - requestTimeStart;
+                    statisticsBuilder.addRequestExecution(requestTimeStart, requestDuration);
 
-                    if (!requestQueuedItems.offer(new RequestStats(new TimeStats(requestTimeStart, now - requestTimeStart),
-                            methodStats, sb.toString()))) {
-                        LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_REQUEST());
+                    final ResourceMethod resourceMethod = this.method;
+                    if (resourceMethod != null) {
+                        statisticsBuilder.addExecution(getRequestUri(event), resourceMethod,
+                                methodTimeStart, methodDuration,
+                                requestTimeStart, requestDuration);
                     }
-
             }
         }
-    }
 
-    /**
-     * Get the exception mapper event queue.
-     *
-     * @return Exception mapper event queue.
-     */
-    Queue<RequestEvent> getExceptionMapperEvents() {
-        return exceptionMapperEvents;
-    }
-
-    /**
-     * Get the request event queue.
-     *
-     * @return Request event queue.
-     */
-    Queue<RequestStats> getRequestQueuedItems() {
-        return requestQueuedItems;
-    }
-
-    /**
-     * Get the queue with response status codes.
-     *
-     * @return response status queue.
-     */
-    Queue<Integer> getResponseStatuses() {
-        return responseStatuses;
+        private static String getRequestUri(final RequestEvent event) {
+            final List<UriTemplate> matchedTemplates = event.getUriInfo().getMatchedTemplates();
+            final StringBuilder sb = new StringBuilder();
+
+            // the templates are ordered from the last matched one
+            final ListIterator<UriTemplate> iterator = matchedTemplates.listIterator(matchedTemplates.size());
+            while (iterator.hasPrevious()) {
+                final UriTemplate uriTemplate = iterator.previous();
+                sb.append(uriTemplate.getTemplate());
+                if (uriTemplate.endsWithSlash()) {
+                    sb.setLength(sb.length() - 1);
+                }
+            }
+            return sb.toString();
+        }
     }
 }
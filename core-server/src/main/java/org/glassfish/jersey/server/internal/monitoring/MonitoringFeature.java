@@ -33,6 +33,7 @@ import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.monitoring.jmx.MBeanExposer;
+import org.glassfish.jersey.server.internal.monitoring.openmetrics.OpenMetricsModelProcessor;
 import org.glassfish.jersey.server.monitoring.ApplicationInfo;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
@@ -46,7 +47,9 @@ import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
  * configured by setting {@code true} to {@link #setmBeansEnabled(boolean)} in order to enable exposure
  * of monitoring MBeans. The same can be achieved by configuration of a property
  * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_MBEANS_ENABLED} which
- * overrides the setting defined by the {@link #setmBeansEnabled(boolean)} method.
+ * overrides the setting defined by the {@link #setmBeansEnabled(boolean)} method. Similarly, the exposure of
+ * the statistics in the OpenMetrics text format is enabled by {@link #setOpenMetricsEnabled(boolean)} or by the property
+ * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_OPENMETRICS_ENABLED}.
  * <p/>
  * <p>
  * The MonitoringStatistics can be controlled also by definition of a property
@@ -66,6 +69,7 @@ public final class MonitoringFeature implements Feature {
     private boolean monitoringEnabled = true;
     private boolean statisticsEnabled = true; // monitoring statistics are enabled only if monitoring is enabled
     private boolean mBeansEnabled; // monitoring mbeans are enabled only if monitoring statistics is enabled
+    private boolean openMetricsEnabled; // openmetrics resource is enabled only if monitoring statistics is enabled
 
     @Override
     public boolean configure(FeatureContext context) {
@@ -75,6 +79,8 @@ public final class MonitoringFeature implements Feature {
                 ServerProperties.MONITORING_STATISTICS_ENABLED, null, Boolean.class);
         final Boolean mbeansEnabledProperty = ServerProperties.getValue(context.getConfiguration().getProperties(),
                 ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, null, Boolean.class);
+        final Boolean openMetricsEnabledProperty = ServerProperties.getValue(context.getConfiguration().getProperties(),
+                ServerProperties.MONITORING_STATISTICS_OPENMETRICS_ENABLED, null, Boolean.class);
 
         if (monitoringEnabledProperty != null) {
             monitoringEnabled = monitoringEnabledProperty;
@@ -92,8 +98,15 @@ public final class MonitoringFeature implements Feature {
             mBeansEnabled = mbeansEnabledProperty;
         }
 
+        if (openMetricsEnabledProperty != null) {
+            monitoringEnabled = monitoringEnabled || openMetricsEnabledProperty;
+            statisticsEnabled = statisticsEnabled || openMetricsEnabledProperty;
+            openMetricsEnabled = openMetricsEnabledProperty;
+        }
+
         if (statisticsEnabledProperty != null && !statisticsEnabledProperty) {
-            if (mbeansEnabledProperty != null && mBeansEnabled) {
+            if ((mbeansEnabledProperty != null && mBeansEnabled)
+                    || (openMetricsEnabledProperty != null && openMetricsEnabled)) {
                 LOGGER.log(Level.WARNING,
                         LocalizationMessages.WARNING_MONITORING_FEATURE_ENABLED(ServerProperties.MONITORING_STATISTICS_ENABLED));
             } else {
@@ -139,6 +152,14 @@ public final class MonitoringFeature implements Feature {
             context.register(new MBeanExposer());
         }
 
+        if (openMetricsEnabled && statisticsEnabled) {
+            // the latency histograms are exposed as the OpenMetrics histograms
+            if (context.getConfiguration().getProperty(ServerProperties.MONITORING_STATISTICS_HISTOGRAMS_ENABLED) == null) {
+                context.property(ServerProperties.MONITORING_STATISTICS_HISTOGRAMS_ENABLED, true);
+            }
+            context.register(OpenMetricsModelProcessor.class);
+        }
+
         return monitoringEnabled;
     }
 
@@ -153,6 +174,18 @@ public final class MonitoringFeature implements Feature {
         this.mBeansEnabled = mBeansEnabled;
     }
 
+    /**
+     * Set whether the feature should also expose the monitoring statistics in the OpenMetrics text format.
+     * The set value can be overwritten by the definition of the property
+     * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_OPENMETRICS_ENABLED}.
+     *
+     * @param openMetricsEnabled {@code true} if the monitoring statistics should be exposed in the OpenMetrics format.
+     * @since 2.29
+     */
+    public void setOpenMetricsEnabled(boolean openMetricsEnabled) {
+        this.openMetricsEnabled = openMetricsEnabled;
+    }
+
     private static class ApplicationInfoInjectionFactory extends ReferencingFactory<ApplicationInfo> {
 
         /**
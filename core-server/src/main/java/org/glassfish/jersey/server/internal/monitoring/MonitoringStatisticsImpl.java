@@ -18,16 +18,20 @@ package org.glassfish.jersey.server.internal.monitoring;
 
 import java.util.Collections;
 import java.util.Map;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import org.glassfish.jersey.internal.util.collection.Views;
+import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ExceptionMapperStatistics;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.HeaderCacheStatistics;
+import org.glassfish.jersey.server.monitoring.MessageBodyWorkersStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceStatistics;
 import org.glassfish.jersey.server.monitoring.ResponseStatistics;
@@ -45,22 +49,10 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
     /**
      * Builder of monitoring statistics.
      * <p/>
-     * This builder does not need to be threadsafe as it's only accessed by jersey-background-task-scheduler. However, {@link
-     * #BUILDING_FUNCTION} is triggered when it is accessed (e.g., by servlet-container thread-pool threads) which adds threadsafe
-     * constraint on some of the sub-builders.
-     * <p/>
-     * Sub-Builders that require thread-safety
-     * <pre><ul>
-     *     <li>{@link org.glassfish.jersey.server.internal.monitoring.ExecutionStatisticsImpl.Builder}</li>
-     *     <li>{@link org.glassfish.jersey.server.internal.monitoring.ResourceStatisticsImpl.Builder}</li>
-     *     <li>{@link org.glassfish.jersey.server.internal.monitoring.ResourceMethodStatisticsImpl.Builder}</li>
-     *     <li>{@link org.glassfish.jersey.server.internal.monitoring.TimeWindowStatisticsImpl.Builder}</li>
-     * </ul>
-     * The rest does not need to be thread-safe
-     * <ul>
-     *     <li>{@link org.glassfish.jersey.server.internal.monitoring.ExceptionMapperStatisticsImpl.Builder}</li>
-     *     <li>{@link org.glassfish.jersey.server.internal.monitoring.ResponseStatisticsImpl.Builder}</li>
-     * </ul></pre>
+     * The executions, response codes and exception mappings are added directly by the request processing threads, so the
+     * builder and all its sub-builders must be thread-safe. The {@link #build()} method is called only by
+     * jersey-background-task-scheduler. However, {@link #BUILDING_FUNCTION} is triggered when the built statistics are accessed
+     * (e.g., by servlet-container thread-pool threads).
      */
     static class Builder {
 
@@ -70,17 +62,24 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         private final ResponseStatisticsImpl.Builder responseStatisticsBuilder;
         private final ExceptionMapperStatisticsImpl.Builder exceptionMapperStatisticsBuilder;
 
-        private final ResourceMethodStatisticsImpl.Factory methodFactory = new ResourceMethodStatisticsImpl.Factory();
-        private final SortedMap<String, ResourceStatisticsImpl.Builder> uriStatistics = new TreeMap<>();
-        private final SortedMap<Class<?>, ResourceStatisticsImpl.Builder> resourceClassStatistics
-                = new TreeMap<>((o1, o2) -> o1.getName().compareTo(o2.getName()));
+        private final boolean histograms;
+        private final ResourceMethodStatisticsImpl.Factory methodFactory;
+        private final ConcurrentNavigableMap<String, ResourceStatisticsImpl.Builder> uriStatistics =
+                new ConcurrentSkipListMap<>();
+        private final ConcurrentNavigableMap<Class<?>, ResourceStatisticsImpl.Builder> resourceClassStatistics
+                = new ConcurrentSkipListMap<>((o1, o2) -> o1.getName().compareTo(o2.getName()));
 
-        private ExecutionStatisticsImpl.Builder executionStatisticsBuilder;
+        private final AtomicReference<ExecutionStatisticsImpl.Builder> executionStatisticsBuilder = new AtomicReference<>();
+        private MessageBodyWorkers messageBodyWorkers;
 
         /**
          * Create a new builder.
+         *
+         * @param histograms if {@code true}, the execution times are kept in fixed-size histograms.
          */
-        Builder() {
+        Builder(final boolean histograms) {
+            this.histograms = histograms;
+            this.methodFactory = new ResourceMethodStatisticsImpl.Factory(() -> new ExecutionStatisticsImpl.Builder(histograms));
             this.responseStatisticsBuilder = new ResponseStatisticsImpl.Builder();
             this.exceptionMapperStatisticsBuilder = new ExceptionMapperStatisticsImpl.Builder();
         }
@@ -91,7 +90,17 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
          * @param resourceModel resource model.
          */
         Builder(final ResourceModel resourceModel) {
-            this();
+            this(resourceModel, false);
+        }
+
+        /**
+         * Create a new builder and initialize it from resource model.
+         *
+         * @param resourceModel resource model.
+         * @param histograms    if {@code true}, the execution times are kept in fixed-size histograms.
+         */
+        Builder(final ResourceModel resourceModel, final boolean histograms) {
+            this(histograms);
 
             for (final Resource resource : resourceModel.getRootResources()) {
                 processResource(resource, "");
@@ -119,12 +128,11 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
 
         private ResourceStatisticsImpl.Builder getOrCreateResourceBuilder(final ResourceMethod resourceMethod) {
             final Class<?> clazz = resourceMethod.getInvocable().getHandler().getHandlerClass();
-            ResourceStatisticsImpl.Builder builder = resourceClassStatistics.get(clazz);
-            if (builder == null) {
-                builder = new ResourceStatisticsImpl.Builder(methodFactory);
-                resourceClassStatistics.put(clazz, builder);
+            final ResourceStatisticsImpl.Builder builder = resourceClassStatistics.get(clazz);
+            if (builder != null) {
+                return builder;
             }
-            return builder;
+            return resourceClassStatistics.computeIfAbsent(clazz, key -> new ResourceStatisticsImpl.Builder(methodFactory));
         }
 
         /**
@@ -136,6 +144,15 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             return exceptionMapperStatisticsBuilder;
         }
 
+        /**
+         * Set the message body workers whose lookup cache statistics are included in the built statistics.
+         *
+         * @param messageBodyWorkers message body workers.
+         */
+        void setMessageBodyWorkers(final MessageBodyWorkers messageBodyWorkers) {
+            this.messageBodyWorkers = messageBodyWorkers;
+        }
+
         /**
          * Add global request execution.
          *
@@ -143,10 +160,10 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
          * @param duration  duration of the execution.
          */
         void addRequestExecution(final long startTime, final long duration) {
-            if (executionStatisticsBuilder == null) {
-                executionStatisticsBuilder = new ExecutionStatisticsImpl.Builder();
+            if (executionStatisticsBuilder.get() == null) {
+                executionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder(histograms));
             }
-            executionStatisticsBuilder.addExecution(startTime, duration);
+            executionStatisticsBuilder.get().addExecution(startTime, duration);
         }
 
         /**
@@ -166,8 +183,8 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             // Uri resource stats.
             ResourceStatisticsImpl.Builder uriStatsBuilder = uriStatistics.get(uri);
             if (uriStatsBuilder == null) {
-                uriStatsBuilder = new ResourceStatisticsImpl.Builder(resourceMethod.getParent(), methodFactory);
-                uriStatistics.put(uri, uriStatsBuilder);
+                uriStatsBuilder = uriStatistics.computeIfAbsent(uri,
+                        key -> new ResourceStatisticsImpl.Builder(resourceMethod.getParent(), methodFactory));
             }
             uriStatsBuilder.addExecution(resourceMethod, methodTime, methodDuration, requestTime, requestDuration);
 
@@ -200,19 +217,24 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             final Map<Class<?>, ResourceStatistics> classStats = Collections.unmodifiableMap(
                     Views.mapView(resourceClassStatistics, BUILDING_FUNCTION));
 
-            final ExecutionStatistics requestStats = executionStatisticsBuilder == null
-                    ? ExecutionStatisticsImpl.EMPTY : executionStatisticsBuilder.build();
+            final ExecutionStatisticsImpl.Builder requestStatsBuilder = executionStatisticsBuilder.get();
+            final ExecutionStatistics requestStats = requestStatsBuilder == null
+                    ? ExecutionStatisticsImpl.EMPTY : requestStatsBuilder.build();
 
             return new MonitoringStatisticsImpl(
                     uriStats, classStats, requestStats,
                     responseStatisticsBuilder.build(),
-                    exceptionMapperStatisticsBuilder.build());
+                    exceptionMapperStatisticsBuilder.build(),
+                    MessageBodyWorkersStatisticsImpl.snapshot(messageBodyWorkers),
+                    HeaderCacheStatisticsImpl.snapshot());
         }
     }
 
     private final ExecutionStatistics requestStatistics;
     private final ResponseStatistics responseStatistics;
     private final ExceptionMapperStatistics exceptionMapperStatistics;
+    private final MessageBodyWorkersStatistics messageBodyWorkersStatistics;
+    private final Map<String, HeaderCacheStatistics> headerCacheStatistics;
     private final Map<String, ResourceStatistics> uriStatistics;
     private final Map<Class<?>, ResourceStatistics> resourceClassStatistics;
 
@@ -220,12 +242,16 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
                                      final Map<Class<?>, ResourceStatistics> resourceClassStatistics,
                                      final ExecutionStatistics requestStatistics,
                                      final ResponseStatistics responseStatistics,
-                                     final ExceptionMapperStatistics exceptionMapperStatistics) {
+                                     final ExceptionMapperStatistics exceptionMapperStatistics,
+                                     final MessageBodyWorkersStatistics messageBodyWorkersStatistics,
+                                     final Map<String, HeaderCacheStatistics> headerCacheStatistics) {
         this.uriStatistics = uriStatistics;
         this.resourceClassStatistics = resourceClassStatistics;
         this.requestStatistics = requestStatistics;
         this.responseStatistics = responseStatistics;
         this.exceptionMapperStatistics = exceptionMapperStatistics;
+        this.messageBodyWorkersStatistics = messageBodyWorkersStatistics;
+        this.headerCacheStatistics = headerCacheStatistics;
     }
 
     @Override
@@ -263,6 +289,16 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         return exceptionMapperStatistics;
     }
 
+    @Override
+    public MessageBodyWorkersStatistics getMessageBodyWorkersStatistics() {
+        return messageBodyWorkersStatistics;
+    }
+
+    @Override
+    public Map<String, HeaderCacheStatistics> getHeaderCacheStatistics() {
+        return headerCacheStatistics;
+    }
+
     @Override
     public MonitoringStatistics snapshot() {
         // snapshot is not needed, this object is loosely immutable (see javadoc of Maps getters)
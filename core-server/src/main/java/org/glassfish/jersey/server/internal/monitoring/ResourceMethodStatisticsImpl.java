@@ -19,6 +19,7 @@ package org.glassfish.jersey.server.internal.monitoring;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
@@ -40,15 +41,35 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
     static class Factory {
 
         private final ConcurrentMap<String, Builder> stringToMethodsBuilders = new ConcurrentHashMap<>();
+        private final Supplier<ExecutionStatisticsImpl.Builder> executionStatisticsFactory;
+
+        /**
+         * Create a new factory of the resource method statistics.
+         *
+         * @param executionStatisticsFactory factory of the execution statistics builders.
+         */
+        Factory(final Supplier<ExecutionStatisticsImpl.Builder> executionStatisticsFactory) {
+            this.executionStatisticsFactory = executionStatisticsFactory;
+        }
 
         ResourceMethodStatisticsImpl.Builder getOrCreate(final ResourceMethod resourceMethod) {
             final String methodUniqueId = MonitoringUtils.getMethodUniqueId(resourceMethod);
 
             if (!stringToMethodsBuilders.containsKey(methodUniqueId)) {
-                stringToMethodsBuilders.putIfAbsent(methodUniqueId, new ResourceMethodStatisticsImpl.Builder(resourceMethod));
+                stringToMethodsBuilders.putIfAbsent(methodUniqueId,
+                        new ResourceMethodStatisticsImpl.Builder(resourceMethod, executionStatisticsFactory));
             }
             return stringToMethodsBuilders.get(methodUniqueId);
         }
+
+        /**
+         * Create a new builder of execution statistics.
+         *
+         * @return new execution statistics builder.
+         */
+        ExecutionStatisticsImpl.Builder createExecutionStatisticsBuilder() {
+            return executionStatisticsFactory.get();
+        }
     }
 
     /**
@@ -59,6 +80,7 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
     static class Builder {
 
         private final ResourceMethod resourceMethod;
+        private final Supplier<ExecutionStatisticsImpl.Builder> executionStatisticsFactory;
 
         private final AtomicReference<ExecutionStatisticsImpl.Builder> resourceMethodExecutionStatisticsBuilder = new
                 AtomicReference<>();
@@ -70,10 +92,13 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
         /**
          * Create a new builder instance.
          *
-         * @param resourceMethod Resource method for which statistics are evaluated.
+         * @param resourceMethod             Resource method for which statistics are evaluated.
+         * @param executionStatisticsFactory Factory of the execution statistics builders.
          */
-        Builder(final ResourceMethod resourceMethod) {
+        Builder(final ResourceMethod resourceMethod,
+                final Supplier<ExecutionStatisticsImpl.Builder> executionStatisticsFactory) {
             this.resourceMethod = resourceMethod;
+            this.executionStatisticsFactory = executionStatisticsFactory;
         }
 
         /**
@@ -117,12 +142,12 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
             cached = null;
 
             if (resourceMethodExecutionStatisticsBuilder.get() == null) {
-                resourceMethodExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                resourceMethodExecutionStatisticsBuilder.compareAndSet(null, executionStatisticsFactory.get());
             }
             resourceMethodExecutionStatisticsBuilder.get().addExecution(methodStartTime, methodDuration);
 
             if (requestExecutionStatisticsBuilder.get() == null) {
-                requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                requestExecutionStatisticsBuilder.compareAndSet(null, executionStatisticsFactory.get());
             }
             requestExecutionStatisticsBuilder.get().addExecution(requestStartTime, requestDuration);
         }
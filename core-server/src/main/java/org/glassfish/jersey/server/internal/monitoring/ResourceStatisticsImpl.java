@@ -122,12 +122,12 @@ final class ResourceStatisticsImpl implements ResourceStatistics {
             cached = null;
 
             if (resourceExecutionStatisticsBuilder.get() == null) {
-                resourceExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                resourceExecutionStatisticsBuilder.compareAndSet(null, methodFactory.createExecutionStatisticsBuilder());
             }
             resourceExecutionStatisticsBuilder.get().addExecution(methodStartTime, methodDuration);
 
             if (requestExecutionStatisticsBuilder.get() == null) {
-                requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                requestExecutionStatisticsBuilder.compareAndSet(null, methodFactory.createExecutionStatisticsBuilder());
             }
             requestExecutionStatisticsBuilder.get().addExecution(requestStartTime, requestDuration);
 
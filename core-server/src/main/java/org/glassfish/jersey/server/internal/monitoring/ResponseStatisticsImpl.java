@@ -19,6 +19,9 @@ package org.glassfish.jersey.server.internal.monitoring;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.glassfish.jersey.server.monitoring.ResponseStatistics;
 
@@ -33,29 +36,41 @@ final class ResponseStatisticsImpl implements ResponseStatistics {
     private final Integer lastResponseCode;
 
     /**
-     * This builder does not need to be threadsafe since it's called only from the jersey-background-task-scheduler.
+     * Builder of response statistics.
+     * <p/>
+     * Must be thread-safe, the response codes are added directly by the request processing threads.
      */
     static class Builder {
 
-        private final Map<Integer, Long> responseCodesMap = new HashMap<>();
-        private Integer lastResponseCode = null;
+        private final ConcurrentMap<Integer, LongAdder> responseCodesMap = new ConcurrentHashMap<>();
+        private volatile Integer lastResponseCode = null;
 
+        private volatile boolean modified = false;
         private ResponseStatisticsImpl cached = null;
 
         void addResponseCode(final int responseCode) {
-            cached = null;
-
+            LongAdder counter = responseCodesMap.get(responseCode);
+            if (counter == null) {
+                counter = responseCodesMap.computeIfAbsent(responseCode, code -> new LongAdder());
+            }
+            counter.increment();
             lastResponseCode = responseCode;
-            Long currentValue = responseCodesMap.get(responseCode);
-            if (currentValue == null) {
-                currentValue = 0L;
+
+            // the flag is cleared before the counters are read in build(), so no update can get lost in the cached instance
+            if (!modified) {
+                modified = true;
             }
-            responseCodesMap.put(responseCode, currentValue + 1);
         }
 
         ResponseStatisticsImpl build() {
-            if (cached == null) {
-                cached = new ResponseStatisticsImpl(lastResponseCode, new HashMap<>(this.responseCodesMap));
+            if (cached == null || modified) {
+                modified = false;
+
+                final Map<Integer, Long> responseCodes = new HashMap<>();
+                for (final Map.Entry<Integer, LongAdder> entry : responseCodesMap.entrySet()) {
+                    responseCodes.put(entry.getKey(), entry.getValue().sum());
+                }
+                cached = new ResponseStatisticsImpl(lastResponseCode, responseCodes);
             }
 
             return cached;
@@ -24,8 +24,8 @@ import org.glassfish.jersey.server.internal.monitoring.core.UniformTimeSnapshot;
 import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
 
 /**
- * Immutable {@link TimeWindowStatistics Time window statistics} that uses backing {@link SlidingWindowTimeReservoir} for its
- * {@code Builder} implementation.
+ * Immutable {@link TimeWindowStatistics Time window statistics} that uses backing {@link SlidingWindowTimeReservoir} or
+ * {@link org.glassfish.jersey.server.internal.monitoring.core.RollingHistogram} for its {@code Builder} implementation.
  *
  * @author Miroslav Fuksa
  * @author Stepan Vavra (stepan.vavra at oracle.com)
@@ -119,19 +119,31 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
     private final long totalCount;
     private final double requestsPerSecond;
 
+    /**
+     * Snapshot of the durations, {@code null} for the empty statistics.
+     */
+    private final UniformTimeSnapshot durationSnapshot;
+
     private TimeWindowStatisticsImpl(final long interval, final double requestsPerSecond, final long minimumDuration,
                                      final long maximumDuration, final long averageDuration, final long totalCount) {
+        this(interval, requestsPerSecond, minimumDuration, maximumDuration, averageDuration, totalCount, null);
+    }
+
+    private TimeWindowStatisticsImpl(final long interval, final double requestsPerSecond, final long minimumDuration,
+                                     final long maximumDuration, final long averageDuration, final long totalCount,
+                                     final UniformTimeSnapshot durationSnapshot) {
         this.interval = interval;
         this.requestsPerSecond = requestsPerSecond;
         this.minimumDuration = minimumDuration;
         this.maximumDuration = maximumDuration;
         this.averageDuration = averageDuration;
         this.totalCount = totalCount;
+        this.durationSnapshot = durationSnapshot;
     }
 
     private TimeWindowStatisticsImpl(final long interval, final UniformTimeSnapshot snapshot) {
         this(interval, snapshot.getRate(TimeUnit.SECONDS), snapshot.getMin(), snapshot.getMax(), (long) snapshot.getMean(),
-                snapshot.size());
+                snapshot.size(), snapshot);
     }
 
     @Override
@@ -169,4 +181,15 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
     public long getAverageDuration() {
         return averageDuration;
     }
+
+    @Override
+    public long getDurationAtQuantile(final double quantile) {
+        return durationSnapshot == null ? -1 : (long) durationSnapshot.getValue(quantile);
+    }
+
+    @Override
+    public long getRequestCount(final long maxDuration) {
+        // no request has been processed within any duration in the empty statistics
+        return durationSnapshot == null ? 0 : durationSnapshot.getCount(maxDuration);
+    }
 }
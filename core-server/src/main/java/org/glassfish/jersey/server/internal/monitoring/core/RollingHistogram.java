@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.glassfish.jersey.internal.util.collection.LogLinearHistogram;
+
+/**
+ * A fixed-memory histogram of values recorded in rolling time slices.
+ * <p/>
+ * The values are counted in the {@link LogLinearHistogram log-linear buckets} shared with the client monitoring, so that
+ * the relative error of the reported percentiles is at most 12.5%. The values are recorded
+ * into the slices of the finest time window. The slices are striped, i.e. the concurrently recording threads update different
+ * counters. When a slice of the finest time window is reused, its counts are merged into the slices of the coarser time windows
+ * and into the total counts. Therefore, recording a value never allocates and the memory consumption does not depend on
+ * the number of the recorded values.
+ * <p/>
+ * The time windows are exposed as {@link TimeReservoir time reservoirs} whose snapshots are
+ * {@link UniformTimeHistogramSnapshot histogram snapshots}. Updating any of the reservoirs records the value in all of them.
+ * The coarser time windows have to be added before the first value is recorded. The boundaries of the time windows are aligned
+ * to their slices, the snapshot of a time window contains the values recorded in the current (partial) slice and in the
+ * preceding slices within the window. The statistics of a value recorded by a thread that has been delayed by more than the whole
+ * finest time window may be lost.
+ *
+ * @see <a href="http://hdrhistogram.org">HdrHistogram</a>
+ */
+public final class RollingHistogram {
+
+    private static final int BUCKETS = LogLinearHistogram.BUCKETS;
+
+    private static final int STRIPES = Math.min(4, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Per-stripe sum, minimum and maximum, padded to separate the stripes to different cache lines.
+     */
+    private static final int STRIPE_FIELDS = 8;
+    private static final int SUM = 0;
+    private static final int MIN = 1;
+    private static final int MAX = 2;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long startTime;
+    private final long sliceLength;
+    private final StripedSlice[] slices;
+    private final Counts flushed = new Counts();
+    private final Counts total = new Counts();
+    private final List<CoarseReservoir> coarseReservoirs = new ArrayList<>();
+    private final TimeReservoir<Long> reservoir;
+    private final TimeReservoir<Long> totalReservoir;
+
+    private long latestSlice = EMPTY;
+
+    /**
+     * Create a new rolling histogram.
+     *
+     * @param startTime     The start time from which the histogram calculates measurements.
+     * @param startTimeUnit The start time unit.
+     * @param window        The size of the finest time window.
+     * @param windowUnit    The unit of {@code window}.
+     * @param slices        The number of slices of the finest time window.
+     */
+    public RollingHistogram(final long startTime,
+                            final TimeUnit startTimeUnit,
+                            final long window,
+                            final TimeUnit windowUnit,
+                            final int slices) {
+        final long windowLength = windowUnit.toNanos(window);
+        if (slices <= 0 || windowLength % slices != 0) {
+            throw new IllegalArgumentException("The window of " + window + " " + windowUnit + " cannot be split to " + slices
+                    + " slices.");
+        }
+        this.startTime = startTimeUnit.toNanos(startTime);
+        this.sliceLength = windowLength / slices;
+        this.slices = new StripedSlice[slices];
+        for (int i = 0; i < slices; i++) {
+            this.slices[i] = new StripedSlice();
+        }
+        this.reservoir = new FineReservoir(window, windowUnit);
+        this.totalReservoir = new TotalReservoir();
+    }
+
+    /**
+     * Get the reservoir of the finest time window.
+     *
+     * @return reservoir of the time window given in the constructor.
+     */
+    public TimeReservoir<Long> getReservoir() {
+        return reservoir;
+    }
+
+    /**
+     * Get the reservoir of all the values recorded since the start time.
+     *
+     * @return reservoir of an infinite time window.
+     */
+    public TimeReservoir<Long> getTotalReservoir() {
+        return totalReservoir;
+    }
+
+    /**
+     * Add a coarser time window.
+     *
+     * @param window     The size of the time window.
+     * @param windowUnit The unit of {@code window}.
+     * @param slices     The number of slices of the time window, the slice must be a multiple of the slice of the finest window.
+     * @return reservoir of the time window.
+     */
+    public synchronized TimeReservoir<Long> addReservoir(final long window, final TimeUnit windowUnit, final int slices) {
+        final long windowLength = windowUnit.toNanos(window);
+        if (slices <= 0 || windowLength % slices != 0 || windowLength / slices % sliceLength != 0) {
+            throw new IllegalArgumentException("The window of " + window + " " + windowUnit + " cannot be split to " + slices
+                    + " slices.");
+        }
+        final CoarseReservoir coarseReservoir = new CoarseReservoir(window, windowUnit, slices);
+        coarseReservoirs.add(coarseReservoir);
+        return coarseReservoir;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value    The value.
+     * @param time     The time the value occurred at.
+     * @param timeUnit Time unit of the provided time.
+     */
+    public void record(final long value, final long time, final TimeUnit timeUnit) {
+        final StripedSlice slice = slice(Math.floorDiv(timeUnit.toNanos(time) - startTime, sliceLength));
+        if (slice != null) {
+            slice.record(value);
+        }
+    }
+
+    private StripedSlice slice(final long index) {
+        final StripedSlice slice = slices[(int) Math.floorMod(index, (long) slices.length)];
+        final long epoch = slice.epoch;
+        if (epoch == index) {
+            return slice;
+        }
+        if (epoch > index) {
+            // the slice has been reused already
+            return null;
+        }
+        synchronized (this) {
+            if (slice.epoch < index) {
+                if (slice.epoch != EMPTY) {
+                    flush(slice);
+                }
+                slice.reset(index);
+                latestSlice = Math.max(latestSlice, index);
+            }
+            return slice.epoch == index ? slice : null;
+        }
+    }
+
+    /**
+     * Merge a slice of the finest time window into the coarser time windows and into the total counts.
+     *
+     * @param slice slice to be reused.
+     */
+    private void flush(final StripedSlice slice) {
+        flushed.reset(EMPTY);
+        slice.addTo(flushed);
+        total.add(flushed);
+        final long time = slice.epoch * sliceLength;
+        for (final CoarseReservoir coarseReservoir : coarseReservoirs) {
+            coarseReservoir.add(flushed, time);
+        }
+    }
+
+    /**
+     * The time of the end of the snapshot, i.e. the later of the snapshot time and the start of the latest slice.
+     */
+    private long end(final long time, final TimeUnit timeUnit) {
+        final long now = timeUnit.toNanos(time) - startTime;
+        return latestSlice == EMPTY ? now : Math.max(now, latestSlice * sliceLength);
+    }
+
+    private UniformTimeSnapshot snapshot(final Counts counts, final long start, final long end) {
+        return new UniformTimeHistogramSnapshot(counts.counts, counts.count, counts.sum, counts.min, counts.max,
+                Math.max(1, end - Math.max(0, start)), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Base of the time reservoirs exposing the time windows of the histogram.
+     */
+    private abstract class Reservoir implements TimeReservoir<Long> {
+
+        private final long interval;
+        private final TimeUnit intervalUnit;
+
+        Reservoir(final long interval, final TimeUnit intervalUnit) {
+            this.interval = interval;
+            this.intervalUnit = intervalUnit;
+        }
+
+        @Override
+        public int size(final long time, final TimeUnit timeUnit) {
+            return (int) Math.min(Integer.MAX_VALUE, getSnapshot(time, timeUnit).size());
+        }
+
+        @Override
+        public void update(final Long value, final long time, final TimeUnit timeUnit) {
+            record(value, time, timeUnit);
+        }
+
+        @Override
+        public long interval(final TimeUnit timeUnit) {
+            return timeUnit.convert(interval, intervalUnit);
+        }
+    }
+
+    /**
+     * Reservoir of the finest time window.
+     */
+    private final class FineReservoir extends Reservoir {
+
+        FineReservoir(final long window, final TimeUnit windowUnit) {
+            super(window, windowUnit);
+        }
+
+        @Override
+        public UniformTimeSnapshot getSnapshot(final long time, final TimeUnit timeUnit) {
+            synchronized (RollingHistogram.this) {
+                final long end = end(time, timeUnit);
+                final long last = Math.floorDiv(end, sliceLength);
+                final long first = last - slices.length + 1;
+                final Counts counts = new Counts();
+                for (final StripedSlice slice : slices) {
+                    if (slice.epoch >= first && slice.epoch <= last) {
+                        slice.addTo(counts);
+                    }
+                }
+                return snapshot(counts, first * sliceLength, end);
+            }
+        }
+    }
+
+    /**
+     * Reservoir of a coarser time window, whose slices are merged from the slices of the finest time window.
+     */
+    private final class CoarseReservoir extends Reservoir {
+
+        private final long coarseSliceLength;
+        private final Counts[] coarseSlices;
+
+        CoarseReservoir(final long window, final TimeUnit windowUnit, final int slices) {
+            super(window, windowUnit);
+            this.coarseSliceLength = windowUnit.toNanos(window) / slices;
+            this.coarseSlices = new Counts[slices];
+        }
+
+        /**
+         * Add the counts of a slice of the finest time window.
+         *
+         * @param counts counts to be added.
+         * @param time   start time of the slice of the finest time window.
+         */
+        void add(final Counts counts, final long time) {
+            final long index = Math.floorDiv(time, coarseSliceLength);
+            final int i = (int) Math.floorMod(index, (long) coarseSlices.length);
+            if (coarseSlices[i] == null) {
+                coarseSlices[i] = new Counts();
+            }
+            final Counts slice = coarseSlices[i];
+            if (slice.epoch < index) {
+                slice.reset(index);
+            }
+            if (slice.epoch == index) {
+                slice.add(counts);
+            }
+        }
+
+        @Override
+        public UniformTimeSnapshot getSnapshot(final long time, final TimeUnit timeUnit) {
+            synchronized (RollingHistogram.this) {
+                final long end = end(time, timeUnit);
+                final long last = Math.floorDiv(end, coarseSliceLength);
+                final long first = last - coarseSlices.length + 1;
+                final long start = first * coarseSliceLength;
+                final long lastFine = Math.floorDiv(end, sliceLength);
+
+                final Counts counts = new Counts();
+                for (final Counts slice : coarseSlices) {
+                    if (slice != null && slice.epoch >= first && slice.epoch <= last) {
+                        counts.add(slice);
+                    }
+                }
+                // the slices of the finest window that have not been merged yet
+                for (final StripedSlice slice : slices) {
+                    if (slice.epoch != EMPTY && slice.epoch * sliceLength >= start && slice.epoch <= lastFine) {
+                        slice.addTo(counts);
+                    }
+                }
+                return snapshot(counts, start, end);
+            }
+        }
+    }
+
+    /**
+     * Reservoir of all the values recorded since the start time.
+     */
+    private final class TotalReservoir extends Reservoir {
+
+        TotalReservoir() {
+            // Uniform Interval returns 0 for infinity
+            super(0, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public UniformTimeSnapshot getSnapshot(final long time, final TimeUnit timeUnit) {
+            synchronized (RollingHistogram.this) {
+                final Counts counts = new Counts();
+                counts.add(total);
+                // the slices of the finest window that have not been merged yet
+                for (final StripedSlice slice : slices) {
+                    if (slice.epoch != EMPTY) {
+                        slice.addTo(counts);
+                    }
+                }
+                return snapshot(counts, 0, end(time, timeUnit));
+            }
+        }
+    }
+
+    /**
+     * A slice of the finest time window updated concurrently by the recording threads.
+     * <p/>
+     * The counters are allocated when the slice is used for the first time and published by the write of the {@link #epoch}.
+     */
+    private static final class StripedSlice {
+
+        private volatile long epoch = EMPTY;
+        private AtomicIntegerArray counts;
+        private AtomicLongArray fields;
+
+        void record(final long value) {
+            final int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            counts.getAndIncrement(stripe * BUCKETS + LogLinearHistogram.bucket(value));
+
+            final int offset = stripe * STRIPE_FIELDS;
+            fields.addAndGet(offset + SUM, value);
+            long min;
+            while (value < (min = fields.get(offset + MIN)) && !fields.compareAndSet(offset + MIN, min, value)) {
+                // retry
+            }
+            long max;
+            while (value > (max = fields.get(offset + MAX)) && !fields.compareAndSet(offset + MAX, max, value)) {
+                // retry
+            }
+        }
+
+        void reset(final long index) {
+            if (counts == null) {
+                counts = new AtomicIntegerArray(STRIPES * BUCKETS);
+                fields = new AtomicLongArray(STRIPES * STRIPE_FIELDS);
+            } else {
+                for (int i = 0; i < counts.length(); i++) {
+                    counts.lazySet(i, 0);
+                }
+            }
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                final int offset = stripe * STRIPE_FIELDS;
+                fields.lazySet(offset + SUM, 0);
+                fields.lazySet(offset + MIN, Long.MAX_VALUE);
+                fields.lazySet(offset + MAX, Long.MIN_VALUE);
+            }
+            epoch = index;
+        }
+
+        void addTo(final Counts target) {
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                final int base = stripe * BUCKETS;
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    final int count = counts.get(base + bucket);
+                    if (count != 0) {
+                        target.counts[bucket] += count;
+                        target.count += count;
+                    }
+                }
+                final int offset = stripe * STRIPE_FIELDS;
+                target.sum += fields.get(offset + SUM);
+                target.min = Math.min(target.min, fields.get(offset + MIN));
+                target.max = Math.max(target.max, fields.get(offset + MAX));
+            }
+        }
+    }
+
+    /**
+     * Merged counts, guarded by the histogram lock.
+     */
+    private static final class Counts {
+
+        private long epoch = EMPTY;
+        private final long[] counts = new long[BUCKETS];
+        private long count;
+        private long sum;
+        private long min = Long.MAX_VALUE;
+        private long max = Long.MIN_VALUE;
+
+        void reset(final long index) {
+            epoch = index;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = 0;
+            }
+            count = 0;
+            sum = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+        }
+
+        void add(final Counts other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+}
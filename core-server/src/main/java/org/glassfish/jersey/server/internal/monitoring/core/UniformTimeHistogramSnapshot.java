@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.core;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.internal.util.collection.LogLinearHistogram;
+
+/**
+ * A statistical snapshot of a {@link RollingHistogram}.
+ * <p/>
+ * The number of values, their minimum, maximum and mean are exact. The values at quantiles are the highest values of
+ * the histogram buckets, bounded by the minimum and the maximum.
+ */
+public class UniformTimeHistogramSnapshot extends AbstractTimeSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    /**
+     * Create a new snapshot with the given histogram counts.
+     *
+     * @param counts           The counts of the histogram buckets.
+     * @param count            The number of values.
+     * @param sum              The sum of the values.
+     * @param min              The minimum value.
+     * @param max              The maximum value.
+     * @param timeInterval     The time interval this snapshot relates to
+     * @param timeIntervalUnit The time unit of the time interval
+     */
+    UniformTimeHistogramSnapshot(final long[] counts,
+                                 final long count,
+                                 final long sum,
+                                 final long min,
+                                 final long max,
+                                 final long timeInterval,
+                                 final TimeUnit timeIntervalUnit) {
+        super(timeInterval, timeIntervalUnit);
+        this.counts = Arrays.copyOf(counts, counts.length);
+        this.count = count;
+        this.sum = sum;
+        this.min = count == 0 ? 0 : min;
+        this.max = count == 0 ? 0 : max;
+    }
+
+    @Override
+    public long size() {
+        return count;
+    }
+
+    @Override
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public long getMin() {
+        return min;
+    }
+
+    @Override
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    @Override
+    public double getValue(final double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1] range");
+        }
+
+        if (count == 0) {
+            return 0.0;
+        }
+
+        return LogLinearHistogram.valueAtQuantile(counts, count, quantile, min, max);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Only the buckets whose all values do not exceed {@code maxValue} are counted, so the number is exact if
+     * {@code maxValue} is the highest value of a bucket, e.g. for all the values of the form {@code 2^n - 1}.
+     */
+    @Override
+    public long getCount(final long maxValue) {
+        if (maxValue >= max) {
+            return count;
+        }
+
+        return LogLinearHistogram.countAtMost(counts, maxValue);
+    }
+}
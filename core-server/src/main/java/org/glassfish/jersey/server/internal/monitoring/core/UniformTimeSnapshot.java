@@ -65,4 +65,30 @@ public interface UniformTimeSnapshot {
      * @return The rate
      */
     double getRate(TimeUnit timeUnit);
+
+    /**
+     * Returns the value at the given quantile.
+     * <p/>
+     * The default implementation returns {@code -1} for the snapshots that do not keep the distribution of the values.
+     *
+     * @param quantile a given quantile, in {@code [0..1]}
+     * @return the value in the distribution at {@code quantile} or {@code -1} if the distribution is not available
+     * @since 2.29
+     */
+    default double getValue(double quantile) {
+        return -1;
+    }
+
+    /**
+     * Returns the number of values that are lower than or equal to the given value.
+     * <p/>
+     * The default implementation returns {@code -1} for the snapshots that do not keep the distribution of the values.
+     *
+     * @param maxValue the highest value to count.
+     * @return the number of values not exceeding {@code maxValue} or {@code -1} if the distribution is not available
+     * @since 2.29
+     */
+    default long getCount(long maxValue) {
+        return -1;
+    }
 }
@@ -48,7 +48,7 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
 
     private MBeanInfo initMBeanInfo(final ExecutionStatistics initialStatistics) {
         final Map<Long, TimeWindowStatistics> statsMap = initialStatistics.getTimeWindowStatistics();
-        MBeanAttributeInfo[] attrs = new MBeanAttributeInfo[statsMap.size() * 5];
+        MBeanAttributeInfo[] attrs = new MBeanAttributeInfo[statsMap.size() * 8];
         int i = 0;
         for (final TimeWindowStatistics stats : statsMap.values()) {
             final long interval = stats.getTimeWindow();
@@ -87,6 +87,11 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
                 }
             });
 
+            attrs[i++] = percentileAttribute("50thPercentileTime[ms]_" + postfix, "Median", 0.5, interval, postfix);
+            attrs[i++] = percentileAttribute("99thPercentileTime[ms]_" + postfix, "99th percentile", 0.99, interval, postfix);
+            attrs[i++] = percentileAttribute("999thPercentileTime[ms]_" + postfix, "99.9th percentile", 0.999, interval,
+                    postfix);
+
             name = "RequestRate[requestsPerSeconds]_" + postfix;
             attrs[i++] = new MBeanAttributeInfo(name, "double", "Average requests per second in last "
                     + postfix + ".", true, false, false);
@@ -113,6 +118,19 @@ public class ExecutionStatisticsDynamicBean implements DynamicMBean {
         return new MBeanInfo(this.getClass().getName(), "Execution statistics", attrs, null, null, null);
     }
 
+    private MBeanAttributeInfo percentileAttribute(final String name, final String description, final double quantile,
+                                                  final long interval, final String postfix) {
+        attributeValues.put(name, new Value<Object>() {
+            @Override
+            public Object get() {
+                return executionStatistics.getTimeWindowStatistics().get(interval).getDurationAtQuantile(quantile);
+            }
+        });
+
+        return new MBeanAttributeInfo(name, "long", description + " of request processing time in milliseconds in last "
+                + postfix + " (-1 if not available).", true, false, false);
+    }
+
     private String convertIntervalToString(int interval) {
         int hours = (int) interval / 3600000;
         interval = interval - hours * 3600000;
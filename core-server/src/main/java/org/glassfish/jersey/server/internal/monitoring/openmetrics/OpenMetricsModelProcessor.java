@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.openmetrics;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+/**
+ * {@link ModelProcessor Model processor} which enhances the resource model by the {@link OpenMetricsResource resource}
+ * exposing the monitoring statistics in the OpenMetrics text format on the path defined by
+ * {@link ServerProperties#MONITORING_STATISTICS_OPENMETRICS_PATH}.
+ * <p>
+ * The processor is registered by the {@link org.glassfish.jersey.server.internal.monitoring.MonitoringFeature} if
+ * {@link ServerProperties#MONITORING_STATISTICS_OPENMETRICS_ENABLED} is enabled.
+ * </p>
+ */
+public class OpenMetricsModelProcessor implements ModelProcessor {
+
+    private static final String DEFAULT_PATH = "metrics";
+
+    @Override
+    public ResourceModel processResourceModel(final ResourceModel resourceModel, final Configuration configuration) {
+        // Do not add OpenMetricsResource if already present in the classes (i.e. added during scanning).
+        if (configuration.getClasses().contains(OpenMetricsResource.class)) {
+            return resourceModel;
+        }
+
+        final String path = ServerProperties.getValue(configuration.getProperties(),
+                ServerProperties.MONITORING_STATISTICS_OPENMETRICS_PATH, DEFAULT_PATH);
+
+        return new ResourceModel.Builder(resourceModel, false)
+                .addResource(Resource.builder(OpenMetricsResource.class).path(path).build())
+                .build();
+    }
+
+    @Override
+    public ResourceModel processSubResource(final ResourceModel subResourceModel, final Configuration configuration) {
+        return subResourceModel;
+    }
+}
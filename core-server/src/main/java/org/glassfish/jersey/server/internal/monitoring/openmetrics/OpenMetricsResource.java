@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.openmetrics;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.ExtendedResource;
+import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
+
+/**
+ * Resource exposing the latest {@link MonitoringStatistics monitoring statistics} in the
+ * <a href="https://openmetrics.io">OpenMetrics</a> text format.
+ * <p>
+ * The statistics are written directly to the response entity stream as they are read from the statistics snapshot.
+ * </p>
+ *
+ * @see OpenMetricsWriter
+ */
+@Singleton
+@Path("metrics")
+@ExtendedResource
+public final class OpenMetricsResource {
+
+    /**
+     * OpenMetrics text format media type.
+     */
+    public static final String APPLICATION_OPENMETRICS_TEXT = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    @Inject
+    private Provider<MonitoringStatistics> statistics;
+
+    @Context
+    private Configuration configuration;
+
+    /**
+     * Get the monitoring statistics in the OpenMetrics text format.
+     *
+     * @return streaming output writing the statistics.
+     */
+    @GET
+    @Produces({APPLICATION_OPENMETRICS_TEXT, MediaType.TEXT_PLAIN})
+    public StreamingOutput getMetrics() {
+        final MonitoringStatistics snapshot = statistics.get();
+        final boolean histograms = PropertiesHelper.isProperty(
+                configuration.getProperty(ServerProperties.MONITORING_STATISTICS_HISTOGRAMS_ENABLED));
+
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            new OpenMetricsWriter(writer, histograms).write(snapshot);
+            writer.flush();
+        };
+    }
+}
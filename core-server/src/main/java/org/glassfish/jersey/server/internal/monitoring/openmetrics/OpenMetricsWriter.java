@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.openmetrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ExceptionMapperStatistics;
+import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceStatistics;
+import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
+
+/**
+ * Writer of the {@link MonitoringStatistics monitoring statistics} in the
+ * <a href="https://openmetrics.io">OpenMetrics</a> text format.
+ * <p>
+ * All the metrics are taken from the statistics of the total (unlimited) time window, so the counters and histograms
+ * only grow. The latency histograms count the durations in exponential buckets whose upper bounds are
+ * {@code 2^n - 1} milliseconds, for which the {@link TimeWindowStatistics#getRequestCount(long) counts} of the latency
+ * histograms kept by the monitoring statistics are exact. The {@code _sum} of a histogram is derived from the average
+ * duration, so it is exact up to the millisecond rounding of the average. The histogram families are written only if the
+ * distribution of the durations is available.
+ * </p>
+ * <p>
+ * The statistics are written directly to the writer as they are read, without any intermediate representation.
+ * </p>
+ */
+final class OpenMetricsWriter {
+
+    private static final int BUCKETS = 16;
+    private static final long[] BUCKET_BOUNDS = new long[BUCKETS];
+    private static final String[] BUCKET_LABELS = new String[BUCKETS + 1];
+
+    static {
+        for (int i = 0; i < BUCKETS; i++) {
+            BUCKET_BOUNDS[i] = (1L << (i + 1)) - 1;
+            // milliseconds to seconds
+            BUCKET_LABELS[i] = BigDecimal.valueOf(BUCKET_BOUNDS[i], 3).toPlainString();
+        }
+        BUCKET_LABELS[BUCKETS] = "+Inf";
+    }
+
+    private static final Long TOTAL_WINDOW = 0L;
+
+    private final Writer out;
+    private final boolean histograms;
+
+    /**
+     * Create a new writer.
+     *
+     * @param out        writer the metrics are written to.
+     * @param histograms if {@code true}, the latency histograms are written.
+     */
+    OpenMetricsWriter(final Writer out, final boolean histograms) {
+        this.out = out;
+        this.histograms = histograms;
+    }
+
+    /**
+     * Write the statistics including the terminating {@code # EOF} line.
+     *
+     * @param statistics statistics to be written, if {@code null}, no metric is written.
+     * @throws IOException if writing fails.
+     */
+    void write(final MonitoringStatistics statistics) throws IOException {
+        if (statistics != null) {
+            writeApplication(statistics);
+            writeResources(statistics);
+        }
+        out.write("# EOF\n");
+    }
+
+    private void writeApplication(final MonitoringStatistics statistics) throws IOException {
+        final TimeWindowStatistics requests = total(statistics.getRequestStatistics());
+
+        family("jersey_requests", "counter", null, "Requests processed by the application.");
+        sample("jersey_requests_total", null, null, requests.getRequestCount());
+
+        final long[] buckets = buckets(requests);
+        if (buckets != null) {
+            family("jersey_request_duration_seconds", "histogram", "seconds",
+                    "Processing time of the requests processed by the application.");
+            histogram("jersey_request_duration_seconds", null, buckets, requests);
+        }
+
+        family("jersey_responses", "counter", null, "Responses by the status code.");
+        for (final Map.Entry<Integer, Long> entry : statistics.getResponseStatistics().getResponseCodes().entrySet()) {
+            sample("jersey_responses_total", "code=\"" + entry.getKey() + '"', null, entry.getValue());
+        }
+
+        final ExceptionMapperStatistics mappers = statistics.getExceptionMapperStatistics();
+        family("jersey_exception_mappings", "counter", null, "Exceptions mapped to responses by the result of the mapping.");
+        sample("jersey_exception_mappings_total", "result=\"successful\"", null, mappers.getSuccessfulMappings());
+        sample("jersey_exception_mappings_total", "result=\"unsuccessful\"", null, mappers.getUnsuccessfulMappings());
+
+        family("jersey_exception_mapper_executions", "counter", null, "Executions of the exception mappers.");
+        for (final Map.Entry<Class<?>, Long> entry : mappers.getExceptionMapperExecutions().entrySet()) {
+            out.write("jersey_exception_mapper_executions_total{mapper=\"");
+            escape(entry.getKey().getName());
+            out.write("\"} ");
+            out.write(Long.toString(entry.getValue()));
+            out.write('\n');
+        }
+    }
+
+    private void writeResources(final MonitoringStatistics statistics) throws IOException {
+        family("jersey_resource_requests", "counter", null, "Requests processed by the resources by the resource path.");
+        for (final Map.Entry<String, ResourceStatistics> entry : statistics.getUriStatistics().entrySet()) {
+            out.write("jersey_resource_requests_total{path=\"");
+            escape(entry.getKey());
+            out.write("\"} ");
+            out.write(Long.toString(total(entry.getValue().getRequestExecutionStatistics()).getRequestCount()));
+            out.write('\n');
+        }
+
+        // the resource statistics are built on each access, the method statistics are kept for the second family
+        final List<ResourceMethodStatistics> methods = new ArrayList<>();
+        for (final ResourceStatistics resource : statistics.getResourceClassStatistics().values()) {
+            methods.addAll(resource.getResourceMethodStatistics().values());
+        }
+
+        family("jersey_resource_method_requests", "counter", null, "Requests processed by the resource methods.");
+        for (final ResourceMethodStatistics method : methods) {
+            sample("jersey_resource_method_requests_total", null, method.getResourceMethod(),
+                    total(method.getRequestStatistics()).getRequestCount());
+        }
+
+        boolean described = false;
+        for (final ResourceMethodStatistics method : methods) {
+            final TimeWindowStatistics requests = total(method.getRequestStatistics());
+            final long[] buckets = buckets(requests);
+            if (buckets == null) {
+                continue;
+            }
+            if (!described) {
+                family("jersey_resource_method_request_duration_seconds", "histogram", "seconds",
+                        "Processing time of the requests processed by the resource methods.");
+                described = true;
+            }
+            histogram("jersey_resource_method_request_duration_seconds", method.getResourceMethod(), buckets, requests);
+        }
+    }
+
+    private static TimeWindowStatistics total(final ExecutionStatistics statistics) {
+        return statistics.getTimeWindowStatistics().get(TOTAL_WINDOW);
+    }
+
+    private void family(final String name, final String type, final String unit, final String help) throws IOException {
+        out.write("# TYPE ");
+        out.write(name);
+        out.write(' ');
+        out.write(type);
+        out.write('\n');
+        if (unit != null) {
+            out.write("# UNIT ");
+            out.write(name);
+            out.write(' ');
+            out.write(unit);
+            out.write('\n');
+        }
+        out.write("# HELP ");
+        out.write(name);
+        out.write(' ');
+        out.write(help);
+        out.write('\n');
+    }
+
+    /**
+     * Get the cumulative counts of the histogram buckets, except for the {@code +Inf} bucket.
+     *
+     * @param statistics request statistics.
+     * @return bucket counts or {@code null} if the histograms are disabled or the distribution of the durations is not
+     * available.
+     */
+    private long[] buckets(final TimeWindowStatistics statistics) {
+        if (!histograms) {
+            return null;
+        }
+        final long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = statistics.getRequestCount(BUCKET_BOUNDS[i]);
+            if (counts[i] < 0) {
+                return null;
+            }
+        }
+        return counts;
+    }
+
+    private void histogram(final String name, final ResourceMethod method, final long[] buckets,
+                           final TimeWindowStatistics statistics) throws IOException {
+        final long count = statistics.getRequestCount();
+        for (int i = 0; i < BUCKETS; i++) {
+            bucket(name, method, BUCKET_LABELS[i], buckets[i]);
+        }
+        bucket(name, method, BUCKET_LABELS[BUCKETS], count);
+
+        // milliseconds to seconds
+        final long average = statistics.getAverageDuration();
+        final String sum = average < 0 ? "0" : BigDecimal.valueOf(average * count, 3).toPlainString();
+        out.write(name);
+        out.write("_sum");
+        if (method != null) {
+            out.write('{');
+            methodLabels(method);
+            out.write('}');
+        }
+        out.write(' ');
+        out.write(sum);
+        out.write('\n');
+
+        sample(name + "_count", null, method, count);
+    }
+
+    private void bucket(final String name, final ResourceMethod method, final String bound, final long count)
+            throws IOException {
+        out.write(name);
+        out.write("_bucket{");
+        if (method != null) {
+            methodLabels(method);
+            out.write(',');
+        }
+        out.write("le=\"");
+        out.write(bound);
+        out.write("\"} ");
+        out.write(Long.toString(count));
+        out.write('\n');
+    }
+
+    private void sample(final String name, final String labels, final ResourceMethod method, final long value)
+            throws IOException {
+        out.write(name);
+        if (labels != null || method != null) {
+            out.write('{');
+            if (labels != null) {
+                out.write(labels);
+            }
+            if (method != null) {
+                methodLabels(method);
+            }
+            out.write('}');
+        }
+        out.write(' ');
+        out.write(Long.toString(value));
+        out.write('\n');
+    }
+
+    private void methodLabels(final ResourceMethod method) throws IOException {
+        out.write("class=\"");
+        escape(method.getInvocable().getHandler().getHandlerClass().getName());
+        out.write("\",method=\"");
+        escape(method.getInvocable().getHandlingMethod().getName());
+        out.write("\",http_method=\"");
+        escape(method.getHttpMethod() == null ? "" : method.getHttpMethod());
+        out.write("\",path=\"");
+        if (method.getParent() != null) {
+            path(method.getParent());
+        }
+        out.write('"');
+    }
+
+    private void path(final Resource resource) throws IOException {
+        if (resource.getParent() != null) {
+            path(resource.getParent());
+        }
+        final String path = resource.getPath();
+        if (path != null && !path.isEmpty()) {
+            if (path.charAt(0) != '/') {
+                out.write('/');
+            }
+            escape(path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+        }
+    }
+
+    private void escape(final String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                default:
+                    out.write(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.MatchResult;
+
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
+import org.glassfish.jersey.uri.PathPattern;
+import org.glassfish.jersey.uri.UriComponent;
+
+/**
+ * Matches the un-matched right-hand request path to the configured collection of path pattern matching routes
+ * using a pre-compiled trie of the literal path segments the routing patterns start with.
+ * <p>
+ * Each route is stored in the trie node that corresponds to the leading literal (i.e. template variable free)
+ * path segments of its routing pattern. Every node holds the routes of all its ancestor nodes too, ordered by
+ * the original route precedence. Matching a request path thus consists of descending the trie along the request
+ * path segments and evaluating only the routing patterns of the deepest reached node. Since a routing pattern can
+ * never match a request path that does not start with the pattern's literal segments, the result is the same as
+ * if all the routes were evaluated one by one as done by {@link PathMatchingRouter}.
+ * </p>
+ */
+final class CompiledPathMatchingRouter implements Router {
+
+    private static final Route[] NO_ROUTES = new Route[0];
+
+    /**
+     * Trie node representing a single literal path segment.
+     */
+    private static final class Node {
+
+        private Map<String, Node> children = Collections.emptyMap();
+        private final List<Integer> routeIndexes = new ArrayList<>();
+        private Route[] candidates = NO_ROUTES;
+
+        private Node child(final String segment) {
+            if (children.isEmpty()) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+
+        private void compile(final List<Route> routes, final List<Integer> inheritedIndexes) {
+            final List<Integer> indexes = new ArrayList<>(inheritedIndexes.size() + routeIndexes.size());
+            indexes.addAll(inheritedIndexes);
+            indexes.addAll(routeIndexes);
+            Collections.sort(indexes);
+
+            candidates = new Route[indexes.size()];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = routes.get(indexes.get(i));
+            }
+            routeIndexes.clear();
+
+            for (final Node child : children.values()) {
+                child.compile(routes, indexes);
+            }
+        }
+    }
+
+    private final PathMatchingRouter tracingRouter;
+    private final Node root;
+
+    /**
+     * Constructs a compiled path matching router.
+     *
+     * @param routes next-level request routers to be returned in case the router matching
+     *               the built router is successful.
+     */
+    CompiledPathMatchingRouter(final List<Route> routes) {
+        this.tracingRouter = new PathMatchingRouter(routes);
+        this.root = new Node();
+
+        int index = 0;
+        for (final Route route : routes) {
+            Node node = root;
+            for (final String segment : literalSegments(route.routingPattern())) {
+                node = node.child(segment);
+            }
+            node.routeIndexes.add(index++);
+        }
+        root.compile(routes, Collections.<Integer>emptyList());
+    }
+
+    /**
+     * Get the leading literal path segments of the routing pattern template.
+     *
+     * Segments containing a template variable, a percent-encoded character (matched in a case insensitive manner)
+     * and any segments following such segments are not considered to be literal.
+     *
+     * @param pattern routing pattern.
+     * @return list of leading literal path segments, possibly empty.
+     */
+    private static List<String> literalSegments(final PathPattern pattern) {
+        final String template = pattern.getTemplate().getTemplate();
+        if (template.isEmpty() || template.charAt(0) != '/') {
+            return Collections.emptyList();
+        }
+
+        final List<String> segments = new ArrayList<>();
+        int start = 1;
+        while (start < template.length()) {
+            int end = template.indexOf('/', start);
+            if (end == -1) {
+                end = template.length();
+            }
+
+            final String segment = template.substring(start, end);
+            if (segment.indexOf('{') != -1
+                    || UriComponent.contextualEncode(segment, UriComponent.Type.PATH).indexOf('%') != -1) {
+                break;
+            }
+            segments.add(segment);
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    @Override
+    public Router.Continuation apply(final RequestProcessingContext context) {
+        final TracingLogger tracingLogger = TracingLogger.getInstance(context.request());
+        if (tracingLogger.isLogEnabled(ServerTraceEvent.MATCH_PATH_NOT_MATCHED)) {
+            // verbose tracing reports every route
+            return tracingRouter.apply(context);
+        }
+
+        final RoutingContext rc = context.routingContext();
+        // Peek at matching information to obtain path to match
+        final String path = rc.getFinalMatchingGroup();
+
+        tracingLogger.log(ServerTraceEvent.MATCH_PATH_FIND, path);
+
+        for (final Route candidate : findCandidates(path)) {
+            final PathPattern routePattern = candidate.routingPattern();
+            final MatchResult m = routePattern.match(path);
+            if (m != null) {
+                // Push match result information and rest of path to match
+                rc.pushMatchResult(m);
+
+                tracingLogger.log(ServerTraceEvent.MATCH_PATH_SELECTED, routePattern.getRegex());
+                return Router.Continuation.of(context, candidate.next());
+            }
+        }
+
+        // No match
+        return Router.Continuation.of(context);
+    }
+
+    private Route[] findCandidates(final String path) {
+        Node node = root;
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return node.candidates;
+        }
+
+        int start = 1;
+        while (!node.children.isEmpty() && start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end == -1) {
+                end = path.length();
+            }
+
+            final Node child = node.children.get(path.substring(start, end));
+            if (child == null) {
+                break;
+            }
+            node = child;
+            start = end + 1;
+        }
+        return node.candidates;
+    }
+}
@@ -18,6 +18,7 @@ package org.glassfish.jersey.server.internal.routing;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.text.ParseException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -29,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,15 +40,19 @@ import javax.ws.rs.NotAllowedException;
 import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 
+import org.glassfish.jersey.internal.guava.Cache;
+import org.glassfish.jersey.internal.guava.CacheBuilder;
 import org.glassfish.jersey.internal.guava.Primitives;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.ReaderModel;
 import org.glassfish.jersey.message.WriterModel;
 import org.glassfish.jersey.message.internal.AcceptableMediaType;
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
 import org.glassfish.jersey.message.internal.MediaTypes;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
@@ -71,6 +77,15 @@ final class MethodSelectingRouter implements Router {
 
     private static final Logger LOGGER = Logger.getLogger(MethodSelectingRouter.class.getName());
 
+    /**
+     * Maximum number of media types produced by the resource methods bound to a single HTTP method for which
+     * the method selections are precomputed.
+     */
+    private static final int PRECOMPUTED_SELECTION_MEDIA_TYPES_LIMIT = 8;
+
+    private static final List<AcceptableMediaType> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST =
+            Collections.singletonList(MediaTypes.WILDCARD_ACCEPTABLE_TYPE);
+
     private static final Comparator<ConsumesProducesAcceptor> CONSUMES_PRODUCES_ACCEPTOR_COMPARATOR =
             new Comparator<ConsumesProducesAcceptor>() {
 
@@ -114,6 +129,9 @@ final class MethodSelectingRouter implements Router {
     private final Map<String, List<ConsumesProducesAcceptor>> consumesProducesAcceptors;
     private final Router router;
 
+    private final Cache<SelectionKey, MethodSelection> selectionCache;
+    private final Map<SelectionKey, MethodSelection> selectionTable;
+
     /**
      * Create a new {@code MethodSelectingRouter} for all the methods on the same path.
      *
@@ -124,6 +142,27 @@ final class MethodSelectingRouter implements Router {
      * @param methodRoutings [method model, method methodAcceptorPair] pairs.
      */
     MethodSelectingRouter(MessageBodyWorkers workers, List<MethodRouting> methodRoutings) {
+        this(workers, methodRoutings, 0, false);
+    }
+
+    /**
+     * Create a new {@code MethodSelectingRouter} for all the methods on the same path.
+     *
+     * The router selects the method that best matches the request based on
+     * produce/consume information from the resource method models. The selected methods
+     * can be cached by the request HTTP method, {@code Content-Type} and {@code Accept} header values.
+     *
+     * @param workers                 message body workers.
+     * @param methodRoutings          [method model, method methodAcceptorPair] pairs.
+     * @param selectionCacheSize      maximum number of cached method selections, {@code 0} to disable the caching.
+     * @param precomputeSelectionTable if {@code true} and the method selections are cached, the method selections for
+     *                                requests without an entity and with no or a single produced media type in the
+     *                                {@code Accept} header are precomputed.
+     */
+    MethodSelectingRouter(final MessageBodyWorkers workers,
+                          final List<MethodRouting> methodRoutings,
+                          final int selectionCacheSize,
+                          final boolean precomputeSelectionTable) {
         this.workers = workers;
 
         this.consumesProducesAcceptors = new HashMap<>();
@@ -153,6 +192,113 @@ final class MethodSelectingRouter implements Router {
         } else {
             this.router = createInternalRouter();
         }
+
+        if (selectionCacheSize > 0) {
+            this.selectionCache = CacheBuilder.newBuilder().maximumSize(selectionCacheSize).build();
+            this.selectionTable = precomputeSelectionTable
+                    ? createSelectionTable() : Collections.<SelectionKey, MethodSelection>emptyMap();
+        } else {
+            this.selectionCache = null;
+            this.selectionTable = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Key of a cached method selection. The request header values are compared as they are, i.e. two requests
+     * with semantically equal yet differently formatted header values are cached separately.
+     */
+    private static final class SelectionKey {
+
+        private final String httpMethod;
+        private final String contentType;
+        private final String accept;
+        private final int hash;
+
+        private SelectionKey(final String httpMethod, final String contentType, final String accept) {
+            this.httpMethod = httpMethod;
+            this.contentType = contentType;
+            // missing and empty Accept headers are both treated as */*
+            this.accept = accept == null || accept.isEmpty() ? null : accept;
+
+            int result = httpMethod.hashCode();
+            result = 31 * result + (this.contentType != null ? this.contentType.hashCode() : 0);
+            result = 31 * result + (this.accept != null ? this.accept.hashCode() : 0);
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectionKey)) {
+                return false;
+            }
+
+            final SelectionKey that = (SelectionKey) o;
+            return hash == that.hash
+                    && httpMethod.equals(that.httpMethod)
+                    && (contentType != null ? contentType.equals(that.contentType) : that.contentType == null)
+                    && (accept != null ? accept.equals(that.accept) : that.accept == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Result of the method selection for a particular combination of the request HTTP method, content type and
+     * acceptable media types.
+     */
+    private static final class MethodSelection {
+
+        /**
+         * None of the resource methods is able to consume the request entity.
+         */
+        static final MethodSelection NOT_SUPPORTED = new MethodSelection(null, null);
+
+        final MethodSelector selector;
+        final List<AcceptableMediaType> acceptableMediaTypes;
+
+        private MethodSelection(final MethodSelector selector, final List<AcceptableMediaType> acceptableMediaTypes) {
+            this.selector = selector;
+            this.acceptableMediaTypes = acceptableMediaTypes;
+        }
+    }
+
+    private Map<SelectionKey, MethodSelection> createSelectionTable() {
+        final Map<SelectionKey, MethodSelection> table = new HashMap<>();
+        for (final Map.Entry<String, List<ConsumesProducesAcceptor>> entry : consumesProducesAcceptors.entrySet()) {
+            final Set<MediaType> producedTypes = new LinkedHashSet<>();
+            for (final ConsumesProducesAcceptor acceptor : entry.getValue()) {
+                if (!MediaTypes.isWildcard(acceptor.produces.getMediaType())) {
+                    producedTypes.add(acceptor.produces.getMediaType());
+                }
+            }
+            if (producedTypes.size() > PRECOMPUTED_SELECTION_MEDIA_TYPES_LIMIT) {
+                continue;
+            }
+
+            final String httpMethod = entry.getKey();
+            table.put(new SelectionKey(httpMethod, null, null),
+                    createSelection(entry.getValue(), null, () -> WILDCARD_ACCEPTABLE_TYPE_SINGLETON_LIST));
+
+            for (final MediaType producedType : producedTypes) {
+                final String accept = producedType.toString();
+                final List<AcceptableMediaType> acceptableMediaTypes;
+                try {
+                    acceptableMediaTypes = Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(accept));
+                } catch (final ParseException e) {
+                    // not a valid Accept header value, the selection will be cached when requested
+                    continue;
+                }
+                table.put(new SelectionKey(httpMethod, null, accept),
+                        createSelection(entry.getValue(), null, () -> acceptableMediaTypes));
+            }
+        }
+        return table;
     }
 
     /**
@@ -203,13 +349,12 @@ final class MethodSelectingRouter implements Router {
         }
 
         /**
-         * Determines whether this {@code ConsumesProducesAcceptor} router can process the {@code request}.
+         * Determines whether this {@code ConsumesProducesAcceptor} router can process a request with the {@code contentType}.
          *
-         * @param requestContext The request to be tested.
-         * @return True if the {@code request} can be processed by this router, false otherwise.
+         * @param contentType The request content type to be tested, may be {@code null}.
+         * @return True if the request can be processed by this router, false otherwise.
          */
-        boolean isConsumable(ContainerRequest requestContext) {
-            MediaType contentType = requestContext.getMediaType();
+        boolean isConsumable(MediaType contentType) {
             return contentType == null || consumes.getMediaType().isCompatible(contentType);
         }
 
@@ -434,34 +579,67 @@ final class MethodSelectingRouter implements Router {
         return null;
     }
 
-    private List<Router> getMethodRouter(final RequestProcessingContext context) {
-        final ContainerRequest request = context.request();
-        final List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(request.getMethod());
-        if (acceptors == null) {
-            throw new NotAllowedException(
-                    Response.status(Status.METHOD_NOT_ALLOWED).allow(consumesProducesAcceptors.keySet()).build());
-        }
-
+    private MethodSelection createSelection(final List<ConsumesProducesAcceptor> acceptors,
+                                            final MediaType requestContentType,
+                                            final Supplier<List<AcceptableMediaType>> acceptableMediaTypesSupplier) {
         final List<ConsumesProducesAcceptor> satisfyingAcceptors = new LinkedList<>();
         final Set<ResourceMethod> differentInvokableMethods = Collections.newSetFromMap(new IdentityHashMap<>());
         for (ConsumesProducesAcceptor cpi : acceptors) {
-            if (cpi.isConsumable(request)) {
+            if (cpi.isConsumable(requestContentType)) {
                 satisfyingAcceptors.add(cpi);
                 differentInvokableMethods.add(cpi.methodRouting.method);
             }
         }
         if (satisfyingAcceptors.isEmpty()) {
-            throw new NotSupportedException();
+            return MethodSelection.NOT_SUPPORTED;
         }
 
-        final List<AcceptableMediaType> acceptableMediaTypes = request.getQualifiedAcceptableMediaTypes();
+        final List<AcceptableMediaType> acceptableMediaTypes = acceptableMediaTypesSupplier.get();
 
-        final MediaType requestContentType = request.getMediaType();
         final MediaType effectiveContentType = requestContentType == null ? MediaType.WILDCARD_TYPE : requestContentType;
 
         final MethodSelector methodSelector = selectMethod(acceptableMediaTypes, satisfyingAcceptors, effectiveContentType,
                 differentInvokableMethods.size() == 1);
 
+        return new MethodSelection(methodSelector, acceptableMediaTypes);
+    }
+
+    private MethodSelection getSelection(final ContainerRequest request, final List<ConsumesProducesAcceptor> acceptors) {
+        if (selectionCache == null) {
+            return createSelection(acceptors, request.getMediaType(), request::getQualifiedAcceptableMediaTypes);
+        }
+
+        final SelectionKey key = new SelectionKey(request.getMethod(),
+                request.getHeaderString(HttpHeaders.CONTENT_TYPE),
+                request.getHeaderString(HttpHeaders.ACCEPT));
+
+        MethodSelection selection = selectionTable.get(key);
+        if (selection == null) {
+            selection = selectionCache.getIfPresent(key);
+            if (selection == null) {
+                selection = createSelection(acceptors, request.getMediaType(), request::getQualifiedAcceptableMediaTypes);
+                selectionCache.put(key, selection);
+            }
+        }
+        return selection;
+    }
+
+    private List<Router> getMethodRouter(final RequestProcessingContext context) {
+        final ContainerRequest request = context.request();
+        final List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(request.getMethod());
+        if (acceptors == null) {
+            throw new NotAllowedException(
+                    Response.status(Status.METHOD_NOT_ALLOWED).allow(consumesProducesAcceptors.keySet()).build());
+        }
+
+        final MethodSelection selection = getSelection(request, acceptors);
+        if (selection == MethodSelection.NOT_SUPPORTED) {
+            throw new NotSupportedException();
+        }
+
+        final List<AcceptableMediaType> acceptableMediaTypes = selection.acceptableMediaTypes;
+        final MethodSelector methodSelector = selection.selector;
+
         if (methodSelector.selected != null) {
             final RequestSpecificConsumesProducesAcceptor selected = methodSelector.selected;
 
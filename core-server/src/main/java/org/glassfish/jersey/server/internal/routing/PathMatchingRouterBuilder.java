@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.server.internal.routing;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -31,23 +32,27 @@ import org.glassfish.jersey.uri.PathPattern;
 final class PathMatchingRouterBuilder implements PathToRouterBuilder {
 
     private final List<Route> acceptedRoutes = new LinkedList<>();
+    private final boolean compiled;
     private List<Router> currentRouters;
 
 
     /**
      * Create new request path pattern matching router builder.
      *
-     * @param pattern request path matching pattern.
+     * @param pattern  request path matching pattern.
+     * @param compiled if {@code true}, the built router will match the request path using a
+     *                 {@link CompiledPathMatchingRouter pre-compiled literal path segment trie}.
      * @return new request path pattern matching router builder.
      */
-    static PathToRouterBuilder newRoute(final PathPattern pattern) {
-        final PathMatchingRouterBuilder builder = new PathMatchingRouterBuilder();
+    static PathToRouterBuilder newRoute(final PathPattern pattern, final boolean compiled) {
+        final PathMatchingRouterBuilder builder = new PathMatchingRouterBuilder(compiled);
         builder.startNewRoute(pattern);
         return builder;
     }
 
-    private PathMatchingRouterBuilder() {
+    private PathMatchingRouterBuilder(final boolean compiled) {
         // preventing direct instantiation
+        this.compiled = compiled;
     }
 
     private void startNewRoute(final PathPattern pattern) {
@@ -88,8 +93,10 @@ final class PathMatchingRouterBuilder implements PathToRouterBuilder {
      *
      * @return hierarchical request path matching processor (i.e. router).
      */
-    public PathMatchingRouter build() {
-        return new PathMatchingRouter(acceptedRoutes());
+    public Router build() {
+        return compiled
+                ? new CompiledPathMatchingRouter(new ArrayList<>(acceptedRoutes()))
+                : new PathMatchingRouter(acceptedRoutes());
     }
 
 }
@@ -27,6 +27,7 @@ import javax.ws.rs.core.Configuration;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.JerseyResourceContext;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.process.Endpoint;
@@ -52,6 +53,9 @@ final class RuntimeModelBuilder {
     private final ResourceMethodInvoker.Builder resourceMethodInvokerBuilder;
     private final MessageBodyWorkers messageBodyWorkers;
     private final ProcessingProviders processingProviders;
+    private final boolean compiledRouting;
+    private final int methodSelectionCacheSize;
+    private final boolean methodSelectionTable;
 
     // SubResourceLocator Model Builder.
     private final Value<RuntimeLocatorModelBuilder> locatorBuilder;
@@ -80,6 +84,18 @@ final class RuntimeModelBuilder {
         this.resourceMethodInvokerBuilder = resourceMethodInvokerBuilder;
         this.messageBodyWorkers = messageBodyWorkers;
         this.processingProviders = processingProviders;
+        this.compiledRouting = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.COMPILED_ROUTING_ENABLED,
+                Boolean.FALSE,
+                Boolean.class);
+        this.methodSelectionCacheSize = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.METHOD_SELECTION_CACHE_SIZE,
+                ServerProperties.METHOD_SELECTION_DEFAULT_CACHE_SIZE,
+                Integer.class);
+        this.methodSelectionTable = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.METHOD_SELECTION_TABLE_ENABLED,
+                Boolean.FALSE,
+                Boolean.class);
         this.locatorBuilder = Values.lazy((Value<RuntimeLocatorModelBuilder>)
                 () -> new RuntimeLocatorModelBuilder(config, messageBodyWorkers, valueSuppliers, resourceContext,
                         RuntimeModelBuilder.this, modelProcessors, createServiceFunction));
@@ -101,6 +117,10 @@ final class RuntimeModelBuilder {
     }
 
 
+    private Router createMethodSelectingRouter(final List<MethodRouting> methodRoutings) {
+        return new MethodSelectingRouter(messageBodyWorkers, methodRoutings, methodSelectionCacheSize, methodSelectionTable);
+    }
+
     private Endpoint createInflector(final ResourceMethod method) {
 
         return resourceMethodInvokerBuilder.build(
@@ -149,7 +169,7 @@ final class RuntimeModelBuilder {
             // resource methods
             if (!resource.getResourceMethods().isEmpty()) {
                 final List<MethodRouting> methodRoutings = createResourceMethodRouters(resource, subResourceMode);
-                final Router methodSelectingRouter = new MethodSelectingRouter(messageBodyWorkers, methodRoutings);
+                final Router methodSelectingRouter = createMethodSelectingRouter(methodRoutings);
                 if (subResourceMode) {
                     currentRouterBuilder = startNextRoute(currentRouterBuilder, PathPattern.END_OF_PATH_PATTERN)
                             .to(resourcePushingRouter)
@@ -178,7 +198,7 @@ final class RuntimeModelBuilder {
                         srRoutedBuilder = startNextRoute(srRoutedBuilder, childClosedPattern)
                                 .to(uriPushingRouter)
                                 .to(childResourcePushingRouter)
-                                .to(new MethodSelectingRouter(messageBodyWorkers, childMethodRoutings));
+                                .to(createMethodSelectingRouter(childMethodRoutings));
                     }
 
                     // sub resource locator
@@ -292,6 +312,7 @@ final class RuntimeModelBuilder {
 
     private PathToRouterBuilder startNextRoute(final PathMatchingRouterBuilder currentRouterBuilder, PathPattern routingPattern) {
         return currentRouterBuilder == null
-                ? PathMatchingRouterBuilder.newRoute(routingPattern) : currentRouterBuilder.route(routingPattern);
+                ? PathMatchingRouterBuilder.newRoute(routingPattern, compiledRouting)
+                : currentRouterBuilder.route(routingPattern);
     }
 }
@@ -59,6 +59,7 @@ import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
@@ -69,6 +70,7 @@ import org.glassfish.jersey.server.model.internal.ResourceMethodInvocationHandle
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
+import org.glassfish.jersey.spi.VirtualThreadExecutorProvider;
 
 /**
  * Server-side request-response {@link Inflector inflector} for invoking methods
@@ -86,6 +88,7 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final ResourceMethodDispatcher dispatcher;
     private final Method resourceMethod;
     private final Class<?> resourceClass;
+    private final boolean managedAsync;
     private final List<RankedProvider<ContainerRequestFilter>> requestFilters = new ArrayList<>();
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = new ArrayList<>();
     private final Iterable<ReaderInterceptor> readerInterceptors;
@@ -212,6 +215,10 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
 
         this.resourceMethod = invocable.getHandlingMethod();
         this.resourceClass = invocable.getHandler().getHandlerClass();
+        this.managedAsync = method.isManagedAsyncDeclared()
+                || (!method.isSse() && VirtualThreadExecutorProvider.isSupported()
+                            && ServerProperties.getValue(globalConfig.getProperties(),
+                                                         ServerProperties.VIRTUAL_THREADS_ENABLED, false));
 
         // Configure dynamic features.
         final ResourceMethodConfig config = new ResourceMethodConfig(globalConfig.getProperties());
@@ -370,19 +377,24 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         final ContainerRequest request = processingContext.request();
         final Object resource = processingContext.routingContext().peekMatchedResource();
 
-        if (method.isSuspendDeclared() || method.isManagedAsyncDeclared() || method.isSse()) {
+        if (method.isSuspendDeclared() || managedAsync || method.isSse()) {
             if (!processingContext.asyncContext().suspend()) {
                 throw new ProcessingException(LocalizationMessages.ERROR_SUSPENDING_ASYNC_REQUEST());
             }
         }
 
-        if (method.isManagedAsyncDeclared()) {
+        if (managedAsync) {
             processingContext.asyncContext().invokeManaged(() -> {
                 final Response response = invoke(processingContext, resource);
                 if (method.isSuspendDeclared()) {
                     // we ignore any response returned from a method that injects AsyncResponse
                     return null;
                 }
+                if (response.hasEntity() && response.getEntity() instanceof CompletionStage) {
+                    // the request is already suspended, wait for a response
+                    ((CompletionStage) response.getEntity()).whenComplete(whenComplete(processingContext));
+                    return null;
+                }
                 return response;
             });
             return null; // return null on current thread
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * Monitoring statistics of a cache of parsed header values shared among all the messages, e.g. the cache of the parsed
+ * {@code Accept} header values.
+ * <p>
+ * The maximum size of the caches is configured by {@link org.glassfish.jersey.message.MessageProperties#HEADER_CACHE_SIZE}.
+ * The caches are shared by all the applications in the JVM. Frequent evictions indicate that the clients send more
+ * distinct header values than fit into the cache.
+ * </p>
+ *
+ * @see MonitoringStatistics See monitoring statistics for general details about statistics.
+ * @since 2.29
+ */
+public interface HeaderCacheStatistics {
+
+    /**
+     * Get the number of header values found in the cache.
+     *
+     * @return Count of cache hits.
+     */
+    public long getHits();
+
+    /**
+     * Get the number of header values that had to be parsed.
+     *
+     * @return Count of cache misses.
+     */
+    public long getMisses();
+
+    /**
+     * Get the number of parsed header values evicted from the cache because the cache was full.
+     *
+     * @return Count of cache evictions.
+     */
+    public long getEvictions();
+
+    /**
+     * Get the number of parsed header values in the cache.
+     *
+     * @return Size of the cache.
+     */
+    public int getSize();
+
+    /**
+     * Get the maximum number of parsed header values in the cache.
+     *
+     * @return Maximum size of the cache, {@code 0} if the caching is disabled.
+     */
+    public int getMaximumSize();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * Monitoring statistics of the caches used by {@link org.glassfish.jersey.message.MessageBodyWorkers message body workers}
+ * to look up {@link javax.ws.rs.ext.MessageBodyReader message body readers} and
+ * {@link javax.ws.rs.ext.MessageBodyWriter message body writers} for a combination of an entity type and a media type.
+ * <p>
+ * The maximum size of the caches is configured by
+ * {@link org.glassfish.jersey.message.MessageProperties#WORKERS_LOOKUP_CACHE_SIZE}. Frequent evictions indicate that
+ * the application uses more entity type and media type combinations than fit into the caches.
+ * </p>
+ *
+ * @see MonitoringStatistics See monitoring statistics for general details about statistics.
+ * @since 2.29
+ */
+public interface MessageBodyWorkersStatistics {
+
+    /**
+     * Get the number of message body reader lookups served from the cache.
+     *
+     * @return Count of reader lookup cache hits.
+     */
+    public long getReaderLookupCacheHits();
+
+    /**
+     * Get the number of message body reader lookups not found in the cache.
+     *
+     * @return Count of reader lookup cache misses.
+     */
+    public long getReaderLookupCacheMisses();
+
+    /**
+     * Get the number of entries evicted from the message body reader lookup cache.
+     *
+     * @return Count of reader lookup cache evictions.
+     */
+    public long getReaderLookupCacheEvictions();
+
+    /**
+     * Get the number of entries in the message body reader lookup cache.
+     *
+     * @return Size of the reader lookup cache.
+     */
+    public int getReaderLookupCacheSize();
+
+    /**
+     * Get the number of message body writer lookups served from the cache.
+     *
+     * @return Count of writer lookup cache hits.
+     */
+    public long getWriterLookupCacheHits();
+
+    /**
+     * Get the number of message body writer lookups not found in the cache.
+     *
+     * @return Count of writer lookup cache misses.
+     */
+    public long getWriterLookupCacheMisses();
+
+    /**
+     * Get the number of entries evicted from the message body writer lookup cache.
+     *
+     * @return Count of writer lookup cache evictions.
+     */
+    public long getWriterLookupCacheEvictions();
+
+    /**
+     * Get the number of entries in the message body writer lookup cache.
+     *
+     * @return Size of the writer lookup cache.
+     */
+    public int getWriterLookupCacheSize();
+}
@@ -16,8 +16,11 @@
 
 package org.glassfish.jersey.server.monitoring;
 
+import java.util.Collections;
 import java.util.Map;
 
+import org.glassfish.jersey.server.internal.monitoring.MessageBodyWorkersStatisticsImpl;
+
 /**
  * Monitoring statistics return statistic information about application run like number of requests received,
  * duration of request processing, number of successfully processed requests, statistical information about
@@ -113,6 +116,29 @@ public interface MonitoringStatistics {
      */
     public ExceptionMapperStatistics getExceptionMapperStatistics();
 
+    /**
+     * Get statistics about lookups of {@link javax.ws.rs.ext.MessageBodyReader message body readers} and
+     * {@link javax.ws.rs.ext.MessageBodyWriter message body writers}.
+     * The default implementation returns statistics with all the values equal to zero.
+     *
+     * @return Message body workers statistics.
+     * @since 2.29
+     */
+    public default MessageBodyWorkersStatistics getMessageBodyWorkersStatistics() {
+        return MessageBodyWorkersStatisticsImpl.EMPTY;
+    }
+
+    /**
+     * Get statistics of the caches of parsed {@code Accept}, {@code Accept-Language} and {@code Content-Type} header values.
+     * The default implementation returns an empty map.
+     *
+     * @return Parsed header cache statistics keyed by the header name.
+     * @since 2.29
+     */
+    public default Map<String, HeaderCacheStatistics> getHeaderCacheStatistics() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Get the immutable consistent snapshot of the monitoring statistics. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
@@ -80,6 +80,24 @@ public interface TimeWindowStatistics {
      */
     public long getAverageDuration();
 
+    /**
+     * Returns the duration (processing time) in milliseconds within which the given fraction of the requests measured
+     * in the time window was processed, e.g. the 99th percentile of the durations for the {@code 0.99} quantile.
+     * <p/>
+     * The durations are known for all the time windows only if the latency histograms are enabled
+     * (see {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_HISTOGRAMS_ENABLED}), in which case
+     * the returned value may exceed the precise percentile by at most 12.5%. Otherwise the durations are available
+     * for some of the time windows only. The default implementation returns {@code -1}.
+     *
+     * @param quantile the quantile, in {@code [0..1]}.
+     * @return Processing time of the request at the quantile or -1 if no request has been processed or the distribution
+     * of the durations is not available for the time window.
+     * @since 2.29
+     */
+    public default long getDurationAtQuantile(final double quantile) {
+        return -1;
+    }
+
     /**
      * Returns the count of requests received measured in the time window.
      *
@@ -87,6 +105,24 @@ public interface TimeWindowStatistics {
      */
     public long getRequestCount();
 
+    /**
+     * Returns the count of requests measured in the time window whose duration (processing time) in milliseconds
+     * did not exceed the given duration.
+     * <p/>
+     * The counts are known only if the latency histograms are enabled
+     * (see {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_HISTOGRAMS_ENABLED}), in which case
+     * the count is exact for the durations of the form {@code 2^n - 1} and may be lower for other durations, as the
+     * durations are counted in buckets of 12.5% precision. The default implementation returns {@code -1}.
+     *
+     * @param maxDuration the longest duration of the counted requests in milliseconds.
+     * @return Count of requests processed within the duration or -1 if the distribution of the durations is not
+     * available for the time window.
+     * @since 2.29
+     */
+    public default long getRequestCount(final long maxDuration) {
+        return -1;
+    }
+
     /**
      * Get the immutable and consistent snapshot of the monitoring statistics. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
@@ -16,7 +16,10 @@
 
 package org.glassfish.jersey.server.spi;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 
 import org.glassfish.jersey.server.ApplicationHandler;
@@ -177,4 +180,101 @@ public interface ContainerResponseWriter {
      * @return {@code true} to enable entity buffering to be done by Jersey runtime, {@code false} otherwise.
      */
     public boolean enableResponseBuffering();
+
+    /**
+     * Write the file region as the complete response entity directly to the underlying connection, without copying
+     * the file content through the output stream (e.g. using {@code sendfile} or
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}).
+     * <p>
+     * The method is invoked by Jersey runtime before the response status and headers have been written and before any bytes
+     * have been written to the response. If the container transfers the file region, it has to write the response status
+     * and headers of the {@code responseContext} first, using
+     * {@link #writeResponseStatusAndHeaders(long, ContainerResponse) writeResponseStatusAndHeaders(-1, responseContext)}
+     * or the content length of the region. Once the method returns {@code true}, the returned output stream is not used.
+     * If the container does not support direct file transfers in the current state of the response, the method must
+     * return {@code false} without writing anything, in which case Jersey runtime writes the response status and headers
+     * and the file content to the output stream as usual.
+     * </p>
+     * <p>
+     * The default implementation returns {@code false}.
+     * </p>
+     *
+     * @param file            file to be written.
+     * @param position        position of the first byte of the region in the file.
+     * @param count           number of bytes of the region.
+     * @param responseContext container response whose status and headers have to be written before the file region.
+     * @return {@code true} if the response status, headers and the file region have been written, {@code false} otherwise.
+     * @throws IOException in case of the I/O error.
+     * @since 2.29
+     */
+    public default boolean transferFile(final File file,
+                                        final long position,
+                                        final long count,
+                                        final ContainerResponse responseContext) throws IOException {
+        return false;
+    }
+
+    /**
+     * Write the remaining content of the byte buffer as the complete response entity directly to the underlying connection,
+     * without copying the content through the output stream.
+     * <p>
+     * The method is invoked under the same conditions as {@link #transferFile(File, long, long, ContainerResponse)}
+     * and has to write the response status and headers of the {@code responseContext} before the buffer content as well.
+     * The position of the buffer must not be modified. If the container does not support direct buffer writes in the current
+     * state of the response, the method must return {@code false} without writing anything, in which case Jersey runtime
+     * writes the response status and headers and the buffer content to the output stream as usual.
+     * </p>
+     * <p>
+     * The default implementation returns {@code false}.
+     * </p>
+     *
+     * @param buffer          byte buffer to be written.
+     * @param responseContext container response whose status and headers have to be written before the buffer content.
+     * @return {@code true} if the response status, headers and the buffer content have been written, {@code false} otherwise.
+     * @throws IOException in case of the I/O error.
+     * @since 2.29
+     */
+    public default boolean transferBuffer(final ByteBuffer buffer, final ContainerResponse responseContext)
+            throws IOException {
+        return false;
+    }
+
+    /**
+     * Check whether the bytes written to the {@link #writeResponseStatusAndHeaders(long, ContainerResponse) entity output
+     * stream} are accepted without blocking the writing thread.
+     * <p>
+     * The method is used by Jersey runtime when writing the chunks of a {@link org.glassfish.jersey.server.ChunkedOutput}
+     * asynchronously. Containers that return {@code false} must support the {@link #notifyWriteReady(Runnable)}
+     * notification.
+     * </p>
+     * <p>
+     * The default implementation returns {@code true}, i.e. the container cannot tell and the writes may block.
+     * </p>
+     *
+     * @return {@code true} if the output stream accepts bytes without blocking, {@code false} otherwise.
+     * @since 2.29
+     */
+    public default boolean isWriteReady() {
+        return true;
+    }
+
+    /**
+     * Register a callback invoked once, when the entity output stream {@link #isWriteReady() accepts bytes without
+     * blocking} again or when the connection is closed.
+     * <p>
+     * The callback may be invoked by a container I/O thread, it must not block. If the output stream is already ready,
+     * the callback may be invoked immediately.
+     * </p>
+     * <p>
+     * The default implementation returns {@code false}.
+     * </p>
+     *
+     * @param callback callback to be invoked.
+     * @return {@code true} if the callback has been registered, {@code false} if the container does not support the
+     * notification.
+     * @since 2.29
+     */
+    public default boolean notifyWriteReady(final Runnable callback) {
+        return false;
+    }
 }
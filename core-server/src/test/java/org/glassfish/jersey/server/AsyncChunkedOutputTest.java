@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test the {@link ServerProperties#CHUNKED_OUTPUT_ASYNC_ENABLED asynchronous writing} of the chunked outputs.
+ */
+public class AsyncChunkedOutputTest {
+
+    private static volatile ChunkedOutput<String> output;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Produces(MediaType.TEXT_PLAIN)
+        public ChunkedOutput<String> get() {
+            output = new ChunkedOutput<>(String.class, "\n");
+            return output;
+        }
+
+        @GET
+        @Path("written")
+        @Produces(MediaType.TEXT_PLAIN)
+        public ChunkedOutput<String> getWritten() throws IOException {
+            output = new ChunkedOutput<>(String.class, "\n");
+            // more chunks than the queue holds, written before the response is processed
+            output.write("a");
+            output.write("b");
+            output.write("c");
+            output.close();
+            return output;
+        }
+    }
+
+    /**
+     * Response writer whose output stream does not accept bytes until it is made ready.
+     */
+    private static class ReadinessResponseWriter implements ContainerResponseWriter {
+
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        private volatile boolean ready;
+        // guarded by this
+        private Runnable callback;
+
+        private ReadinessResponseWriter(final boolean ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(final long contentLength, final ContainerResponse responseContext) {
+            return new OutputStream() {
+                @Override
+                public void write(final int b) {
+                    if (!ready) {
+                        throw new AssertionError("Written before ready.");
+                    }
+                    synchronized (written) {
+                        written.write(b);
+                    }
+                }
+
+                @Override
+                public void close() {
+                    closed.countDown();
+                }
+            };
+        }
+
+        @Override
+        public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
+            return true;
+        }
+
+        @Override
+        public void setSuspendTimeout(final long timeOut, final TimeUnit timeUnit) {
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void failure(final Throwable error) {
+            throw new AssertionError(error);
+        }
+
+        @Override
+        public boolean enableResponseBuffering() {
+            return false;
+        }
+
+        @Override
+        public boolean isWriteReady() {
+            return ready;
+        }
+
+        @Override
+        public boolean notifyWriteReady(final Runnable callback) {
+            synchronized (this) {
+                if (!ready) {
+                    this.callback = callback;
+                    return true;
+                }
+            }
+            callback.run();
+            return true;
+        }
+
+        void makeReady() {
+            final Runnable callback;
+            synchronized (this) {
+                ready = true;
+                callback = this.callback;
+                this.callback = null;
+            }
+            if (callback != null) {
+                callback.run();
+            }
+        }
+
+        String awaitWritten(final String expected) throws InterruptedException {
+            for (int i = 0; i < 500; i++) {
+                final String content = content();
+                if (content.equals(expected)) {
+                    return content;
+                }
+                Thread.sleep(10);
+            }
+            return content();
+        }
+
+        String content() {
+            synchronized (written) {
+                return new String(written.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Response writer of a container not supporting the write readiness notification, whose output stream blocks until
+     * it is released.
+     */
+    private static class BlockingResponseWriter extends ReadinessResponseWriter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        private BlockingResponseWriter() {
+            super(true);
+        }
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(final long contentLength, final ContainerResponse responseContext) {
+            final OutputStream stream = super.writeResponseStatusAndHeaders(contentLength, responseContext);
+            return new OutputStream() {
+                @Override
+                public void write(final int b) throws IOException {
+                    writing.countDown();
+                    try {
+                        released.await();
+                    } catch (final InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                    stream.write(b);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    stream.close();
+                }
+            };
+        }
+    }
+
+    private static ReadinessResponseWriter start(final ChunkedOutput.OverflowPolicy policy) {
+        return start(policy, "/", new ReadinessResponseWriter(false));
+    }
+
+    private static ReadinessResponseWriter start(final ChunkedOutput.OverflowPolicy policy, final String path,
+                                                 final ReadinessResponseWriter writer) {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.CHUNKED_OUTPUT_ASYNC_ENABLED, true)
+                .property(ServerProperties.CHUNKED_OUTPUT_QUEUE_SIZE, 4)
+                .property(ServerProperties.CHUNKED_OUTPUT_OVERFLOW_POLICY, policy.name()));
+        final ContainerRequest request = RequestContextBuilder.from(path, "GET").build();
+        request.setWriter(writer);
+        request.setSecurityContext(new SecurityContext() {
+            @Override
+            public Principal getUserPrincipal() {
+                return null;
+            }
+
+            @Override
+            public boolean isUserInRole(final String role) {
+                return false;
+            }
+
+            @Override
+            public boolean isSecure() {
+                return false;
+            }
+
+            @Override
+            public String getAuthenticationScheme() {
+                return null;
+            }
+        });
+        handler.handle(request);
+        return writer;
+    }
+
+    @Test
+    public void testWrittenWhenReady() throws Exception {
+        final ReadinessResponseWriter writer = start(ChunkedOutput.OverflowPolicy.BLOCK);
+
+        output.write("a");
+        output.write("b");
+        assertEquals(4, output.getQueuedBytes());
+
+        writer.makeReady();
+        assertEquals("a\nb\n", writer.awaitWritten("a\nb\n"));
+
+        output.close();
+        assertTrue(writer.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, output.getQueuedBytes());
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        final ReadinessResponseWriter writer = start(ChunkedOutput.OverflowPolicy.DROP_OLDEST);
+
+        output.write("a");
+        output.write("b");
+        output.write("c");
+        assertEquals(4, output.getQueuedBytes());
+        assertEquals(1, output.getDroppedChunks());
+
+        writer.makeReady();
+        assertEquals("b\nc\n", writer.awaitWritten("b\nc\n"));
+        output.close();
+    }
+
+    @Test
+    public void testDisconnect() throws Exception {
+        final ReadinessResponseWriter writer = start(ChunkedOutput.OverflowPolicy.DISCONNECT);
+
+        output.write("a");
+        output.write("b");
+        try {
+            output.write("c");
+            fail("IOException expected.");
+        } catch (final IOException expected) {
+            // the queue overflowed
+        }
+        assertTrue(output.isClosed());
+
+        writer.makeReady();
+        assertTrue(writer.closed.await(5, TimeUnit.SECONDS));
+        assertEquals("", writer.awaitWritten(""));
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        final ReadinessResponseWriter writer = start(ChunkedOutput.OverflowPolicy.BLOCK);
+
+        output.write("a");
+        output.write("b");
+        final Future<?> blocked = executor.submit(() -> {
+            output.write("c");
+            return null;
+        });
+        try {
+            blocked.get(100, TimeUnit.MILLISECONDS);
+            fail("The write should block until the queue has room.");
+        } catch (final TimeoutException expected) {
+            // the queue is full
+        }
+        assertFalse(blocked.isDone());
+
+        writer.makeReady();
+        blocked.get(5, TimeUnit.SECONDS);
+        assertEquals("a\nb\nc\n", writer.awaitWritten("a\nb\nc\n"));
+        output.close();
+    }
+
+    @Test
+    public void testDropOldestBlockedWrite() throws Exception {
+        final BlockingResponseWriter writer = (BlockingResponseWriter) start(ChunkedOutput.OverflowPolicy.DROP_OLDEST, "/",
+                new BlockingResponseWriter());
+
+        output.write("a");
+        assertTrue(writer.writing.await(5, TimeUnit.SECONDS));
+        output.write("b");
+        output.write("c");
+        // the container accepts no bytes within the write of the first chunk
+        output.write("d");
+        assertEquals(1, output.getDroppedChunks());
+
+        writer.released.countDown();
+        output.close();
+        assertTrue(writer.closed.await(5, TimeUnit.SECONDS));
+        assertEquals("a\nc\nd\n", writer.content());
+    }
+
+    @Test
+    public void testDisconnectBlockedWrite() throws Exception {
+        final BlockingResponseWriter writer = (BlockingResponseWriter) start(ChunkedOutput.OverflowPolicy.DISCONNECT, "/",
+                new BlockingResponseWriter());
+
+        output.write("a");
+        assertTrue(writer.writing.await(5, TimeUnit.SECONDS));
+        output.write("b");
+        output.write("c");
+        try {
+            output.write("d");
+            fail("IOException expected.");
+        } catch (final IOException expected) {
+            // the container accepts no bytes within the write of the first chunk
+        }
+        assertTrue(output.isClosed());
+
+        writer.released.countDown();
+        assertTrue(writer.closed.await(5, TimeUnit.SECONDS));
+        assertEquals("a\n", writer.awaitWritten("a\n"));
+    }
+
+    @Test
+    public void testWrittenBeforeResponse() throws Exception {
+        for (final ChunkedOutput.OverflowPolicy policy : ChunkedOutput.OverflowPolicy.values()) {
+            final ReadinessResponseWriter writer = start(policy, "/written", new ReadinessResponseWriter(true));
+
+            // no chunk is dropped while the container accepts the bytes
+            assertTrue(policy.name(), writer.closed.await(5, TimeUnit.SECONDS));
+            assertEquals(policy.name(), "a\nb\nc\n", writer.content());
+            assertEquals(policy.name(), 0, output.getDroppedChunks());
+        }
+    }
+
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        final int writers = 4;
+        final int chunks = 100;
+        final ReadinessResponseWriter writer = start(ChunkedOutput.OverflowPolicy.DISCONNECT, "/",
+                new ReadinessResponseWriter(true));
+
+        final ExecutorService writing = Executors.newFixedThreadPool(writers);
+        try {
+            final List<Future<?>> written = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                final int id = i;
+                written.add(writing.submit(() -> {
+                    for (int chunk = 0; chunk < chunks; chunk++) {
+                        output.write(id + ":" + chunk);
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : written) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            writing.shutdownNow();
+        }
+        output.close();
+        assertTrue(writer.closed.await(5, TimeUnit.SECONDS));
+
+        // all the chunks are written, the chunks of every writer in its order
+        final String[] lines = writer.content().split("\n");
+        assertEquals(writers * chunks, lines.length);
+        final int[] next = new int[writers];
+        for (final String line : lines) {
+            final String[] chunk = line.split(":");
+            assertEquals(line, next[Integer.parseInt(chunk[0])]++, Integer.parseInt(chunk[1]));
+        }
+        assertEquals(0, output.getDroppedChunks());
+    }
+}
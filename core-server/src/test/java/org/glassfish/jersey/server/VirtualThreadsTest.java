@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+
+import org.glassfish.jersey.spi.VirtualThreadExecutorProvider;
+
+import org.junit.Assume;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the resource method invocation with the {@link ServerProperties#VIRTUAL_THREADS_ENABLED virtual threads} enabled.
+ */
+public class VirtualThreadsTest {
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("sync")
+        public String sync() {
+            return Thread.currentThread().getName();
+        }
+
+        @GET
+        @Path("managed")
+        @ManagedAsync
+        public String managed() {
+            return Thread.currentThread().getName();
+        }
+
+        @GET
+        @Path("async")
+        public void async(@Suspended final AsyncResponse asyncResponse) {
+            asyncResponse.resume(Thread.currentThread().getName());
+        }
+
+        @GET
+        @Path("stage")
+        public CompletionStage<String> stage() {
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        }
+    }
+
+    private static ApplicationHandler createApplication(final boolean virtualThreads) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.VIRTUAL_THREADS_ENABLED, virtualThreads));
+    }
+
+    private static String invoke(final ApplicationHandler application, final String path) throws Exception {
+        final ContainerResponse response = application.apply(RequestContextBuilder.from(path, "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        return (String) response.getEntity();
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        Assume.assumeTrue(VirtualThreadExecutorProvider.isSupported());
+
+        final ApplicationHandler application = createApplication(true);
+        for (final String path : new String[] {"/sync", "/managed", "/async", "/stage"}) {
+            final String threadName = invoke(application, path);
+            assertNotEquals(path, Thread.currentThread().getName(), threadName);
+            assertTrue(path + ": " + threadName, threadName.startsWith("jersey-server-managed-async-executor-"));
+        }
+    }
+
+    @Test
+    public void testVirtualThreadsDisabled() throws Exception {
+        final ApplicationHandler application = createApplication(false);
+
+        assertEquals(Thread.currentThread().getName(), invoke(application, "/sync"));
+        assertEquals(Thread.currentThread().getName(), invoke(application, "/stage"));
+        assertTrue(invoke(application, "/managed").startsWith("jersey-server-managed-async-executor-"));
+    }
+
+    @Test
+    public void testVirtualThreadsNotSupported() throws Exception {
+        Assume.assumeTrue(!VirtualThreadExecutorProvider.isSupported());
+
+        final ApplicationHandler application = createApplication(true);
+
+        assertEquals(Thread.currentThread().getName(), invoke(application, "/sync"));
+        assertTrue(invoke(application, "/managed").startsWith("jersey-server-managed-async-executor-"));
+    }
+}
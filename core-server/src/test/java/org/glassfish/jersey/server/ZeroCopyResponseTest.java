@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test the zero-copy transfer of the response entities using the {@link ContainerResponseWriter}.
+ */
+public class ZeroCopyResponseTest {
+
+    private static final byte[] CONTENT = new byte[100000];
+    private static File file;
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        for (int i = 0; i < CONTENT.length; i++) {
+            CONTENT[i] = (byte) i;
+        }
+        file = File.createTempFile("jersey-zero-copy", ".bin");
+        Files.write(file.toPath(), CONTENT);
+    }
+
+    @AfterClass
+    public static void deleteFile() {
+        file.delete();
+    }
+
+    @Path("/")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public static class Resource {
+
+        @GET
+        @Path("file")
+        public File file() {
+            return file;
+        }
+
+        @GET
+        @Path("buffer")
+        public ByteBuffer buffer() {
+            return ByteBuffer.wrap(CONTENT);
+        }
+
+        @GET
+        @Path("small-buffer")
+        public ByteBuffer smallBuffer() {
+            return ByteBuffer.wrap(CONTENT, 0, 100);
+        }
+    }
+
+    public static class WrappingInterceptor implements WriterInterceptor {
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            context.setOutputStream(new FilterOutputStream(context.getOutputStream()));
+            context.proceed();
+        }
+    }
+
+    private static class TransferringResponseWriter implements ContainerResponseWriter {
+
+        private final boolean transfer;
+        private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        private long contentLength;
+        private int headersWritten;
+        private boolean headersWrittenBeforeTransfer;
+        private File transferredFile;
+        private long transferredCount = -1;
+        private boolean committed;
+
+        private TransferringResponseWriter(final boolean transfer) {
+            this.transfer = transfer;
+        }
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(final long contentLength, final ContainerResponse responseContext) {
+            this.contentLength = contentLength;
+            headersWritten++;
+            return written;
+        }
+
+        @Override
+        public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
+            return false;
+        }
+
+        @Override
+        public void setSuspendTimeout(final long timeOut, final TimeUnit timeUnit) {
+        }
+
+        @Override
+        public void commit() {
+            committed = true;
+        }
+
+        @Override
+        public void failure(final Throwable error) {
+            throw new AssertionError(error);
+        }
+
+        @Override
+        public boolean enableResponseBuffering() {
+            return true;
+        }
+
+        @Override
+        public boolean transferFile(final File file, final long position, final long count,
+                                    final ContainerResponse responseContext) {
+            transferredFile = file;
+            return transfer(count, responseContext);
+        }
+
+        @Override
+        public boolean transferBuffer(final ByteBuffer buffer, final ContainerResponse responseContext) {
+            return transfer(buffer.remaining(), responseContext);
+        }
+
+        private boolean transfer(final long count, final ContainerResponse responseContext) {
+            transferredCount = count;
+            headersWrittenBeforeTransfer = headersWritten > 0;
+            if (transfer) {
+                writeResponseStatusAndHeaders(count, responseContext);
+            }
+            return transfer;
+        }
+    }
+
+    private static TransferringResponseWriter apply(final ResourceConfig config,
+                                                    final String path,
+                                                    final boolean transfer) {
+        final ApplicationHandler handler = new ApplicationHandler(config);
+        final ContainerRequest request = RequestContextBuilder.from(path, "GET").build();
+        final TransferringResponseWriter writer = new TransferringResponseWriter(transfer);
+        request.setWriter(writer);
+        request.setSecurityContext(new SecurityContext() {
+            @Override
+            public Principal getUserPrincipal() {
+                return null;
+            }
+
+            @Override
+            public boolean isUserInRole(final String role) {
+                return false;
+            }
+
+            @Override
+            public boolean isSecure() {
+                return false;
+            }
+
+            @Override
+            public String getAuthenticationScheme() {
+                return null;
+            }
+        });
+
+        handler.handle(request);
+        assertEquals(true, writer.committed);
+        assertEquals(1, writer.headersWritten);
+        assertFalse(writer.headersWrittenBeforeTransfer);
+        return writer;
+    }
+
+    @Test
+    public void testFileTransfer() {
+        final TransferringResponseWriter writer = apply(new ResourceConfig(Resource.class), "/file", true);
+
+        assertEquals(CONTENT.length, writer.contentLength);
+        assertSame(file, writer.transferredFile);
+        assertEquals(CONTENT.length, writer.transferredCount);
+        assertEquals(0, writer.written.size());
+    }
+
+    @Test
+    public void testBufferTransfer() {
+        final TransferringResponseWriter writer = apply(new ResourceConfig(Resource.class), "/buffer", true);
+
+        assertEquals(CONTENT.length, writer.contentLength);
+        assertEquals(CONTENT.length, writer.transferredCount);
+        assertEquals(0, writer.written.size());
+    }
+
+    @Test
+    public void testTransferNotSupported() {
+        final TransferringResponseWriter fileWriter = apply(new ResourceConfig(Resource.class), "/file", false);
+        assertSame(file, fileWriter.transferredFile);
+        assertEquals(-1, fileWriter.contentLength);
+        assertArrayEquals(CONTENT, fileWriter.written.toByteArray());
+
+        final TransferringResponseWriter bufferWriter = apply(new ResourceConfig(Resource.class), "/buffer", false);
+        assertEquals(CONTENT.length, bufferWriter.transferredCount);
+        assertArrayEquals(CONTENT, bufferWriter.written.toByteArray());
+    }
+
+    @Test
+    public void testBufferedEntityNotTransferred() {
+        final TransferringResponseWriter writer = apply(new ResourceConfig(Resource.class), "/small-buffer", true);
+
+        assertEquals(100, writer.contentLength);
+        assertEquals(-1, writer.transferredCount);
+        assertEquals(100, writer.written.size());
+    }
+
+    @Test
+    public void testZeroCopyDisabled() {
+        final TransferringResponseWriter writer = apply(new ResourceConfig(Resource.class)
+                .property(ServerProperties.RESPONSE_ZERO_COPY_ENABLED, false), "/file", true);
+
+        assertNull(writer.transferredFile);
+        assertArrayEquals(CONTENT, writer.written.toByteArray());
+    }
+
+    @Test
+    public void testWrappedStreamNotTransferred() {
+        final TransferringResponseWriter writer = apply(new ResourceConfig(Resource.class, WrappingInterceptor.class),
+                "/file", true);
+
+        assertNull(writer.transferredFile);
+        assertArrayEquals(CONTENT, writer.written.toByteArray());
+    }
+}
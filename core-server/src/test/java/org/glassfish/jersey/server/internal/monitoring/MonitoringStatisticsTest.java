@@ -22,6 +22,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,13 +34,17 @@ import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
+import org.glassfish.jersey.message.MessageProperties;
+import org.glassfish.jersey.message.internal.ParsedHeaderCache;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.HeaderCacheStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceMethodStatistics;
 import org.glassfish.jersey.server.monitoring.ResourceStatistics;
 
@@ -160,6 +167,22 @@ public class MonitoringStatisticsTest {
         Assert.assertEquals(TestResource.class, it.next());
     }
 
+    @Test
+    public void testHeaderCacheStatistics() throws Exception {
+        final HeaderCacheStatistics before = getSimpleStats().getHeaderCacheStatistics().get(HttpHeaders.ACCEPT);
+        ParsedHeaderCache.ACCEPT.parse("application/x-monitoring-test");
+        ParsedHeaderCache.ACCEPT.parse("application/x-monitoring-test");
+
+        final Map<String, HeaderCacheStatistics> statistics = getSimpleStats().getHeaderCacheStatistics();
+        Assert.assertEquals(Arrays.asList(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE, HttpHeaders.CONTENT_TYPE),
+                new ArrayList<>(statistics.keySet()));
+        final HeaderCacheStatistics accept = statistics.get(HttpHeaders.ACCEPT);
+        Assert.assertTrue(accept.getHits() > before.getHits());
+        Assert.assertTrue(accept.getMisses() > before.getMisses());
+        Assert.assertTrue(accept.getSize() > 0);
+        Assert.assertEquals(MessageProperties.HEADER_DEFAULT_CACHE_SIZE, accept.getMaximumSize());
+    }
+
     @Test
     public void testUrisWithProgrammaticResources() {
         final MonitoringStatisticsImpl stats = getProgStats().build();
@@ -222,6 +245,55 @@ public class MonitoringStatisticsTest {
         }
     }
 
+    @Test
+    public void testConcurrentExecutions() throws Exception {
+        final int threads = 8;
+        final int executions = 20_000;
+        final MonitoringStatisticsImpl.Builder statBuilder = new MonitoringStatisticsImpl.Builder(true);
+
+        final Resource.Builder resourceBuilder = Resource.builder();
+        resourceBuilder.addMethod("GET").handledBy(MyInflector.class);
+        final ResourceMethod getMethod = resourceBuilder.build().getResourceMethods().get(0);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final String uri = "/concurrent/" + (i % 2);
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < executions; j++) {
+                        final long now = System.currentTimeMillis();
+                        statBuilder.addRequestExecution(now, 2);
+                        statBuilder.addExecution(uri, getMethod, now, 1, now, 2);
+                        statBuilder.addResponseCode(j % 2 == 0 ? 200 : 500);
+                        statBuilder.getExceptionMapperStatisticsBuilder().addMapping(j % 2 == 0, 1);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final long total = threads * executions;
+        final MonitoringStatisticsImpl stat = statBuilder.build();
+        Assert.assertEquals(total, stat.getRequestStatistics().getTimeWindowStatistics().get(0L).getRequestCount());
+        Assert.assertEquals(total / 2, (long) stat.getResponseStatistics().getResponseCodes().get(200));
+        Assert.assertEquals(total / 2, (long) stat.getResponseStatistics().getResponseCodes().get(500));
+        Assert.assertEquals(total, stat.getExceptionMapperStatistics().getTotalMappings());
+        Assert.assertEquals(total / 2, stat.getExceptionMapperStatistics().getSuccessfulMappings());
+
+        for (final String uri : Arrays.asList("/concurrent/0", "/concurrent/1")) {
+            final ResourceStatistics resourceStatistics = stat.getUriStatistics().get(uri);
+            Assert.assertEquals(total / 2, resourceStatistics.getRequestExecutionStatistics()
+                    .getTimeWindowStatistics().get(0L).getRequestCount());
+        }
+        final ResourceMethodStatistics methodStatistics = stat.getResourceClassStatistics().get(MyInflector.class)
+                .getResourceMethodStatistics().get(getMethod);
+        Assert.assertEquals(total, methodStatistics.getMethodStatistics().getTimeWindowStatistics().get(0L).getRequestCount());
+    }
 
     private void check(Iterator<Map.Entry<String, ResourceStatistics>> it,
                        String expectedUri, int expectedMethods) {
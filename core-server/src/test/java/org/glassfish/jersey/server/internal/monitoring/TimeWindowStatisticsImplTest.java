@@ -18,6 +18,7 @@ package org.glassfish.jersey.server.internal.monitoring;
 
 import java.util.concurrent.TimeUnit;
 
+import org.glassfish.jersey.server.internal.monitoring.core.RollingHistogram;
 import org.glassfish.jersey.server.internal.monitoring.core.UniformTimeReservoir;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
@@ -228,6 +229,36 @@ public class TimeWindowStatisticsImplTest {
         // check(builder, time + 3000, 5, 94, 96, 93, 0.5);
     }
 
+    @Test
+    public void testDurationAtQuantile() {
+        final long now = 0;
+        final RollingHistogram histogram = new RollingHistogram(now, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS, 10);
+        final TimeWindowStatisticsImpl.Builder<Long> histogramBuilder = new TimeWindowStatisticsImpl.Builder<>(
+                histogram.addReservoir(15, TimeUnit.SECONDS, 5));
+        final TimeWindowStatisticsImpl.Builder<Long> slidingBuilder = new TimeWindowStatisticsImpl.Builder<>(
+                new SlidingWindowTimeReservoir(15, TimeUnit.SECONDS, now, TimeUnit.MILLISECONDS));
+        for (int i = 1; i <= 100; i++) {
+            histogramBuilder.addRequest(now + i * 100, (long) i);
+            slidingBuilder.addRequest(now + i * 100, (long) i);
+        }
+
+        final TimeWindowStatisticsImpl histogramStatistics = histogramBuilder.build(now + 12_000);
+        assertEquals(100, histogramStatistics.getRequestCount());
+        assertEquals(1, histogramStatistics.getMinimumDuration());
+        assertEquals(100, histogramStatistics.getMaximumDuration());
+        assertEquals(50, histogramStatistics.getAverageDuration());
+        assertEquals(50, histogramStatistics.getDurationAtQuantile(0.5), 50 / 8);
+        assertEquals(99, histogramStatistics.getDurationAtQuantile(0.99), 99 / 8);
+        assertEquals(100, histogramStatistics.getDurationAtQuantile(1));
+
+        final TimeWindowStatisticsImpl slidingStatistics = slidingBuilder.build(now + 12_000);
+        assertEquals(100, slidingStatistics.getRequestCount());
+        assertEquals(50, slidingStatistics.getDurationAtQuantile(0.5));
+
+        // no distribution for an empty time window
+        assertEquals(-1, histogramBuilder.build(now + 60_000).getDurationAtQuantile(0.5));
+    }
+
     private void check(final TimeWindowStatisticsImpl.Builder builder,
                        final long buildTime,
                        final int totalCount,
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests of {@link RollingHistogram}.
+ */
+public class RollingHistogramTest {
+
+    private static final double DELTA = 0.0001;
+
+    private final RollingHistogram histogram = new RollingHistogram(0, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS, 10);
+    private final TimeReservoir<Long> oneMinute = histogram.addReservoir(1, TimeUnit.MINUTES, 6);
+
+    @Test
+    public void testPercentiles() {
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value, 500, TimeUnit.MILLISECONDS);
+        }
+
+        final UniformTimeSnapshot snapshot = histogram.getReservoir().getSnapshot(1000, TimeUnit.MILLISECONDS);
+        // the window consists of the slices from 100 ms to 1000 ms (the current one)
+        assertEquals(1000, snapshot.size());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean(), DELTA);
+        assertEquals(1000 / 0.9, snapshot.getRate(TimeUnit.SECONDS), DELTA);
+        assertEquals(500, snapshot.getValue(0.5), 500 / 8);
+        assertEquals(990, snapshot.getValue(0.99), 990 / 8);
+        assertEquals(1000, snapshot.getValue(0.999), DELTA);
+        assertEquals(1, snapshot.getValue(0), DELTA);
+        assertEquals(1000, snapshot.getValue(1), DELTA);
+    }
+
+    @Test
+    public void testCount() {
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value, 500, TimeUnit.MILLISECONDS);
+        }
+
+        final UniformTimeSnapshot snapshot = histogram.getReservoir().getSnapshot(1000, TimeUnit.MILLISECONDS);
+        // the counts are exact for the highest values of the buckets
+        for (int n = 1; n < 10; n++) {
+            assertEquals((1 << n) - 1, snapshot.getCount((1 << n) - 1));
+        }
+        // 100 is in the bucket of 96..103
+        assertEquals(95, snapshot.getCount(100));
+        assertEquals(0, snapshot.getCount(0));
+        assertEquals(0, snapshot.getCount(-1));
+        assertEquals(1000, snapshot.getCount(1000));
+        assertEquals(1000, snapshot.getCount(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSlidingWindows() {
+        // one value every 100 ms during 10 seconds
+        for (long time = 0; time < 10_000; time += 100) {
+            histogram.record(time, time, TimeUnit.MILLISECONDS);
+        }
+
+        UniformTimeSnapshot snapshot = histogram.getReservoir().getSnapshot(9_950, TimeUnit.MILLISECONDS);
+        assertEquals(10, snapshot.size());
+        assertEquals(9_000, snapshot.getMin());
+        assertEquals(9_900, snapshot.getMax());
+
+        snapshot = oneMinute.getSnapshot(9_950, TimeUnit.MILLISECONDS);
+        assertEquals(100, snapshot.size());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(9_900, snapshot.getMax());
+        assertEquals(10, snapshot.getRate(TimeUnit.SECONDS), 0.1);
+
+        // the window of one minute consists of 10 seconds slices
+        snapshot = oneMinute.getSnapshot(65_000, TimeUnit.MILLISECONDS);
+        assertEquals(0, snapshot.size());
+        snapshot = oneMinute.getSnapshot(59_999, TimeUnit.MILLISECONDS);
+        assertEquals(100, snapshot.size());
+
+        snapshot = histogram.getTotalReservoir().getSnapshot(100_000, TimeUnit.MILLISECONDS);
+        assertEquals(100, snapshot.size());
+        assertEquals(1, snapshot.getRate(TimeUnit.SECONDS), DELTA);
+    }
+
+    @Test
+    public void testOldValuesIgnored() {
+        histogram.record(1, 5_000, TimeUnit.MILLISECONDS);
+        // the slice of the value has been reused already
+        histogram.record(2, 3_000, TimeUnit.MILLISECONDS);
+        // the slice of the value is still available
+        histogram.record(3, 4_500, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, histogram.getReservoir().getSnapshot(5_000, TimeUnit.MILLISECONDS).size());
+        assertEquals(2, histogram.getTotalReservoir().size(5_000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final int threads = 8;
+        final int values = 100_000;
+        final long start = System.currentTimeMillis();
+        final RollingHistogram histogram = new RollingHistogram(start, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS, 10);
+        final TimeReservoir<Long> oneHour = histogram.addReservoir(1, TimeUnit.HOURS, 6);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(() -> {
+                    for (int value = 0; value < values; value++) {
+                        histogram.record(value % 100, System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                });
+            }
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final long now = System.currentTimeMillis();
+        final UniformTimeSnapshot total = histogram.getTotalReservoir().getSnapshot(now, TimeUnit.MILLISECONDS);
+        assertEquals(threads * values, total.size());
+        assertEquals(0, total.getMin());
+        assertEquals(99, total.getMax());
+        assertEquals(49.5, total.getMean(), DELTA);
+        assertEquals(threads * values, oneHour.getSnapshot(now, TimeUnit.MILLISECONDS).size());
+    }
+}
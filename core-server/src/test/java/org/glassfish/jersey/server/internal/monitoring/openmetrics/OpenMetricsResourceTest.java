@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.monitoring.openmetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.monitoring.MonitoringFeature;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the exposure of the monitoring statistics in the OpenMetrics text format.
+ */
+public class OpenMetricsResourceTest {
+
+    private static final String METHOD_LABELS = "class=\"" + TestResource.class.getName()
+            + "\",method=\"get\",http_method=\"GET\",path=\"/test\"";
+
+    @Path("test")
+    public static class TestResource {
+
+        @GET
+        public String get() {
+            return "test";
+        }
+
+        @GET
+        @Path("fail")
+        public String fail() {
+            throw new IllegalStateException();
+        }
+    }
+
+    public static class TestMapper implements ExceptionMapper<IllegalStateException> {
+
+        @Override
+        public Response toResponse(final IllegalStateException exception) {
+            return Response.status(Response.Status.CONFLICT).build();
+        }
+    }
+
+    private static ApplicationHandler start(final ResourceConfig config) {
+        final ApplicationHandler handler = new ApplicationHandler(config);
+        // there is no container, the monitoring is started by the container startup event
+        handler.onStartup(null);
+        return handler;
+    }
+
+    private static ResourceConfig config() {
+        return new ResourceConfig(TestResource.class, TestMapper.class)
+                .property(ServerProperties.MONITORING_STATISTICS_REFRESH_INTERVAL, 10);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final ApplicationHandler handler = start(config()
+                .property(ServerProperties.MONITORING_STATISTICS_OPENMETRICS_ENABLED, true));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, handler.apply(RequestContextBuilder.from("/test", "GET").build()).get().getStatus());
+        }
+        assertEquals(409, handler.apply(RequestContextBuilder.from("/test/fail", "GET").build()).get().getStatus());
+
+        // the resource statistics are built lazily, the application statistics when the snapshot is taken
+        final String metrics = awaitMetrics(handler, "/metrics",
+                "jersey_resource_method_requests_total{" + METHOD_LABELS + "} 3",
+                "jersey_responses_total{code=\"409\"} 1\n");
+
+        assertTrue(metrics, metrics.contains("# TYPE jersey_requests counter\n"));
+        // the previous scrapes are counted too
+        assertTrue(metrics, metrics.contains("jersey_responses_total{code=\"200\"} "));
+        assertTrue(metrics, metrics.contains("jersey_exception_mappings_total{result=\"successful\"} 1\n"));
+        assertTrue(metrics, metrics.contains("jersey_exception_mapper_executions_total{mapper=\""
+                + TestMapper.class.getName() + "\"} 1\n"));
+        assertTrue(metrics, metrics.contains("jersey_resource_requests_total{path=\"/test\"} 3\n"));
+
+        // the histograms are enabled by default with the OpenMetrics exposure
+        assertTrue(metrics, metrics.contains("# TYPE jersey_request_duration_seconds histogram\n"
+                + "# UNIT jersey_request_duration_seconds seconds\n"));
+        assertTrue(metrics, metrics.contains("jersey_resource_method_request_duration_seconds_bucket{"
+                + METHOD_LABELS + ",le=\"0.001\"} "));
+        assertTrue(metrics, metrics.contains("jersey_resource_method_request_duration_seconds_bucket{"
+                + METHOD_LABELS + ",le=\"65.535\"} 3\n"));
+        assertTrue(metrics, metrics.contains("jersey_resource_method_request_duration_seconds_bucket{"
+                + METHOD_LABELS + ",le=\"+Inf\"} 3\n"));
+        assertTrue(metrics, metrics.contains("jersey_resource_method_request_duration_seconds_sum{"
+                + METHOD_LABELS + "} "));
+        assertTrue(metrics, metrics.contains("jersey_resource_method_request_duration_seconds_count{"
+                + METHOD_LABELS + "} 3\n"));
+        assertTrue(metrics, metrics.contains("\njersey_request_duration_seconds_sum "));
+        assertTrue(metrics, metrics.contains("\njersey_request_duration_seconds_count "));
+        assertTrue(metrics, metrics.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testPathAndHistogramsDisabled() throws Exception {
+        final MonitoringFeature feature = new MonitoringFeature();
+        feature.setOpenMetricsEnabled(true);
+        final ApplicationHandler handler = start(config()
+                .register(feature)
+                .property(ServerProperties.MONITORING_STATISTICS_OPENMETRICS_PATH, "monitoring/metrics")
+                .property(ServerProperties.MONITORING_STATISTICS_HISTOGRAMS_ENABLED, false));
+
+        assertEquals(200, handler.apply(RequestContextBuilder.from("/test", "GET").build()).get().getStatus());
+
+        final String metrics = awaitMetrics(handler, "/monitoring/metrics",
+                "jersey_resource_method_requests_total{" + METHOD_LABELS + "} 1",
+                "jersey_responses_total{code=\"200\"} ");
+        assertFalse(metrics, metrics.contains("histogram"));
+        assertTrue(metrics, metrics.endsWith("# EOF\n"));
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        final ApplicationHandler handler = start(config()
+                .property(ServerProperties.MONITORING_STATISTICS_ENABLED, true));
+
+        assertEquals(404, handler.apply(RequestContextBuilder.from("/metrics", "GET").build()).get().getStatus());
+    }
+
+    private static String awaitMetrics(final ApplicationHandler handler, final String path, final String... expected)
+            throws Exception {
+        String metrics = null;
+        for (int i = 0; i < 500; i++) {
+            final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+            final ContainerResponse response = handler.apply(RequestContextBuilder.from(path, "GET").build(), entity).get();
+            assertEquals(200, response.getStatus());
+            assertEquals(MediaType.valueOf(OpenMetricsResource.APPLICATION_OPENMETRICS_TEXT), response.getMediaType());
+
+            metrics = new String(entity.toByteArray(), StandardCharsets.UTF_8);
+            if (Arrays.stream(expected).allMatch(metrics::contains)) {
+                return metrics;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Missing " + Arrays.toString(expected) + " in " + metrics);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.ExecutionException;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that the compiled request path matching routes requests the same way as the default one.
+ */
+public class CompiledPathMatchingRouterTest {
+
+    private static final String[] PATHS = {
+            "/", "/a", "/a/", "/a/b", "/a/b/", "/a/x", "/a/b/c", "/a/b/c/d", "/a/x/c", "/ab", "/a;m=1",
+            "/b", "/b/1", "/b/1/c", "/b/text", "/b/text/more", "/c/1.json", "/c/1", "/d/e%20f", "/d/e%20F",
+            "/loc", "/loc/sub", "/loc/sub/x", "/loc/y", "/any/thing/at/all", "/unknown", "/a//b"};
+
+    @Path("/")
+    public static class RootResource {
+
+        @GET
+        public String get() {
+            return "root";
+        }
+
+        @GET
+        @Path("{any: .*}")
+        public String any(@PathParam("any") final String any) {
+            return "any:" + any;
+        }
+    }
+
+    @Path("a")
+    public static class AResource {
+
+        @GET
+        public String get() {
+            return "a";
+        }
+
+        @GET
+        @Path("b")
+        public String b() {
+            return "a/b";
+        }
+
+        @GET
+        @Path("{x}")
+        public String x(@PathParam("x") final String x) {
+            return "a/{x}:" + x;
+        }
+
+        @GET
+        @Path("b/c")
+        public String bc() {
+            return "a/b/c";
+        }
+
+        @GET
+        @Path("{x}/c")
+        public String xc(@PathParam("x") final String x) {
+            return "a/{x}/c:" + x;
+        }
+    }
+
+    @Path("b/{id}")
+    public static class BResource {
+
+        @GET
+        public String get(@PathParam("id") final String id) {
+            return "b/{id}:" + id;
+        }
+
+        @GET
+        @Path("c")
+        public String c(@PathParam("id") final String id) {
+            return "b/{id}/c:" + id;
+        }
+    }
+
+    @Path("b/text")
+    public static class BTextResource {
+
+        @GET
+        public String get() {
+            return "b/text";
+        }
+    }
+
+    @Path("c/{id}.json")
+    public static class CResource {
+
+        @GET
+        public String get(@PathParam("id") final String id) {
+            return "c/{id}.json:" + id;
+        }
+    }
+
+    @Path("d/e f")
+    public static class DResource {
+
+        @GET
+        public String get() {
+            return "d/e f";
+        }
+    }
+
+    @Path("loc")
+    public static class LocatorResource {
+
+        @GET
+        public String get() {
+            return "loc";
+        }
+
+        @Path("sub")
+        public SubResource sub() {
+            return new SubResource();
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+
+        @GET
+        @Path("x")
+        public String x() {
+            return "sub/x";
+        }
+    }
+
+    private static ApplicationHandler createApplication(final boolean compiled) {
+        return new ApplicationHandler(new ResourceConfig(RootResource.class, AResource.class, BResource.class,
+                BTextResource.class, CResource.class, DResource.class, LocatorResource.class)
+                .property(ServerProperties.COMPILED_ROUTING_ENABLED, compiled));
+    }
+
+    private static String apply(final ApplicationHandler application, final String path)
+            throws ExecutionException, InterruptedException {
+        final ContainerResponse response = application.apply(RequestContextBuilder.from(path, "GET").build()).get();
+        return response.getStatus() + " " + response.getEntity();
+    }
+
+    @Test
+    public void testCompiledRoutingMatchesDefaultRouting() throws Exception {
+        final ApplicationHandler linear = createApplication(false);
+        final ApplicationHandler compiled = createApplication(true);
+
+        for (final String path : PATHS) {
+            assertEquals(path, apply(linear, path), apply(compiled, path));
+        }
+    }
+
+    @Test
+    public void testCompiledRoutingPrecedence() throws Exception {
+        final ApplicationHandler compiled = createApplication(true);
+
+        assertEquals("200 a/b", apply(compiled, "/a/b"));
+        assertEquals("200 a/{x}:x", apply(compiled, "/a/x"));
+        assertEquals("200 a/b/c", apply(compiled, "/a/b/c"));
+        assertEquals("200 a/{x}/c:x", apply(compiled, "/a/x/c"));
+        assertEquals("200 b/text", apply(compiled, "/b/text"));
+        assertEquals("200 b/{id}:1", apply(compiled, "/b/1"));
+        assertEquals("200 c/{id}.json:1", apply(compiled, "/c/1.json"));
+        assertEquals("200 sub/x", apply(compiled, "/loc/sub/x"));
+        assertEquals("200 any:unknown", apply(compiled, "/unknown"));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that cached and precomputed resource method selections give the same results as the method selection
+ * done for every request.
+ */
+public class MethodSelectionCacheTest {
+
+    private static final String[] METHODS = {"GET", "HEAD", "POST", "PUT", "DELETE"};
+    private static final String[] CONTENT_TYPES = {null, "text/plain", "application/xml", "application/json", "image/png"};
+    private static final String[] ACCEPTS = {null, "", "*/*", "text/plain", "application/json", "text/html",
+            "application/json;q=0.5, text/plain", "text/*", "application/xml", "image/png"};
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public String getText() {
+            return "get-text";
+        }
+
+        @GET
+        @Produces("application/json")
+        public String getJson() {
+            return "get-json";
+        }
+
+        @POST
+        @Consumes("text/plain")
+        public String postText(final String entity) {
+            return "post-text:" + entity;
+        }
+
+        @POST
+        @Consumes("application/xml")
+        @Produces("application/xml")
+        public String postXml(final String entity) {
+            return "post-xml:" + entity;
+        }
+
+        @PUT
+        public String put(final String entity) {
+            return "put:" + entity;
+        }
+    }
+
+    private static ApplicationHandler createApplication(final int cacheSize, final boolean table) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.METHOD_SELECTION_CACHE_SIZE, cacheSize)
+                .property(ServerProperties.METHOD_SELECTION_TABLE_ENABLED, table));
+    }
+
+    private static String apply(final ApplicationHandler application,
+                                final String method,
+                                final String contentType,
+                                final String accept) throws Exception {
+        final RequestContextBuilder builder = RequestContextBuilder.from("/resource", method);
+        if (contentType != null) {
+            builder.entity("entity").type(contentType);
+        }
+        if (accept != null) {
+            builder.header("Accept", accept);
+        }
+
+        final ContainerResponse response = application.apply(builder.build()).get();
+        final MediaType mediaType = response.getMediaType();
+        return response.getStatus() + " " + mediaType + " " + response.getEntity();
+    }
+
+    private static void assertSameSelections(final ApplicationHandler expected, final ApplicationHandler actual)
+            throws Exception {
+        // run twice to hit the cached selections
+        for (int i = 0; i < 2; i++) {
+            for (final String method : METHODS) {
+                for (final String contentType : CONTENT_TYPES) {
+                    for (final String accept : ACCEPTS) {
+                        assertEquals(method + " " + contentType + " " + accept,
+                                apply(expected, method, contentType, accept),
+                                apply(actual, method, contentType, accept));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCachedSelection() throws Exception {
+        assertSameSelections(createApplication(0, false), createApplication(100, false));
+    }
+
+    @Test
+    public void testCachedSelectionEviction() throws Exception {
+        assertSameSelections(createApplication(0, false), createApplication(2, false));
+    }
+
+    @Test
+    public void testPrecomputedSelection() throws Exception {
+        assertSameSelections(createApplication(0, false), createApplication(100, true));
+    }
+}
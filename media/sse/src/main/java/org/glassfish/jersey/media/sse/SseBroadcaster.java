@@ -20,6 +20,10 @@ import org.glassfish.jersey.server.Broadcaster;
 
 /**
  * Used for broadcasting SSE to multiple {@link EventOutput} instances.
+ * <p>
+ * A broadcaster created with {@code serializeOnce} set to {@code true} writes each broadcast event to its wire format
+ * (the {@code event:}, {@code id:} and {@code data:} lines) only once and sends the same bytes to all the event outputs.
+ * </p>
  *
  * @author Pavel Bucek (pavel.bucek at oracle.com)
  * @author Martin Matula
@@ -37,6 +41,18 @@ public class SseBroadcaster extends Broadcaster<OutboundEvent> {
         this(SseBroadcaster.class);
     }
 
+    /**
+     * Creates a new instance.
+     * If this constructor is called by a subclass, the newly created instance is added as the listener the same way
+     * as in {@link #SseBroadcaster()}.
+     *
+     * @param serializeOnce if {@code true}, the broadcast events are serialized only once for all the event outputs.
+     * @since 2.29
+     */
+    public SseBroadcaster(final boolean serializeOnce) {
+        this(SseBroadcaster.class, serializeOnce);
+    }
+
     /**
      * Can be used by subclasses to override the default functionality of adding self to the set of
      * {@link org.glassfish.jersey.server.BroadcasterListener listeners}.
@@ -50,4 +66,18 @@ public class SseBroadcaster extends Broadcaster<OutboundEvent> {
     protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass) {
         super(subclass);
     }
+
+    /**
+     * Can be used by subclasses to override the default functionality of adding self to the set of
+     * {@link org.glassfish.jersey.server.BroadcasterListener listeners} and to set the serialization of the broadcast events.
+     *
+     * @param subclass      subclass of SseBroadcaster that should not be registered as a listener - if creating a direct
+     *                      instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param serializeOnce if {@code true}, the broadcast events are serialized only once for all the event outputs.
+     * @see #SseBroadcaster(Class)
+     * @since 2.29
+     */
+    protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass, final boolean serializeOnce) {
+        super(subclass, serializeOnce);
+    }
 }
@@ -91,6 +91,25 @@ public class SseFeature implements Feature {
     @Property
     public static final String DISABLE_SSE_SERVER = "jersey.config.server.media.sse.disable";
 
+    /**
+     * If {@code true}, the {@link javax.ws.rs.sse.SseBroadcaster broadcasters} created by the injected
+     * {@link javax.ws.rs.sse.Sse} write each broadcast event to its wire format (the {@code event:}, {@code id:} and
+     * {@code data:} lines) only once and send the same bytes to all the registered Jersey event sinks.
+     * <p>
+     * The data of the event is serialized with the entity annotations of the first event sink the event is sent to.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @since 2.29
+     */
+    @Property
+    public static final String BROADCAST_SERIALIZE_ONCE = "jersey.config.server.media.sse.broadcast.serializeOnce";
+
     /**
      * A "reconnection not set" value for the SSE reconnect delay set via {@code retry} field.
      *
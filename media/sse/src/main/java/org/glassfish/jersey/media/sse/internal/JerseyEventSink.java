@@ -105,6 +105,22 @@ class JerseyEventSink extends ChunkedOutput<OutboundSseEvent>
         }
     }
 
+    /**
+     * Send an event shared with other event sinks of a broadcaster.
+     *
+     * @param event shared event, serialized only by the first event sink it is sent to.
+     * @return completion stage of the sending.
+     */
+    CompletionStage<?> sendShared(final SharedChunk<OutboundSseEvent> event) {
+        checkClosed();
+        try {
+            writeShared(event);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.completedFuture(e);
+        }
+    }
+
     /**
      * Flush the headers.
      *
@@ -16,6 +16,7 @@
 
 package org.glassfish.jersey.media.sse.internal;
 
+import java.lang.reflect.Type;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -23,6 +24,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.Sse;
 import javax.ws.rs.sse.SseBroadcaster;
@@ -31,11 +33,15 @@ import javax.ws.rs.sse.SseEventSink;
 import org.glassfish.jersey.internal.jsr166.Flow;
 import org.glassfish.jersey.internal.util.JerseyPublisher;
 import org.glassfish.jersey.media.sse.LocalizationMessages;
+import org.glassfish.jersey.server.ChunkedOutput;
 
 /**
  * Used for broadcasting SSE to multiple {@link javax.ws.rs.sse.SseEventSink} instances.
  * <p>
  * JAX-RS 2.1 {@link SseBroadcaster} implementation.
+ * <p>
+ * If created with {@code serializeOnce} set to {@code true}, the broadcast events are serialized only once for all
+ * the registered Jersey event sinks.
  *
  * @author Adam Lindenthal (adam.lindenthal at oracle.com)
  */
@@ -51,6 +57,11 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
      */
     private final CopyOnWriteArrayList<BiConsumer<SseEventSink, Throwable>> onExceptionListeners;
 
+    /**
+     * If {@code true}, the events are serialized once for all the event sinks.
+     */
+    private final boolean serializeOnce;
+
     /**
      * Package-private constructor.
      * <p>
@@ -59,6 +70,7 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
     JerseySseBroadcaster() {
         onExceptionListeners = new CopyOnWriteArrayList<>();
         onCloseListeners = new CopyOnWriteArrayList<>();
+        serializeOnce = false;
     }
 
     /**
@@ -70,9 +82,23 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
      *                        supporting creation of at least one independent thread
      */
     JerseySseBroadcaster(final ExecutorService executorService) {
+        this(executorService, false);
+    }
+
+    /**
+     * Package-private constructor.
+     * <p>
+     * The broadcaster instance should be obtained by calling {@link Sse#newBroadcaster()}, not directly.
+     *
+     * @param executorService {@code ExecutorService} the executor to use for async delivery,
+     *                        supporting creation of at least one independent thread
+     * @param serializeOnce   if {@code true}, the events are serialized once for all the event sinks.
+     */
+    JerseySseBroadcaster(final ExecutorService executorService, final boolean serializeOnce) {
         super(executorService);
         onExceptionListeners = new CopyOnWriteArrayList<>();
         onCloseListeners = new CopyOnWriteArrayList<>();
+        this.serializeOnce = serializeOnce;
     }
 
     @Override
@@ -104,7 +130,7 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
             throw new IllegalArgumentException(LocalizationMessages.PARAM_NULL("event"));
         }
 
-        return CompletableFuture.completedFuture(publish(event));
+        return CompletableFuture.completedFuture(publish(serializeOnce ? new SharedEvent(event) : event));
     }
 
     private void notifyOnCompleteHandlers(Flow.Subscriber<? super OutboundSseEvent> subscriber) {
@@ -136,7 +162,16 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
 
         @Override
         public void onNext(final OutboundSseEvent item) {
-            sseEventSink.send(item);
+            if (item instanceof SharedEvent) {
+                final SharedEvent sharedEvent = (SharedEvent) item;
+                if (sseEventSink instanceof JerseyEventSink) {
+                    ((JerseyEventSink) sseEventSink).sendShared(sharedEvent.sharedChunk);
+                } else {
+                    sseEventSink.send(sharedEvent.getEvent());
+                }
+            } else {
+                sseEventSink.send(item);
+            }
         }
 
         @Override
@@ -154,4 +189,65 @@ class JerseySseBroadcaster extends JerseyPublisher<OutboundSseEvent> implements
 
         }
     }
+
+    /**
+     * Broadcast event serialized by the first Jersey event sink, the other sinks write the serialized bytes.
+     */
+    private static final class SharedEvent implements OutboundSseEvent {
+
+        private final ChunkedOutput.SharedChunk<OutboundSseEvent> sharedChunk;
+
+        SharedEvent(final OutboundSseEvent event) {
+            this.sharedChunk = new ChunkedOutput.SharedChunk<>(event);
+        }
+
+        OutboundSseEvent getEvent() {
+            return sharedChunk.getChunk();
+        }
+
+        @Override
+        public Class<?> getType() {
+            return getEvent().getType();
+        }
+
+        @Override
+        public Type getGenericType() {
+            return getEvent().getGenericType();
+        }
+
+        @Override
+        public MediaType getMediaType() {
+            return getEvent().getMediaType();
+        }
+
+        @Override
+        public Object getData() {
+            return getEvent().getData();
+        }
+
+        @Override
+        public String getId() {
+            return getEvent().getId();
+        }
+
+        @Override
+        public String getName() {
+            return getEvent().getName();
+        }
+
+        @Override
+        public String getComment() {
+            return getEvent().getComment();
+        }
+
+        @Override
+        public long getReconnectDelay() {
+            return getEvent().getReconnectDelay();
+        }
+
+        @Override
+        public boolean isReconnectDelaySet() {
+            return getEvent().isReconnectDelaySet();
+        }
+    }
 }
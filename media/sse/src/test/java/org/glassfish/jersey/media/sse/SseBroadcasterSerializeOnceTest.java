@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.media.sse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the broadcasters serializing each broadcast event only once.
+ */
+public class SseBroadcasterSerializeOnceTest extends JerseyTest {
+
+    private static final int CLIENTS = 3;
+
+    private static final AtomicInteger WRITES = new AtomicInteger();
+    private static final CountDownLatch REGISTERED = new CountDownLatch(2 * CLIENTS);
+
+    public static class Message {
+
+        private final String text;
+
+        public Message(final String text) {
+            this.text = text;
+        }
+    }
+
+    /**
+     * Writer counting the serialized messages.
+     */
+    @Produces(MediaType.TEXT_PLAIN)
+    public static class MessageWriter implements MessageBodyWriter<Message> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == Message.class;
+        }
+
+        @Override
+        public void writeTo(final Message message, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
+            WRITES.incrementAndGet();
+            entityStream.write(message.text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Singleton
+    @Path("sse")
+    public static class SseResource {
+
+        private final Sse sse;
+        private final SseBroadcaster broadcaster = new SseBroadcaster(true);
+        private final javax.ws.rs.sse.SseBroadcaster sseBroadcaster;
+
+        public SseResource(@Context final Sse sse) {
+            this.sse = sse;
+            this.sseBroadcaster = sse.newBroadcaster();
+        }
+
+        @GET
+        @Path("output")
+        @Produces(SseFeature.SERVER_SENT_EVENTS)
+        public EventOutput output() {
+            final EventOutput output = new EventOutput();
+            broadcaster.add(output);
+            REGISTERED.countDown();
+            return output;
+        }
+
+        @GET
+        @Path("sink")
+        @Produces(SseFeature.SERVER_SENT_EVENTS)
+        public void sink(@Context final SseEventSink sink) {
+            sseBroadcaster.register(sink);
+            REGISTERED.countDown();
+        }
+
+        @POST
+        @Path("output")
+        public void broadcastToOutputs(final String text) {
+            broadcaster.broadcast(new OutboundEvent.Builder()
+                    .name("message").id("1").mediaType(MediaType.TEXT_PLAIN_TYPE).data(new Message(text)).build());
+        }
+
+        @POST
+        @Path("sink")
+        public void broadcastToSinks(final String text) {
+            sseBroadcaster.broadcast(sse.newEventBuilder()
+                    .name("message").id("1").mediaType(MediaType.TEXT_PLAIN_TYPE).data(new Message(text)).build());
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(SseResource.class, MessageWriter.class)
+                .property(SseFeature.BROADCAST_SERIALIZE_ONCE, true);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.register(SseFeature.class);
+    }
+
+    @Test
+    public void testSerializeOnce() throws Exception {
+        final List<EventInput> outputs = new ArrayList<>();
+        final List<EventInput> sinks = new ArrayList<>();
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                outputs.add(target("sse/output").request().get(EventInput.class));
+                sinks.add(target("sse/sink").request().get(EventInput.class));
+            }
+            assertTrue(REGISTERED.await(5, TimeUnit.SECONDS));
+
+            target("sse/output").request().post(Entity.text("to outputs")).close();
+            assertEvents(outputs, "to outputs");
+            assertEquals(1, WRITES.get());
+
+            target("sse/sink").request().post(Entity.text("to sinks")).close();
+            assertEvents(sinks, "to sinks");
+            assertEquals(2, WRITES.get());
+        } finally {
+            outputs.forEach(EventInput::close);
+            sinks.forEach(EventInput::close);
+        }
+    }
+
+    private static void assertEvents(final List<EventInput> inputs, final String data) {
+        for (final EventInput input : inputs) {
+            final InboundEvent event = input.read();
+            assertEquals("message", event.getName());
+            assertEquals("1", event.getId());
+            assertEquals(data, event.readData());
+        }
+    }
+}
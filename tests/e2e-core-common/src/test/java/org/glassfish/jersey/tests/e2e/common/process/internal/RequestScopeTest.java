@@ -16,27 +16,64 @@
 
 package org.glassfish.jersey.tests.e2e.common.process.internal;
 
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
 
+import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.inject.hk2.Hk2RequestScope;
 import org.glassfish.jersey.internal.inject.ForeignDescriptor;
+import org.glassfish.jersey.process.internal.RequestContext;
 import org.glassfish.jersey.process.internal.RequestScope;
 
 import org.glassfish.hk2.api.ServiceHandle;
 import org.glassfish.hk2.utilities.AbstractActiveDescriptor;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * Test of the {@link RequestScope request scope}.
  *
  * @author Miroslav Fuksa
  */
+@RunWith(Parameterized.class)
 public class RequestScopeTest {
 
+    @Parameterized.Parameters(name = "{0}")
+    public static List<Object[]> carriers() {
+        return Arrays.asList(new Object[][] {
+                {CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER_THREAD},
+                {CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER_SCOPED_VALUE}
+        });
+    }
+
+    private final String carrier;
+
+    public RequestScopeTest(final String carrier) {
+        this.carrier = carrier;
+    }
+
+    @Before
+    public void setCarrier() {
+        System.setProperty(CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER, carrier);
+    }
+
+    @After
+    public void clearCarrier() {
+        System.clearProperty(CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER);
+    }
+
     @Test
     public void testScopeWithCreatedInstance() {
         final RequestScope requestScope = new Hk2RequestScope();
@@ -140,6 +177,34 @@ public class RequestScopeTest {
         assertNull(instance.get(inhab));
     }
 
+    @Test
+    public void testNestedScopeRestoresOuterScope() {
+        final RequestScope requestScope = new Hk2RequestScope();
+        requestScope.runInScope(() -> {
+            final RequestContext outer = requestScope.current();
+            requestScope.runInScope(() -> assertTrue(outer != requestScope.current()));
+            assertSame(outer, requestScope.current());
+        });
+        assertNull(requestScope.suspendCurrent());
+    }
+
+    @Test
+    public void testFailedTaskRestoresScope() throws Exception {
+        final RequestScope requestScope = new Hk2RequestScope();
+        final RequestContext context = requestScope.createContext();
+        try {
+            requestScope.runInScope(context, (Callable<Void>) () -> {
+                assertSame(context, requestScope.current());
+                throw new IOException("failed");
+            });
+            fail("The task exception expected.");
+        } catch (final IOException e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertNull(requestScope.suspendCurrent());
+        context.release();
+    }
+
     /**
      * Test request scope inhabitant.
      */
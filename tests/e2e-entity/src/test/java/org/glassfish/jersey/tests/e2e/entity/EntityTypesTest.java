@@ -24,6 +24,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -408,6 +410,56 @@ public class EntityTypesTest extends AbstractTypeTester {
         _test(in, FileResource.class);
     }
 
+    private static byte[] largeContent() {
+        final byte[] content = new byte[100000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    @Test
+    public void testLargeFileRepresentation() throws IOException {
+        final File in = File.createTempFile("jersey-large", null);
+        try {
+            Files.write(in.toPath(), largeContent());
+
+            _test(in, FileResource.class);
+        } finally {
+            in.delete();
+        }
+    }
+
+    @Path("PathResource")
+    public static class PathResource extends AResource<java.nio.file.Path> {
+    }
+
+    @Test
+    public void testPathRepresentation() throws IOException {
+        final java.nio.file.Path in = Files.createTempFile("jersey-path", null);
+        try {
+            Files.write(in, largeContent());
+
+            _test(in, PathResource.class);
+        } finally {
+            Files.delete(in);
+        }
+    }
+
+    @Path("ByteBufferResource")
+    public static class ByteBufferResource extends AResource<ByteBuffer> {
+    }
+
+    @Test
+    public void testByteBufferRepresentation() {
+        _test(ByteBuffer.wrap("CONTENT".getBytes()), ByteBufferResource.class);
+    }
+
+    @Test
+    public void testLargeByteBufferRepresentation() {
+        _test(ByteBuffer.wrap(largeContent()), ByteBufferResource.class);
+    }
+
     @Produces("application/x-www-form-urlencoded")
     @Consumes("application/x-www-form-urlencoded")
     @Path("FormResource")
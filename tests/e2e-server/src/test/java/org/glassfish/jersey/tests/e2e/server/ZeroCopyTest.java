@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.e2e.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.test.JerseyTest;
+import org.glassfish.jersey.test.grizzly.GrizzlyTestContainerFactory;
+import org.glassfish.jersey.test.netty.NettyTestContainerFactory;
+import org.glassfish.jersey.test.spi.TestContainerException;
+import org.glassfish.jersey.test.spi.TestContainerFactory;
+
+import org.glassfish.grizzly.http.server.ServerFilterConfiguration;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that {@link File}, {@link java.nio.file.Path} and {@link ByteBuffer} entities are written correctly
+ * by the Grizzly and Netty containers with the {@link ServerProperties#RESPONSE_ZERO_COPY_ENABLED zero-copy}
+ * entity transfer.
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({ZeroCopyTest.GrizzlyTest.class, ZeroCopyTest.NettyTest.class})
+public class ZeroCopyTest {
+
+    // large enough not to be transferred at once
+    private static final byte[] CONTENT = new byte[4 * 1024 * 1024];
+    private static File file;
+
+    @BeforeClass
+    public static void createFile() throws IOException {
+        for (int i = 0; i < CONTENT.length; i++) {
+            CONTENT[i] = (byte) i;
+        }
+        file = File.createTempFile("jersey-zero-copy", ".bin");
+        Files.write(file.toPath(), CONTENT);
+    }
+
+    @AfterClass
+    public static void deleteFile() {
+        file.delete();
+    }
+
+    @Path("zero-copy")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public static class ZeroCopyResource {
+
+        private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
+        @GET
+        @Path("file")
+        public File file() {
+            return file;
+        }
+
+        @GET
+        @Path("path")
+        public java.nio.file.Path path() {
+            return file.toPath();
+        }
+
+        @GET
+        @Path("buffer")
+        public ByteBuffer buffer() {
+            return ByteBuffer.wrap(CONTENT);
+        }
+
+        @GET
+        @Path("async-file")
+        public void asyncFile(@Suspended final AsyncResponse response) {
+            EXECUTOR.execute(() -> response.resume(file));
+        }
+    }
+
+    public abstract static class ZeroCopyTestBase extends JerseyTest {
+
+        @Override
+        protected Application configure() {
+            return new ResourceConfig(ZeroCopyResource.class)
+                    .property(ServerProperties.RESPONSE_ZERO_COPY_ENABLED, true);
+        }
+
+        @Test
+        public void testEntities() {
+            for (final String path : new String[] {"file", "path", "buffer", "async-file"}) {
+                final Response response = target("zero-copy").path(path).request().get();
+                assertEquals(path, 200, response.getStatus());
+                assertArrayEquals(path, CONTENT, response.readEntity(byte[].class));
+            }
+        }
+
+        @Test
+        public void testRepeatedTransfers() {
+            for (int i = 0; i < 10; i++) {
+                assertArrayEquals(CONTENT, target("zero-copy/file").request().get(byte[].class));
+            }
+        }
+    }
+
+    public static class GrizzlyTest extends ZeroCopyTestBase {
+
+        // Grizzly transfers the files only if the sendfile support is enabled explicitly
+        @BeforeClass
+        public static void enableSendFile() {
+            System.setProperty(ServerFilterConfiguration.USE_SEND_FILE, "true");
+        }
+
+        @AfterClass
+        public static void resetSendFile() {
+            System.clearProperty(ServerFilterConfiguration.USE_SEND_FILE);
+        }
+
+        @Override
+        protected TestContainerFactory getTestContainerFactory() throws TestContainerException {
+            return new GrizzlyTestContainerFactory();
+        }
+    }
+
+    public static class NettyTest extends ZeroCopyTestBase {
+
+        @Override
+        protected TestContainerFactory getTestContainerFactory() throws TestContainerException {
+            return new NettyTestContainerFactory();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JDK connector response header parsing benchmark.
+ * <p>
+ * The benchmark is placed in the connector package, because the parser is not a public API. The {@link #onePacket()}
+ * benchmark parses a response received in a single packet, the {@link #twoPackets()} benchmark parses the same response
+ * split in the middle of a header, so that the parser has to keep the unparsed data between the packets. Run the benchmark
+ * with the {@code -prof gc} option (the {@link #main(String[])} method adds the GC profiler automatically) to report
+ * the allocation rates.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class HttpParserBenchmark {
+
+    private static final byte[] RESPONSE = ("HTTP/1.1 200 OK\r\n"
+            + "Date: Mon, 21 Jan 2019 10:15:30 GMT\r\n"
+            + "Server: Grizzly/2.4.4\r\n"
+            + "Content-Type: application/json\r\n"
+            + "Content-Length: 0\r\n"
+            + "Cache-Control: no-cache, no-store, must-revalidate\r\n"
+            + "Vary: Accept-Encoding\r\n"
+            + "ETag: \"4f3a-1548065730000\"\r\n"
+            + "X-Request-Id: 0d3b7a6e-5c1f-4e0b-9d65-2a8c0f7c4e21\r\n"
+            + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
+    private HttpParser parser;
+    private ByteBuffer packet;
+    private ByteBuffer firstHalf;
+    private ByteBuffer secondHalf;
+
+    @Setup
+    public void setUp() {
+        parser = new HttpParser(8192, 8192);
+
+        final int half = RESPONSE.length / 2;
+        packet = ByteBuffer.wrap(RESPONSE);
+        firstHalf = ByteBuffer.wrap(RESPONSE, 0, half).slice();
+        secondHalf = ByteBuffer.wrap(RESPONSE, half, RESPONSE.length - half).slice();
+    }
+
+    @Benchmark
+    public HttpResponse onePacket() throws ParseException {
+        parser.reset(true);
+        parser.parse(rewind(packet));
+        return parser.getHttpResponse();
+    }
+
+    @Benchmark
+    public HttpResponse twoPackets() throws ParseException {
+        parser.reset(true);
+        parser.parse(rewind(firstHalf));
+        parser.parse(rewind(secondHalf));
+        return parser.getHttpResponse();
+    }
+
+    private static ByteBuffer rewind(final ByteBuffer buffer) {
+        buffer.limit(buffer.capacity());
+        buffer.position(0);
+        return buffer;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(HttpParserBenchmark.class.getSimpleName())
+                // Report allocation rates.
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
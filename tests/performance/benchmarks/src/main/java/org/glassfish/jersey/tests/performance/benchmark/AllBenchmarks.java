@@ -18,6 +18,8 @@ package org.glassfish.jersey.tests.performance.benchmark;
 
 import java.util.concurrent.TimeUnit;
 
+import org.glassfish.jersey.jdk.connector.internal.HttpParserBenchmark;
+
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
@@ -36,6 +38,9 @@ public class AllBenchmarks {
                 .include(JacksonBenchmark.class.getSimpleName())
                 .include(LocatorBenchmark.class.getSimpleName())
                 .include(JerseyUriBuilderBenchmark.class.getSimpleName())
+                .include(RequestScopeBenchmark.class.getSimpleName())
+                .include(ServerPipelineBenchmark.class.getSimpleName())
+                .include(HttpParserBenchmark.class.getSimpleName())
                 // Measure throughput in seconds (ops/s).
                 .mode(Mode.Throughput)
                 .timeUnit(TimeUnit.SECONDS)
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.internal.util.Producer;
+import org.glassfish.jersey.process.internal.RequestContext;
+import org.glassfish.jersey.process.internal.RequestScope;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link RequestScope} entry overhead benchmark comparing the request scope context carriers.
+ * <p>
+ * The {@value CommonProperties#REQUEST_SCOPE_CONTEXT_CARRIER_SCOPED_VALUE} carrier requires a JDK providing
+ * {@code java.lang.ScopedValue}, the default carrier is measured otherwise.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestScopeBenchmark {
+
+    @Param({CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER_THREAD, CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER_SCOPED_VALUE})
+    private String carrier;
+
+    private volatile RequestScope requestScope;
+    private volatile RequestContext context;
+    private volatile Producer<RequestContext> current;
+
+    @Setup
+    public void start() {
+        System.setProperty(CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER, carrier);
+        requestScope = new ApplicationHandler(new ResourceConfig())
+                .getInjectionManager().getInstance(RequestScope.class);
+        context = requestScope.createContext();
+        current = requestScope::current;
+    }
+
+    @TearDown
+    public void shutdown() {
+        context.release();
+        System.clearProperty(CommonProperties.REQUEST_SCOPE_CONTEXT_CARRIER);
+    }
+
+    @Benchmark
+    public RequestContext newScope() {
+        return requestScope.runInScope(current);
+    }
+
+    @Benchmark
+    public RequestContext existingScope() {
+        return requestScope.runInScope(context, current);
+    }
+
+    @Benchmark
+    public RequestContext nestedScope() {
+        return requestScope.runInScope(context, (Producer<RequestContext>) () -> requestScope.runInScope(current));
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(RequestScopeBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
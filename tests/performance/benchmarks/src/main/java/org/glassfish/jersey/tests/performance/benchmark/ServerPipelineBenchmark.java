@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.performance.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.glassfish.jersey.test.util.server.ContainerRequestBuilder;
+import org.glassfish.jersey.tests.performance.benchmark.server.PipelineApplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Server request processing pipeline benchmark.
+ * <p>
+ * The requests are processed in memory by {@link ApplicationHandler} and the responses are written to a stub
+ * {@link ContainerResponseWriter} discarding the response entity. The {@link #baseline()} benchmark measures the minimal
+ * pipeline and each of the other benchmarks adds a single pipeline stage on top of it:
+ * <ul>
+ * <li>{@link #routing()} - request path matching among {@value PipelineApplication#ROUTES} similar routes
+ * ({@code RoutingStage}),</li>
+ * <li>{@link #filters()} - name-bound request and response filters ({@code ContainerFilteringStage}),</li>
+ * <li>{@link #parameters()} - injection of path, query, matrix, header and cookie parameters
+ * ({@code ParamValueFactoryWithSource}),</li>
+ * <li>{@link #entity()} - request entity reading and response entity writing including the message body reader and writer
+ * selection,</li>
+ * <li>{@link #interceptors()} - same as {@code entity()} with name-bound reader and writer interceptor chains.</li>
+ * </ul>
+ * The cost of a stage is the difference between the score of the respective benchmark and the baseline (or the
+ * {@code entity()} benchmark in case of the interceptors). Run the benchmark with the {@code -prof gc} option
+ * (the {@link #main(String[])} method adds the GC profiler automatically) to report the allocation rates.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 8, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 8, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServerPipelineBenchmark {
+
+    private static final byte[] ENTITY = "Hello World!".getBytes(StandardCharsets.UTF_8);
+
+    private static final OutputStream NULL_OUTPUT_STREAM = new OutputStream() {
+        @Override
+        public void write(final int b) {
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+        }
+    };
+
+    private static final SecurityContext SECURITY_CONTEXT = new SecurityContext() {
+        @Override
+        public Principal getUserPrincipal() {
+            return null;
+        }
+
+        @Override
+        public boolean isUserInRole(final String role) {
+            return false;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public String getAuthenticationScheme() {
+            return null;
+        }
+    };
+
+    private volatile ApplicationHandler handler;
+
+    @Setup
+    public void start() {
+        handler = new ApplicationHandler(new PipelineApplication());
+
+        // Make sure each pipeline stage succeeds.
+        for (final ContainerResponse response
+                : new ContainerResponse[] {baseline(), routing(), filters(), parameters(), entity(), interceptors()}) {
+            if (response.getStatus() != 200) {
+                throw new IllegalStateException("Unexpected response status: " + response.getStatus());
+            }
+        }
+    }
+
+    @Benchmark
+    public ContainerResponse baseline() {
+        return handle(request("pipeline", "GET").build());
+    }
+
+    @Benchmark
+    public ContainerResponse routing() {
+        return handle(request("routing/r" + (PipelineApplication.ROUTES - 1) + "/42/items", "GET").build());
+    }
+
+    @Benchmark
+    public ContainerResponse filters() {
+        return handle(request("pipeline/filters", "GET")
+                .header("X-Header", "value")
+                .build());
+    }
+
+    @Benchmark
+    public ContainerResponse parameters() {
+        return handle(request("pipeline/params/42;matrix=value?query=value", "GET")
+                .header("X-Header", "value")
+                .cookie(new Cookie("cookie", "value"))
+                .build());
+    }
+
+    @Benchmark
+    public ContainerResponse entity() {
+        return handle(request("pipeline/entity", "POST")
+                .type("text/plain")
+                .entity(new ByteArrayInputStream(ENTITY))
+                .build());
+    }
+
+    @Benchmark
+    public ContainerResponse interceptors() {
+        return handle(request("pipeline/interceptors", "POST")
+                .type("text/plain")
+                .entity(new ByteArrayInputStream(ENTITY))
+                .build());
+    }
+
+    private static ContainerRequestBuilder request(final String requestUri, final String method) {
+        return ContainerRequestBuilder.from(null, requestUri, method, SECURITY_CONTEXT, null);
+    }
+
+    private ContainerResponse handle(final ContainerRequest request) {
+        final StubResponseWriter writer = new StubResponseWriter();
+        request.setWriter(writer);
+        handler.handle(request);
+        return writer.response;
+    }
+
+    /**
+     * Response writer discarding the response entity.
+     */
+    private static class StubResponseWriter implements ContainerResponseWriter {
+
+        private ContainerResponse response;
+
+        @Override
+        public OutputStream writeResponseStatusAndHeaders(final long contentLength, final ContainerResponse response) {
+            this.response = response;
+            return NULL_OUTPUT_STREAM;
+        }
+
+        @Override
+        public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
+            return false;
+        }
+
+        @Override
+        public void setSuspendTimeout(final long timeOut, final TimeUnit timeUnit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void failure(final Throwable error) {
+            throw new IllegalStateException(error);
+        }
+
+        @Override
+        public boolean enableResponseBuffering() {
+            return false;
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                // Register our benchmarks.
+                .include(ServerPipelineBenchmark.class.getSimpleName())
+                // Report allocation rates.
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.performance.benchmark.server;
+
+import java.io.IOException;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Resource;
+
+/**
+ * Application exercising the stages of the server request processing pipeline.
+ * <p>
+ * Besides the {@link PipelineResource}, the application contains {@value #ROUTES} programmatic resources
+ * with similar paths ({@code routing/r<i>/{id}/items}) to make the request path routing non-trivial.
+ * </p>
+ */
+public class PipelineApplication extends ResourceConfig {
+
+    /**
+     * Number of the programmatic resources matched by the request path routing.
+     */
+    public static final int ROUTES = 32;
+
+    public PipelineApplication() {
+        register(PipelineResource.class);
+
+        for (int i = 0; i < ROUTES; i++) {
+            final Resource.Builder resource = Resource.builder("routing/r" + i + "/{id}/items");
+            resource.addMethod("GET").produces("text/plain").handledBy(new RoutedInflector());
+            registerResources(resource.build());
+        }
+
+        register(RequestHeaderFilter.class);
+        register(ResponseHeaderFilter.class);
+        register(ReadingInterceptor.class);
+        register(WritingInterceptor.class);
+
+        // Turn off Monitoring to not affect benchmarks.
+        property(ServerProperties.MONITORING_ENABLED, false);
+        property(ServerProperties.MONITORING_STATISTICS_ENABLED, false);
+        property(ServerProperties.MONITORING_STATISTICS_MBEANS_ENABLED, false);
+    }
+
+    /**
+     * Inflector handling the requests matched by the programmatic resources.
+     */
+    private static class RoutedInflector implements Inflector<ContainerRequestContext, String> {
+
+        @Override
+        public String apply(final ContainerRequestContext requestContext) {
+            return "Hello World!";
+        }
+    }
+
+    /**
+     * Request filter copying a request header into a request property.
+     */
+    @PipelineResource.Filtered
+    public static class RequestHeaderFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            requestContext.setProperty("X-Header", requestContext.getHeaderString("X-Header"));
+        }
+    }
+
+    /**
+     * Response filter copying a request property into a response header.
+     */
+    @PipelineResource.Filtered
+    public static class ResponseHeaderFilter implements ContainerResponseFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+            responseContext.getHeaders().putSingle("X-Header", requestContext.getProperty("X-Header"));
+        }
+    }
+
+    /**
+     * Pass-through reader interceptor.
+     */
+    @PipelineResource.Intercepted
+    public static class ReadingInterceptor implements ReaderInterceptor {
+
+        @Override
+        public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException {
+            return context.proceed();
+        }
+    }
+
+    /**
+     * Pass-through writer interceptor.
+     */
+    @PipelineResource.Intercepted
+    public static class WritingInterceptor implements WriterInterceptor {
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            context.proceed();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.tests.performance.benchmark.server;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.MatrixParam;
+import javax.ws.rs.NameBinding;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+/**
+ * Resource exercising a single stage of the server request processing pipeline in each resource method.
+ *
+ * @see org.glassfish.jersey.tests.performance.benchmark.ServerPipelineBenchmark
+ */
+@Path("pipeline")
+@Produces("text/plain")
+public class PipelineResource {
+
+    /**
+     * Name binding of the {@link PipelineApplication.RequestHeaderFilter request} and
+     * {@link PipelineApplication.ResponseHeaderFilter response} pipeline filters.
+     */
+    @NameBinding
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Filtered {
+    }
+
+    /**
+     * Name binding of the {@link PipelineApplication.ReadingInterceptor reader} and
+     * {@link PipelineApplication.WritingInterceptor writer} pipeline interceptors.
+     */
+    @NameBinding
+    @Target({ElementType.TYPE, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Intercepted {
+    }
+
+    @GET
+    public String get() {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("filters")
+    @Filtered
+    public String filters() {
+        return "Hello World!";
+    }
+
+    @GET
+    @Path("params/{id}")
+    public String params(@PathParam("id") final int id,
+                         @QueryParam("query") final String query,
+                         @MatrixParam("matrix") final String matrix,
+                         @HeaderParam("X-Header") final String header,
+                         @CookieParam("cookie") final String cookie,
+                         @QueryParam("missing") @DefaultValue("10") final long missing) {
+        return "Hello World!";
+    }
+
+    @POST
+    @Path("entity")
+    @Consumes("text/plain")
+    public String entity(final String entity) {
+        return entity;
+    }
+
+    @POST
+    @Path("interceptors")
+    @Consumes("text/plain")
+    @Intercepted
+    public String interceptors(final String entity) {
+        return entity;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.jersey.jdk.connector;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.internal.guava.ThreadFactoryBuilder;
+import org.glassfish.jersey.jdk.connector.internal.ConnectionPoolStatistics;
+import org.glassfish.jersey.jdk.connector.internal.JdkConnector;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.JerseyTest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Throughput of the JDK connector connection pool with many client threads sending requests to a single destination.
+ */
+public class DestinationConnectionPoolStressTest extends JerseyTest {
+
+    private static final Logger LOGGER = Logger.getLogger(DestinationConnectionPoolStressTest.class.getName());
+
+    private static final int CLIENT_THREADS = 256;
+    private static final int MAX_CONNECTIONS = 32;
+    private static final int TEST_DURATION_MILLIS = 10_000;
+
+    private volatile JdkConnector connector;
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        public String get() {
+            return "OK";
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return new ResourceConfig(Resource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        config.property(JdkConnectorProperties.MAX_CONNECTIONS_PER_DESTINATION, MAX_CONNECTIONS);
+        config.connectorProvider((client, runtimeConfig) -> connector = new JdkConnector(client, runtimeConfig));
+    }
+
+    @Test
+    public void testThroughput() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS,
+                new ThreadFactoryBuilder().setNameFormat("jdk-connector-stress-%d").setDaemon(true).build());
+        final CountDownLatch done = new CountDownLatch(CLIENT_THREADS);
+        final AtomicLong requests = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final long start = System.nanoTime();
+        final long end = start + TimeUnit.MILLISECONDS.toNanos(TEST_DURATION_MILLIS);
+        try {
+            for (int i = 0; i < CLIENT_THREADS; i++) {
+                executor.submit(() -> {
+                    try {
+                        while (System.nanoTime() < end && failure.get() == null) {
+                            assertEquals("OK", target().request().get(String.class));
+                            requests.incrementAndGet();
+                        }
+                    } catch (final Throwable t) {
+                        failure.compareAndSet(null, t);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(TEST_DURATION_MILLIS + 60_000, TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        assertNull(failure.get());
+
+        final List<ConnectionPoolStatistics> statistics = connector.getConnectionPoolStatistics();
+        LOGGER.info(String.format("%d client threads, %d requests, %.0f requests/s, %s", CLIENT_THREADS, requests.get(),
+                requests.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed, statistics));
+
+        assertEquals(1, statistics.size());
+        final ConnectionPoolStatistics destination = statistics.get(0);
+        assertEquals(requests.get(), destination.getDispatchedRequests());
+        assertEquals(0, destination.getPendingRequests());
+        assertTrue(destination.getIdleConnections() <= MAX_CONNECTIONS);
+    }
+}